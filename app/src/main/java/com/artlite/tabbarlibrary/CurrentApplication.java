@@ -1,13 +1,22 @@
 package com.artlite.tabbarlibrary;
 
+import android.Manifest;
 import android.app.Application;
+import android.content.pm.PackageManager;
+import android.support.v4.content.ContextCompat;
 
 import com.artlite.bslibrary.core.BSInstance;
+import com.artlite.cameraview.views.GCCameraWarmup;
 
 public class CurrentApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
         BSInstance.init(this);
+        // The camera screen is the launcher one, open the camera while it is inflated
+        if (ContextCompat.checkSelfPermission(this, Manifest.permission.CAMERA)
+                == PackageManager.PERMISSION_GRANTED) {
+            GCCameraWarmup.warmUp(this);
+        }
     }
 }
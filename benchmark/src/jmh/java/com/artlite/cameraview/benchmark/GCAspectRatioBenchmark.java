@@ -0,0 +1,134 @@
+package com.artlite.cameraview.benchmark;
+
+import android.support.v4.util.SparseArrayCompat;
+
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.models.GCAspectRatio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the lock-free {@link GCAspectRatio#of(int, int)} interning against the previous
+ * unsynchronized {@link SparseArrayCompat} cache (single thread, the legacy cache is not safe
+ * to be measured concurrently)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GCAspectRatioBenchmark {
+
+    /**
+     * Typical sizes which are converted to the ratios
+     */
+    private static final int[][] SIZES = {
+            {4000, 3000}, {3840, 2160}, {1920, 1080}, {1440, 1080}, {1280, 720},
+            {640, 480}, {720, 720}, {1280, 768}, {352, 288}, {800, 480}
+    };
+
+    /**
+     * Ratio strings which are parsed (the persisted state format)
+     */
+    private static final String[] RATIOS = {"4:3", "16:9", "1:1", "5:3", "11:9"};
+
+    /**
+     * Instance of the {@link GCSize} array of the {@link #SIZES}
+     */
+    private final GCSize[] sizes = new GCSize[SIZES.length];
+
+    {
+        for (int i = 0; i < SIZES.length; i++) {
+            sizes[i] = new GCSize(SIZES[i][0], SIZES[i][1]);
+        }
+    }
+
+    /**
+     * Legacy nested {@link SparseArrayCompat} cache (holder of the reduced pair)
+     */
+    private final SparseArrayCompat<SparseArrayCompat<int[]>> legacyCache =
+            new SparseArrayCompat<>(16);
+
+    @Benchmark
+    public void of_lockFree(Blackhole blackhole) {
+        for (int[] size : SIZES) {
+            blackhole.consume(GCAspectRatio.of(size[0], size[1]));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void of_lockFreeContended(Blackhole blackhole) {
+        for (int[] size : SIZES) {
+            blackhole.consume(GCAspectRatio.of(size[0], size[1]));
+        }
+    }
+
+    @Benchmark
+    public void of_legacySparseArray(Blackhole blackhole) {
+        for (int[] size : SIZES) {
+            blackhole.consume(legacyOf(size[0], size[1]));
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String ratio : RATIOS) {
+            blackhole.consume(GCAspectRatio.parse(ratio));
+        }
+    }
+
+    @Benchmark
+    public int matches() {
+        final GCAspectRatio ratio = GCAspectRatio.of(4, 3);
+        int count = 0;
+        for (GCSize size : sizes) {
+            if (ratio.matches(size)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Previous implementation of the {@link GCAspectRatio#of(int, int)}
+     *
+     * @param x The width
+     * @param y The height
+     * @return the reduced pair
+     */
+    private int[] legacyOf(int x, int y) {
+        int a = x;
+        int b = y;
+        while (b != 0) {
+            int c = b;
+            b = a % b;
+            a = c;
+        }
+        x /= a;
+        y /= a;
+        SparseArrayCompat<int[]> arrayX = legacyCache.get(x);
+        if (arrayX == null) {
+            int[] ratio = new int[]{x, y};
+            arrayX = new SparseArrayCompat<>();
+            arrayX.put(y, ratio);
+            legacyCache.put(x, arrayX);
+            return ratio;
+        } else {
+            int[] ratio = arrayX.get(y);
+            if (ratio == null) {
+                ratio = new int[]{x, y};
+                arrayX.put(y, ratio);
+            }
+            return ratio;
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.artlite.cameraview.benchmark;
+
+import com.artlite.cameraview.converters.GCNV21Converter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link GCNV21Converter} conversion and rotation of the preview frame
+ * (the steady state should not allocate)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GCNV21ConverterBenchmark {
+
+    /**
+     * {@link Integer} value of the frame width
+     */
+    @Param({"640", "1920"})
+    public int width;
+
+    /**
+     * {@link Integer} value of the converter parallelism
+     */
+    @Param({"1", "4"})
+    public int parallelism;
+
+    /**
+     * {@link Integer} value of the frame height
+     */
+    private int height;
+
+    /**
+     * Array of the NV21 frame
+     */
+    private byte[] nv21;
+
+    /**
+     * Array of the ARGB output
+     */
+    private int[] argb;
+
+    /**
+     * Instance of the RGB565 output {@link ByteBuffer}
+     */
+    private ByteBuffer rgb565;
+
+    /**
+     * Array of the rotated frame
+     */
+    private byte[] rotated;
+
+    /**
+     * Instance of the {@link GCNV21Converter}
+     */
+    private GCNV21Converter converter;
+
+    @Setup
+    public void setUp() {
+        height = width * 9 / 16;
+        nv21 = new byte[width * height * 3 / 2];
+        new Random(42).nextBytes(nv21);
+        argb = new int[width * height];
+        rgb565 = ByteBuffer.allocateDirect(width * height * 2);
+        rotated = new byte[nv21.length];
+        converter = new GCNV21Converter(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        converter.shutdown();
+    }
+
+    @Benchmark
+    public int[] toArgb() {
+        converter.toArgb(nv21, width, height, argb);
+        return argb;
+    }
+
+    @Benchmark
+    public ByteBuffer toRgb565() {
+        converter.toRgb565(nv21, width, height, rgb565);
+        return rgb565;
+    }
+
+    @Benchmark
+    public byte[] rotate90() {
+        GCNV21Converter.rotate(nv21, width, height, 90, rotated);
+        return rotated;
+    }
+
+}
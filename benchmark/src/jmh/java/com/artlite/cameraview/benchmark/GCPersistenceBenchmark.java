@@ -0,0 +1,129 @@
+package com.artlite.cameraview.benchmark;
+
+import com.artlite.cameraview.exif.GCExifWriter;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+import com.artlite.cameraview.persistence.GCFsyncPolicy;
+import com.artlite.cameraview.persistence.GCPersistenceEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the JPEG persistence throughput (the {@link GCPersistenceEngine} write with the
+ * {@link GCFsyncPolicy}) and of the Exif splicing of the {@link GCExifWriter}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GCPersistenceBenchmark {
+
+    /**
+     * {@link Integer} value of the JPEG size (bytes)
+     */
+    @Param({"1048576", "4194304"})
+    public int size;
+
+    /**
+     * {@link String} value of the {@link GCFsyncPolicy}
+     */
+    @Param({"NONE", "DATA"})
+    public String fsyncPolicy;
+
+    /**
+     * Array of the JPEG data
+     */
+    private byte[] jpeg;
+
+    /**
+     * Instance of the {@link GCCaptureMetadata}
+     */
+    private GCCaptureMetadata metadata;
+
+    /**
+     * Instance of the {@link GCExifWriter}
+     */
+    private GCExifWriter exifWriter;
+
+    /**
+     * Instance of the {@link File} of the target directory
+     */
+    private File directory;
+
+    /**
+     * Instance of the {@link Engine}
+     */
+    private Engine engine;
+
+    @Setup
+    public void setUp() throws IOException {
+        jpeg = new byte[size];
+        new Random(42).nextBytes(jpeg);
+        // SOI, JFIF APP0 and EOI markers
+        ByteBuffer.wrap(jpeg).put((byte) 0xFF).put((byte) 0xD8)
+                .put((byte) 0xFF).put((byte) 0xE0).putShort((short) 16);
+        jpeg[size - 2] = (byte) 0xFF;
+        jpeg[size - 1] = (byte) 0xD9;
+        metadata = new GCCaptureMetadata(90, System.currentTimeMillis(), 4000, 3000, 0, 0, false);
+        exifWriter = new GCExifWriter("benchmark", "jvm");
+        directory = File.createTempFile("GCPersistenceBenchmark", "");
+        if (!directory.delete() || !directory.mkdirs()) {
+            throw new IOException("Can't create " + directory);
+        }
+        engine = new Engine(directory, GCFsyncPolicy.valueOf(fsyncPolicy));
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.shutdown();
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        final File file = engine.write(jpeg);
+        final long length = file.length();
+        file.delete();
+        return length;
+    }
+
+    @Benchmark
+    public ByteBuffer[] exifSplice() {
+        return exifWriter.splice(jpeg, metadata);
+    }
+
+    /**
+     * Engine which exposes the synchronous write
+     */
+    private static final class Engine extends GCPersistenceEngine {
+
+        Engine(File directory, GCFsyncPolicy fsyncPolicy) {
+            super(directory, 1, 1, fsyncPolicy);
+        }
+
+        @Override
+        protected File write(byte[] data) throws IOException {
+            return super.write(data);
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.artlite.cameraview.benchmark;
+
+import com.artlite.cameraview.constants.GCPackedSizeMap;
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.constants.GCSizeMap;
+import com.artlite.cameraview.models.GCAspectRatio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link GCPackedSizeMap} against the {@link GCSizeMap}
+ * (building from the typical camera size list and the optimal size query)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GCSizeMapBenchmark {
+
+    /**
+     * Typical preview and picture sizes reported by the Camera1 HAL
+     */
+    private static final int[][] SIZES = {
+            {4160, 3120}, {4160, 2340}, {4000, 3000}, {3840, 2160}, {3264, 2448},
+            {3264, 1836}, {2592, 1944}, {2560, 1440}, {2048, 1536}, {1920, 1088},
+            {1920, 1080}, {1600, 1200}, {1440, 1080}, {1280, 960}, {1280, 768},
+            {1280, 720}, {1024, 768}, {800, 600}, {800, 480}, {720, 480},
+            {640, 480}, {640, 360}, {480, 320}, {352, 288}, {320, 240},
+            {176, 144}, {2976, 2976}, {2448, 2448}, {1080, 1080}, {720, 720}
+    };
+
+    /**
+     * Instance of the {@link GCSize} array
+     */
+    private GCSize[] sizes;
+
+    /**
+     * Instance of the filled {@link GCSizeMap}
+     */
+    private GCSizeMap sizeMap;
+
+    /**
+     * Instance of the filled {@link GCPackedSizeMap}
+     */
+    private GCPackedSizeMap packedSizeMap;
+
+    /**
+     * Instance of the {@link GCAspectRatio}
+     */
+    private GCAspectRatio ratio;
+
+    @Setup
+    public void setUp() {
+        sizes = new GCSize[SIZES.length];
+        sizeMap = new GCSizeMap();
+        packedSizeMap = new GCPackedSizeMap();
+        for (int i = 0; i < SIZES.length; i++) {
+            sizes[i] = new GCSize(SIZES[i][0], SIZES[i][1]);
+            sizeMap.add(sizes[i]);
+            packedSizeMap.add(sizes[i]);
+        }
+        ratio = GCAspectRatio.of(16, 9);
+    }
+
+    @Benchmark
+    public GCSizeMap build_sizeMap() {
+        final GCSizeMap map = new GCSizeMap();
+        for (GCSize size : sizes) {
+            map.add(size);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public GCPackedSizeMap build_packedSizeMap() {
+        final GCPackedSizeMap map = new GCPackedSizeMap();
+        for (int[] size : SIZES) {
+            map.add(size[0], size[1]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public GCPackedSizeMap build_packedSizeMapWithTolerance() {
+        final GCPackedSizeMap map = new GCPackedSizeMap(0.01f);
+        for (int[] size : SIZES) {
+            map.add(size[0], size[1]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public GCSize ceiling_sizeMap() {
+        // Same scan as the optimal preview size choosing
+        final SortedSet<GCSize> candidates = sizeMap.sizes(ratio);
+        for (GCSize size : candidates) {
+            if (1900 <= size.getWidth() && 1000 <= size.getHeight()) {
+                return size;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public long ceiling_packedSizeMap() {
+        return packedSizeMap.ceiling(ratio, 1900, 1000);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.artlite.cameraview.benchmark;
+
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCCameraCapabilities;
+import com.artlite.cameraview.selectors.GCCostModelSizeSelector;
+import com.artlite.cameraview.selectors.GCSizeRequest;
+import com.artlite.cameraview.selectors.GCSizeSelection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the preview and picture size selection ({@link GCCostModelSizeSelector}
+ * against the previous ceiling scan of the optimal preview size)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GCSizeSelectorBenchmark {
+
+    /**
+     * Typical preview sizes reported by the Camera1 HAL
+     */
+    private static final int[][] PREVIEW_SIZES = {
+            {1920, 1080}, {1440, 1080}, {1280, 960}, {1280, 720}, {1024, 768},
+            {960, 720}, {800, 600}, {800, 480}, {720, 480}, {640, 480},
+            {640, 360}, {480, 320}, {352, 288}, {320, 240}, {176, 144}
+    };
+
+    /**
+     * Typical picture sizes reported by the Camera1 HAL
+     */
+    private static final int[][] PICTURE_SIZES = {
+            {4160, 3120}, {4160, 2340}, {4000, 3000}, {3840, 2160}, {3264, 2448},
+            {3264, 1836}, {2592, 1944}, {2560, 1440}, {2048, 1536}, {1920, 1080},
+            {1600, 1200}, {1280, 960}, {1280, 720}, {640, 480}, {320, 240}
+    };
+
+    /**
+     * Instance of the {@link GCCameraCapabilities}
+     */
+    private GCCameraCapabilities capabilities;
+
+    /**
+     * Instance of the {@link GCCostModelSizeSelector}
+     */
+    private GCCostModelSizeSelector selector;
+
+    /**
+     * Instance of the {@link GCAspectRatio}
+     */
+    private GCAspectRatio ratio;
+
+    @Setup
+    public void setUp() {
+        capabilities = new GCCameraCapabilities(0, 0, 90, sizes(PREVIEW_SIZES),
+                sizes(PICTURE_SIZES), Collections.<String>emptyList(),
+                Collections.<String>emptyList(), Collections.<int[]>emptyList());
+        selector = new GCCostModelSizeSelector();
+        ratio = GCAspectRatio.of(16, 9);
+    }
+
+    @Benchmark
+    public GCSizeSelection select_costModel() {
+        return selector.select(capabilities, ratio, 1920, 1080, GCSizeRequest.DEFAULT);
+    }
+
+    @Benchmark
+    public GCSizeSelection select_costModelHighResolution() {
+        return selector.select(capabilities, ratio, 1920, 1080,
+                GCSizeRequest.DEFAULT.withHighResolutionPreview(true));
+    }
+
+    @Benchmark
+    public GCSize select_ceilingScan() {
+        // Previous chooseOptimalSize
+        final SortedSet<GCSize> candidates = capabilities.getPreviewSizes(ratio);
+        for (GCSize size : candidates) {
+            if (1920 <= size.getWidth() && 1080 <= size.getHeight()) {
+                return size;
+            }
+        }
+        return candidates.last();
+    }
+
+    /**
+     * Method which provide the creating of the {@link GCSize} list
+     *
+     * @param sizes array of the sizes
+     * @return {@link List} of the {@link GCSize}
+     */
+    private static List<GCSize> sizes(int[][] sizes) {
+        final List<GCSize> list = new ArrayList<>(sizes.length);
+        for (int[] size : sizes) {
+            list.add(new GCSize(size[0], size[1]));
+        }
+        return list;
+    }
+
+}
@@ -17,6 +17,7 @@
 package com.artlite.cameraview.apis;
 
 import android.annotation.SuppressLint;
+import android.graphics.ImageFormat;
 import android.graphics.SurfaceTexture;
 import android.hardware.Camera;
 import android.os.Build;
@@ -28,11 +29,28 @@ import android.view.SurfaceHolder;
 import com.artlite.cameraview.apis.abs.GCBaseAPI;
 import com.artlite.cameraview.constants.GCConstants;
 import com.artlite.cameraview.constants.GCSize;
-import com.artlite.cameraview.constants.GCSizeMap;
+import com.artlite.cameraview.converters.GCFrameJpegEncoder;
+import com.artlite.cameraview.frames.GCFrame;
+import com.artlite.cameraview.frames.GCFrameBufferPool;
+import com.artlite.cameraview.frames.GCFrameListener;
+import com.artlite.cameraview.frames.GCFrameRingBuffer;
+import com.artlite.cameraview.metrics.GCCaptureTimeline;
 import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCBurstStats;
+import com.artlite.cameraview.models.GCCameraCapabilities;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+import com.artlite.cameraview.models.GCFocusStats;
+import com.artlite.cameraview.selectors.GCCostModelSizeSelector;
+import com.artlite.cameraview.selectors.GCSizeRequest;
+import com.artlite.cameraview.selectors.GCSizeSelection;
+import com.artlite.cameraview.selectors.GCSizeSelector;
+import com.artlite.cameraview.threads.GCCameraThread;
+import com.artlite.cameraview.threads.GCCommandQueue;
 import com.artlite.cameraview.views.abs.GCBaseCameraView;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
@@ -41,6 +59,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * Class which provide the implementation of the Camera V1 API implementation
  * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The setters record the requested state on the calling thread and perform the camera I/O on
+ * the {@link GCCameraThread}. {@link #start()} and {@link #stop()} are executed on the calling
+ * thread, use {@link #startAsync} and {@link #stopAsync} to run them on the camera thread.
  */
 @SuppressWarnings("deprecation")
 public class GCCameraAPI extends GCBaseCameraView {
@@ -48,7 +70,32 @@ public class GCCameraAPI extends GCBaseCameraView {
     /**
      * {@link Integer} constants of the invalid camera ID
      */
-    private static final int INVALID_CAMERA_ID = -1;
+    private static final int INVALID_CAMERA_ID = GCCapabilitiesCache.INVALID_CAMERA_ID;
+
+    /**
+     * {@link Integer} constants of the invalid display orientation
+     */
+    private static final int INVALID_ORIENTATION = -1;
+
+    /**
+     * {@link Integer} constants of the facing command
+     */
+    private static final int COMMAND_FACING = 0;
+
+    /**
+     * {@link Integer} constants of the parameters command
+     */
+    private static final int COMMAND_PARAMETERS = 1;
+
+    /**
+     * {@link Integer} constants of the commands count
+     */
+    private static final int COMMAND_COUNT = 2;
+
+    /**
+     * {@link Long} constant of the auto focus cycle timeout before the capture (milliseconds)
+     */
+    private static final long AUTO_FOCUS_TIMEOUT = 1000;
 
     /**
      * Constant of the {@link SparseArrayCompat}
@@ -66,6 +113,11 @@ public class GCCameraAPI extends GCBaseCameraView {
         FLASH_MODES.put(GCConstants.FLASH_RED_EYE, Camera.Parameters.FLASH_MODE_RED_EYE);
     }
 
+    /**
+     * Empty array of the {@link GCFrameListener}
+     */
+    private static final GCFrameListener[] NO_FRAME_LISTENERS = new GCFrameListener[0];
+
     /**
      * {@link Integer} value of the camera ID
      */
@@ -76,10 +128,65 @@ public class GCCameraAPI extends GCBaseCameraView {
      */
     private final AtomicBoolean isPictureCaptureInProgress = new AtomicBoolean(false);
 
+    /**
+     * {@link Integer} value of the queued single shots (camera thread)
+     */
+    private int pendingShots;
+
+    /**
+     * {@link Boolean} value if the shot in progress was preceded by auto focus cycle
+     */
+    private boolean isShotAfterFocus;
+
+    /**
+     * {@link Boolean} value if the burst is paused (camera thread)
+     */
+    private boolean isBurstPaused;
+
+    /**
+     * Instance of the {@link GCCaptureMetadata} of the shot in progress
+     */
+    private GCCaptureMetadata shotMetadata;
+
+    /**
+     * {@link ArrayDeque} of the tap times of the queued shots (camera thread)
+     */
+    private final ArrayDeque<Long> pendingTaps = new ArrayDeque<>();
+
+    /**
+     * Instance of the active {@link Burst} (camera thread)
+     */
+    private Burst burst;
+
+    /**
+     * Instance of the {@link GCFocusStateMachine}
+     */
+    private final GCFocusStateMachine focusState = new GCFocusStateMachine();
+
+    /**
+     * {@link Integer} value of the identifier of the auto focus cycle before the capture
+     */
+    private int focusCycleId;
+
+    /**
+     * {@link Boolean} value if the auto focus cycle before the capture is in progress
+     */
+    private boolean isFocusCycle;
+
+    /**
+     * {@link Long} value of the start time of the auto focus cycle (nanoseconds)
+     */
+    private long focusCycleStart;
+
+    /**
+     * Instance of the {@link GCCommandQueue} which provide the coalescing of the state changes
+     */
+    private final GCCommandQueue commands = new GCCommandQueue(COMMAND_COUNT);
+
     /**
      * Instance of the {@link Camera}
      */
-    protected Camera camera;
+    protected volatile Camera camera;
 
     /**
      * Instance of the {@link Camera.Parameters}
@@ -87,79 +194,315 @@ public class GCCameraAPI extends GCBaseCameraView {
     private Camera.Parameters parameters;
 
     /**
-     * Instance of the {@link Camera.CameraInfo}
+     * Instance of the last applied {@link ParametersSnapshot} (camera thread)
      */
-    private final Camera.CameraInfo cameraInfo = new Camera.CameraInfo();
+    private ParametersSnapshot appliedParameters;
 
     /**
-     * Instance of the {@link GCSizeMap}
+     * {@link Integer} value of the last applied display orientation (camera thread)
      */
-    private final GCSizeMap previewSizes = new GCSizeMap();
+    private int appliedDisplayOrientation = INVALID_ORIENTATION;
 
     /**
-     * Instance of the {@link GCSizeMap}
+     * Instance of the {@link GCCameraCapabilities} of the chosen camera (shared snapshot)
      */
-    private final GCSizeMap pictureSizes = new GCSizeMap();
+    private volatile GCCameraCapabilities capabilities;
 
     /**
      * Instance of the {@link GCAspectRatio}
      */
-    private GCAspectRatio aspectRatio;
+    private volatile GCAspectRatio aspectRatio;
+
+    /**
+     * Instance of the {@link GCSizeSelector}
+     */
+    private volatile GCSizeSelector sizeSelector = new GCCostModelSizeSelector();
+
+    /**
+     * Instance of the {@link GCSizeRequest}
+     */
+    private volatile GCSizeRequest sizeRequest = GCSizeRequest.DEFAULT;
+
+    /**
+     * Instance of the last {@link GCSizeSelection}
+     */
+    private volatile GCSizeSelection sizeSelection;
 
     /**
      * {@link Boolean} value which provide to define if we need to preview
      */
-    private boolean isShowingPreview;
+    private volatile boolean isShowingPreview;
 
     /**
      * {@link Boolean} value if the camera have the auto focus
      */
-    private boolean isHaveAutoFocus;
+    private volatile boolean isHaveAutoFocus;
+
+    /**
+     * {@link String} value of the applied focus mode
+     */
+    private volatile String focusMode;
 
     /**
      * {@link Integer} value of the facing
      */
-    private int facing;
+    private volatile int facing;
 
     /**
      * {@link Integer} value of the flash
      */
-    private int flash;
+    private volatile int flash;
 
     /**
      * {@link Integer} value of the display orientation
      */
-    private int displayOrientation;
+    private volatile int displayOrientation;
+
+    /**
+     * Array of the {@link GCFrameListener} (copy on write)
+     */
+    private volatile GCFrameListener[] frameListeners = NO_FRAME_LISTENERS;
+
+    /**
+     * Instance of the {@link GCFrameBufferPool} (camera thread)
+     */
+    private GCFrameBufferPool framePool;
+
+    /**
+     * {@link Integer} value of the requested zero shutter lag ring depth
+     */
+    private volatile int zslDepth = GCConstants.ZSL_DISABLED;
+
+    /**
+     * {@link Long} value of the zero shutter lag ring memory limit (bytes)
+     */
+    private volatile long zslMaxMemory = GCConstants.ZSL_DEFAULT_MAX_MEMORY;
+
+    /**
+     * {@link Long} value of the standby grace period (milliseconds)
+     */
+    private volatile long standbyTimeout = GCConstants.STANDBY_DISABLED;
+
+    /**
+     * {@link Boolean} value if the stopped session keeps the camera opened
+     */
+    private volatile boolean isStandby;
+
+    /**
+     * Instance of the {@link Runnable} which provide the releasing of the camera when the
+     * standby grace period is expired (camera thread)
+     */
+    private final Runnable standbyRelease = new Runnable() {
+        @Override
+        public void run() {
+            if (isStandby) {
+                releaseCamera(false);
+            }
+        }
+    };
+
+    /**
+     * Instance of the {@link GCOpenWatchdog.Scheduler} which provide the scheduling of the
+     * open attempts on the camera thread
+     */
+    private static final GCOpenWatchdog.Scheduler OPEN_SCHEDULER =
+            new GCOpenWatchdog.Scheduler() {
+                @Override
+                public void schedule(@NonNull Runnable task, long delay) {
+                    GCCameraThread.postDelayed(task, delay);
+                }
+
+                @Override
+                public void remove(@NonNull Runnable task) {
+                    GCCameraThread.remove(task);
+                }
+            };
+
+    /**
+     * Instance of the {@link GCOpenWatchdog.Opener} of the {@link Camera}
+     */
+    private static final GCOpenWatchdog.Opener<Camera> OPENER =
+            new GCOpenWatchdog.Opener<Camera>() {
+                @Override
+                public Camera open(int cameraId) {
+                    return Camera.open(cameraId);
+                }
+
+                @Override
+                public void close(@NonNull Camera camera) {
+                    camera.release();
+                }
+            };
+
+    /**
+     * Instance of the pending {@link GCOpenWatchdog.OpenTask} (camera thread)
+     */
+    private GCOpenWatchdog.OpenTask<Camera> openTask;
+
+    /**
+     * Instance of the {@link OnStartListener} of the restart with the changed facing
+     */
+    private final OnStartListener restartListener = new OnStartListener() {
+        @Override
+        public void onStarted(boolean isStarted) {
+        }
+
+        @Override
+        public void onFailed(@NonNull Exception exception) {
+            callback.onCameraOpenFailed(exception);
+        }
+    };
+
+    /**
+     * Instance of the {@link GCFrameRingBuffer} of the zero shutter lag capture
+     */
+    private volatile GCFrameRingBuffer zslRing;
+
+    /**
+     * Instance of the {@link GCFrameJpegEncoder} of the zero shutter lag capture (camera thread)
+     */
+    private GCFrameJpegEncoder zslEncoder;
+
+    /**
+     * Instance of the {@link Camera.PreviewCallback} which provide the frames dispatching
+     */
+    private final Camera.PreviewCallback previewCallback = new Camera.PreviewCallback() {
+        @Override
+        public void onPreviewFrame(byte[] data, Camera camera) {
+            final GCFrameBufferPool pool = framePool;
+            if ((data == null) || (pool == null)) {
+                return;
+            }
+            final GCFrame frame = pool.wrap(data, System.nanoTime());
+            if (frame == null) {
+                // Stale buffer of the previous preview size
+                return;
+            }
+            try {
+                final GCFrameRingBuffer ring = zslRing;
+                if (ring != null) {
+                    ring.onFrame(frame);
+                }
+                for (GCFrameListener listener : frameListeners) {
+                    listener.onFrame(frame);
+                }
+            } finally {
+                frame.release();
+            }
+        }
+    };
 
     /**
      * Constructor which provide the create {@link GCCameraAPI} with parameters
      *
      * @param callback instance of the {@link Callback}
-     * @param preview  instance of the {@link GCBaseAPI}
+     * @param preview  instance of the {@link GCBaseAPI} (null for the warm up, the camera is
+     *                 opened and configured but the preview isn't started until the rebind)
      */
     public GCCameraAPI(@Nullable Callback callback,
-                       @NonNull GCBaseAPI preview) {
+                       @Nullable GCBaseAPI preview) {
         super(callback, preview);
-        preview.setCallback(new GCBaseAPI.Callback() {
+        commands.register(COMMAND_FACING, new Runnable() {
+            @Override
+            public void run() {
+                // Only the latest requested facing is opened
+                if (isCameraOpened() && capabilities.getFacing() != facing) {
+                    stop();
+                    startSession(restartListener);
+                }
+            }
+        });
+        commands.register(COMMAND_PARAMETERS, new Runnable() {
             @Override
-            public void onSurfaceChanged() {
-                if (camera != null) {
-                    setUpPreview();
+            public void run() {
+                if (isCameraOpened()) {
                     adjustCameraParameters();
+                    updatePreviewCallback();
                 }
             }
         });
+        if (preview != null) {
+            preview.setCallback(surfaceCallback);
+        }
     }
 
     /**
-     * Method which provide the start session
+     * Instance of the {@link GCBaseAPI.Callback} which provide the setting up of the changed
+     * preview surface
+     */
+    private final GCBaseAPI.Callback surfaceCallback = new GCBaseAPI.Callback() {
+        @Override
+        public void onSurfaceChanged() {
+            GCCameraThread.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (camera != null) {
+                        setUpPreview();
+                        adjustCameraParameters();
+                    }
+                }
+            });
+        }
+    };
+
+    /**
+     * Method which provide the rebinding of the opened session to the recreated view
      *
-     * @return {@link Boolean} value if the session is started
+     * @param callback instance of the {@link Callback}
+     * @param preview  instance of the {@link GCBaseAPI}
      */
     @Override
-    public boolean start() {
+    public void rebind(@NonNull Callback callback, @Nullable GCBaseAPI preview) {
+        super.rebind(callback, preview);
+        if (preview != null) {
+            preview.setCallback(surfaceCallback);
+        }
+    }
+
+    /**
+     * Method which provide the start session (camera thread)
+     *
+     * @param listener instance of the {@link OnStartListener}
+     */
+    @Override
+    protected void startSession(@NonNull OnStartListener listener) {
+        if (isCameraOpened() && isShowingPreview) {
+            // The session is already started (it was rebound to the recreated view)
+            callback.onCameraOpened();
+            listener.onStarted(true);
+            return;
+        }
+        cancelOpen();
+        final int openedCameraID = cameraID;
         chooseCamera();
-        openCamera();
+        if ((camera != null) && (cameraID == openedCameraID)) {
+            // Resume from the standby or the warm up, only the preview is started
+            GCCameraThread.remove(standbyRelease);
+            isStandby = false;
+            adjustCameraParameters();
+            updatePreviewCallback();
+            callback.onCameraOpened();
+            listener.onStarted(startPreview());
+            return;
+        }
+        if (camera != null) {
+            // Closed was already notified by the standby (or nobody listened the warm up)
+            releaseCamera(false);
+        }
+        openCamera(listener);
+    }
+
+    /**
+     * Method which provide the starting of the preview of the opened camera (camera thread)
+     *
+     * @return {@link Boolean} value if the session is started
+     */
+    private boolean startPreview() {
+        final GCBaseAPI preview = this.preview;
+        if (preview == null) {
+            // Warm up, the preview is started by the view the session is rebound to
+            return true;
+        }
         if (preview.isReady()) {
             setUpPreview();
         }
@@ -173,11 +516,24 @@ public class GCCameraAPI extends GCBaseCameraView {
      */
     @Override
     public void stop() {
+        cancelOpen();
         if (camera != null) {
             camera.stopPreview();
         }
         isShowingPreview = false;
-        releaseCamera();
+        final long timeout = standbyTimeout;
+        if ((camera == null) || isStandby || (timeout == GCConstants.STANDBY_DISABLED)) {
+            releaseCamera();
+            return;
+        }
+        // Standby, the camera is released after the grace period
+        if (isFocusCycle) {
+            camera.cancelAutoFocus();
+        }
+        resetCapture();
+        isStandby = true;
+        GCCameraThread.postDelayed(standbyRelease, timeout);
+        callback.onCameraClosed();
     }
 
     /**
@@ -210,7 +566,7 @@ public class GCCameraAPI extends GCBaseCameraView {
      */
     @Override
     public boolean isCameraOpened() {
-        return camera != null;
+        return (camera != null) && !isStandby;
     }
 
     /**
@@ -225,8 +581,7 @@ public class GCCameraAPI extends GCBaseCameraView {
         }
         this.facing = facing;
         if (isCameraOpened()) {
-            stop();
-            start();
+            commands.submit(COMMAND_FACING);
         }
     }
 
@@ -247,13 +602,14 @@ public class GCCameraAPI extends GCBaseCameraView {
      */
     @Override
     public Set<GCAspectRatio> getAspectRatios() {
-        GCSizeMap idealAspectRatios = previewSizes;
-        for (GCAspectRatio aspectRatio : idealAspectRatios.getRatios()) {
-            if (pictureSizes.sizes(aspectRatio) == null) {
-                idealAspectRatios.remove(aspectRatio);
-            }
+        GCCameraCapabilities capabilities = this.capabilities;
+        if (capabilities == null) {
+            capabilities = GCCapabilitiesCache.get(GCCapabilitiesCache.getCameraId(facing));
+        }
+        if (capabilities == null) {
+            return Collections.emptySet();
         }
-        return idealAspectRatios.getRatios();
+        return capabilities.getAspectRatios();
     }
 
     /**
@@ -269,12 +625,11 @@ public class GCCameraAPI extends GCBaseCameraView {
             aspectRatio = ratio;
             return true;
         } else if (!aspectRatio.equals(ratio)) {
-            final Set<GCSize> sizes = previewSizes.sizes(ratio);
-            if (sizes == null) {
+            if (!capabilities.getAspectRatios().contains(ratio)) {
                 throw new UnsupportedOperationException(ratio + " is not supported");
             } else {
                 aspectRatio = ratio;
-                adjustCameraParameters();
+                reapplyParameters();
                 return true;
             }
         }
@@ -297,13 +652,11 @@ public class GCCameraAPI extends GCBaseCameraView {
      * @param autoFocus {@link Boolean} value of the auto focus
      */
     @Override
-    public void setAutoFocus(boolean autoFocus) {
+    public void setAutoFocus(final boolean autoFocus) {
         if (isHaveAutoFocus == autoFocus) {
             return;
         }
-        if (setAutoFocusInternal(autoFocus)) {
-            camera.setParameters(parameters);
-        }
+        edit().focus(autoFocus).apply();
     }
 
     /**
@@ -316,7 +669,7 @@ public class GCCameraAPI extends GCBaseCameraView {
         if (!isCameraOpened()) {
             return isHaveAutoFocus;
         }
-        String focusMode = parameters.getFocusMode();
+        final String focusMode = this.focusMode;
         return focusMode != null && focusMode.contains("continuous");
     }
 
@@ -326,13 +679,11 @@ public class GCCameraAPI extends GCBaseCameraView {
      * @param flash {@link Integer} value of the flash
      */
     @Override
-    public void setFlash(int flash) {
+    public void setFlash(final int flash) {
         if (flash == this.flash) {
             return;
         }
-        if (setFlashInternal(flash)) {
-            camera.setParameters(parameters);
-        }
+        edit().flash(flash).apply();
     }
 
     /**
@@ -346,199 +697,977 @@ public class GCCameraAPI extends GCBaseCameraView {
     }
 
     /**
-     * Method which provide the taking picture
+     * Method which provide the setting of the {@link GCSizeSelector}
+     *
+     * @param selector instance of the {@link GCSizeSelector}
      */
     @Override
-    public void takePicture() {
-        if (!isCameraOpened()) {
-            throw new IllegalStateException(
-                    "Camera is not ready. Call start() before takePicture().");
-        }
-        if (getAutoFocus()) {
-            camera.cancelAutoFocus();
-            camera.autoFocus(new Camera.AutoFocusCallback() {
-                @Override
-                public void onAutoFocus(boolean success, Camera camera) {
-                    takePictureInternal();
-                }
-            });
-        } else {
-            takePictureInternal();
-        }
+    public void setSizeSelector(@NonNull GCSizeSelector selector) {
+        this.sizeSelector = selector;
+        reapplyParameters();
     }
 
     /**
-     * Method which provide the take picture internal
+     * Method which provide the setting of the {@link GCSizeRequest}
+     *
+     * @param request instance of the {@link GCSizeRequest}
      */
-    public void takePictureInternal() {
-        if (!isPictureCaptureInProgress.getAndSet(true)) {
-            camera.takePicture(null, null, null, new Camera.PictureCallback() {
-                @Override
-                public void onPictureTaken(byte[] data, Camera camera) {
-                    isPictureCaptureInProgress.set(false);
-                    callback.onPictureTaken(data);
-                    camera.cancelAutoFocus();
-                    camera.startPreview();
-                }
-            });
-        }
+    @Override
+    public void setSizeRequest(@NonNull GCSizeRequest request) {
+        edit().sizeRequest(request).apply();
     }
 
     /**
-     * Method which provide the setting of the display orientation
+     * Method which provide the getting of the {@link GCSizeRequest}
      *
-     * @param orientation {@link Integer} value of the display orientation
+     * @return instance of the {@link GCSizeRequest}
      */
+    @NonNull
     @Override
-    public void setDisplayOrientation(int orientation) {
-        if (displayOrientation == orientation) {
-            return;
+    public GCSizeRequest getSizeRequest() {
+        return sizeRequest;
+    }
+
+    /**
+     * Method which provide the getting of the last {@link GCSizeSelection}
+     *
+     * @return instance of the {@link GCSizeSelection} or null if the camera was not configured
+     */
+    @Nullable
+    @Override
+    public GCSizeSelection getSizeSelection() {
+        return sizeSelection;
+    }
+
+    /**
+     * Method which provide the taking picture. When the capture is in progress the picture is
+     * queued and taken right after the current one (without the additional auto focus cycle).
+     * With the zero shutter lag capture the preview frame nearest to the call is encoded.
+     */
+    @Override
+    public void takePicture() {
+        if (!isCameraOpened()) {
+            throw new IllegalStateException(
+                    "Camera is not ready. Call start() before takePicture().");
         }
-        displayOrientation = orientation;
-        if (isCameraOpened()) {
-            parameters.setRotation(calcCameraRotation(orientation));
-            camera.setParameters(parameters);
-            final boolean needsToStopPreview = isShowingPreview && Build.VERSION.SDK_INT < 14;
-            if (needsToStopPreview) {
-                camera.stopPreview();
-            }
-            camera.setDisplayOrientation(calcDisplayOrientation(orientation));
-            if (needsToStopPreview) {
-                camera.startPreview();
+        final long time = System.nanoTime();
+        GCCameraThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (!isCameraOpened()) {
+                    return;
+                }
+                if ((burst == null) && takePictureFromRing(time)) {
+                    return;
+                }
+                pendingTaps.add(time);
+                takePictureQueued();
             }
-        }
+        });
     }
 
     /**
-     * Method which provide the choosing camera
+     * Method which provide the taking picture or queueing it when the capture is in progress
+     * (camera thread)
      */
-    private void chooseCamera() {
-        for (int i = 0, count = Camera.getNumberOfCameras(); i < count; i++) {
-            Camera.getCameraInfo(i, cameraInfo);
-            if (cameraInfo.facing == facing) {
-                cameraID = i;
-                return;
-            }
+    private void takePictureQueued() {
+        if (isPictureCaptureInProgress.get() || (burst != null)) {
+            pendingShots++;
+        } else {
+            takePictureWithFocus();
         }
-        cameraID = INVALID_CAMERA_ID;
     }
 
     /**
-     * Method which provide the open camera
+     * Method which provide the zero shutter lag capture of the preview frame nearest to the
+     * time (camera thread)
+     *
+     * @param time {@link Long} value of the time in nanoseconds ({@link System#nanoTime()})
+     * @return {@link Boolean} value if the frame was taken
      */
-    private void openCamera() {
-        if (camera != null) {
-            releaseCamera();
-        }
-        camera = Camera.open(cameraID);
-        parameters = camera.getParameters();
-        // Supported preview sizes
-        previewSizes.clear();
-        for (Camera.Size size : parameters.getSupportedPreviewSizes()) {
-            previewSizes.add(new GCSize(size.width, size.height));
+    private boolean takePictureFromRing(long time) {
+        final GCFrameRingBuffer ring = zslRing;
+        if (ring == null) {
+            return false;
         }
-        // Supported picture sizes;
-        pictureSizes.clear();
-        for (Camera.Size size : parameters.getSupportedPictureSizes()) {
-            pictureSizes.add(new GCSize(size.width, size.height));
+        final GCFrame frame = ring.acquireNearest(time);
+        if (frame == null) {
+            return false;
         }
-        // GCAspectRatio
-        if (aspectRatio == null) {
-            aspectRatio = GCConstants.DEFAULT_ASPECT_RATIO;
+        if (zslEncoder == null) {
+            zslEncoder = new GCFrameJpegEncoder(GCFrameJpegEncoder.DEFAULT_QUALITY);
         }
-        adjustCameraParameters();
-        camera.setDisplayOrientation(calcDisplayOrientation(displayOrientation));
-        callback.onCameraOpened();
+        final GCCaptureTimeline timeline = new GCCaptureTimeline(time);
+        timeline.mark(GCCaptureTimeline.STAGE_CAPTURE);
+        timeline.mark(GCCaptureTimeline.STAGE_SHUTTER, frame.getTimestamp());
+        final GCCaptureMetadata metadata = createMetadata(frame.getWidth(), frame.getHeight(),
+                true, timeline);
+        // Frame is encoded as is, the orientation is written to the Exif
+        zslEncoder.encode(frame, 0,
+                new GCFrameJpegEncoder.Callback() {
+                    @Override
+                    public void onEncoded(@Nullable final byte[] jpeg) {
+                        timeline.mark(GCCaptureTimeline.STAGE_JPEG);
+                        GCCameraThread.post(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (jpeg != null) {
+                                    callback.onPictureTaken(jpeg, metadata);
+                                } else if (isCameraOpened()) {
+                                    // Fallback to the regular capture
+                                    pendingTaps.add(time);
+                                    takePictureQueued();
+                                }
+                            }
+                        });
+                    }
+                });
+        return true;
     }
 
     /**
-     * Method which provide the choose of the {@link GCAspectRatio}
+     * Method which provide the setting of the zero shutter lag capture. The last preview frames
+     * are kept in the ring (preallocated with the frame buffers) and the picture is encoded from
+     * the frame nearest to the {@link #takePicture()} call, the preview is negotiated with the
+     * high resolution (limited by the maximal picture megapixels). The ring depth is reduced to
+     * fit the memory limit for the negotiated preview size.
      *
-     * @return instance of the {@link GCAspectRatio}
+     * @param depth     {@link Integer} value of the ring depth
+     *                  (or {@link GCConstants#ZSL_DISABLED})
+     * @param maxMemory {@link Long} value of the ring memory limit (bytes)
      */
-    private GCAspectRatio chooseAspectRatio() {
-        GCAspectRatio r = null;
-        for (GCAspectRatio ratio : previewSizes.getRatios()) {
-            r = ratio;
-            if (ratio.equals(GCConstants.DEFAULT_ASPECT_RATIO)) {
-                return ratio;
-            }
+    @Override
+    public void setZeroShutterLag(int depth, long maxMemory) {
+        if (depth < 0 || maxMemory <= 0) {
+            throw new IllegalArgumentException("Invalid zero shutter lag: " + depth
+                    + " frames, " + maxMemory + " bytes");
         }
-        return r;
+        zslDepth = Math.min(depth, GCFrameRingBuffer.MAX_CAPACITY);
+        zslMaxMemory = maxMemory;
+        reapplyParameters();
     }
 
     /**
-     * Method which provide the adjust camera parameters
+     * Method which provide the getting of the zero shutter lag ring memory
+     *
+     * @return {@link Long} value of the ring memory (bytes, 0 if disabled)
+     */
+    @Override
+    public long getZeroShutterLagMemory() {
+        final GCFrameRingBuffer ring = zslRing;
+        final GCSizeSelection selection = sizeSelection;
+        if (ring == null || selection == null) {
+            return 0;
+        }
+        final GCSize size = selection.getPreviewSize();
+        return (long) ring.getCapacity()
+                * GCFrameBufferPool.getBufferSize(size.getWidth(), size.getHeight());
+    }
+
+    /**
+     * Method which provide the taking of the burst of pictures. The auto focus cycle is
+     * performed only before the first shot, the next shot is captured when the JPEG of the
+     * previous one is received (but not earlier than the interval).
+     *
+     * @param count    {@link Integer} value of the shots count
+     *                 (or {@link GCConstants#BURST_UNLIMITED} until {@link #stopBurst()})
+     * @param interval {@link Long} value of the minimal interval between shots (milliseconds)
+     */
+    @Override
+    public void takePictures(final int count, final long interval) {
+        if (!isCameraOpened()) {
+            throw new IllegalStateException(
+                    "Camera is not ready. Call start() before takePictures().");
+        }
+        if (count <= 0) {
+            throw new IllegalArgumentException("Invalid shots count: " + count);
+        }
+        GCCameraThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (!isCameraOpened()) {
+                    return;
+                }
+                finishBurst();
+                burst = new Burst(count, Math.max(interval, 0));
+                if (isPictureCaptureInProgress.get()) {
+                    return;
+                }
+                if (isBurstPaused) {
+                    burst.isWaiting = true;
+                } else {
+                    takePictureWithFocus();
+                }
+            }
+        });
+    }
+
+    /**
+     * Method which provide the stopping of the burst (the shot in progress is still delivered)
+     */
+    @Override
+    public void stopBurst() {
+        GCCameraThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (burst == null) {
+                    return;
+                }
+                burst.requestedCount = burst.startedCount;
+                if (!isPictureCaptureInProgress.get()) {
+                    finishBurst();
+                }
+            }
+        });
+    }
+
+    /**
+     * Method which provide the pausing of the burst, the paused burst waits before the next
+     * shot and continues with the interval when it is resumed
+     *
+     * @param isPaused {@link Boolean} value if the burst is paused
+     */
+    @Override
+    public void setBurstPaused(final boolean isPaused) {
+        GCCameraThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                isBurstPaused = isPaused;
+                if (!isPaused && (burst != null) && burst.isWaiting) {
+                    burst.isWaiting = false;
+                    scheduleBurstShot(burst);
+                }
+            }
+        });
+    }
+
+    /**
+     * Method which provide the taking picture with the auto focus cycle (camera thread). The
+     * cycle is skipped when the continuous focus is stable, otherwise the capture fires when the
+     * cycle is finished (or timed out).
+     */
+    private void takePictureWithFocus() {
+        if (!getAutoFocus()) {
+            takePictureInternal(false);
+            return;
+        }
+        if (focusState.isCaptureReady()) {
+            focusState.onShot(0L, true, false);
+            takePictureInternal(false);
+            return;
+        }
+        if (isFocusCycle) {
+            // Taken right after the shot of the cycle in progress
+            pendingShots++;
+            return;
+        }
+        final int id = ++focusCycleId;
+        isFocusCycle = true;
+        focusCycleStart = System.nanoTime();
+        focusState.onCycleStarted();
+        camera.cancelAutoFocus();
+        camera.autoFocus(new Camera.AutoFocusCallback() {
+            @Override
+            public void onAutoFocus(boolean success, Camera camera) {
+                finishFocusCycle(id, success, false);
+            }
+        });
+        GCCameraThread.postDelayed(focusTimeout, AUTO_FOCUS_TIMEOUT);
+    }
+
+    /**
+     * Instance of the {@link Runnable} which provide the auto focus cycle timeout
+     */
+    private final Runnable focusTimeout = new Runnable() {
+        @Override
+        public void run() {
+            finishFocusCycle(focusCycleId, false, true);
+        }
+    };
+
+    /**
+     * Method which provide the finishing of the auto focus cycle and the capture (camera thread)
+     *
+     * @param id        {@link Integer} value of the cycle identifier
+     * @param isSuccess {@link Boolean} value if the focus was succeeded
+     * @param isTimeout {@link Boolean} value if the cycle was timed out
+     */
+    private void finishFocusCycle(int id, boolean isSuccess, boolean isTimeout) {
+        if (!isFocusCycle || (id != focusCycleId)) {
+            return;
+        }
+        isFocusCycle = false;
+        GCCameraThread.remove(focusTimeout);
+        focusState.onCycleFinished(isSuccess);
+        focusState.onShot(System.nanoTime() - focusCycleStart, false, isTimeout);
+        if (isTimeout) {
+            // The outstanding cycle is cancelled, several HALs fail the capture while it runs
+            camera.cancelAutoFocus();
+        }
+        takePictureInternal(true);
+    }
+
+    /**
+     * Instance of the {@link Camera.AutoFocusMoveCallback} which provide the tracking of the
+     * continuous focus
+     */
+    private final Camera.AutoFocusMoveCallback focusMoveCallback =
+            new Camera.AutoFocusMoveCallback() {
+                @Override
+                public void onAutoFocusMoving(boolean start, Camera camera) {
+                    if (!isFocusCycle) {
+                        focusState.onMoving(start);
+                    }
+                }
+            };
+
+    /**
+     * Method which provide the getting of the {@link GCFocusStats}
+     *
+     * @return instance of the {@link GCFocusStats}
+     */
+    @NonNull
+    @Override
+    public GCFocusStats getFocusStats() {
+        return focusState.getStats();
+    }
+
+    /**
+     * Method which provide the setting of the standby grace period
+     *
+     * @param timeout {@link Long} value of the grace period (milliseconds, or
+     *                {@link GCConstants#STANDBY_DISABLED})
+     */
+    @Override
+    public void setStandbyTimeout(long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Invalid standby timeout: " + timeout);
+        }
+        this.standbyTimeout = timeout;
+    }
+
+    /**
+     * Method which provide the getting of the standby grace period
+     *
+     * @return {@link Long} value of the grace period (milliseconds)
+     */
+    @Override
+    public long getStandbyTimeout() {
+        return standbyTimeout;
+    }
+
+    /**
+     * Method which provide the releasing of the camera which is kept in standby
+     */
+    @Override
+    public void releaseStandby() {
+        GCCameraThread.execute(standbyRelease);
+    }
+
+    /**
+     * Method which provide the take picture internal
+     */
+    public void takePictureInternal() {
+        takePictureInternal(false);
+    }
+
+    /**
+     * Method which provide the take picture internal (camera thread)
+     *
+     * @param isAfterFocus {@link Boolean} value if the auto focus cycle was performed
+     */
+    private void takePictureInternal(boolean isAfterFocus) {
+        if (!isCameraOpened()) {
+            return;
+        }
+        if (!isPictureCaptureInProgress.getAndSet(true)) {
+            isShotAfterFocus = isAfterFocus;
+            if (burst != null) {
+                burst.onShotStarted(System.nanoTime());
+            }
+            // The taps wait for the burst, so the burst shot doesn't take their time
+            final Long tap = (burst == null) ? pendingTaps.poll() : null;
+            final GCCaptureTimeline timeline = new GCCaptureTimeline(
+                    (tap != null) ? tap : System.nanoTime());
+            if (isAfterFocus) {
+                timeline.mark(GCCaptureTimeline.STAGE_FOCUS_START, focusCycleStart);
+                timeline.mark(GCCaptureTimeline.STAGE_FOCUS_END);
+            }
+            timeline.mark(GCCaptureTimeline.STAGE_CAPTURE);
+            final GCSize pictureSize = sizeSelection.getPictureSize();
+            shotMetadata = createMetadata(pictureSize.getWidth(), pictureSize.getHeight(), false,
+                    timeline);
+            camera.takePicture(shutterCallback, null, null, pictureCallback);
+        } else {
+            pendingShots++;
+        }
+    }
+
+    /**
+     * Instance of the {@link Camera.ShutterCallback} which provide the shutter moment tracking
+     */
+    private final Camera.ShutterCallback shutterCallback = new Camera.ShutterCallback() {
+        @Override
+        public void onShutter() {
+            final GCCaptureTimeline timeline = shotMetadata.getTimeline();
+            if (timeline != null) {
+                timeline.mark(GCCaptureTimeline.STAGE_SHUTTER);
+            }
+        }
+    };
+
+    /**
+     * Instance of the {@link Camera.PictureCallback} which provide the JPEG receiving
+     */
+    private final Camera.PictureCallback pictureCallback = new Camera.PictureCallback() {
+        @Override
+        public void onPictureTaken(byte[] data, Camera camera) {
+            final GCCaptureTimeline timeline = shotMetadata.getTimeline();
+            if (isStandby) {
+                // The session was stopped during the capture, the preview stays paused
+                return;
+            }
+            if (timeline != null) {
+                timeline.mark(GCCaptureTimeline.STAGE_JPEG);
+            }
+            // Preview is restarted before the (potentially slow) dispatching
+            if (isShotAfterFocus) {
+                camera.cancelAutoFocus();
+            }
+            camera.startPreview();
+            isPictureCaptureInProgress.set(false);
+            callback.onPictureTaken(data, shotMetadata);
+            onShotCompleted();
+        }
+    };
+
+    /**
+     * Method which provide the creating of the {@link GCCaptureMetadata} of the shot with the
+     * current orientation (camera thread)
+     *
+     * @param width            {@link Integer} value of the picture width
+     * @param height           {@link Integer} value of the picture height
+     * @param isZeroShutterLag {@link Boolean} value if the picture is the preview frame
+     * @param timeline         instance of the {@link GCCaptureTimeline}
+     * @return instance of the {@link GCCaptureMetadata}
+     */
+    @NonNull
+    private GCCaptureMetadata createMetadata(int width,
+                                             int height,
+                                             boolean isZeroShutterLag,
+                                             @NonNull GCCaptureTimeline timeline) {
+        return new GCCaptureMetadata(calcCameraRotation(displayOrientation),
+                System.currentTimeMillis(), width, height, facing, flash, isZeroShutterLag,
+                !isZeroShutterLag && !isExifRotation, timeline);
+    }
+
+    /**
+     * Method which provide the scheduling of the next shot (camera thread)
+     */
+    private void onShotCompleted() {
+        final Burst burst = this.burst;
+        if (burst != null) {
+            burst.onShotCaptured();
+            if (burst.startedCount < burst.requestedCount) {
+                scheduleBurstShot(burst);
+                return;
+            }
+            finishBurst();
+        }
+        if (pendingShots > 0) {
+            pendingShots--;
+            takePictureInternal(false);
+        }
+    }
+
+    /**
+     * Instance of the {@link Runnable} which provide the next burst shot
+     */
+    private final Runnable burstShot = new Runnable() {
+        @Override
+        public void run() {
+            final Burst burst = GCCameraAPI.this.burst;
+            if (burst == null) {
+                return;
+            }
+            if (isBurstPaused) {
+                burst.isWaiting = true;
+            } else if (burst.startedCount == 0) {
+                // The burst was paused before the first shot
+                takePictureWithFocus();
+            } else {
+                takePictureInternal(false);
+            }
+        }
+    };
+
+    /**
+     * Method which provide the scheduling of the next burst shot after the interval, the paused
+     * burst waits for the resuming (camera thread)
+     *
+     * @param burst instance of the {@link Burst}
+     */
+    private void scheduleBurstShot(@NonNull Burst burst) {
+        if (isBurstPaused) {
+            burst.isWaiting = true;
+            return;
+        }
+        final long elapsed = (System.nanoTime() - burst.lastShotStart) / 1000000L;
+        GCCameraThread.postDelayed(burstShot, Math.max(burst.interval - elapsed, 0));
+    }
+
+    /**
+     * Method which provide the finishing of the burst and reporting of the stats (camera thread)
+     */
+    private void finishBurst() {
+        final Burst burst = this.burst;
+        if (burst == null) {
+            return;
+        }
+        this.burst = null;
+        GCCameraThread.remove(burstShot);
+        if (burst.startedCount > 0) {
+            callback.onBurstCompleted(burst.toStats(System.nanoTime()));
+        }
+    }
+
+    /**
+     * Method which provide the setting if the orientation is written only to the Exif
+     *
+     * @param isExifRotation {@link Boolean} value if the HAL doesn't rotate the picture
+     */
+    @Override
+    public void setExifRotation(boolean isExifRotation) {
+        if (this.isExifRotation == isExifRotation) {
+            return;
+        }
+        super.setExifRotation(isExifRotation);
+        reapplyParameters();
+    }
+
+    /**
+     * Method which provide the setting of the display orientation
+     *
+     * @param orientation {@link Integer} value of the display orientation
+     */
+    @Override
+    public void setDisplayOrientation(final int orientation) {
+        if (displayOrientation == orientation) {
+            return;
+        }
+        edit().displayOrientation(orientation).apply();
+    }
+
+    /**
+     * Method which provide the applying of the {@link Editor} changes. The state is recorded on
+     * the calling thread, the parameters are applied with the single diffing update on the
+     * {@link GCCameraThread}.
+     *
+     * @param editor instance of the {@link Editor}
+     * @return {@link Boolean} value if the aspect ratio was changed
+     */
+    @Override
+    protected boolean applyEdit(@NonNull Editor editor) {
+        boolean isRatioChanged = false;
+        final GCAspectRatio ratio = editor.getAspectRatio();
+        if (ratio != null && !ratio.equals(aspectRatio)) {
+            final GCCameraCapabilities capabilities = this.capabilities;
+            if (isCameraOpened() && capabilities != null
+                    && !capabilities.getAspectRatios().contains(ratio)) {
+                throw new UnsupportedOperationException(ratio + " is not supported");
+            }
+            aspectRatio = ratio;
+            isRatioChanged = true;
+        }
+        if (editor.getFlash() != null) {
+            flash = editor.getFlash();
+        }
+        if (editor.getAutoFocus() != null) {
+            isHaveAutoFocus = editor.getAutoFocus();
+        }
+        if (editor.getDisplayOrientation() != null) {
+            displayOrientation = editor.getDisplayOrientation();
+        }
+        if (editor.getSizeRequest() != null) {
+            sizeRequest = editor.getSizeRequest();
+        }
+        reapplyParameters();
+        return isRatioChanged;
+    }
+
+    /**
+     * Method which provide the re-applying of the parameters of the opened camera
+     */
+    private void reapplyParameters() {
+        if (isCameraOpened()) {
+            commands.submit(COMMAND_PARAMETERS);
+        }
+    }
+
+    /**
+     * Method which provide the getting of the count of the coalesced commands (facing and
+     * parameters changes which were skipped because the newer change was pending)
+     *
+     * @return {@link Long} value of the coalesced commands count
+     */
+    @Override
+    public long getCoalescedCommandCount() {
+        return commands.getCoalescedCount();
+    }
+
+    /**
+     * Method which provide the adding of the preview {@link GCFrameListener}
+     *
+     * @param listener instance of the {@link GCFrameListener}
+     */
+    @Override
+    public void addFrameListener(@NonNull GCFrameListener listener) {
+        synchronized (previewCallback) {
+            for (GCFrameListener item : frameListeners) {
+                if (item == listener) {
+                    return;
+                }
+            }
+            final GCFrameListener[] listeners = new GCFrameListener[frameListeners.length + 1];
+            System.arraycopy(frameListeners, 0, listeners, 0, frameListeners.length);
+            listeners[frameListeners.length] = listener;
+            frameListeners = listeners;
+        }
+        GCCameraThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                updatePreviewCallback();
+            }
+        });
+    }
+
+    /**
+     * Method which provide the removing of the preview {@link GCFrameListener}
+     *
+     * @param listener instance of the {@link GCFrameListener}
+     */
+    @Override
+    public void removeFrameListener(@NonNull GCFrameListener listener) {
+        synchronized (previewCallback) {
+            final GCFrameListener[] current = frameListeners;
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == listener) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            final GCFrameListener[] listeners = new GCFrameListener[current.length - 1];
+            System.arraycopy(current, 0, listeners, 0, index);
+            System.arraycopy(current, index + 1, listeners, index, current.length - index - 1);
+            frameListeners = (listeners.length == 0) ? NO_FRAME_LISTENERS : listeners;
+        }
+        GCCameraThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                updatePreviewCallback();
+            }
+        });
+    }
+
+    /**
+     * Method which provide the updating of the preview callback and the buffers
+     * {@link GCFrameBufferPool} for the current preview size (camera thread)
+     */
+    private void updatePreviewCallback() {
+        final Camera camera = this.camera;
+        if (camera == null) {
+            return;
+        }
+        if ((frameListeners.length == 0) && (zslDepth == GCConstants.ZSL_DISABLED)) {
+            if (framePool != null) {
+                closeFramePool();
+                camera.setPreviewCallbackWithBuffer(null);
+            }
+            return;
+        }
+        final Camera.Size size = parameters.getPreviewSize();
+        // Ring frames are retained, so the camera still has the default buffers to fill
+        final long bufferSize = GCFrameBufferPool.getBufferSize(size.width, size.height);
+        final int ringDepth = (int) Math.min(zslDepth, zslMaxMemory / bufferSize);
+        final int bufferCount = GCFrameBufferPool.DEFAULT_BUFFER_COUNT + ringDepth;
+        if ((framePool != null) && framePool.matches(size.width, size.height)
+                && (framePool.getBufferCount() == bufferCount)) {
+            return;
+        }
+        if (framePool != null) {
+            // Clears the buffers queue of the previous preview size (the closed pool doesn't
+            // return the released buffers anymore)
+            closeFramePool();
+            camera.setPreviewCallbackWithBuffer(null);
+        }
+        final GCFrameBufferPool pool = new GCFrameBufferPool(size.width, size.height,
+                bufferCount);
+        framePool = pool;
+        zslRing = (ringDepth > 0) ? new GCFrameRingBuffer(ringDepth) : null;
+        camera.setPreviewCallbackWithBuffer(previewCallback);
+        // The recycler runs on the releasing thread under the pool lock, the pool is closed
+        // before the camera is released, so the buffer is never added to the released camera
+        pool.setRecycler(new GCFrameBufferPool.Recycler() {
+            @Override
+            public void onRecycle(@NonNull byte[] buffer) {
+                camera.addCallbackBuffer(buffer);
+            }
+        });
+    }
+
+    /**
+     * Method which provide the closing of the {@link GCFrameBufferPool} and releasing of the
+     * zero shutter lag ring (camera thread)
+     */
+    private void closeFramePool() {
+        if (framePool != null) {
+            framePool.close();
+            framePool = null;
+        }
+        final GCFrameRingBuffer ring = zslRing;
+        if (ring != null) {
+            zslRing = null;
+            ring.clear();
+        }
+    }
+
+    /**
+     * Method which provide the choosing camera
+     */
+    private void chooseCamera() {
+        cameraID = GCCapabilitiesCache.getCameraId(facing);
+    }
+
+    /**
+     * Method which provide the open camera, the attempts are scheduled on the camera thread
+     *
+     * @param listener instance of the {@link OnStartListener}
+     */
+    private void openCamera(@NonNull final OnStartListener listener) {
+        if (camera != null) {
+            releaseCamera();
+        }
+        if (cameraID == INVALID_CAMERA_ID) {
+            listener.onStarted(false);
+            return;
+        }
+        // Supervised open, the hanging or busy camera is retried with the backoff
+        openTask = GCOpenWatchdog.open(cameraID, openPolicy, OPEN_SCHEDULER, OPENER,
+                getOpenListener(), new GCOpenWatchdog.Callback<Camera>() {
+                    @Override
+                    public void onOpened(@NonNull Camera camera) {
+                        openTask = null;
+                        try {
+                            configureCamera(camera);
+                            listener.onStarted(startPreview());
+                        } catch (RuntimeException ex) {
+                            listener.onFailed(ex);
+                        }
+                    }
+
+                    @Override
+                    public void onFailed(@NonNull Exception exception) {
+                        // The failure was reported to the callback by the open listener
+                        openTask = null;
+                        listener.onStarted(false);
+                    }
+                });
+    }
+
+    /**
+     * Method which provide the configuring of the opened camera (camera thread)
+     *
+     * @param camera instance of the {@link Camera}
+     */
+    private void configureCamera(@NonNull Camera camera) {
+        parameters = camera.getParameters();
+        // Supported sizes and modes (parsed once per camera ID)
+        capabilities = GCCapabilitiesCache.obtain(cameraID, facing, parameters);
+        // GCAspectRatio
+        if (aspectRatio == null) {
+            aspectRatio = GCConstants.DEFAULT_ASPECT_RATIO;
+        }
+        this.camera = camera;
+        appliedParameters = null;
+        appliedDisplayOrientation = INVALID_ORIENTATION;
+        adjustCameraParameters();
+        callback.onCameraOpened();
+    }
+
+    /**
+     * Method which provide the canceling of the pending open (camera thread)
+     */
+    private void cancelOpen() {
+        final GCOpenWatchdog.OpenTask<Camera> task = openTask;
+        if (task != null) {
+            openTask = null;
+            task.cancel();
+        }
+    }
+
+    /**
+     * Method which provide the choose of the {@link GCAspectRatio}
+     *
+     * @return instance of the {@link GCAspectRatio}
+     */
+    private GCAspectRatio chooseAspectRatio() {
+        GCAspectRatio r = null;
+        for (GCAspectRatio ratio : capabilities.getAspectRatios()) {
+            r = ratio;
+            if (ratio.equals(GCConstants.DEFAULT_ASPECT_RATIO)) {
+                return ratio;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Method which provide the adjust camera parameters
      */
     protected void adjustCameraParameters() {
-        SortedSet<GCSize> sizes = previewSizes.sizes(aspectRatio);
+        SortedSet<GCSize> sizes = null;
+        if (capabilities.getAspectRatios().contains(aspectRatio)) {
+            sizes = capabilities.getPreviewSizes(aspectRatio);
+        }
         if (sizes == null) { // Not supported
             aspectRatio = chooseAspectRatio();
-            sizes = previewSizes.sizes(aspectRatio);
+            sizes = capabilities.getPreviewSizes(aspectRatio);
         }
-        GCSize size = chooseOptimalSize(sizes);
-
-        // Always re-apply camera parameters
-        // Largest picture size in this ratio
-        final GCSize pictureSize = pictureSizes.sizes(aspectRatio).last();
-        if (isShowingPreview) {
-            camera.stopPreview();
+        GCSizeSelection selection = selectSizes();
+        if (selection == null) {
+            // Custom selector is not able to choose, fallback to the smallest preview and
+            // the largest picture of the ratio
+            selection = new GCSizeSelection(sizes.first(), 0f,
+                    capabilities.getPictureSizes(aspectRatio).last(), 0f,
+                    Collections.<String>emptyList());
         }
+        sizeSelection = selection;
+        final GCSize size = selection.getPreviewSize();
+        final GCSize pictureSize = selection.getPictureSize();
         parameters.setPreviewSize(size.getWidth(), size.getHeight());
+        parameters.setPreviewFormat(ImageFormat.NV21);
         parameters.setPictureSize(pictureSize.getWidth(), pictureSize.getHeight());
-        parameters.setRotation(calcCameraRotation(displayOrientation));
+        // With the Exif rotation the orientation is written by the persistence only
+        final int rotation = isExifRotation ? 0 : calcCameraRotation(displayOrientation);
+        parameters.setRotation(rotation);
         setAutoFocusInternal(isHaveAutoFocus);
         setFlashInternal(flash);
-        camera.setParameters(parameters);
-        if (isShowingPreview) {
-            camera.startPreview();
+        // Apply only the difference with the last applied parameters
+        final ParametersSnapshot snapshot = new ParametersSnapshot(size, ImageFormat.NV21,
+                pictureSize, rotation, parameters.getFocusMode(),
+                parameters.getFlashMode());
+        final ParametersSnapshot applied = appliedParameters;
+        if (!snapshot.equals(applied)) {
+            final boolean needsToRestartPreview = isShowingPreview
+                    && (applied == null || !snapshot.isPreviewEqual(applied));
+            if (needsToRestartPreview) {
+                camera.stopPreview();
+            }
+            camera.setParameters(parameters);
+            appliedParameters = snapshot;
+            if ((applied == null) || !ParametersSnapshot.equals(snapshot.focusMode,
+                    applied.focusMode)) {
+                updateFocusMoveCallback();
+            }
+            updatePreviewCallback();
+            if (needsToRestartPreview) {
+                camera.startPreview();
+            }
         }
+        if (appliedDisplayOrientation != displayOrientation) {
+            appliedDisplayOrientation = displayOrientation;
+            camera.setDisplayOrientation(calcDisplayOrientation(displayOrientation));
+        }
+    }
+
+    /**
+     * Method which provide the updating of the focus tracking for the applied focus mode
+     * (camera thread)
+     */
+    private void updateFocusMoveCallback() {
+        focusState.reset();
+        camera.setAutoFocusMoveCallback(getAutoFocus() ? focusMoveCallback : null);
     }
 
     /**
-     * Method which provide the choose of the optimal size
+     * Method which provide the selecting of the preview and picture sizes with the
+     * {@link GCSizeSelector} (the surface size is converted to the sensor orientation)
      *
-     * @param sizes instance of the {@link SortedSet}
-     * @return instance of the {@link GCSize}
+     * @return instance of the {@link GCSizeSelection} or null
      */
     @SuppressWarnings("SuspiciousNameCombination")
-    private GCSize chooseOptimalSize(SortedSet<GCSize> sizes) {
-        if (!preview.isReady()) { // Not yet laid out
-            return sizes.first(); // Return the smallest size
-        }
-        int desiredWidth;
-        int desiredHeight;
-        final int surfaceWidth = preview.getWidth();
-        final int surfaceHeight = preview.getHeight();
-        if (isLandscape(displayOrientation)) {
-            desiredWidth = surfaceHeight;
-            desiredHeight = surfaceWidth;
-        } else {
-            desiredWidth = surfaceWidth;
-            desiredHeight = surfaceHeight;
-        }
-        GCSize result = null;
-        for (GCSize size : sizes) { // Iterate from small to large
-            if (desiredWidth <= size.getWidth() && desiredHeight <= size.getHeight()) {
-                return size;
-
+    @Nullable
+    private GCSizeSelection selectSizes() {
+        int desiredWidth = 0;
+        int desiredHeight = 0;
+        final GCBaseAPI preview = this.preview;
+        if ((preview != null) && preview.isReady()) {
+            final int surfaceWidth = preview.getWidth();
+            final int surfaceHeight = preview.getHeight();
+            if (isLandscape(displayOrientation)) {
+                desiredWidth = surfaceHeight;
+                desiredHeight = surfaceWidth;
+            } else {
+                desiredWidth = surfaceWidth;
+                desiredHeight = surfaceHeight;
             }
-            result = size;
         }
-        return result;
+        // Zero shutter lag picture is the preview frame
+        final GCSizeRequest request = (zslDepth == GCConstants.ZSL_DISABLED)
+                ? sizeRequest
+                : sizeRequest.withHighResolutionPreview(true);
+        return sizeSelector.select(capabilities, aspectRatio, desiredWidth, desiredHeight,
+                request);
     }
 
     /**
      * Method which provide the release of the camera
      */
     private void releaseCamera() {
+        releaseCamera(true);
+    }
+
+    /**
+     * Method which provide the releasing of the camera (camera thread)
+     *
+     * @param isNotify {@link Boolean} value if the {@link Callback#onCameraClosed()} is called
+     *                 (it was already called when the session was stopped to the standby)
+     */
+    private void releaseCamera(boolean isNotify) {
+        GCCameraThread.remove(standbyRelease);
+        isStandby = false;
+        resetCapture();
         if (camera != null) {
+            closeFramePool();
+            if (zslEncoder != null) {
+                zslEncoder.trim();
+            }
             camera.release();
             camera = null;
-            callback.onCameraClosed();
+            appliedParameters = null;
+            if (isNotify) {
+                callback.onCameraClosed();
+            }
         }
     }
 
+    /**
+     * Method which provide the resetting of the queued and in progress captures (camera thread)
+     */
+    private void resetCapture() {
+        finishBurst();
+        pendingShots = 0;
+        pendingTaps.clear();
+        isPictureCaptureInProgress.set(false);
+        isFocusCycle = false;
+        GCCameraThread.remove(focusTimeout);
+        focusState.reset();
+    }
+
     /**
      * Calculate display orientation
      *
@@ -546,10 +1675,10 @@ public class GCCameraAPI extends GCBaseCameraView {
      * @return Number of degrees required to rotate preview
      */
     private int calcDisplayOrientation(int degrees) {
-        if (cameraInfo.facing == Camera.CameraInfo.CAMERA_FACING_FRONT) {
-            return (360 - (cameraInfo.orientation + degrees) % 360) % 360;
+        if (capabilities.getFacing() == Camera.CameraInfo.CAMERA_FACING_FRONT) {
+            return (360 - (capabilities.getOrientation() + degrees) % 360) % 360;
         } else {  // back-facing
-            return (cameraInfo.orientation - degrees + 360) % 360;
+            return (capabilities.getOrientation() - degrees + 360) % 360;
         }
     }
 
@@ -560,11 +1689,11 @@ public class GCCameraAPI extends GCBaseCameraView {
      * @return Number of degrees to rotate image in order for it to view correctly.
      */
     private int calcCameraRotation(int degrees) {
-        if (cameraInfo.facing == Camera.CameraInfo.CAMERA_FACING_FRONT) {
-            return (cameraInfo.orientation + degrees) % 360;
+        if (capabilities.getFacing() == Camera.CameraInfo.CAMERA_FACING_FRONT) {
+            return (capabilities.getOrientation() + degrees) % 360;
         } else {  // back-facing
             final int landscapeFlip = isLandscape(degrees) ? 180 : 0;
-            return (cameraInfo.orientation + degrees + landscapeFlip) % 360;
+            return (capabilities.getOrientation() + degrees + landscapeFlip) % 360;
         }
     }
 
@@ -587,7 +1716,10 @@ public class GCCameraAPI extends GCBaseCameraView {
     private boolean setAutoFocusInternal(boolean autoFocus) {
         isHaveAutoFocus = autoFocus;
         if (isCameraOpened()) {
-            final List<String> modes = parameters.getSupportedFocusModes();
+            final List<String> modes = capabilities.getFocusModes();
+            if (modes.isEmpty()) {
+                return false;
+            }
             if (autoFocus && modes.contains(Camera.Parameters.FOCUS_MODE_CONTINUOUS_PICTURE)) {
                 parameters.setFocusMode(Camera.Parameters.FOCUS_MODE_CONTINUOUS_PICTURE);
             } else if (modes.contains(Camera.Parameters.FOCUS_MODE_FIXED)) {
@@ -597,6 +1729,7 @@ public class GCCameraAPI extends GCBaseCameraView {
             } else {
                 parameters.setFocusMode(modes.get(0));
             }
+            focusMode = parameters.getFocusMode();
             return true;
         } else {
             return false;
@@ -610,19 +1743,25 @@ public class GCCameraAPI extends GCBaseCameraView {
      */
     private boolean setFlashInternal(int flash) {
         if (isCameraOpened()) {
-            List<String> modes = parameters.getSupportedFlashModes();
-            String mode = FLASH_MODES.get(flash);
-            if (modes != null && modes.contains(mode)) {
+            final List<String> modes = capabilities.getFlashModes();
+            final String mode = FLASH_MODES.get(flash);
+            if (modes.contains(mode)) {
                 parameters.setFlashMode(mode);
                 this.flash = flash;
                 return true;
             }
-            String currentMode = FLASH_MODES.get(this.flash);
-            if (modes == null || !modes.contains(currentMode)) {
+            // Requested mode isn't supported; keep the applied one (if any)
+            final String currentMode = parameters.getFlashMode();
+            if (!modes.contains(currentMode)) {
                 parameters.setFlashMode(Camera.Parameters.FLASH_MODE_OFF);
                 this.flash = GCConstants.FLASH_OFF;
                 return true;
             }
+            for (int i = 0; i < FLASH_MODES.size(); i++) {
+                if (FLASH_MODES.valueAt(i).equals(currentMode)) {
+                    this.flash = FLASH_MODES.keyAt(i);
+                }
+            }
             return false;
         } else {
             this.flash = flash;
@@ -630,4 +1769,221 @@ public class GCCameraAPI extends GCBaseCameraView {
         }
     }
 
+    /**
+     * Immutable class which provide the snapshot of the applied camera parameters
+     */
+    private static final class ParametersSnapshot {
+
+        /**
+         * Instance of the preview {@link GCSize}
+         */
+        final GCSize previewSize;
+
+        /**
+         * {@link Integer} value of the preview format
+         */
+        final int previewFormat;
+
+        /**
+         * Instance of the picture {@link GCSize}
+         */
+        final GCSize pictureSize;
+
+        /**
+         * {@link Integer} value of the picture rotation
+         */
+        final int rotation;
+
+        /**
+         * {@link String} value of the focus mode
+         */
+        final String focusMode;
+
+        /**
+         * {@link String} value of the flash mode
+         */
+        final String flashMode;
+
+        /**
+         * Constructor which provide the create of the {@link ParametersSnapshot} with parameters
+         *
+         * @param previewSize   instance of the preview {@link GCSize}
+         * @param previewFormat {@link Integer} value of the preview format
+         * @param pictureSize   instance of the picture {@link GCSize}
+         * @param rotation      {@link Integer} value of the picture rotation
+         * @param focusMode     {@link String} value of the focus mode
+         * @param flashMode     {@link String} value of the flash mode
+         */
+        ParametersSnapshot(GCSize previewSize,
+                           int previewFormat,
+                           GCSize pictureSize,
+                           int rotation,
+                           String focusMode,
+                           String flashMode) {
+            this.previewSize = previewSize;
+            this.previewFormat = previewFormat;
+            this.pictureSize = pictureSize;
+            this.rotation = rotation;
+            this.focusMode = focusMode;
+            this.flashMode = flashMode;
+        }
+
+        /**
+         * Method which provide the checking if the preview configuration is equal (the preview
+         * should be restarted when it changed)
+         *
+         * @param another instance of the {@link ParametersSnapshot}
+         * @return {@link Boolean} value if it equal
+         */
+        boolean isPreviewEqual(@NonNull ParametersSnapshot another) {
+            return previewFormat == another.previewFormat
+                    && previewSize.equals(another.previewSize);
+        }
+
+        /**
+         * Method which provide the equaling of the {@link Object}
+         *
+         * @param object instance of the {@link Object}
+         * @return {@link Boolean} value of the equaling
+         */
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof ParametersSnapshot)) {
+                return false;
+            }
+            final ParametersSnapshot another = (ParametersSnapshot) object;
+            return isPreviewEqual(another)
+                    && pictureSize.equals(another.pictureSize)
+                    && rotation == another.rotation
+                    && equals(focusMode, another.focusMode)
+                    && equals(flashMode, another.flashMode);
+        }
+
+        /**
+         * Method which provide the {@link Integer} value of the hash code
+         *
+         * @return {@link Integer} value of the hash code
+         */
+        @Override
+        public int hashCode() {
+            return previewSize.hashCode() * 31 + pictureSize.hashCode();
+        }
+
+        /**
+         * Method which provide the null-safe equaling of the {@link String}
+         *
+         * @param first  {@link String} value
+         * @param second {@link String} value
+         * @return {@link Boolean} value of the equaling
+         */
+        private static boolean equals(String first, String second) {
+            return (first == null) ? (second == null) : first.equals(second);
+        }
+
+    }
+
+    /**
+     * Class which provide the state of the active burst (camera thread)
+     */
+    static final class Burst {
+
+        /**
+         * {@link Integer} value of the requested shots
+         */
+        int requestedCount;
+
+        /**
+         * {@link Long} value of the minimal interval in milliseconds
+         */
+        final long interval;
+
+        /**
+         * {@link Integer} value of the started shots
+         */
+        int startedCount;
+
+        /**
+         * {@link Integer} value of the captured shots
+         */
+        int capturedCount;
+
+        /**
+         * {@link Long} value of the first shot start time in nanoseconds
+         */
+        long firstShotStart;
+
+        /**
+         * {@link Long} value of the last shot start time in nanoseconds
+         */
+        long lastShotStart;
+
+        /**
+         * {@link Long} value of the minimal shot-to-shot time in nanoseconds
+         */
+        long minShotInterval = Long.MAX_VALUE;
+
+        /**
+         * {@link Long} value of the maximal shot-to-shot time in nanoseconds
+         */
+        long maxShotInterval;
+
+        /**
+         * {@link Boolean} value if the next shot waits for the resuming of the paused burst
+         */
+        boolean isWaiting;
+
+        /**
+         * Constructor which provide the create of the {@link Burst}
+         *
+         * @param requestedCount {@link Integer} value of the requested shots
+         * @param interval       {@link Long} value of the interval
+         */
+        Burst(int requestedCount, long interval) {
+            this.requestedCount = requestedCount;
+            this.interval = interval;
+        }
+
+        /**
+         * Method which provide the action when the shot was started
+         *
+         * @param time {@link Long} value of the time in nanoseconds
+         */
+        void onShotStarted(long time) {
+            if (startedCount == 0) {
+                firstShotStart = time;
+            } else {
+                final long shotInterval = time - lastShotStart;
+                minShotInterval = Math.min(minShotInterval, shotInterval);
+                maxShotInterval = Math.max(maxShotInterval, shotInterval);
+            }
+            lastShotStart = time;
+            startedCount++;
+        }
+
+        /**
+         * Method which provide the action when the shot was captured (the shot which was
+         * already in progress when the burst was created isn't counted)
+         */
+        void onShotCaptured() {
+            if (capturedCount < startedCount) {
+                capturedCount++;
+            }
+        }
+
+        /**
+         * Method which provide the converting of the burst to the {@link GCBurstStats}
+         *
+         * @param time {@link Long} value of the finish time in nanoseconds
+         * @return instance of the {@link GCBurstStats}
+         */
+        GCBurstStats toStats(long time) {
+            return new GCBurstStats(requestedCount, capturedCount, time - firstShotStart,
+                    (minShotInterval == Long.MAX_VALUE) ? 0 : minShotInterval, maxShotInterval);
+        }
+
+    }
+
 }
@@ -0,0 +1,226 @@
+package com.artlite.cameraview.apis;
+
+import android.hardware.Camera;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.models.GCCameraCapabilities;
+import com.artlite.cameraview.persistence.GCCapabilitiesStore;
+import com.artlite.cameraview.threads.GCCameraThread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class which provide the in-process cache of the {@link GCCameraCapabilities} shared by all
+ * sessions. The capabilities are parsed once per camera ID, the facing to camera ID mapping is
+ * resolved once per process. With the attached {@link GCCapabilitiesStore} the capabilities
+ * survive the process restart, so the aspect ratios are known before the camera is opened.
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+@SuppressWarnings("deprecation")
+public final class GCCapabilitiesCache {
+
+    /**
+     * {@link Integer} constants of the invalid camera ID
+     */
+    public static final int INVALID_CAMERA_ID = -1;
+
+    /**
+     * {@link ConcurrentHashMap} of the {@link GCCameraCapabilities} by camera ID
+     */
+    private static final ConcurrentHashMap<Integer, GCCameraCapabilities> CAPABILITIES =
+            new ConcurrentHashMap<>();
+
+    /**
+     * {@link ConcurrentHashMap} of the camera ID by camera facing
+     */
+    private static final ConcurrentHashMap<Integer, Integer> CAMERA_IDS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Array of the sensor orientation by camera ID
+     */
+    private static volatile int[] orientations;
+
+    /**
+     * Instance of the {@link GCCapabilitiesStore}
+     */
+    private static volatile GCCapabilitiesStore store;
+
+    /**
+     * Default constructor
+     */
+    private GCCapabilitiesCache() {
+    }
+
+    /**
+     * Method which provide the getting of the camera ID for the facing
+     *
+     * @param facing {@link Integer} value of the facing
+     * @return {@link Integer} value of the camera ID or {@link #INVALID_CAMERA_ID}
+     */
+    public static int getCameraId(int facing) {
+        resolveCameras();
+        final Integer cameraId = CAMERA_IDS.get(facing);
+        return (cameraId == null) ? INVALID_CAMERA_ID : cameraId;
+    }
+
+    /**
+     * Method which provide the getting of the sensor orientation of the camera
+     *
+     * @param cameraId {@link Integer} value of the camera ID
+     * @return {@link Integer} value of the sensor orientation
+     */
+    public static int getOrientation(int cameraId) {
+        resolveCameras();
+        final int[] orientations = GCCapabilitiesCache.orientations;
+        return (cameraId >= 0 && cameraId < orientations.length) ? orientations[cameraId] : 0;
+    }
+
+    /**
+     * Method which provide the getting of the cached {@link GCCameraCapabilities}
+     *
+     * @param cameraId {@link Integer} value of the camera ID
+     * @return instance of the {@link GCCameraCapabilities} or null if it not cached yet
+     */
+    @Nullable
+    public static GCCameraCapabilities get(int cameraId) {
+        return CAPABILITIES.get(cameraId);
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCCameraCapabilities} of the opened camera
+     * (parsed from the parameters only if it not cached yet)
+     *
+     * @param cameraId   {@link Integer} value of the camera ID
+     * @param facing     {@link Integer} value of the camera facing
+     * @param parameters instance of the {@link Camera.Parameters}
+     * @return instance of the {@link GCCameraCapabilities}
+     */
+    @NonNull
+    public static GCCameraCapabilities obtain(int cameraId,
+                                              int facing,
+                                              @NonNull Camera.Parameters parameters) {
+        final GCCameraCapabilities cached = CAPABILITIES.get(cameraId);
+        if (cached != null) {
+            return cached;
+        }
+        final GCCameraCapabilities capabilities = new GCCameraCapabilities(cameraId,
+                facing,
+                getOrientation(cameraId),
+                toSizes(parameters.getSupportedPreviewSizes()),
+                toSizes(parameters.getSupportedPictureSizes()),
+                parameters.getSupportedFocusModes(),
+                parameters.getSupportedFlashModes(),
+                parameters.getSupportedPreviewFpsRange());
+        put(capabilities);
+        persist();
+        return capabilities;
+    }
+
+    /**
+     * Method which provide the attaching of the {@link GCCapabilitiesStore}. The stored
+     * capabilities are loaded on the {@link GCCameraThread} (before any queued session start),
+     * newly parsed capabilities are written back to the store.
+     *
+     * @param store instance of the {@link GCCapabilitiesStore}
+     */
+    public static void attachStore(@NonNull final GCCapabilitiesStore store) {
+        synchronized (CAPABILITIES) {
+            if (GCCapabilitiesCache.store != null) {
+                return;
+            }
+            GCCapabilitiesCache.store = store;
+        }
+        GCCameraThread.post(new Runnable() {
+            @Override
+            public void run() {
+                for (GCCameraCapabilities capabilities : store.load()) {
+                    if (!CAPABILITIES.containsKey(capabilities.getCameraId())) {
+                        put(capabilities);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Method which provide the writing of the cache to the {@link GCCapabilitiesStore}
+     */
+    private static void persist() {
+        final GCCapabilitiesStore store = GCCapabilitiesCache.store;
+        if (store == null) {
+            return;
+        }
+        GCCameraThread.post(new Runnable() {
+            @Override
+            public void run() {
+                store.save(CAPABILITIES.values());
+            }
+        });
+    }
+
+    /**
+     * Method which provide the putting of the {@link GCCameraCapabilities} to the cache
+     *
+     * @param capabilities instance of the {@link GCCameraCapabilities}
+     */
+    public static void put(@NonNull GCCameraCapabilities capabilities) {
+        CAPABILITIES.put(capabilities.getCameraId(), capabilities);
+    }
+
+    /**
+     * Method which provide the clearing of the cache
+     */
+    public static void clear() {
+        CAPABILITIES.clear();
+        CAMERA_IDS.clear();
+        orientations = null;
+    }
+
+    /**
+     * Method which provide the resolving of the facing and orientation of the cameras
+     */
+    private static void resolveCameras() {
+        if (orientations != null) {
+            return;
+        }
+        synchronized (CAMERA_IDS) {
+            if (orientations != null) {
+                return;
+            }
+            final Camera.CameraInfo info = new Camera.CameraInfo();
+            final int count = Camera.getNumberOfCameras();
+            final int[] result = new int[count];
+            for (int i = 0; i < count; i++) {
+                Camera.getCameraInfo(i, info);
+                result[i] = info.orientation;
+                if (!CAMERA_IDS.containsKey(info.facing)) {
+                    CAMERA_IDS.put(info.facing, i);
+                }
+            }
+            orientations = result;
+        }
+    }
+
+    /**
+     * Method which provide the converting of the {@link Camera.Size} to the {@link GCSize}
+     *
+     * @param sizes {@link List} of the {@link Camera.Size}
+     * @return {@link List} of the {@link GCSize}
+     */
+    @NonNull
+    private static List<GCSize> toSizes(@Nullable List<Camera.Size> sizes) {
+        final List<GCSize> result = new ArrayList<>();
+        if (sizes != null) {
+            for (Camera.Size size : sizes) {
+                result.add(new GCSize(size.width, size.height));
+            }
+        }
+        return result;
+    }
+
+}
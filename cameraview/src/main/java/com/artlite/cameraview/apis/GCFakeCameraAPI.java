@@ -0,0 +1,1243 @@
+package com.artlite.cameraview.apis;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.apis.abs.GCBaseAPI;
+import com.artlite.cameraview.constants.GCConstants;
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.frames.GCFrame;
+import com.artlite.cameraview.frames.GCFrameBufferPool;
+import com.artlite.cameraview.frames.GCFrameListener;
+import com.artlite.cameraview.frames.GCFrameRingBuffer;
+import com.artlite.cameraview.metrics.GCCaptureTimeline;
+import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCCameraCapabilities;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+import com.artlite.cameraview.models.GCFakeCameraConfig;
+import com.artlite.cameraview.models.GCFocusStats;
+import com.artlite.cameraview.selectors.GCCostModelSizeSelector;
+import com.artlite.cameraview.selectors.GCSizeRequest;
+import com.artlite.cameraview.selectors.GCSizeSelection;
+import com.artlite.cameraview.selectors.GCSizeSelector;
+import com.artlite.cameraview.views.GCCameraImplementation;
+import com.artlite.cameraview.views.abs.GCBaseCameraView;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class which provide the fake camera backend (the synthetic preview frames and pictures with
+ * the configurable capabilities and delays) for the testing and the load generation without
+ * the camera device
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The backend runs on its own thread and doesn't use the Android framework, so the frames
+ * pipeline, the persistence and the metrics could be exercised on the JVM. The preview frames
+ * are the flat NV21 images, the pictures have the valid JPEG markers (so the Exif is spliced
+ * to them) but can't be decoded.
+ */
+public class GCFakeCameraAPI extends GCBaseCameraView {
+
+    /**
+     * {@link String} constant of the thread name
+     */
+    private static final String THREAD_NAME = "GCFakeCameraThread";
+
+    /**
+     * Empty array of the {@link GCFrameListener}
+     */
+    private static final GCFrameListener[] NO_FRAME_LISTENERS = new GCFrameListener[0];
+
+    /**
+     * Instance of the {@link GCFakeCameraConfig}
+     */
+    private final GCFakeCameraConfig config;
+
+    /**
+     * Instance of the {@link ScheduledExecutorService} of the fake camera thread
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Instance of the fake camera {@link Thread}
+     */
+    private volatile Thread thread;
+
+    /**
+     * Instance of the {@link GCFocusStateMachine}
+     */
+    private final GCFocusStateMachine focusState = new GCFocusStateMachine();
+
+    /**
+     * {@link ArrayDeque} of the tap times of the queued shots (camera thread)
+     */
+    private final ArrayDeque<Long> pendingTaps = new ArrayDeque<>();
+
+    /**
+     * {@link Boolean} value if the camera is opened
+     */
+    private volatile boolean isOpened;
+
+    /**
+     * {@link Long} value of the standby grace period (milliseconds)
+     */
+    private volatile long standbyTimeout = GCConstants.STANDBY_DISABLED;
+
+    /**
+     * {@link Boolean} value if the stopped session keeps the fake camera opened
+     */
+    private volatile boolean isStandby;
+
+    /**
+     * {@link Integer} value of the fake camera opens count
+     */
+    private volatile int openCount;
+
+    /**
+     * {@link Integer} value of the failed opens count (camera thread)
+     */
+    private int failedOpenCount;
+
+    /**
+     * Instance of the pending {@link GCOpenWatchdog.OpenTask} (camera thread)
+     */
+    private GCOpenWatchdog.OpenTask<Boolean> openTask;
+
+    /**
+     * Instance of the {@link GCOpenWatchdog.Scheduler} of the open attempts on the fake
+     * camera thread (the removed attempt is skipped by the cancelled task)
+     */
+    private final GCOpenWatchdog.Scheduler scheduler = new GCOpenWatchdog.Scheduler() {
+        @Override
+        public void schedule(@NonNull Runnable task, long delay) {
+            executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void remove(@NonNull Runnable task) {
+        }
+    };
+
+    /**
+     * Instance of the {@link ScheduledFuture} of the standby release (camera thread)
+     */
+    private ScheduledFuture<?> standbyTask;
+
+    /**
+     * {@link Integer} value of the session (the delayed actions of the closed session are
+     * skipped)
+     */
+    private int session;
+
+    /**
+     * {@link Integer} value of the facing
+     */
+    private volatile int facing = GCConstants.FACING_BACK;
+
+    /**
+     * {@link Integer} value of the flash
+     */
+    private volatile int flash = GCConstants.FLASH_OFF;
+
+    /**
+     * {@link Boolean} value if the auto focus is enabled
+     */
+    private volatile boolean isAutoFocus;
+
+    /**
+     * Instance of the {@link GCAspectRatio}
+     */
+    private volatile GCAspectRatio aspectRatio = GCConstants.DEFAULT_ASPECT_RATIO;
+
+    /**
+     * {@link Integer} value of the display orientation
+     */
+    private volatile int displayOrientation;
+
+    /**
+     * Instance of the {@link GCSizeRequest}
+     */
+    private volatile GCSizeRequest sizeRequest = GCSizeRequest.DEFAULT;
+
+    /**
+     * Instance of the {@link GCSizeSelector}
+     */
+    private volatile GCSizeSelector sizeSelector = new GCCostModelSizeSelector();
+
+    /**
+     * Instance of the {@link GCSizeSelection}
+     */
+    private volatile GCSizeSelection sizeSelection;
+
+    /**
+     * Array of the {@link GCFrameListener} (copy on write)
+     */
+    private volatile GCFrameListener[] frameListeners = NO_FRAME_LISTENERS;
+
+    /**
+     * {@link Integer} value of the zero shutter lag ring depth
+     */
+    private volatile int zslDepth = GCConstants.ZSL_DISABLED;
+
+    /**
+     * Instance of the {@link GCFrameRingBuffer} of the zero shutter lag capture
+     */
+    private volatile GCFrameRingBuffer zslRing;
+
+    /**
+     * Instance of the {@link GCFrameBufferPool} of the preview (camera thread)
+     */
+    private GCFrameBufferPool framePool;
+
+    /**
+     * Instance of the {@link ScheduledFuture} of the preview frames (camera thread)
+     */
+    private ScheduledFuture<?> previewTask;
+
+    /**
+     * {@link Boolean} value if the capture is in progress (camera thread)
+     */
+    private boolean isCapturing;
+
+    /**
+     * Instance of the active {@link GCCameraAPI.Burst} (camera thread)
+     */
+    private GCCameraAPI.Burst burst;
+
+    /**
+     * {@link Boolean} value if the burst is paused (camera thread)
+     */
+    private boolean isBurstPaused;
+
+    /**
+     * Constructor which provide the create of the headless {@link GCFakeCameraAPI}
+     *
+     * @param callback instance of the {@link Callback}
+     * @param config   instance of the {@link GCFakeCameraConfig}
+     */
+    public GCFakeCameraAPI(@NonNull Callback callback, @NonNull GCFakeCameraConfig config) {
+        this(callback, null, config);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCFakeCameraAPI} with parameters
+     *
+     * @param callback instance of the {@link Callback}
+     * @param preview  instance of the {@link GCBaseAPI} (it is not drawn)
+     * @param config   instance of the {@link GCFakeCameraConfig}
+     */
+    public GCFakeCameraAPI(@NonNull Callback callback,
+                           @Nullable GCBaseAPI preview,
+                           @NonNull GCFakeCameraConfig config) {
+        super(callback, preview);
+        this.config = config;
+        this.executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                final Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                GCFakeCameraAPI.this.thread = thread;
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCCameraImplementation.BackendFactory}
+     * of the fake backend
+     *
+     * @param config instance of the {@link GCFakeCameraConfig}
+     * @return instance of the {@link GCCameraImplementation.BackendFactory}
+     */
+    @NonNull
+    public static GCCameraImplementation.BackendFactory factory(
+            @NonNull final GCFakeCameraConfig config) {
+        return new GCCameraImplementation.BackendFactory() {
+            @NonNull
+            @Override
+            public GCBaseCameraView create(@NonNull Callback callback,
+                                           @Nullable GCBaseAPI preview) {
+                return new GCFakeCameraAPI(callback, preview, config);
+            }
+        };
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCFakeCameraConfig}
+     *
+     * @return instance of the {@link GCFakeCameraConfig}
+     */
+    @NonNull
+    public GCFakeCameraConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Method which provide the executing of the session action on the fake camera thread
+     *
+     * @param task instance of the {@link Runnable}
+     */
+    @Override
+    protected void executeSession(@NonNull Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Method which provide the start session (fake camera thread), the open delay is
+     * performed by every attempt and the retries are scheduled on the fake camera thread
+     *
+     * @param listener instance of the {@link OnStartListener}
+     */
+    @Override
+    protected void startSession(@NonNull final OnStartListener listener) {
+        if (isOpened) {
+            // The session is already started (it was rebound to the recreated view)
+            callback.onCameraOpened();
+            listener.onStarted(true);
+            return;
+        }
+        if (isStandby) {
+            // Resume from the standby, only the preview is restarted
+            cancelStandby();
+            startPreviewSession(listener);
+            return;
+        }
+        cancelOpen();
+        openTask = GCOpenWatchdog.open(0, openPolicy, scheduler,
+                new GCOpenWatchdog.Opener<Boolean>() {
+                    @Override
+                    public Boolean open(int cameraId) throws Exception {
+                        Thread.sleep(config.getOpenDelay());
+                        if (failedOpenCount < config.getOpenFailures()) {
+                            failedOpenCount++;
+                            throw new IllegalStateException(
+                                    "Fake camera is used by another client");
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public void close(@NonNull Boolean camera) {
+                    }
+                }, getOpenListener(), new GCOpenWatchdog.Callback<Boolean>() {
+                    @Override
+                    public void onOpened(@NonNull Boolean camera) {
+                        openTask = null;
+                        openCount++;
+                        startPreviewSession(listener);
+                    }
+
+                    @Override
+                    public void onFailed(@NonNull Exception exception) {
+                        openTask = null;
+                        listener.onStarted(false);
+                    }
+                });
+    }
+
+    /**
+     * Method which provide the starting of the session of the opened fake camera (fake camera
+     * thread)
+     *
+     * @param listener instance of the {@link OnStartListener}
+     */
+    private void startPreviewSession(@NonNull OnStartListener listener) {
+        session++;
+        isOpened = true;
+        applyParameters();
+        callback.onCameraOpened();
+        listener.onStarted(true);
+    }
+
+    /**
+     * Method which provide the canceling of the pending open (fake camera thread)
+     */
+    private void cancelOpen() {
+        final GCOpenWatchdog.OpenTask<Boolean> task = openTask;
+        if (task != null) {
+            openTask = null;
+            task.cancel();
+        }
+    }
+
+    /**
+     * Method which provide the checking if the current thread is the fake camera thread
+     *
+     * @return {@link Boolean} value if the current thread executes the session actions
+     */
+    @Override
+    protected boolean isSessionThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Method which provide the stop session
+     */
+    @Override
+    public void stop() {
+        call(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                cancelOpen();
+                if (!isOpened) {
+                    return false;
+                }
+                finishBurst();
+                isOpened = false;
+                session++;
+                isCapturing = false;
+                pendingTaps.clear();
+                focusState.reset();
+                stopPreview();
+                final long timeout = standbyTimeout;
+                if (timeout != GCConstants.STANDBY_DISABLED) {
+                    isStandby = true;
+                    standbyTask = executor.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            cancelStandby();
+                        }
+                    }, timeout, TimeUnit.MILLISECONDS);
+                }
+                callback.onCameraClosed();
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Method which provide the setting of the standby grace period
+     *
+     * @param timeout {@link Long} value of the grace period (milliseconds, or
+     *                {@link GCConstants#STANDBY_DISABLED})
+     */
+    @Override
+    public void setStandbyTimeout(long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Invalid standby timeout: " + timeout);
+        }
+        this.standbyTimeout = timeout;
+    }
+
+    /**
+     * Method which provide the getting of the standby grace period
+     *
+     * @return {@link Long} value of the grace period (milliseconds)
+     */
+    @Override
+    public long getStandbyTimeout() {
+        return standbyTimeout;
+    }
+
+    /**
+     * Method which provide the releasing of the fake camera which is kept in standby
+     */
+    @Override
+    public void releaseStandby() {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                cancelStandby();
+            }
+        });
+    }
+
+    /**
+     * Method which provide the checking if the stopped session keeps the fake camera opened
+     *
+     * @return {@link Boolean} value if the fake camera is in standby
+     */
+    public boolean isStandby() {
+        return isStandby;
+    }
+
+    /**
+     * Method which provide the getting of the fake camera opens count (the resumes from the
+     * standby are not counted)
+     *
+     * @return {@link Integer} value of the opens count
+     */
+    public int getOpenCount() {
+        return openCount;
+    }
+
+    /**
+     * Method which provide the leaving of the standby (camera thread)
+     */
+    private void cancelStandby() {
+        isStandby = false;
+        if (standbyTask != null) {
+            standbyTask.cancel(false);
+            standbyTask = null;
+        }
+    }
+
+    /**
+     * Method which provide the shutdown of the fake camera thread (the session is stopped and
+     * the standby is released)
+     */
+    public void shutdown() {
+        stop();
+        releaseStandby();
+        executor.shutdown();
+    }
+
+    /**
+     * Method which provide the checking if the session is opened
+     *
+     * @return {@link Boolean} value if the session is opened
+     */
+    @Override
+    public boolean isCameraOpened() {
+        return isOpened;
+    }
+
+    /**
+     * Method which provide the setting of the facing (the fake camera has the same
+     * capabilities for every facing)
+     *
+     * @param facing {@link Integer} value of the facing
+     */
+    @Override
+    public void setFacing(int facing) {
+        this.facing = facing;
+    }
+
+    /**
+     * Method which provide the getting of the facing
+     *
+     * @return {@link Integer} value of the facing
+     */
+    @Override
+    public int getFacing() {
+        return facing;
+    }
+
+    /**
+     * Method which provide the getting of the supported {@link GCAspectRatio}
+     *
+     * @return {@link Set} of the {@link GCAspectRatio}
+     */
+    @Override
+    public Set<GCAspectRatio> getAspectRatios() {
+        return config.getCapabilities().getAspectRatios();
+    }
+
+    /**
+     * Method which provide the setting of the {@link GCAspectRatio}
+     *
+     * @param ratio instance of the {@link GCAspectRatio}
+     * @return {@link Boolean} value if it set
+     */
+    @Override
+    public boolean setAspectRatio(GCAspectRatio ratio) {
+        return edit().ratio(ratio).apply();
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCAspectRatio}
+     *
+     * @return instance of the {@link GCAspectRatio}
+     */
+    @Override
+    public GCAspectRatio getAspectRatio() {
+        return aspectRatio;
+    }
+
+    /**
+     * Method which provide the setting of the auto focus
+     *
+     * @param autoFocus {@link Boolean} value if the auto focus is enabled
+     */
+    @Override
+    public void setAutoFocus(boolean autoFocus) {
+        this.isAutoFocus = autoFocus;
+    }
+
+    /**
+     * Method which provide the getting of the auto focus
+     *
+     * @return {@link Boolean} value if the auto focus is enabled
+     */
+    @Override
+    public boolean getAutoFocus() {
+        return isAutoFocus;
+    }
+
+    /**
+     * Method which provide the setting of the flash
+     *
+     * @param flash {@link Integer} value of the flash
+     */
+    @Override
+    public void setFlash(int flash) {
+        this.flash = flash;
+    }
+
+    /**
+     * Method which provide the getting of the flash
+     *
+     * @return {@link Integer} value of the flash
+     */
+    @Override
+    public int getFlash() {
+        return flash;
+    }
+
+    /**
+     * Method which provide the taking of the picture (the auto focus and the shutter delays
+     * are simulated, the zero shutter lag picture is taken from the ring immediately)
+     */
+    @Override
+    public void takePicture() {
+        if (!isOpened) {
+            throw new IllegalStateException(
+                    "Camera is not ready. Call start() before takePicture().");
+        }
+        final long time = System.nanoTime();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (!isOpened) {
+                    return;
+                }
+                if ((burst == null) && takePictureFromRing(time)) {
+                    return;
+                }
+                pendingTaps.add(time);
+                if (!isCapturing && (burst == null)) {
+                    shoot();
+                }
+            }
+        });
+    }
+
+    /**
+     * Method which provide the taking of the burst of pictures
+     *
+     * @param count    {@link Integer} value of the shots count
+     * @param interval {@link Long} value of the minimal interval between shots (milliseconds)
+     */
+    @Override
+    public void takePictures(final int count, final long interval) {
+        if (!isOpened) {
+            throw new IllegalStateException(
+                    "Camera is not ready. Call start() before takePictures().");
+        }
+        if (count <= 0) {
+            throw new IllegalArgumentException("Invalid shots count: " + count);
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (!isOpened) {
+                    return;
+                }
+                finishBurst();
+                burst = new GCCameraAPI.Burst(count, Math.max(interval, 0));
+                if (isCapturing) {
+                    return;
+                }
+                if (isBurstPaused) {
+                    burst.isWaiting = true;
+                } else {
+                    shoot();
+                }
+            }
+        });
+    }
+
+    /**
+     * Method which provide the stopping of the burst (the shot in progress is still delivered)
+     */
+    @Override
+    public void stopBurst() {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                finishBurst();
+            }
+        });
+    }
+
+    /**
+     * Method which provide the pausing of the burst
+     *
+     * @param isPaused {@link Boolean} value if the burst is paused
+     */
+    @Override
+    public void setBurstPaused(final boolean isPaused) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                isBurstPaused = isPaused;
+                if (!isPaused && (burst != null) && burst.isWaiting) {
+                    burst.isWaiting = false;
+                    scheduleBurstShot(burst);
+                }
+            }
+        });
+    }
+
+    /**
+     * Method which provide the setting of the display orientation
+     *
+     * @param orientation {@link Integer} value of the display orientation
+     */
+    @Override
+    public void setDisplayOrientation(int orientation) {
+        this.displayOrientation = orientation;
+    }
+
+    /**
+     * Method which provide the setting of the {@link GCSizeSelector}
+     *
+     * @param selector instance of the {@link GCSizeSelector}
+     */
+    @Override
+    public void setSizeSelector(@NonNull GCSizeSelector selector) {
+        this.sizeSelector = selector;
+        reapplyParameters();
+    }
+
+    /**
+     * Method which provide the setting of the {@link GCSizeRequest}
+     *
+     * @param request instance of the {@link GCSizeRequest}
+     */
+    @Override
+    public void setSizeRequest(@NonNull GCSizeRequest request) {
+        edit().sizeRequest(request).apply();
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCSizeRequest}
+     *
+     * @return instance of the {@link GCSizeRequest}
+     */
+    @NonNull
+    @Override
+    public GCSizeRequest getSizeRequest() {
+        return sizeRequest;
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCSizeSelection}
+     *
+     * @return instance of the {@link GCSizeSelection} or null if the camera wasn't opened
+     */
+    @Nullable
+    @Override
+    public GCSizeSelection getSizeSelection() {
+        return sizeSelection;
+    }
+
+    /**
+     * Method which provide the adding of the preview {@link GCFrameListener}
+     *
+     * @param listener instance of the {@link GCFrameListener}
+     */
+    @Override
+    public void addFrameListener(@NonNull GCFrameListener listener) {
+        synchronized (pendingTaps) {
+            for (GCFrameListener item : frameListeners) {
+                if (item == listener) {
+                    return;
+                }
+            }
+            final GCFrameListener[] listeners = Arrays.copyOf(frameListeners,
+                    frameListeners.length + 1);
+            listeners[frameListeners.length] = listener;
+            frameListeners = listeners;
+        }
+    }
+
+    /**
+     * Method which provide the removing of the preview {@link GCFrameListener}
+     *
+     * @param listener instance of the {@link GCFrameListener}
+     */
+    @Override
+    public void removeFrameListener(@NonNull GCFrameListener listener) {
+        synchronized (pendingTaps) {
+            final GCFrameListener[] current = frameListeners;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == listener) {
+                    final GCFrameListener[] listeners = new GCFrameListener[current.length - 1];
+                    System.arraycopy(current, 0, listeners, 0, i);
+                    System.arraycopy(current, i + 1, listeners, i, current.length - i - 1);
+                    frameListeners = (listeners.length == 0) ? NO_FRAME_LISTENERS : listeners;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which provide the getting of the count of the coalesced commands
+     *
+     * @return {@link Long} value of the coalesced commands count (the fake applies all)
+     */
+    @Override
+    public long getCoalescedCommandCount() {
+        return 0;
+    }
+
+    /**
+     * Method which provide the setting of the zero shutter lag capture
+     *
+     * @param depth     {@link Integer} value of the ring depth
+     *                  (or {@link GCConstants#ZSL_DISABLED})
+     * @param maxMemory {@link Long} value of the ring memory limit (bytes)
+     */
+    @Override
+    public void setZeroShutterLag(int depth, long maxMemory) {
+        if (depth < 0 || maxMemory <= 0) {
+            throw new IllegalArgumentException("Invalid zero shutter lag: " + depth
+                    + " frames, " + maxMemory + " bytes");
+        }
+        final GCSizeSelection selection = sizeSelection;
+        final long bufferSize = (selection == null) ? 1 : GCFrameBufferPool.getBufferSize(
+                selection.getPreviewSize().getWidth(), selection.getPreviewSize().getHeight());
+        zslDepth = (int) Math.min(Math.min(depth, GCFrameRingBuffer.MAX_CAPACITY),
+                maxMemory / bufferSize);
+        reapplyParameters();
+    }
+
+    /**
+     * Method which provide the getting of the zero shutter lag ring memory
+     *
+     * @return {@link Long} value of the ring memory (bytes, 0 if disabled)
+     */
+    @Override
+    public long getZeroShutterLagMemory() {
+        final GCFrameRingBuffer ring = zslRing;
+        final GCSizeSelection selection = sizeSelection;
+        if (ring == null || selection == null) {
+            return 0;
+        }
+        final GCSize size = selection.getPreviewSize();
+        return (long) ring.getCapacity()
+                * GCFrameBufferPool.getBufferSize(size.getWidth(), size.getHeight());
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCFocusStats}
+     *
+     * @return instance of the {@link GCFocusStats}
+     */
+    @NonNull
+    @Override
+    public GCFocusStats getFocusStats() {
+        return focusState.getStats();
+    }
+
+    /**
+     * Method which provide the applying of the {@link Editor} changes
+     *
+     * @param editor instance of the {@link Editor}
+     * @return {@link Boolean} value if the aspect ratio was changed
+     */
+    @Override
+    protected boolean applyEdit(@NonNull Editor editor) {
+        boolean isRatioChanged = false;
+        final GCAspectRatio ratio = editor.getAspectRatio();
+        if (ratio != null && !ratio.equals(aspectRatio)) {
+            if (isOpened && !getAspectRatios().contains(ratio)) {
+                throw new UnsupportedOperationException(ratio + " is not supported");
+            }
+            aspectRatio = ratio;
+            isRatioChanged = true;
+        }
+        if (editor.getFlash() != null) {
+            flash = editor.getFlash();
+        }
+        if (editor.getAutoFocus() != null) {
+            isAutoFocus = editor.getAutoFocus();
+        }
+        if (editor.getDisplayOrientation() != null) {
+            displayOrientation = editor.getDisplayOrientation();
+        }
+        if (editor.getSizeRequest() != null) {
+            sizeRequest = editor.getSizeRequest();
+        }
+        reapplyParameters();
+        return isRatioChanged;
+    }
+
+    /**
+     * Method which provide the re-applying of the parameters of the opened camera
+     */
+    private void reapplyParameters() {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (isOpened) {
+                    applyParameters();
+                }
+            }
+        });
+    }
+
+    /**
+     * Method which provide the selecting of the sizes and the restarting of the preview when
+     * the preview size or the ring depth was changed (camera thread)
+     */
+    private void applyParameters() {
+        final GCCameraCapabilities capabilities = config.getCapabilities();
+        GCAspectRatio ratio = aspectRatio;
+        if (!capabilities.getAspectRatios().contains(ratio)) {
+            ratio = capabilities.getAspectRatios().iterator().next();
+            aspectRatio = ratio;
+        }
+        final SortedSet<GCSize> previewSizes = capabilities.getPreviewSizes(ratio);
+        int surfaceWidth = previewSizes.last().getWidth();
+        int surfaceHeight = previewSizes.last().getHeight();
+        if ((preview != null) && (preview.getWidth() > 0) && (preview.getHeight() > 0)) {
+            surfaceWidth = Math.max(preview.getWidth(), preview.getHeight());
+            surfaceHeight = Math.min(preview.getWidth(), preview.getHeight());
+        }
+        GCSizeSelection selection = sizeSelector.select(capabilities, ratio, surfaceWidth,
+                surfaceHeight, (zslDepth == GCConstants.ZSL_DISABLED) ? sizeRequest
+                        : sizeRequest.withHighResolutionPreview(true));
+        if (selection == null) {
+            selection = new GCSizeSelection(previewSizes.first(), 0f,
+                    capabilities.getPictureSizes(ratio).last(), 0f,
+                    Collections.<String>emptyList());
+        }
+        sizeSelection = selection;
+        final GCSize size = selection.getPreviewSize();
+        final GCFrameBufferPool pool = framePool;
+        final GCFrameRingBuffer ring = zslRing;
+        final int depth = (ring == null) ? GCConstants.ZSL_DISABLED : ring.getCapacity();
+        if ((pool == null) || !pool.matches(size.getWidth(), size.getHeight())
+                || (depth != zslDepth)) {
+            stopPreview();
+            startPreview(size);
+        }
+    }
+
+    /**
+     * Method which provide the starting of the synthetic preview frames (camera thread)
+     *
+     * @param size instance of the preview {@link GCSize}
+     */
+    private void startPreview(@NonNull GCSize size) {
+        final int depth = zslDepth;
+        framePool = new GCFrameBufferPool(size,
+                GCFrameBufferPool.DEFAULT_BUFFER_COUNT + depth);
+        zslRing = (depth == GCConstants.ZSL_DISABLED) ? null : new GCFrameRingBuffer(depth);
+        final long period = TimeUnit.SECONDS.toMicros(1) / config.getPreviewFps();
+        previewTask = executor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                onPreviewFrame();
+            }
+        }, period, period, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Method which provide the stopping of the synthetic preview frames (camera thread)
+     */
+    private void stopPreview() {
+        if (previewTask != null) {
+            previewTask.cancel(false);
+            previewTask = null;
+        }
+        final GCFrameRingBuffer ring = zslRing;
+        zslRing = null;
+        if (ring != null) {
+            ring.clear();
+        }
+        if (framePool != null) {
+            framePool.close();
+            framePool = null;
+        }
+    }
+
+    /**
+     * Method which provide the producing of the synthetic preview frame (camera thread). The
+     * frame is dropped when all buffers are held by the consumers, as the camera does.
+     */
+    private void onPreviewFrame() {
+        final GCFrameBufferPool pool = framePool;
+        final GCFrameRingBuffer ring = zslRing;
+        final GCFrameListener[] listeners = frameListeners;
+        if ((pool == null) || ((ring == null) && (listeners.length == 0))) {
+            return;
+        }
+        final byte[] buffer = pool.acquire();
+        if (buffer == null) {
+            return;
+        }
+        final GCFrame frame = pool.wrap(buffer, System.nanoTime());
+        if (frame == null) {
+            return;
+        }
+        // Flat luma which changes every frame and the neutral chroma
+        final int lumaSize = pool.getWidth() * pool.getHeight();
+        Arrays.fill(buffer, 0, lumaSize, (byte) frame.getSequence());
+        Arrays.fill(buffer, lumaSize, buffer.length, (byte) 128);
+        try {
+            if (ring != null) {
+                ring.onFrame(frame);
+            }
+            for (GCFrameListener listener : listeners) {
+                listener.onFrame(frame);
+            }
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Method which provide the zero shutter lag capture from the ring (camera thread)
+     *
+     * @param time {@link Long} value of the tap time in nanoseconds
+     * @return {@link Boolean} value if the frame was taken
+     */
+    private boolean takePictureFromRing(long time) {
+        final GCFrameRingBuffer ring = zslRing;
+        final GCFrame frame = (ring == null) ? null : ring.acquireNearest(time);
+        if (frame == null) {
+            return false;
+        }
+        final GCCaptureTimeline timeline = new GCCaptureTimeline(time);
+        timeline.mark(GCCaptureTimeline.STAGE_CAPTURE);
+        timeline.mark(GCCaptureTimeline.STAGE_SHUTTER, frame.getTimestamp());
+        final GCCaptureMetadata metadata = createMetadata(frame.getWidth(), frame.getHeight(),
+                true, timeline);
+        frame.release();
+        final byte[] jpeg = createJpeg(config.getJpegSize());
+        timeline.mark(GCCaptureTimeline.STAGE_JPEG);
+        callback.onPictureTaken(jpeg, metadata);
+        return true;
+    }
+
+    /**
+     * Method which provide the starting of the shot with the auto focus cycle (camera thread)
+     */
+    private void shoot() {
+        isCapturing = true;
+        // The taps wait for the burst, so the burst shot doesn't take them
+        final Long tap = (burst == null) ? pendingTaps.poll() : null;
+        final long now = System.nanoTime();
+        final GCCaptureTimeline timeline = new GCCaptureTimeline((tap != null) ? tap : now);
+        if (burst != null) {
+            burst.onShotStarted(now);
+        }
+        if (!isAutoFocus) {
+            capture(timeline);
+            return;
+        }
+        if (focusState.isCaptureReady()) {
+            focusState.onShot(0L, true, false);
+            capture(timeline);
+            return;
+        }
+        timeline.mark(GCCaptureTimeline.STAGE_FOCUS_START, now);
+        focusState.onCycleStarted();
+        schedule(new Runnable() {
+            @Override
+            public void run() {
+                focusState.onCycleFinished(true);
+                focusState.onShot(System.nanoTime() - now, false, false);
+                timeline.mark(GCCaptureTimeline.STAGE_FOCUS_END);
+                capture(timeline);
+            }
+        }, config.getFocusDelay());
+    }
+
+    /**
+     * Method which provide the capture of the synthetic picture after the shutter delay
+     * (camera thread)
+     *
+     * @param timeline instance of the {@link GCCaptureTimeline}
+     */
+    private void capture(@NonNull final GCCaptureTimeline timeline) {
+        timeline.mark(GCCaptureTimeline.STAGE_CAPTURE);
+        final GCSize pictureSize = sizeSelection.getPictureSize();
+        final GCCaptureMetadata metadata = createMetadata(pictureSize.getWidth(),
+                pictureSize.getHeight(), false, timeline);
+        schedule(new Runnable() {
+            @Override
+            public void run() {
+                timeline.mark(GCCaptureTimeline.STAGE_SHUTTER);
+                final byte[] jpeg = createJpeg(config.getJpegSize());
+                timeline.mark(GCCaptureTimeline.STAGE_JPEG);
+                isCapturing = false;
+                callback.onPictureTaken(jpeg, metadata);
+                onShotCompleted();
+            }
+        }, config.getShutterDelay());
+    }
+
+    /**
+     * Method which provide the scheduling of the next shot (camera thread)
+     */
+    private void onShotCompleted() {
+        final GCCameraAPI.Burst burst = this.burst;
+        if (burst != null) {
+            burst.onShotCaptured();
+            if (burst.startedCount < burst.requestedCount) {
+                scheduleBurstShot(burst);
+                return;
+            }
+            finishBurst();
+        }
+        if (!pendingTaps.isEmpty()) {
+            shoot();
+        }
+    }
+
+    /**
+     * Method which provide the scheduling of the next burst shot after the interval, the paused
+     * burst waits for the resuming (camera thread)
+     *
+     * @param burst instance of the {@link GCCameraAPI.Burst}
+     */
+    private void scheduleBurstShot(@NonNull final GCCameraAPI.Burst burst) {
+        if (isBurstPaused) {
+            burst.isWaiting = true;
+            return;
+        }
+        final long elapsed = (System.nanoTime() - burst.lastShotStart) / 1000000L;
+        schedule(new Runnable() {
+            @Override
+            public void run() {
+                if ((GCFakeCameraAPI.this.burst != burst) || isCapturing) {
+                    return;
+                }
+                if (isBurstPaused) {
+                    burst.isWaiting = true;
+                } else {
+                    shoot();
+                }
+            }
+        }, Math.max(burst.interval - elapsed, 0));
+    }
+
+    /**
+     * Method which provide the finishing of the burst and reporting of the stats (camera thread)
+     */
+    private void finishBurst() {
+        final GCCameraAPI.Burst burst = this.burst;
+        if (burst == null) {
+            return;
+        }
+        this.burst = null;
+        if (burst.startedCount > 0) {
+            callback.onBurstCompleted(burst.toStats(System.nanoTime()));
+        }
+        if (!isCapturing && !pendingTaps.isEmpty()) {
+            shoot();
+        }
+    }
+
+    /**
+     * Method which provide the scheduling of the action of the current session (camera thread)
+     *
+     * @param action instance of the {@link Runnable}
+     * @param delay  {@link Long} value of the delay (milliseconds)
+     */
+    private void schedule(@NonNull final Runnable action, long delay) {
+        final int session = this.session;
+        executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (isOpened && (GCFakeCameraAPI.this.session == session)) {
+                    action.run();
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method which provide the creating of the {@link GCCaptureMetadata} of the shot
+     *
+     * @param width            {@link Integer} value of the picture width
+     * @param height           {@link Integer} value of the picture height
+     * @param isZeroShutterLag {@link Boolean} value if the picture is the preview frame
+     * @param timeline         instance of the {@link GCCaptureTimeline}
+     * @return instance of the {@link GCCaptureMetadata}
+     */
+    @NonNull
+    private GCCaptureMetadata createMetadata(int width,
+                                             int height,
+                                             boolean isZeroShutterLag,
+                                             @NonNull GCCaptureTimeline timeline) {
+        // Same rotation as the GCCameraAPI calculates
+        final int sensor = config.getCapabilities().getOrientation();
+        final int degrees = displayOrientation;
+        final int rotation;
+        if (facing == GCConstants.FACING_FRONT) {
+            rotation = (sensor + degrees) % 360;
+        } else {
+            final boolean isLandscape = (degrees == GCConstants.LANDSCAPE_90)
+                    || (degrees == GCConstants.LANDSCAPE_270);
+            rotation = (sensor + degrees + (isLandscape ? 180 : 0)) % 360;
+        }
+        return new GCCaptureMetadata(rotation, System.currentTimeMillis(), width, height,
+                facing, flash, isZeroShutterLag, timeline);
+    }
+
+    /**
+     * Method which provide the creating of the synthetic JPEG (SOI, JFIF APP0, scan and EOI
+     * markers, the entropy data is zeroed)
+     *
+     * @param size {@link Integer} value of the size (bytes)
+     * @return array of the JPEG data
+     */
+    @NonNull
+    static byte[] createJpeg(int size) {
+        final byte[] jpeg = new byte[size];
+        final byte[] header = {
+                (byte) 0xFF, (byte) 0xD8,
+                (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0, 1, 1, 0, 0, 1, 0, 1, 0, 0,
+                (byte) 0xFF, (byte) 0xDA, 0, 2
+        };
+        System.arraycopy(header, 0, jpeg, 0, header.length);
+        jpeg[size - 2] = (byte) 0xFF;
+        jpeg[size - 1] = (byte) 0xD9;
+        return jpeg;
+    }
+
+    /**
+     * Method which provide the calling of the action on the fake camera thread (inline when
+     * it is already the camera thread)
+     *
+     * @param action instance of the {@link Callable}
+     * @return {@link Boolean} value of the action result
+     */
+    private boolean call(@NonNull Callable<Boolean> action) {
+        try {
+            if (Thread.currentThread() == thread) {
+                return action.call();
+            }
+            return executor.submit(action).get();
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            throw (cause instanceof RuntimeException) ? (RuntimeException) cause
+                    : new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
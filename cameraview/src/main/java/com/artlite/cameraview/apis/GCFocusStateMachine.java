@@ -0,0 +1,168 @@
+package com.artlite.cameraview.apis;
+
+import android.support.annotation.NonNull;
+
+import com.artlite.cameraview.models.GCFocusStats;
+
+/**
+ * Class which provide the focus state machine of the camera session
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The state is driven by the auto focus move callback of the continuous focus and by the
+ * explicit auto focus cycles. The capture fires immediately when the lens is stable (or was
+ * focused by the last cycle), otherwise the cycle is required. The transitions are performed on
+ * the camera thread, the statistics could be read from any thread.
+ */
+public final class GCFocusStateMachine {
+
+    /**
+     * Enum which provide the focus states
+     */
+    public enum State {
+
+        /**
+         * Nothing is known about the lens (session is started or focus mode is changed)
+         */
+        UNKNOWN,
+
+        /**
+         * Lens is moving (continuous scan or the auto focus cycle)
+         */
+        SCANNING,
+
+        /**
+         * Continuous scan was finished and the lens is stable
+         */
+        STABLE,
+
+        /**
+         * Auto focus cycle was succeeded
+         */
+        FOCUSED,
+
+        /**
+         * Auto focus cycle was failed or timed out
+         */
+        UNFOCUSED
+
+    }
+
+    /**
+     * Instance of the {@link State}
+     */
+    private volatile State state = State.UNKNOWN;
+
+    /**
+     * {@link Integer} value of the shots with the auto focus
+     */
+    private int shotCount;
+
+    /**
+     * {@link Integer} value of the shots which skipped the cycle
+     */
+    private int skippedCount;
+
+    /**
+     * {@link Integer} value of the timed out cycles
+     */
+    private int timeoutCount;
+
+    /**
+     * {@link Long} value of the wait of the last shot
+     */
+    private long lastWait;
+
+    /**
+     * {@link Long} value of the maximal wait
+     */
+    private long maxWait;
+
+    /**
+     * {@link Long} value of the total wait
+     */
+    private long totalWait;
+
+    /**
+     * Method which provide the resetting of the state (statistics are kept)
+     */
+    public void reset() {
+        state = State.UNKNOWN;
+    }
+
+    /**
+     * Method which provide the action when the continuous focus lens was started or stopped
+     *
+     * @param isMoving {@link Boolean} value if the lens is moving
+     */
+    public void onMoving(boolean isMoving) {
+        state = isMoving ? State.SCANNING : State.STABLE;
+    }
+
+    /**
+     * Method which provide the action when the auto focus cycle was started
+     */
+    public void onCycleStarted() {
+        state = State.SCANNING;
+    }
+
+    /**
+     * Method which provide the action when the auto focus cycle was finished
+     *
+     * @param isSuccess {@link Boolean} value if the focus was succeeded
+     */
+    public void onCycleFinished(boolean isSuccess) {
+        state = isSuccess ? State.FOCUSED : State.UNFOCUSED;
+    }
+
+    /**
+     * Method which provide the checking if the capture could be fired without the cycle
+     *
+     * @return {@link Boolean} value if the focus is stable
+     */
+    public boolean isCaptureReady() {
+        final State state = this.state;
+        return (state == State.STABLE) || (state == State.FOCUSED);
+    }
+
+    /**
+     * Method which provide the recording of the shot auto focus wait
+     *
+     * @param wait      {@link Long} value of the wait in nanoseconds
+     * @param isSkipped {@link Boolean} value if the cycle was skipped
+     * @param isTimeout {@link Boolean} value if the cycle was timed out
+     */
+    public synchronized void onShot(long wait, boolean isSkipped, boolean isTimeout) {
+        shotCount++;
+        if (isSkipped) {
+            skippedCount++;
+        }
+        if (isTimeout) {
+            timeoutCount++;
+        }
+        lastWait = wait;
+        maxWait = Math.max(maxWait, wait);
+        totalWait += wait;
+    }
+
+    /**
+     * Method which provide the getting of the {@link State}
+     *
+     * @return instance of the {@link State}
+     */
+    @NonNull
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCFocusStats}
+     *
+     * @return instance of the {@link GCFocusStats}
+     */
+    @NonNull
+    public synchronized GCFocusStats getStats() {
+        return new GCFocusStats(shotCount, skippedCount, timeoutCount, lastWait, maxWait,
+                totalWait);
+    }
+
+}
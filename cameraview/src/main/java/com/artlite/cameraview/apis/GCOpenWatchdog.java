@@ -0,0 +1,292 @@
+package com.artlite.cameraview.apis;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.models.GCOpenAttempt;
+import com.artlite.cameraview.models.GCOpenPolicy;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Class which provide the supervised camera open with the timeout, the bounded retries and the
+ * exponential backoff of the {@link GCOpenPolicy}. Every attempt runs as the separate task of
+ * the {@link Scheduler} (the camera thread), the backoff is the delay of the next task, so the
+ * other camera commands are executed between the attempts.
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The {@link android.hardware.Camera} delivers its callbacks on the looper which opened it, so
+ * the open stays on the camera thread and the blocking call can't be interrupted. The attempt
+ * which exceeds the timeout is treated as the hung HAL: the late opened camera is closed and
+ * the open is retried while there are attempts left.
+ */
+public final class GCOpenWatchdog {
+
+    /**
+     * Private constructor
+     */
+    private GCOpenWatchdog() {
+    }
+
+    /**
+     * Method which provide the supervised open, the first attempt is performed inline (it
+     * should be called on the {@link Scheduler} thread)
+     *
+     * @param cameraId  {@link Integer} value of the camera ID
+     * @param policy    instance of the {@link GCOpenPolicy}
+     * @param scheduler instance of the {@link Scheduler}
+     * @param opener    instance of the {@link Opener}
+     * @param listener  instance of the {@link Listener}
+     * @param callback  instance of the {@link Callback}
+     * @param <T>       type of the opened camera
+     * @return instance of the {@link OpenTask}
+     */
+    @NonNull
+    public static <T> OpenTask<T> open(int cameraId,
+                                       @NonNull GCOpenPolicy policy,
+                                       @NonNull Scheduler scheduler,
+                                       @NonNull Opener<T> opener,
+                                       @NonNull Listener listener,
+                                       @NonNull Callback<T> callback) {
+        final OpenTask<T> task = new OpenTask<>(cameraId, policy, scheduler, opener, listener,
+                callback);
+        task.run();
+        return task;
+    }
+
+    /**
+     * Class which provide the attempts of the supervised open (scheduler thread)
+     *
+     * @param <T> type of the opened camera
+     */
+    public static final class OpenTask<T> implements Runnable {
+
+        /**
+         * {@link Integer} value of the camera ID
+         */
+        private final int cameraId;
+
+        /**
+         * Instance of the {@link GCOpenPolicy}
+         */
+        private final GCOpenPolicy policy;
+
+        /**
+         * Instance of the {@link Scheduler}
+         */
+        private final Scheduler scheduler;
+
+        /**
+         * Instance of the {@link Opener}
+         */
+        private final Opener<T> opener;
+
+        /**
+         * Instance of the {@link Listener}
+         */
+        private final Listener listener;
+
+        /**
+         * Instance of the {@link Callback}
+         */
+        private final Callback<T> callback;
+
+        /**
+         * {@link Integer} value of the performed attempts
+         */
+        private int attempt;
+
+        /**
+         * {@link Boolean} value if the result was delivered
+         */
+        private boolean isFinished;
+
+        /**
+         * Constructor which provide the create of the {@link OpenTask} with parameters
+         *
+         * @param cameraId  {@link Integer} value of the camera ID
+         * @param policy    instance of the {@link GCOpenPolicy}
+         * @param scheduler instance of the {@link Scheduler}
+         * @param opener    instance of the {@link Opener}
+         * @param listener  instance of the {@link Listener}
+         * @param callback  instance of the {@link Callback}
+         */
+        private OpenTask(int cameraId,
+                         @NonNull GCOpenPolicy policy,
+                         @NonNull Scheduler scheduler,
+                         @NonNull Opener<T> opener,
+                         @NonNull Listener listener,
+                         @NonNull Callback<T> callback) {
+            this.cameraId = cameraId;
+            this.policy = policy;
+            this.scheduler = scheduler;
+            this.opener = opener;
+            this.listener = listener;
+            this.callback = callback;
+        }
+
+        /**
+         * Method which provide the performing of the attempt (scheduler thread)
+         */
+        @Override
+        public void run() {
+            if (isFinished) {
+                return;
+            }
+            attempt++;
+            final long start = System.nanoTime();
+            T camera = null;
+            Exception error = null;
+            try {
+                camera = opener.open(cameraId);
+                if (camera == null) {
+                    error = new IllegalStateException("Camera " + cameraId + " is not found");
+                }
+            } catch (Exception ex) {
+                error = ex;
+            }
+            final long latency = System.nanoTime() - start;
+            final int result;
+            if (camera == null) {
+                result = GCOpenAttempt.RESULT_FAILED;
+            } else if (latency > TimeUnit.MILLISECONDS.toNanos(policy.getTimeout())) {
+                // Hung HAL, the late opened camera isn't trusted
+                opener.close(camera);
+                camera = null;
+                error = new TimeoutException("Camera " + cameraId + " open #" + attempt
+                        + " exceeded " + policy.getTimeout() + " ms");
+                result = GCOpenAttempt.RESULT_TIMEOUT;
+            } else {
+                result = GCOpenAttempt.RESULT_OPENED;
+            }
+            listener.onOpenAttempt(new GCOpenAttempt(cameraId, attempt, latency, result,
+                    error));
+            if (camera != null) {
+                isFinished = true;
+                callback.onOpened(camera);
+                return;
+            }
+            if (attempt >= policy.getMaxAttempts()) {
+                isFinished = true;
+                listener.onOpenFailed(error);
+                callback.onFailed(error);
+                return;
+            }
+            scheduler.schedule(this, policy.getBackoff(attempt));
+        }
+
+        /**
+         * Method which provide the canceling of the pending attempts, the {@link Callback}
+         * receives the {@link CancellationException} (scheduler thread)
+         */
+        public void cancel() {
+            if (isFinished) {
+                return;
+            }
+            isFinished = true;
+            scheduler.remove(this);
+            callback.onFailed(new CancellationException("Camera " + cameraId
+                    + " open was cancelled"));
+        }
+
+        /**
+         * Method which provide the checking if the result was delivered
+         *
+         * @return {@link Boolean} value if the open was finished
+         */
+        public boolean isFinished() {
+            return isFinished;
+        }
+    }
+
+    /**
+     * Scheduler of the open attempts (the camera thread)
+     */
+    public interface Scheduler {
+
+        /**
+         * Method which provide the scheduling of the attempt
+         *
+         * @param task  instance of the {@link Runnable}
+         * @param delay {@link Long} value of the delay (milliseconds)
+         */
+        void schedule(@NonNull Runnable task, long delay);
+
+        /**
+         * Method which provide the removing of the scheduled attempt
+         *
+         * @param task instance of the {@link Runnable}
+         */
+        void remove(@NonNull Runnable task);
+    }
+
+    /**
+     * Opener of the camera
+     *
+     * @param <T> type of the opened camera
+     */
+    public interface Opener<T> {
+
+        /**
+         * Method which provide the opening of the camera
+         *
+         * @param cameraId {@link Integer} value of the camera ID
+         * @return instance of the opened camera or null if there is no camera
+         * @throws Exception when the camera can't be opened
+         */
+        @Nullable
+        T open(int cameraId) throws Exception;
+
+        /**
+         * Method which provide the closing of the camera which was opened after the timeout
+         *
+         * @param camera instance of the opened camera
+         */
+        void close(@NonNull T camera);
+    }
+
+    /**
+     * Listener of the supervised open
+     */
+    public interface Listener {
+
+        /**
+         * Method which provide the action when the attempt was finished
+         *
+         * @param attempt instance of the {@link GCOpenAttempt}
+         */
+        void onOpenAttempt(@NonNull GCOpenAttempt attempt);
+
+        /**
+         * Method which provide the action when all the attempts were failed
+         *
+         * @param exception instance of the {@link Exception} of the last attempt
+         */
+        void onOpenFailed(@NonNull Exception exception);
+    }
+
+    /**
+     * Callback of the supervised open result (scheduler thread)
+     *
+     * @param <T> type of the opened camera
+     */
+    public interface Callback<T> {
+
+        /**
+         * Method which provide the action when the camera was opened
+         *
+         * @param camera instance of the opened camera
+         */
+        void onOpened(@NonNull T camera);
+
+        /**
+         * Method which provide the action when the open was failed or cancelled
+         *
+         * @param exception instance of the {@link Exception}
+         */
+        void onFailed(@NonNull Exception exception);
+    }
+
+}
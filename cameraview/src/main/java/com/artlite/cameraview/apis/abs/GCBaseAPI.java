@@ -122,6 +122,26 @@ public abstract class GCBaseAPI {
         return null;
     }
 
+    /**
+     * Method which provide the retaining of the surface texture (it isn't released when the
+     * preview view is destroyed, the retained texture is owned by the caller)
+     *
+     * @return instance of the texture {@link Object} or null if it can't be retained
+     */
+    public Object retainSurfaceTexture() {
+        return null;
+    }
+
+    /**
+     * Method which provide the attaching of the retained surface texture to the preview
+     *
+     * @param texture instance of the texture {@link Object}
+     * @return {@link Boolean} value if it attached
+     */
+    public boolean attachSurfaceTexture(Object texture) {
+        return false;
+    }
+
     /**
      * Method which provide the setting of the buffer size
      *
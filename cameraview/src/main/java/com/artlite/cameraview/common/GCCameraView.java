@@ -1,12 +1,11 @@
 package com.artlite.cameraview.common;
 
 import android.Manifest;
-import android.annotation.SuppressLint;
 import android.app.Activity;
 import android.content.Context;
 import android.content.pm.PackageManager;
+import android.graphics.Bitmap;
 import android.net.Uri;
-import android.os.AsyncTask;
 import android.os.Environment;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.LayoutRes;
@@ -21,14 +20,21 @@ import android.widget.FrameLayout;
 import android.widget.ImageView;
 
 import com.artlite.cameraview.constants.GCConstants;
+import com.artlite.cameraview.metrics.GCCaptureTimeline;
+import com.artlite.cameraview.metrics.GCLatencyRecorder;
 import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+import com.artlite.cameraview.models.GCLatencyPercentiles;
+import com.artlite.cameraview.persistence.GCPersistenceEngine;
+import com.artlite.cameraview.selectors.GCSizeRequest;
+import com.artlite.cameraview.threads.GCMainThreadExecutor;
+import com.artlite.cameraview.thumbnails.GCThumbnailService;
 import com.artlite.cameraview.views.GCCameraImplementation;
 import com.google.android.cameraview.R;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.lang.ref.WeakReference;
-import java.util.Date;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Class which provide the create of the View for the camera
@@ -40,6 +46,11 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
      */
     private static final String TAG = GCCameraView.class.getSimpleName();
 
+    /**
+     * Instance of the {@link GCPersistenceEngine} shared by all camera views
+     */
+    private static GCPersistenceEngine persistenceEngine;
+
     /**
      * Enum which provide the facing
      */
@@ -160,6 +171,71 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
 
     }
 
+    /**
+     * Interface which provide the thumbnail callback
+     */
+    public interface OnThumbnailCallback {
+
+        /**
+         * Method which provide the action when the thumbnail of the taken picture is ready
+         * (before the picture is saved). Return the replaced thumbnail with the
+         * {@link GCCameraView#recycleThumbnail(Bitmap)}.
+         *
+         * @param cameraView instance of the {@link GCCameraView}
+         * @param thumbnail  instance of the {@link Bitmap}
+         * @param rotation   {@link Integer} value of the clockwise rotation to display it
+         */
+        void cameraViewThumbnailReady(@NonNull GCCameraView cameraView,
+                                      @NonNull Bitmap thumbnail,
+                                      int rotation);
+
+    }
+
+    /**
+     * Interface which provide the capture timeline listener
+     */
+    public interface OnCaptureTimelineListener {
+
+        /**
+         * Method which provide the action when the capture was finished (the picture was
+         * delivered, dropped or failed)
+         *
+         * @param cameraView instance of the {@link GCCameraView}
+         * @param timeline   instance of the {@link GCCaptureTimeline}
+         */
+        void cameraViewCaptureTimeline(@NonNull GCCameraView cameraView,
+                                       @NonNull GCCaptureTimeline timeline);
+
+    }
+
+    /**
+     * Interface which provide the photo saving callback
+     */
+    public interface OnPhotoSavingCallback {
+
+        /**
+         * Method which provide the action when the taken photo wasn't saved (it was dropped
+         * because the saving is saturated, {@link RejectedExecutionException}, or the writing
+         * was failed)
+         *
+         * @param cameraView instance of the {@link GCCameraView}
+         * @param exception  instance of the {@link Exception}
+         */
+        void cameraViewPhotoFailed(@NonNull GCCameraView cameraView,
+                                   @NonNull Exception exception);
+
+        /**
+         * Method which provide the action when the saturation of the photo saving was changed
+         * (new photos are rejected while it is saturated)
+         *
+         * @param cameraView  instance of the {@link GCCameraView}
+         * @param isSaturated {@link Boolean} value if the saving is saturated
+         */
+        void cameraViewSavingSaturated(@NonNull GCCameraView cameraView,
+                                       boolean isSaturated);
+
+    }
+
     /**
      * Instance of {@link View}
      */
@@ -190,6 +266,64 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
      */
     protected GCCameraImplementation.Callback cameraCallback;
 
+    /**
+     * Instance of the {@link OnThumbnailCallback}
+     */
+    protected OnThumbnailCallback thumbnailCallback;
+
+    /**
+     * Instance of the {@link GCThumbnailService}
+     */
+    protected GCThumbnailService thumbnailService;
+
+    /**
+     * Instance of the {@link OnCaptureTimelineListener}
+     */
+    protected OnCaptureTimelineListener captureTimelineListener;
+
+    /**
+     * Instance of the {@link GCLatencyRecorder}
+     */
+    protected GCLatencyRecorder latencyRecorder;
+
+    /**
+     * Instance of the {@link OnPhotoSavingCallback}
+     */
+    protected OnPhotoSavingCallback photoSavingCallback;
+
+    /**
+     * Instance of the {@link GCPersistenceEngine} which back-pressure is listened
+     */
+    private GCPersistenceEngine boundEngine;
+
+    /**
+     * Array of the {@link Byte} of the photo which was rejected by the saturated saving, it is
+     * saved when the saving is released (main thread)
+     */
+    private byte[] deferredData;
+
+    /**
+     * Instance of the {@link GCCaptureMetadata} of the deferred photo
+     */
+    private GCCaptureMetadata deferredMetadata;
+
+    /**
+     * Instance of the {@link GCPersistenceEngine.OnBackPressureListener} (the changes are
+     * delivered to the main thread in order)
+     */
+    private final GCPersistenceEngine.OnBackPressureListener backPressureListener =
+            new GCPersistenceEngine.OnBackPressureListener() {
+                @Override
+                public void onBackPressureChanged(final boolean isSaturated) {
+                    GCMainThreadExecutor.getInstance().execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            onSavingSaturated(isSaturated);
+                        }
+                    });
+                }
+            };
+
     /**
      * Constructor which provide the create {@link View} from
      *
@@ -285,6 +419,30 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
         this.setFlash(Flash.AUTO);
     }
 
+    // Attach / Detach
+
+    /**
+     * Method which provide the action when the view is attached to the window
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        bindPersistenceEngine();
+    }
+
+    /**
+     * Method which provide the action when the view is detached from the window
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        flushDeferredPhoto(false);
+        if (this.boundEngine != null) {
+            this.boundEngine.removeOnBackPressureListener(this.backPressureListener);
+            this.boundEngine = null;
+        }
+        super.onDetachedFromWindow();
+    }
+
     // Start / Stop
 
     /**
@@ -305,9 +463,7 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
                         .permission.WRITE_EXTERNAL_STORAGE}, 0b1010);
                 return;
             }
-            if (this.cameraView.isCameraOpened()) {
-                this.cameraView.stop();
-            }
+            // The opened session (retained across the rotation) is not reopened
             this.cameraView.start();
         }
     }
@@ -441,10 +597,46 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
      */
     public final void makePhoto() {
         if (this.cameraView != null) {
+            if (bindPersistenceEngine().isSaturated()) {
+                Log.w(TAG, "makePhoto: photo saving is saturated, capture skipped");
+                return;
+            }
             this.cameraView.takePicture();
         }
     }
 
+    /**
+     * Method which provide the making of the burst of photos
+     *
+     * @param count    {@link Integer} value of the photos count
+     * @param interval {@link Long} value of the minimal interval between photos (milliseconds)
+     */
+    public final void makePhotos(int count, long interval) {
+        if (this.cameraView != null) {
+            // The burst is paused while the saving is saturated
+            bindPersistenceEngine();
+            this.cameraView.takePictures(count, interval);
+        }
+    }
+
+    /**
+     * Method which provide the starting of the hold-to-burst (until {@link #stopBurst()})
+     *
+     * @param interval {@link Long} value of the minimal interval between photos (milliseconds)
+     */
+    public final void startBurst(long interval) {
+        makePhotos(GCConstants.BURST_UNLIMITED, interval);
+    }
+
+    /**
+     * Method which provide the stopping of the burst
+     */
+    public final void stopBurst() {
+        if (this.cameraView != null) {
+            this.cameraView.stopBurst();
+        }
+    }
+
     // On click
 
     /**
@@ -482,6 +674,31 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
                 public void onPictureTaken(GCCameraImplementation cameraView, byte[] data) {
                     onPictureProcessing(data);
                 }
+
+                /**
+                 * Called when a picture is taken.
+                 *
+                 * @param cameraView The associated {@link CameraView}.
+                 * @param data       JPEG data.
+                 * @param metadata   The capture metadata.
+                 */
+                @Override
+                public void onPictureTaken(GCCameraImplementation cameraView, byte[] data,
+                                           GCCaptureMetadata metadata) {
+                    onPictureProcessing(data, metadata);
+                }
+
+                /**
+                 * Called when the camera can't be opened.
+                 *
+                 * @param cameraView The associated {@link CameraView}.
+                 * @param exception  The last open failure.
+                 */
+                @Override
+                public void onCameraOpenFailed(GCCameraImplementation cameraView,
+                                               Exception exception) {
+                    Log.e(TAG, "onCameraOpenFailed: ", exception);
+                }
             };
         }
         return cameraCallback;
@@ -495,7 +712,159 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
      * @param data array of the {@link Byte}
      */
     protected void onPictureProcessing(byte[] data) {
-        new SaveFileTask(data, this.callback, this).execute();
+        onPictureProcessing(data, null);
+    }
+
+    /**
+     * Method which provide the picture taking with the metadata (the Exif is spliced by the
+     * {@link GCPersistenceEngine} while the picture is written)
+     *
+     * @param data     array of the {@link Byte}
+     * @param metadata instance of the {@link GCCaptureMetadata}
+     */
+    protected void onPictureProcessing(byte[] data, @Nullable GCCaptureMetadata metadata) {
+        if ((this.thumbnailService != null) && (this.thumbnailCallback != null)) {
+            final int orientation = (metadata != null) ? metadata.getOrientation() : 0;
+            final OnThumbnailCallback callback = this.thumbnailCallback;
+            this.thumbnailService.extract(data, GCMainThreadExecutor.getInstance(),
+                    new GCThumbnailService.Callback() {
+                        @Override
+                        public void onThumbnail(@NonNull Bitmap thumbnail, int rotation) {
+                            callback.cameraViewThumbnailReady(GCCameraView.this, thumbnail,
+                                    (rotation + orientation) % 360);
+                        }
+                    });
+        }
+        savePhoto(data, metadata, true);
+    }
+
+    /**
+     * Method which provide the saving of the photo. The burst is paused when the saving is
+     * saturated, so the shot which was already in progress is deferred until the saving is
+     * released (the deferred photo is the only one, the next rejected photos are dropped).
+     *
+     * @param data         array of the {@link Byte}
+     * @param metadata     instance of the {@link GCCaptureMetadata}
+     * @param isDeferrable {@link Boolean} value if the rejected photo could be deferred
+     */
+    private void savePhoto(@NonNull byte[] data,
+                           @Nullable GCCaptureMetadata metadata,
+                           boolean isDeferrable) {
+        final GCCaptureTimeline timeline = (metadata != null) ? metadata.getTimeline() : null;
+        final boolean isAccepted = bindPersistenceEngine().save(data, metadata,
+                GCMainThreadExecutor.getInstance(),
+                new SaveFileCallback(this.callback, this, timeline));
+        if (isAccepted) {
+            return;
+        }
+        if (isDeferrable && (this.deferredData == null)) {
+            this.deferredData = data;
+            this.deferredMetadata = metadata;
+            return;
+        }
+        onPhotoFailed(new RejectedExecutionException(
+                "Photo saving is saturated, photo dropped"), timeline);
+    }
+
+    /**
+     * Method which provide the saving of the deferred photo
+     *
+     * @param isDeferrable {@link Boolean} value if the photo could be deferred again
+     */
+    private void flushDeferredPhoto(boolean isDeferrable) {
+        final byte[] data = this.deferredData;
+        if (data == null) {
+            return;
+        }
+        final GCCaptureMetadata metadata = this.deferredMetadata;
+        this.deferredData = null;
+        this.deferredMetadata = null;
+        savePhoto(data, metadata, isDeferrable);
+    }
+
+    /**
+     * Method which provide the action when the photo wasn't saved
+     *
+     * @param exception instance of the {@link Exception}
+     * @param timeline  instance of the {@link GCCaptureTimeline}
+     */
+    protected void onPhotoFailed(@NonNull Exception exception,
+                                 @Nullable GCCaptureTimeline timeline) {
+        Log.w(TAG, "onPhotoFailed: ", exception);
+        if (this.photoSavingCallback != null) {
+            this.photoSavingCallback.cameraViewPhotoFailed(this, exception);
+        }
+        onCaptureFinished(timeline);
+    }
+
+    /**
+     * Method which provide the action when the saturation of the photo saving was changed
+     * (main thread)
+     *
+     * @param isSaturated {@link Boolean} value if the saving is saturated
+     */
+    protected void onSavingSaturated(boolean isSaturated) {
+        if (this.cameraView != null) {
+            this.cameraView.setBurstPaused(isSaturated);
+        }
+        if (!isSaturated) {
+            flushDeferredPhoto(true);
+        }
+        if (this.photoSavingCallback != null) {
+            this.photoSavingCallback.cameraViewSavingSaturated(this, isSaturated);
+        }
+    }
+
+    /**
+     * Method which provide the listening of the back-pressure of the current shared
+     * {@link GCPersistenceEngine} (it could be replaced with the
+     * {@link #setPersistenceEngine(GCPersistenceEngine)})
+     *
+     * @return instance of the {@link GCPersistenceEngine}
+     */
+    @NonNull
+    private GCPersistenceEngine bindPersistenceEngine() {
+        final GCPersistenceEngine engine = getPersistenceEngine();
+        if (this.boundEngine != engine) {
+            if (this.boundEngine != null) {
+                this.boundEngine.removeOnBackPressureListener(this.backPressureListener);
+            }
+            this.boundEngine = engine;
+            engine.addOnBackPressureListener(this.backPressureListener);
+            if (this.cameraView != null) {
+                this.cameraView.setBurstPaused(engine.isSaturated());
+            }
+        }
+        return engine;
+    }
+
+    // Persistence
+
+    /**
+     * Method which provide the getting of the shared {@link GCPersistenceEngine}
+     * (by default photos are saved to the public Pictures directory)
+     *
+     * @return instance of the {@link GCPersistenceEngine}
+     */
+    @NonNull
+    public static synchronized GCPersistenceEngine getPersistenceEngine() {
+        if (persistenceEngine == null) {
+            persistenceEngine = new GCPersistenceEngine(
+                    Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_PICTURES));
+        }
+        return persistenceEngine;
+    }
+
+    /**
+     * Method which provide the setting of the shared {@link GCPersistenceEngine}
+     *
+     * @param engine instance of the {@link GCPersistenceEngine}
+     */
+    public static synchronized void setPersistenceEngine(@NonNull GCPersistenceEngine engine) {
+        if ((persistenceEngine != null) && (persistenceEngine != engine)) {
+            persistenceEngine.shutdown();
+        }
+        persistenceEngine = engine;
     }
 
     /**
@@ -533,14 +902,156 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
     }
 
     /**
-     * Instance of the {@link SaveFileTask}
+     * Method which provide the limiting of the picture resolution (smaller JPEG, faster saving)
+     *
+     * @param megapixels {@link Float} value of the maximal megapixels (0 if unlimited)
+     */
+    public void setMaxPictureMegapixels(float megapixels) {
+        if (this.cameraView != null) {
+            final GCSizeRequest request = this.cameraView.getSizeRequest();
+            this.cameraView.setSizeRequest(new GCSizeRequest(megapixels,
+                    request.getAnalysisWidth(), request.getAnalysisHeight(),
+                    request.isHighResolutionPreview()));
+        }
+    }
+
+    /**
+     * Method which provide the enabling of the zero shutter lag capture (the photo is encoded
+     * from the preview frame of the {@link #makePhoto()} moment)
+     *
+     * @param isEnabled {@link Boolean} value if the zero shutter lag capture is enabled
      */
-    protected class SaveFileTask extends AsyncTask<Void, Void, Uri> {
+    public void setZeroShutterLag(boolean isEnabled) {
+        if (this.cameraView != null) {
+            this.cameraView.setZeroShutterLag(isEnabled
+                            ? GCConstants.ZSL_DEFAULT_DEPTH
+                            : GCConstants.ZSL_DISABLED,
+                    GCConstants.ZSL_DEFAULT_MAX_MEMORY);
+        }
+    }
 
-        /**
-         * Array of the {@link Byte}
-         */
-        private final byte[] bytes;
+    /**
+     * Method which provide the enabling of the standby (the camera stays opened for the short
+     * pause, so the resume only restarts the preview)
+     *
+     * @param isEnabled {@link Boolean} value if the standby is enabled
+     */
+    public void setStandbyEnabled(boolean isEnabled) {
+        if (this.cameraView != null) {
+            this.cameraView.setStandbyTimeout(isEnabled
+                    ? GCConstants.STANDBY_DEFAULT_TIMEOUT
+                    : GCConstants.STANDBY_DISABLED);
+        }
+    }
+
+    /**
+     * Method which provide the enabling of the Exif rotation (the HAL doesn't rotate the
+     * picture, the orientation is written to the Exif of the saved photo)
+     *
+     * @param isEnabled {@link Boolean} value if the Exif rotation is enabled
+     */
+    public void setExifRotation(boolean isEnabled) {
+        if (this.cameraView != null) {
+            this.cameraView.setExifRotation(isEnabled);
+        }
+    }
+
+    /**
+     * Method which provide the setting of the {@link OnThumbnailCallback}. The thumbnail is
+     * taken from the Exif of the picture (or decoded with the sampling to the size).
+     *
+     * @param callback instance of the {@link OnThumbnailCallback} (null to disable)
+     * @param width    {@link Integer} value of the thumbnail view width
+     * @param height   {@link Integer} value of the thumbnail view height
+     */
+    public void setThumbnailCallback(@Nullable OnThumbnailCallback callback,
+                                     int width,
+                                     int height) {
+        if (this.thumbnailService != null) {
+            this.thumbnailService.shutdown();
+            this.thumbnailService = null;
+        }
+        this.thumbnailCallback = callback;
+        if (callback != null) {
+            this.thumbnailService = new GCThumbnailService(width, height);
+        }
+    }
+
+    /**
+     * Method which provide the returning of the replaced thumbnail for the reusing
+     *
+     * @param thumbnail instance of the {@link Bitmap}
+     */
+    public void recycleThumbnail(@Nullable Bitmap thumbnail) {
+        if (this.thumbnailService != null) {
+            this.thumbnailService.recycle(thumbnail);
+        }
+    }
+
+    /**
+     * Method which provide the setting of the {@link OnPhotoSavingCallback}
+     *
+     * @param callback instance of the {@link OnPhotoSavingCallback} (null to disable)
+     */
+    public void setPhotoSavingCallback(@Nullable OnPhotoSavingCallback callback) {
+        this.photoSavingCallback = callback;
+    }
+
+    /**
+     * Method which provide the setting of the {@link OnCaptureTimelineListener}
+     *
+     * @param listener instance of the {@link OnCaptureTimelineListener} (null to disable)
+     */
+    public void setCaptureTimelineListener(@Nullable OnCaptureTimelineListener listener) {
+        this.captureTimelineListener = listener;
+    }
+
+    /**
+     * Method which provide the enabling of the rolling latency percentiles of the captures
+     *
+     * @param isEnabled {@link Boolean} value if the percentiles are enabled
+     */
+    public void setLatencyPercentilesEnabled(boolean isEnabled) {
+        if (!isEnabled) {
+            this.latencyRecorder = null;
+        } else if (this.latencyRecorder == null) {
+            this.latencyRecorder = new GCLatencyRecorder(GCLatencyRecorder.DEFAULT_WINDOW);
+        }
+    }
+
+    /**
+     * Method which provide the getting of the latency percentiles from the tap to the stage
+     *
+     * @param stage {@link Integer} value of the {@link GCCaptureTimeline} stage
+     * @return instance of the {@link GCLatencyPercentiles} or null (disabled or no captures)
+     */
+    @Nullable
+    public GCLatencyPercentiles getCaptureLatency(int stage) {
+        final GCLatencyRecorder recorder = this.latencyRecorder;
+        return (recorder != null) ? recorder.getPercentiles(stage) : null;
+    }
+
+    /**
+     * Method which provide the action when the capture was finished
+     *
+     * @param timeline instance of the {@link GCCaptureTimeline}
+     */
+    protected void onCaptureFinished(@Nullable GCCaptureTimeline timeline) {
+        if (timeline == null) {
+            return;
+        }
+        if (this.latencyRecorder != null) {
+            this.latencyRecorder.record(timeline);
+        }
+        if (this.captureTimelineListener != null) {
+            this.captureTimelineListener.cameraViewCaptureTimeline(this, timeline);
+        }
+    }
+
+    /**
+     * Instance of the {@link SaveFileCallback}
+     */
+    protected static class SaveFileCallback implements GCPersistenceEngine.Callback {
 
         /**
          * Instance of the {@link WeakReference}
@@ -553,67 +1064,68 @@ public class GCCameraView extends FrameLayout implements View.OnClickListener {
         private final WeakReference<GCCameraView> viewWeakReference;
 
         /**
-         * Constructor which provide the create of the {@link SaveFileTask} from parameters
+         * Instance of the {@link GCCaptureTimeline}
+         */
+        private final GCCaptureTimeline timeline;
+
+        /**
+         * Constructor which provide the create of the {@link SaveFileCallback} from parameters
+         *
+         * @param callback   instance of the {@link OnCameraCallback}
+         * @param cameraView instance of the {@link GCCameraView}
+         */
+        public SaveFileCallback(@Nullable OnCameraCallback callback,
+                                @Nullable GCCameraView cameraView) {
+            this(callback, cameraView, null);
+        }
+
+        /**
+         * Constructor which provide the create of the {@link SaveFileCallback} from parameters
          *
-         * @param bytes      array of the {@link Byte}
          * @param callback   instance of the {@link OnCameraCallback}
          * @param cameraView instance of the {@link GCCameraView}
+         * @param timeline   instance of the {@link GCCaptureTimeline}
          */
-        public SaveFileTask(@NonNull byte[] bytes,
-                            @Nullable OnCameraCallback callback,
-                            @Nullable GCCameraView cameraView) {
-            this.bytes = bytes;
+        public SaveFileCallback(@Nullable OnCameraCallback callback,
+                                @Nullable GCCameraView cameraView,
+                                @Nullable GCCaptureTimeline timeline) {
             this.callbackWeakReference = new WeakReference<>(callback);
             this.viewWeakReference = new WeakReference<>(cameraView);
+            this.timeline = timeline;
         }
 
         /**
-         * Override this method to perform a computation on a background thread.
+         * Method which provide the action when the photo was saved
          *
-         * @param voids The parameters of the task.
-         * @return A result, defined by the subclass of this task.
+         * @param file instance of the {@link File}
          */
         @Override
-        protected Uri doInBackground(Void... voids) {
-            Uri uri = null;
-            String root = Environment.getExternalStoragePublicDirectory(
-                    Environment.DIRECTORY_PICTURES).toString();
-            File myDir = new File(root);
-            if (!myDir.exists()) {
-                myDir.mkdirs();
+        public void onPhotoSaved(@NonNull File file) {
+            final OnCameraCallback cameraCallback = this.callbackWeakReference.get();
+            final GCCameraView cameraView = this.viewWeakReference.get();
+            if (this.timeline != null) {
+                this.timeline.mark(GCCaptureTimeline.STAGE_DELIVERED);
             }
-            @SuppressLint("DefaultLocale") String fileName = String.format("photo_%d", new Date().getTime());
-            String imageName = String.format("%s.jpg", fileName);
-            File file = new File(myDir, imageName);
-            if (file.exists()) file.delete();
-            try {
-                FileOutputStream out = new FileOutputStream(file);
-                out.write(this.bytes);
-                out.flush();
-                out.close();
-                uri = Uri.fromFile(file);
-            } catch (Exception e) {
-                e.printStackTrace();
-                uri = null;
+            if ((cameraCallback != null) && (cameraView != null)) {
+                cameraCallback.cameraViewPictureTaken(cameraView, Uri.fromFile(file));
+            }
+            if (cameraView != null) {
+                cameraView.onCaptureFinished(this.timeline);
             }
-            return uri;
         }
 
         /**
-         * Method which provide the post execute functional
+         * Method which provide the action when the photo saving was failed
          *
-         * @param uri instance of the {@link Uri}
+         * @param exception instance of the {@link Exception}
          */
         @Override
-        protected void onPostExecute(Uri uri) {
-            final OnCameraCallback cameraCallback = (this.callbackWeakReference == null)
-                    ? null : this.callbackWeakReference.get();
-            final GCCameraView cameraView = (this.viewWeakReference == null)
-                    ? null : this.viewWeakReference.get();
-            if ((cameraCallback != null)
-                    && (uri != null)
-                    && (cameraView != null)) {
-                cameraCallback.cameraViewPictureTaken(cameraView, uri);
+        public void onPhotoFailed(@NonNull Exception exception) {
+            final GCCameraView cameraView = this.viewWeakReference.get();
+            if (cameraView != null) {
+                cameraView.onPhotoFailed(exception, this.timeline);
+            } else {
+                Log.e(TAG, "onPhotoFailed: ", exception);
             }
         }
     }
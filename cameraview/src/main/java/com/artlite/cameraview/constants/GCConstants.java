@@ -65,6 +65,36 @@ public interface GCConstants {
      */
     int FLASH_RED_EYE = 4;
 
+    /**
+     * {@link Integer} value of the unlimited burst (until it stopped)
+     */
+    int BURST_UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * {@link Integer} value of the disabled zero shutter lag capture (ring depth)
+     */
+    int ZSL_DISABLED = 0;
+
+    /**
+     * {@link Integer} value of the default zero shutter lag ring depth (frames)
+     */
+    int ZSL_DEFAULT_DEPTH = 4;
+
+    /**
+     * {@link Long} value of the default zero shutter lag ring memory limit (bytes)
+     */
+    long ZSL_DEFAULT_MAX_MEMORY = 64L * 1024 * 1024;
+
+    /**
+     * {@link Long} value of the disabled standby (the camera is released on stop)
+     */
+    long STANDBY_DISABLED = 0;
+
+    /**
+     * {@link Long} value of the default standby grace period (milliseconds)
+     */
+    long STANDBY_DEFAULT_TIMEOUT = 5000;
+
     /**
      * {@link Integer} value of the landscape
      */
@@ -0,0 +1,511 @@
+package com.artlite.cameraview.constants;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.models.GCAspectRatio;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A collection class that groups sizes by their {@link GCAspectRatio}s with the primitive storage.
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The ratio buckets are interned through the open-addressing hash of the reduced (x, y) pair,
+ * so adding of the size costs the single gcd and the single hash probe instead of the scan of
+ * all ratios. The sizes of the bucket are stored as sorted {@code long} values
+ * ({@code area << 32 | width << 16 | height}) which allows the binary-search ceiling queries.
+ * With the non-zero tolerance the ratios which differ less than the tolerance (for example
+ * 1088x1920 and 1080x1920) share the bucket of the first added ratio.
+ */
+public class GCPackedSizeMap {
+
+    /**
+     * {@link Long} constant of the missing size
+     */
+    public static final long NO_SIZE = -1L;
+
+    /**
+     * {@link Integer} constant of the maximal width or height
+     */
+    private static final int MAX_DIMENSION = 0xFFFF;
+
+    /**
+     * {@link Integer} constant of the initial bucket capacity
+     */
+    private static final int INITIAL_BUCKET_CAPACITY = 8;
+
+    /**
+     * {@link Integer} constant of the initial hash capacity (power of two)
+     */
+    private static final int INITIAL_HASH_CAPACITY = 16;
+
+    /**
+     * {@link Float} value of the ratio tolerance
+     */
+    private final float tolerance;
+
+    /**
+     * Array of the reduced (x, y) keys of the hash (0 if empty)
+     */
+    private long[] hashKeys = new long[INITIAL_HASH_CAPACITY];
+
+    /**
+     * Array of the bucket indexes of the hash
+     */
+    private int[] hashValues = new int[INITIAL_HASH_CAPACITY];
+
+    /**
+     * {@link Integer} value of the hash keys count
+     */
+    private int hashCount;
+
+    /**
+     * Array of the {@link GCAspectRatio} of the buckets
+     */
+    private GCAspectRatio[] ratios = new GCAspectRatio[INITIAL_BUCKET_CAPACITY];
+
+    /**
+     * Array of the packed sizes of the buckets
+     */
+    private long[][] sizes = new long[INITIAL_BUCKET_CAPACITY][];
+
+    /**
+     * Array of the sizes count of the buckets
+     */
+    private int[] counts = new int[INITIAL_BUCKET_CAPACITY];
+
+    /**
+     * {@link Integer} value of the buckets count
+     */
+    private int bucketCount;
+
+    /**
+     * Cached {@link Set} of the {@link GCAspectRatio} (null if it changed)
+     */
+    private Set<GCAspectRatio> ratioSet;
+
+    /**
+     * Constructor which provide the create of the {@link GCPackedSizeMap} with exact ratios
+     */
+    public GCPackedSizeMap() {
+        this(0f);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCPackedSizeMap} with tolerance
+     *
+     * @param tolerance {@link Float} value of the relative ratio tolerance (e.g. 0.01f)
+     */
+    public GCPackedSizeMap(float tolerance) {
+        if (tolerance < 0f) {
+            throw new IllegalArgumentException("Invalid tolerance: " + tolerance);
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Add a new {@link GCSize} to this collection.
+     *
+     * @param size The size to add.
+     * @return {@code true} if it is added, {@code false} if it already exists and is not added.
+     */
+    public boolean add(@NonNull GCSize size) {
+        return add(size.getWidth(), size.getHeight());
+    }
+
+    /**
+     * Add a new size to this collection.
+     *
+     * @param width  The width of the size, in pixels
+     * @param height The height of the size, in pixels
+     * @return {@code true} if it is added, {@code false} if it already exists and is not added.
+     */
+    public boolean add(int width, int height) {
+        if (width <= 0 || height <= 0 || width > MAX_DIMENSION || height > MAX_DIMENSION
+                || (long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid size: " + width + "x" + height);
+        }
+        final int gcd = gcd(width, height);
+        final int x = width / gcd;
+        final int y = height / gcd;
+        final long key = key(x, y);
+        int bucket = findBucket(key);
+        if (bucket < 0) {
+            bucket = findSimilarBucket((float) x / y);
+            if (bucket < 0) {
+                bucket = createBucket(GCAspectRatio.of(x, y));
+            }
+            putHash(key, bucket);
+        }
+        return insert(bucket, pack(width, height));
+    }
+
+    /**
+     * Removes the specified aspect ratio and all sizes associated with it.
+     *
+     * @param ratio The aspect ratio to be removed.
+     */
+    public void remove(@NonNull GCAspectRatio ratio) {
+        final int bucket = findBucket(key(ratio.getX(), ratio.getY()));
+        if (bucket < 0) {
+            return;
+        }
+        final int tail = bucketCount - bucket - 1;
+        System.arraycopy(ratios, bucket + 1, ratios, bucket, tail);
+        System.arraycopy(sizes, bucket + 1, sizes, bucket, tail);
+        System.arraycopy(counts, bucket + 1, counts, bucket, tail);
+        bucketCount--;
+        ratios[bucketCount] = null;
+        sizes[bucketCount] = null;
+        counts[bucketCount] = 0;
+        // Drop the keys of the bucket and shift the indexes of the next buckets
+        final long[] oldKeys = hashKeys;
+        final int[] oldValues = hashValues;
+        hashKeys = new long[oldKeys.length];
+        hashValues = new int[oldValues.length];
+        hashCount = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && oldValues[i] != bucket) {
+                putHash(oldKeys[i], (oldValues[i] > bucket) ? oldValues[i] - 1 : oldValues[i]);
+            }
+        }
+        ratioSet = null;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Set} of the {@link GCAspectRatio}
+     *
+     * @return {@link Set} of the {@link GCAspectRatio}
+     */
+    @NonNull
+    public Set<GCAspectRatio> getRatios() {
+        if (ratioSet == null) {
+            final Set<GCAspectRatio> result = new LinkedHashSet<>();
+            for (int i = 0; i < bucketCount; i++) {
+                result.add(ratios[i]);
+            }
+            ratioSet = Collections.unmodifiableSet(result);
+        }
+        return ratioSet;
+    }
+
+    /**
+     * Method which provide the getting of the {@link SortedSet} of the {@link GCSize}
+     * (created on every call, prefer the primitive accessors on the hot paths)
+     *
+     * @param ratio instance of the {@link GCAspectRatio}
+     * @return {@link SortedSet} of the {@link GCSize} or null if the ratio is not present
+     */
+    @Nullable
+    public SortedSet<GCSize> sizes(@NonNull GCAspectRatio ratio) {
+        final int bucket = findBucket(key(ratio.getX(), ratio.getY()));
+        if (bucket < 0) {
+            return null;
+        }
+        final SortedSet<GCSize> result = new TreeSet<>();
+        final long[] packed = sizes[bucket];
+        for (int i = 0; i < counts[bucket]; i++) {
+            result.add(new GCSize(widthOf(packed[i]), heightOf(packed[i])));
+        }
+        return result;
+    }
+
+    /**
+     * Method which provide the getting of the sizes count of the {@link GCAspectRatio}
+     *
+     * @param ratio instance of the {@link GCAspectRatio}
+     * @return {@link Integer} value of the sizes count
+     */
+    public int count(@NonNull GCAspectRatio ratio) {
+        final int bucket = findBucket(key(ratio.getX(), ratio.getY()));
+        return (bucket < 0) ? 0 : counts[bucket];
+    }
+
+    /**
+     * Method which provide the getting of the packed size of the {@link GCAspectRatio}
+     *
+     * @param ratio instance of the {@link GCAspectRatio}
+     * @param index {@link Integer} value of the index (sizes are sorted by area)
+     * @return {@link Long} value of the packed size
+     */
+    public long get(@NonNull GCAspectRatio ratio, int index) {
+        final int bucket = findBucket(key(ratio.getX(), ratio.getY()));
+        if (bucket < 0 || index < 0 || index >= counts[bucket]) {
+            throw new IndexOutOfBoundsException(ratio + "[" + index + "]");
+        }
+        return sizes[bucket][index];
+    }
+
+    /**
+     * Method which provide the getting of the smallest size of the {@link GCAspectRatio} which
+     * covers the target size (width and height both are not less than requested)
+     *
+     * @param ratio  instance of the {@link GCAspectRatio}
+     * @param width  {@link Integer} value of the target width
+     * @param height {@link Integer} value of the target height
+     * @return {@link Long} value of the packed size or {@link #NO_SIZE}
+     */
+    public long ceiling(@NonNull GCAspectRatio ratio, int width, int height) {
+        final int bucket = findBucket(key(ratio.getX(), ratio.getY()));
+        if (bucket < 0) {
+            return NO_SIZE;
+        }
+        final long[] packed = sizes[bucket];
+        final int count = counts[bucket];
+        final long area = (long) Math.max(width, 0) * Math.max(height, 0);
+        if (area > Integer.MAX_VALUE) {
+            return NO_SIZE;
+        }
+        final long target = area << 32;
+        // First size with the area not less than the target one
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (packed[middle] < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < count; i++) {
+            if (widthOf(packed[i]) >= width && heightOf(packed[i]) >= height) {
+                return packed[i];
+            }
+        }
+        return NO_SIZE;
+    }
+
+    /**
+     * Method which provide the getting of the smallest {@link GCSize} which covers the target
+     *
+     * @param ratio  instance of the {@link GCAspectRatio}
+     * @param width  {@link Integer} value of the target width
+     * @param height {@link Integer} value of the target height
+     * @return instance of the {@link GCSize} or null
+     */
+    @Nullable
+    public GCSize ceilingSize(@NonNull GCAspectRatio ratio, int width, int height) {
+        final long packed = ceiling(ratio, width, height);
+        return (packed == NO_SIZE) ? null : new GCSize(widthOf(packed), heightOf(packed));
+    }
+
+    /**
+     * Method which provide the clearing of the collection
+     */
+    public void clear() {
+        Arrays.fill(hashKeys, 0L);
+        hashCount = 0;
+        Arrays.fill(ratios, 0, bucketCount, null);
+        Arrays.fill(sizes, 0, bucketCount, null);
+        Arrays.fill(counts, 0, bucketCount, 0);
+        bucketCount = 0;
+        ratioSet = null;
+    }
+
+    /**
+     * Method which provide the checking if the collection is empty
+     *
+     * @return {@link Boolean} value if it empty
+     */
+    public boolean isEmpty() {
+        return bucketCount == 0;
+    }
+
+    /**
+     * Method which provide the packing of the size
+     *
+     * @param width  {@link Integer} value of the width
+     * @param height {@link Integer} value of the height
+     * @return {@link Long} value of the packed size
+     */
+    public static long pack(int width, int height) {
+        return (((long) width * height) << 32) | ((long) width << 16) | height;
+    }
+
+    /**
+     * Method which provide the getting of the width of the packed size
+     *
+     * @param packed {@link Long} value of the packed size
+     * @return {@link Integer} value of the width
+     */
+    public static int widthOf(long packed) {
+        return (int) (packed >>> 16) & MAX_DIMENSION;
+    }
+
+    /**
+     * Method which provide the getting of the height of the packed size
+     *
+     * @param packed {@link Long} value of the packed size
+     * @return {@link Integer} value of the height
+     */
+    public static int heightOf(long packed) {
+        return (int) packed & MAX_DIMENSION;
+    }
+
+    /**
+     * Method which provide the inserting of the packed size to the bucket
+     *
+     * @param bucket {@link Integer} value of the bucket
+     * @param packed {@link Long} value of the packed size
+     * @return {@link Boolean} value if it inserted
+     */
+    private boolean insert(int bucket, long packed) {
+        long[] values = sizes[bucket];
+        final int count = counts[bucket];
+        final int index = Arrays.binarySearch(values, 0, count, packed);
+        if (index >= 0) {
+            return false;
+        }
+        final int position = -(index + 1);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+            sizes[bucket] = values;
+        }
+        System.arraycopy(values, position, values, position + 1, count - position);
+        values[position] = packed;
+        counts[bucket] = count + 1;
+        return true;
+    }
+
+    /**
+     * Method which provide the creating of the bucket
+     *
+     * @param ratio instance of the {@link GCAspectRatio}
+     * @return {@link Integer} value of the bucket
+     */
+    private int createBucket(@NonNull GCAspectRatio ratio) {
+        if (bucketCount == ratios.length) {
+            final int capacity = bucketCount * 2;
+            ratios = Arrays.copyOf(ratios, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        final int bucket = bucketCount++;
+        ratios[bucket] = ratio;
+        sizes[bucket] = new long[INITIAL_BUCKET_CAPACITY];
+        counts[bucket] = 0;
+        ratioSet = null;
+        return bucket;
+    }
+
+    /**
+     * Method which provide the finding of the bucket with the ratio inside of the tolerance
+     * (executed only for the ratio which is not interned yet)
+     *
+     * @param value {@link Float} value of the ratio
+     * @return {@link Integer} value of the bucket or -1
+     */
+    private int findSimilarBucket(float value) {
+        if (tolerance <= 0f) {
+            return -1;
+        }
+        int result = -1;
+        float best = tolerance;
+        for (int i = 0; i < bucketCount; i++) {
+            final float ratio = ratios[i].toFloat();
+            final float difference = Math.abs(ratio - value) / ratio;
+            if (difference <= best) {
+                best = difference;
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method which provide the finding of the bucket by the key
+     *
+     * @param key {@link Long} value of the key
+     * @return {@link Integer} value of the bucket or -1
+     */
+    private int findBucket(long key) {
+        final int mask = hashKeys.length - 1;
+        int index = hash(key) & mask;
+        while (true) {
+            final long current = hashKeys[index];
+            if (current == key) {
+                return hashValues[index];
+            } else if (current == 0) {
+                return -1;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Method which provide the putting of the key to the hash
+     *
+     * @param key    {@link Long} value of the key
+     * @param bucket {@link Integer} value of the bucket
+     */
+    private void putHash(long key, int bucket) {
+        if ((hashCount + 1) * 2 > hashKeys.length) {
+            final long[] oldKeys = hashKeys;
+            final int[] oldValues = hashValues;
+            hashKeys = new long[oldKeys.length * 2];
+            hashValues = new int[oldValues.length * 2];
+            hashCount = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    putHash(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+        final int mask = hashKeys.length - 1;
+        int index = hash(key) & mask;
+        while (hashKeys[index] != 0 && hashKeys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        if (hashKeys[index] == 0) {
+            hashCount++;
+        }
+        hashKeys[index] = key;
+        hashValues[index] = bucket;
+    }
+
+    /**
+     * Method which provide the creating of the key of the reduced pair
+     *
+     * @param x {@link Integer} value of the x
+     * @param y {@link Integer} value of the y
+     * @return {@link Long} value of the key
+     */
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Method which provide the hashing of the key
+     *
+     * @param key {@link Long} value of the key
+     * @return {@link Integer} value of the hash
+     */
+    private static int hash(long key) {
+        final long value = key * 0x9E3779B97F4A7C15L;
+        return (int) (value ^ (value >>> 32));
+    }
+
+    /**
+     * Method which provide the gcd action
+     *
+     * @param a instance of the {@link Integer}
+     * @param b instance of the {@link Integer}
+     * @return instance of the {@link Integer}
+     */
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int c = b;
+            b = a % b;
+            a = c;
+        }
+        return a;
+    }
+
+}
@@ -113,7 +113,9 @@ public class GCSize implements Comparable<GCSize> {
      */
     @Override
     public int compareTo(@NonNull GCSize another) {
-        return width * height - another.width * another.height;
+        final long area = (long) width * height;
+        final long anotherArea = (long) another.width * another.height;
+        return (area < anotherArea) ? -1 : ((area == anotherArea) ? 0 : 1);
     }
 
 }
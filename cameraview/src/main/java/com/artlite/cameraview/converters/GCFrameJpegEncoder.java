@@ -0,0 +1,217 @@
+package com.artlite.cameraview.converters;
+
+import android.graphics.ImageFormat;
+import android.graphics.Rect;
+import android.graphics.YuvImage;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.artlite.cameraview.frames.GCFrame;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class which provide the background JPEG encoding of the preview {@link GCFrame}
+ * (zero shutter lag capture)
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * Frames are encoded one by one on the single worker thread, which stops when it is idle. The
+ * rotation buffer and the output stream are reused between frames, so the steady state encoding
+ * allocates only the resulting JPEG array.
+ */
+public final class GCFrameJpegEncoder {
+
+    /**
+     * {@link String} constant of the tag
+     */
+    private static final String TAG = GCFrameJpegEncoder.class.getSimpleName();
+
+    /**
+     * {@link Integer} constant of the default JPEG quality
+     */
+    public static final int DEFAULT_QUALITY = 90;
+
+    /**
+     * {@link Long} constant of the idle time of the worker thread (in milliseconds)
+     */
+    private static final long KEEP_ALIVE = 5000;
+
+    /**
+     * Interface which provide the receiving of the encoded JPEG
+     */
+    public interface Callback {
+
+        /**
+         * Method which provide the action when the frame was encoded (worker thread)
+         *
+         * @param jpeg array of the JPEG data or {@code null} if the encoding failed
+         */
+        void onEncoded(@Nullable byte[] jpeg);
+
+    }
+
+    /**
+     * {@link Integer} value of the JPEG quality
+     */
+    private final int quality;
+
+    /**
+     * Instance of the {@link ExecutorService}
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Instance of the {@link AtomicInteger} with the pending frames count
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /**
+     * Array of the {@link Byte} of the rotated frame (worker thread)
+     */
+    private byte[] rotated;
+
+    /**
+     * Instance of the {@link ByteArrayOutputStream} (worker thread)
+     */
+    private ByteArrayOutputStream stream;
+
+    /**
+     * Constructor which provide the create of the {@link GCFrameJpegEncoder} with parameters
+     *
+     * @param quality {@link Integer} value of the JPEG quality (0..100)
+     */
+    public GCFrameJpegEncoder(int quality) {
+        if (quality < 0 || quality > 100) {
+            throw new IllegalArgumentException("Invalid quality: " + quality);
+        }
+        this.quality = quality;
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                KEEP_ALIVE, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(@NonNull Runnable runnable) {
+                        final Thread thread = new Thread(runnable, TAG);
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Method which provide the encoding of the frame. The encoder takes the ownership of the
+     * retained frame and releases it as soon as the frame data isn't needed.
+     *
+     * @param frame    instance of the retained {@link GCFrame}
+     * @param rotation {@link Integer} value of the clockwise rotation (0, 90, 180, 270)
+     * @param callback instance of the {@link Callback}
+     */
+    public void encode(@NonNull final GCFrame frame,
+                       final int rotation,
+                       @NonNull final Callback callback) {
+        pendingCount.incrementAndGet();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                byte[] jpeg = null;
+                try {
+                    jpeg = encodeInternal(frame, rotation);
+                } catch (RuntimeException ex) {
+                    Log.e(TAG, "Frame encoding is failed", ex);
+                } finally {
+                    pendingCount.decrementAndGet();
+                }
+                callback.onEncoded(jpeg);
+            }
+        });
+    }
+
+    /**
+     * Method which provide the encoding of the frame (worker thread)
+     *
+     * @param frame    instance of the retained {@link GCFrame}
+     * @param rotation {@link Integer} value of the clockwise rotation
+     * @return array of the JPEG data or {@code null}
+     */
+    @Nullable
+    private byte[] encodeInternal(@NonNull GCFrame frame, int rotation) {
+        final YuvImage image;
+        try {
+            final int width = frame.getWidth();
+            final int height = frame.getHeight();
+            if (rotation == 0) {
+                image = new YuvImage(frame.getData(), ImageFormat.NV21, width, height, null);
+                return compress(image);
+            }
+            final int size = frame.getData().length;
+            if ((rotated == null) || (rotated.length != size)) {
+                rotated = new byte[size];
+            }
+            GCNV21Converter.rotate(frame.getData(), width, height, rotation, rotated);
+        } finally {
+            // Rotated copy is encoded, so the buffer is returned to the camera earlier
+            frame.release();
+        }
+        final boolean isSwapped = (rotation == 90) || (rotation == 270);
+        return compress(new YuvImage(rotated, ImageFormat.NV21,
+                isSwapped ? frame.getHeight() : frame.getWidth(),
+                isSwapped ? frame.getWidth() : frame.getHeight(), null));
+    }
+
+    /**
+     * Method which provide the compressing of the {@link YuvImage} to the JPEG (worker thread)
+     *
+     * @param image instance of the {@link YuvImage}
+     * @return array of the JPEG data or {@code null}
+     */
+    @Nullable
+    private byte[] compress(@NonNull YuvImage image) {
+        if (stream == null) {
+            stream = new ByteArrayOutputStream(image.getWidth() * image.getHeight() / 2);
+        }
+        stream.reset();
+        final Rect rect = new Rect(0, 0, image.getWidth(), image.getHeight());
+        if (!image.compressToJpeg(rect, quality, stream)) {
+            return null;
+        }
+        return stream.toByteArray();
+    }
+
+    /**
+     * Method which provide the dropping of the reused buffers (after the pending frames)
+     */
+    public void trim() {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                rotated = null;
+                stream = null;
+            }
+        });
+    }
+
+    /**
+     * Method which provide the getting of the pending frames count
+     *
+     * @return {@link Integer} value of the pending frames count
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Method which provide the shutdown of the worker thread (pending frames are encoded)
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+}
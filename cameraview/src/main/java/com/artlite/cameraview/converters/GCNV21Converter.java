@@ -0,0 +1,519 @@
+package com.artlite.cameraview.converters;
+
+import android.support.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class which provide the conversion of the NV21 frames to the ARGB_8888 and RGB_565 pixels
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The conversion uses BT.601 (video range) fixed-point math with lookup tables and writes into
+ * the caller supplied targets, so nothing is allocated per frame. Rows are split into bands
+ * which are converted in parallel on the own worker threads (the calling thread converts the
+ * first band). The conversions of the same instance are serialized.
+ */
+public final class GCNV21Converter {
+
+    /**
+     * {@link Integer} constant of the minimal rows count per band
+     */
+    private static final int MIN_BAND_ROWS = 32;
+
+    /**
+     * {@link Integer} constant of the clamp table offset
+     */
+    private static final int CLAMP_OFFSET = 384;
+
+    /**
+     * Lookup table of the luma term (1.164 * (Y - 16) * 1024, with the rounding half)
+     */
+    private static final int[] Y_TABLE = new int[256];
+
+    /**
+     * Lookup table of the red chroma term (1.596 * (V - 128) * 1024)
+     */
+    private static final int[] VR_TABLE = new int[256];
+
+    /**
+     * Lookup table of the green chroma term (0.813 * (V - 128) * 1024)
+     */
+    private static final int[] VG_TABLE = new int[256];
+
+    /**
+     * Lookup table of the green chroma term (0.391 * (U - 128) * 1024)
+     */
+    private static final int[] UG_TABLE = new int[256];
+
+    /**
+     * Lookup table of the blue chroma term (2.018 * (U - 128) * 1024)
+     */
+    private static final int[] UB_TABLE = new int[256];
+
+    /**
+     * Lookup table of the clamping to [0, 255] (indexed by value + {@link #CLAMP_OFFSET})
+     */
+    private static final int[] CLAMP_TABLE = new int[1024];
+
+    /**
+     * Initialization of the lookup tables
+     */
+    static {
+        for (int i = 0; i < 256; i++) {
+            Y_TABLE[i] = 1192 * Math.max(i - 16, 0) + 512;
+            VR_TABLE[i] = 1634 * (i - 128);
+            VG_TABLE[i] = 833 * (i - 128);
+            UG_TABLE[i] = 400 * (i - 128);
+            UB_TABLE[i] = 2066 * (i - 128);
+        }
+        for (int i = 0; i < CLAMP_TABLE.length; i++) {
+            CLAMP_TABLE[i] = Math.min(Math.max(i - CLAMP_OFFSET, 0), 255);
+        }
+    }
+
+    /**
+     * Instance of the {@link ExecutorService} ({@code null} for the single thread conversion)
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Array of the preallocated {@link Band}s
+     */
+    private final Band[] bands;
+
+    /**
+     * Instance of the {@link Object} which provide the serializing of the conversions
+     */
+    private final Object conversionLock = new Object();
+
+    /**
+     * {@link Integer} value of the pending bands
+     */
+    private int pending;
+
+    /**
+     * Instance of the {@link RuntimeException} of the failed band
+     */
+    private RuntimeException failure;
+
+    /**
+     * Constructor which provide the create of the {@link GCNV21Converter} which uses all cores
+     */
+    public GCNV21Converter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCNV21Converter} with parameters
+     *
+     * @param parallelism {@link Integer} value of the parallelism (including calling thread)
+     */
+    public GCNV21Converter(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+        }
+        this.bands = new Band[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            bands[i] = new Band();
+        }
+        if (parallelism == 1) {
+            this.executor = null;
+        } else {
+            final AtomicInteger index = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(parallelism - 1, parallelism - 1,
+                    0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(@NonNull Runnable runnable) {
+                            final Thread thread = new Thread(runnable,
+                                    "GCNV21Converter-" + index.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the parallelism
+     *
+     * @return {@link Integer} value of the parallelism
+     */
+    public int getParallelism() {
+        return bands.length;
+    }
+
+    /**
+     * Method which provide the conversion of the whole NV21 frame to the ARGB_8888 pixels
+     *
+     * @param nv21   array of the {@link Byte} with NV21 data
+     * @param width  {@link Integer} value of the frame width
+     * @param height {@link Integer} value of the frame height
+     * @param out    array of the {@link Integer} with at least width * height items
+     */
+    public void toArgb(@NonNull byte[] nv21, int width, int height, @NonNull int[] out) {
+        toArgb(nv21, width, height, 0, 0, width, height, out);
+    }
+
+    /**
+     * Method which provide the conversion of the NV21 frame crop to the ARGB_8888 pixels
+     *
+     * @param nv21       array of the {@link Byte} with NV21 data
+     * @param width      {@link Integer} value of the frame width
+     * @param height     {@link Integer} value of the frame height
+     * @param left       {@link Integer} value of the crop left
+     * @param top        {@link Integer} value of the crop top
+     * @param cropWidth  {@link Integer} value of the crop width
+     * @param cropHeight {@link Integer} value of the crop height
+     * @param out        array of the {@link Integer} with at least cropWidth * cropHeight items
+     */
+    public void toArgb(@NonNull byte[] nv21, int width, int height,
+                       int left, int top, int cropWidth, int cropHeight,
+                       @NonNull int[] out) {
+        validate(nv21, width, height, left, top, cropWidth, cropHeight);
+        if (out.length < cropWidth * cropHeight) {
+            throw new IllegalArgumentException("Output is too small: " + out.length);
+        }
+        convert(nv21, width, height, left, top, cropWidth, cropHeight, out, null);
+    }
+
+    /**
+     * Method which provide the conversion of the whole NV21 frame to the RGB_565 pixels
+     *
+     * @param nv21   array of the {@link Byte} with NV21 data
+     * @param width  {@link Integer} value of the frame width
+     * @param height {@link Integer} value of the frame height
+     * @param out    instance of the {@link ByteBuffer} with at least width * height * 2 bytes
+     *               (pixels are written with the buffer order, position isn't changed)
+     */
+    public void toRgb565(@NonNull byte[] nv21, int width, int height, @NonNull ByteBuffer out) {
+        toRgb565(nv21, width, height, 0, 0, width, height, out);
+    }
+
+    /**
+     * Method which provide the conversion of the NV21 frame crop to the RGB_565 pixels
+     *
+     * @param nv21       array of the {@link Byte} with NV21 data
+     * @param width      {@link Integer} value of the frame width
+     * @param height     {@link Integer} value of the frame height
+     * @param left       {@link Integer} value of the crop left
+     * @param top        {@link Integer} value of the crop top
+     * @param cropWidth  {@link Integer} value of the crop width
+     * @param cropHeight {@link Integer} value of the crop height
+     * @param out        instance of the {@link ByteBuffer} with at least
+     *                   cropWidth * cropHeight * 2 bytes
+     */
+    public void toRgb565(@NonNull byte[] nv21, int width, int height,
+                         int left, int top, int cropWidth, int cropHeight,
+                         @NonNull ByteBuffer out) {
+        validate(nv21, width, height, left, top, cropWidth, cropHeight);
+        if (out.limit() < cropWidth * cropHeight * 2) {
+            throw new IllegalArgumentException("Output is too small: " + out.limit());
+        }
+        convert(nv21, width, height, left, top, cropWidth, cropHeight, null, out);
+    }
+
+    /**
+     * Method which provide the shutdown of the worker threads
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Method which provide the clockwise rotation of the NV21 frame (even width and height)
+     *
+     * @param nv21    array of the NV21 data
+     * @param width   {@link Integer} value of the width
+     * @param height  {@link Integer} value of the height
+     * @param degrees {@link Integer} value of the rotation (0, 90, 180, 270)
+     * @param output  array of the rotated NV21 data (the size of the source frame, the width
+     *                and height are swapped for 90 and 270)
+     */
+    public static void rotate(@NonNull byte[] nv21, int width, int height, int degrees,
+                              @NonNull byte[] output) {
+        validate(nv21, width, height, 0, 0, width, height);
+        if ((width % 2 != 0) || (height % 2 != 0)) {
+            throw new IllegalArgumentException("Odd size: " + width + "x" + height);
+        }
+        final int frameSize = width * height;
+        if (output.length < frameSize + frameSize / 2) {
+            throw new IllegalArgumentException("Output is too small: " + output.length);
+        }
+        final int chromaWidth = width / 2;
+        final int chromaHeight = height / 2;
+        switch (degrees) {
+            case 0:
+                System.arraycopy(nv21, 0, output, 0, frameSize + frameSize / 2);
+                break;
+            case 90:
+                for (int y = 0; y < height; y++) {
+                    final int row = y * width;
+                    for (int x = 0; x < width; x++) {
+                        output[x * height + (height - 1 - y)] = nv21[row + x];
+                    }
+                }
+                for (int y = 0; y < chromaHeight; y++) {
+                    final int row = frameSize + y * width;
+                    for (int x = 0; x < chromaWidth; x++) {
+                        final int index = frameSize + (x * chromaHeight + (chromaHeight - 1 - y)) * 2;
+                        output[index] = nv21[row + x * 2];
+                        output[index + 1] = nv21[row + x * 2 + 1];
+                    }
+                }
+                break;
+            case 180:
+                for (int i = 0; i < frameSize; i++) {
+                    output[frameSize - 1 - i] = nv21[i];
+                }
+                final int chromaPairs = chromaWidth * chromaHeight;
+                for (int i = 0; i < chromaPairs; i++) {
+                    final int index = frameSize + (chromaPairs - 1 - i) * 2;
+                    output[index] = nv21[frameSize + i * 2];
+                    output[index + 1] = nv21[frameSize + i * 2 + 1];
+                }
+                break;
+            case 270:
+                for (int y = 0; y < height; y++) {
+                    final int row = y * width;
+                    for (int x = 0; x < width; x++) {
+                        output[(width - 1 - x) * height + y] = nv21[row + x];
+                    }
+                }
+                for (int y = 0; y < chromaHeight; y++) {
+                    final int row = frameSize + y * width;
+                    for (int x = 0; x < chromaWidth; x++) {
+                        final int index = frameSize + ((chromaWidth - 1 - x) * chromaHeight + y) * 2;
+                        output[index] = nv21[row + x * 2];
+                        output[index + 1] = nv21[row + x * 2 + 1];
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid rotation: " + degrees);
+        }
+    }
+
+    /**
+     * Method which provide the validation of the conversion parameters
+     */
+    private static void validate(@NonNull byte[] nv21, int width, int height,
+                                 int left, int top, int cropWidth, int cropHeight) {
+        if ((width <= 0) || (height <= 0)) {
+            throw new IllegalArgumentException("Invalid size: " + width + "x" + height);
+        }
+        if ((left < 0) || (top < 0) || (cropWidth <= 0) || (cropHeight <= 0)
+                || (left + cropWidth > width) || (top + cropHeight > height)) {
+            throw new IllegalArgumentException("Invalid crop: " + left + "," + top + " "
+                    + cropWidth + "x" + cropHeight);
+        }
+        final int chromaSize = ((width + 1) / 2) * ((height + 1) / 2) * 2;
+        if (nv21.length < width * height + chromaSize) {
+            throw new IllegalArgumentException("NV21 data is too small: " + nv21.length);
+        }
+    }
+
+    /**
+     * Method which provide the splitting of the conversion to the bands
+     */
+    private void convert(byte[] nv21, int width, int height,
+                         int left, int top, int cropWidth, int cropHeight,
+                         int[] argb, ByteBuffer rgb565) {
+        synchronized (conversionLock) {
+            convertBands(nv21, width, height, left, top, cropWidth, cropHeight, argb, rgb565);
+        }
+    }
+
+    /**
+     * Method which provide the conversion with the bands (under the conversion lock)
+     */
+    private void convertBands(byte[] nv21, int width, int height,
+                              int left, int top, int cropWidth, int cropHeight,
+                              int[] argb, ByteBuffer rgb565) {
+        final int count = (executor == null) ? 1
+                : Math.max(1, Math.min(bands.length, cropHeight / MIN_BAND_ROWS));
+        if (count == 1) {
+            convertRows(nv21, width, height, left, top, cropWidth, 0, cropHeight, argb, rgb565);
+            return;
+        }
+        // Bands are aligned to the chroma rows
+        final int rows = ((cropHeight / count) + 1) & ~1;
+        int start = 0;
+        int used = 0;
+        for (int i = 0; (i < count) && (start < cropHeight); i++) {
+            final int end = (i == count - 1) ? cropHeight : Math.min(cropHeight, start + rows);
+            bands[i].set(nv21, width, height, left, top, cropWidth, start, end, argb, rgb565);
+            start = end;
+            used++;
+        }
+        synchronized (this) {
+            pending = used - 1;
+            failure = null;
+        }
+        for (int i = 1; i < used; i++) {
+            executor.execute(bands[i]);
+        }
+        try {
+            bands[0].convert();
+        } finally {
+            awaitBands();
+            for (int i = 0; i < used; i++) {
+                bands[i].clear();
+            }
+        }
+        final RuntimeException error;
+        synchronized (this) {
+            error = failure;
+            failure = null;
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Method which provide the waiting of the pending bands
+     */
+    private synchronized void awaitBands() {
+        boolean isInterrupted = false;
+        while (pending > 0) {
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Method which provide the action when the band was converted (worker thread)
+     *
+     * @param error instance of the {@link RuntimeException} or {@code null}
+     */
+    private synchronized void onBandConverted(RuntimeException error) {
+        if (error != null) {
+            failure = error;
+        }
+        pending--;
+        notifyAll();
+    }
+
+    /**
+     * Method which provide the conversion of the crop rows [rowStart, rowEnd)
+     */
+    static void convertRows(byte[] nv21, int width, int height,
+                            int left, int top, int cropWidth,
+                            int rowStart, int rowEnd,
+                            int[] argb, ByteBuffer rgb565) {
+        final int chromaStride = ((width + 1) / 2) * 2;
+        final int chromaStart = width * height;
+        for (int row = rowStart; row < rowEnd; row++) {
+            final int y = top + row;
+            final int yIndex = y * width + left;
+            final int uvIndex = chromaStart + (y >> 1) * chromaStride;
+            int outIndex = row * cropWidth;
+            int red = 0;
+            int green = 0;
+            int blue = 0;
+            for (int column = 0; column < cropWidth; column++, outIndex++) {
+                final int x = left + column;
+                if (((x & 1) == 0) || (column == 0)) {
+                    final int uvOffset = uvIndex + (x & ~1);
+                    final int v = nv21[uvOffset] & 0xff;
+                    final int u = nv21[uvOffset + 1] & 0xff;
+                    red = VR_TABLE[v];
+                    green = -VG_TABLE[v] - UG_TABLE[u];
+                    blue = UB_TABLE[u];
+                }
+                final int luma = Y_TABLE[nv21[yIndex + column] & 0xff];
+                final int r = CLAMP_TABLE[((luma + red) >> 10) + CLAMP_OFFSET];
+                final int g = CLAMP_TABLE[((luma + green) >> 10) + CLAMP_OFFSET];
+                final int b = CLAMP_TABLE[((luma + blue) >> 10) + CLAMP_OFFSET];
+                if (argb != null) {
+                    argb[outIndex] = 0xff000000 | (r << 16) | (g << 8) | b;
+                } else {
+                    rgb565.putShort(outIndex << 1,
+                            (short) (((r >> 3) << 11) | ((g >> 2) << 5) | (b >> 3)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Class which provide the preallocated band of the rows
+     */
+    private final class Band implements Runnable {
+
+        private byte[] nv21;
+        private int width;
+        private int height;
+        private int left;
+        private int top;
+        private int cropWidth;
+        private int rowStart;
+        private int rowEnd;
+        private int[] argb;
+        private ByteBuffer rgb565;
+
+        /**
+         * Method which provide the setting of the band parameters
+         */
+        void set(byte[] nv21, int width, int height, int left, int top, int cropWidth,
+                 int rowStart, int rowEnd, int[] argb, ByteBuffer rgb565) {
+            this.nv21 = nv21;
+            this.width = width;
+            this.height = height;
+            this.left = left;
+            this.top = top;
+            this.cropWidth = cropWidth;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.argb = argb;
+            this.rgb565 = rgb565;
+        }
+
+        /**
+         * Method which provide the clearing of the references to the frame and targets
+         */
+        void clear() {
+            this.nv21 = null;
+            this.argb = null;
+            this.rgb565 = null;
+        }
+
+        /**
+         * Method which provide the conversion of the band
+         */
+        void convert() {
+            convertRows(nv21, width, height, left, top, cropWidth, rowStart, rowEnd,
+                    argb, rgb565);
+        }
+
+        /**
+         * Method which provide the conversion of the band on the worker thread
+         */
+        @Override
+        public void run() {
+            RuntimeException error = null;
+            try {
+                convert();
+            } catch (RuntimeException ex) {
+                error = ex;
+            }
+            onBandConverted(error);
+        }
+
+    }
+
+}
@@ -0,0 +1,374 @@
+package com.artlite.cameraview.exif;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Class which provide the lightweight parsing of the Exif metadata of the JPEG data (without
+ * the decoding of the image)
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The locations are returned as the packed {@link Long} values ({@code offset << 32 | length})
+ * or {@link #NOT_FOUND}, so the parsing doesn't allocate anything.
+ */
+public final class GCExifParser {
+
+    /**
+     * {@link Long} constant of the not found location
+     */
+    public static final long NOT_FOUND = -1L;
+
+    /**
+     * {@link Integer} constant of the marker prefix
+     */
+    private static final int MARKER = 0xFF;
+
+    /**
+     * {@link Integer} constant of the start of image marker
+     */
+    private static final int MARKER_SOI = 0xD8;
+
+    /**
+     * {@link Integer} constant of the APP1 marker
+     */
+    private static final int MARKER_APP1 = 0xE1;
+
+    /**
+     * {@link Integer} constant of the start of scan marker
+     */
+    private static final int MARKER_SOS = 0xDA;
+
+    /**
+     * {@link Integer} constant of the end of image marker
+     */
+    private static final int MARKER_EOI = 0xD9;
+
+    /**
+     * {@link Integer} constant of the Exif header size ("Exif\0\0")
+     */
+    private static final int EXIF_HEADER_SIZE = 6;
+
+    /**
+     * {@link Integer} constant of the orientation tag
+     */
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    /**
+     * {@link Integer} constant of the thumbnail offset tag
+     */
+    private static final int TAG_THUMBNAIL_OFFSET = 0x0201;
+
+    /**
+     * {@link Integer} constant of the thumbnail length tag
+     */
+    private static final int TAG_THUMBNAIL_LENGTH = 0x0202;
+
+    /**
+     * {@link Integer} constant of the IFD entry size
+     */
+    private static final int ENTRY_SIZE = 12;
+
+    /**
+     * Constructor which provide the hiding of the utility class
+     */
+    private GCExifParser() {
+    }
+
+    /**
+     * Method which provide the finding of the Exif APP1 segment
+     *
+     * @param jpeg array of the JPEG data
+     * @return packed location of the segment (from the marker, including it)
+     * or {@link #NOT_FOUND}
+     */
+    public static long findApp1(@NonNull byte[] jpeg) {
+        if ((jpeg.length < 4) || (u8(jpeg, 0) != MARKER) || (u8(jpeg, 1) != MARKER_SOI)) {
+            return NOT_FOUND;
+        }
+        int position = 2;
+        while (position + 4 <= jpeg.length) {
+            if (u8(jpeg, position) != MARKER) {
+                return NOT_FOUND;
+            }
+            final int marker = u8(jpeg, position + 1);
+            if (marker == MARKER) {
+                // Fill byte
+                position++;
+                continue;
+            }
+            if ((marker == MARKER_SOS) || (marker == MARKER_EOI)) {
+                return NOT_FOUND;
+            }
+            final int length = (u8(jpeg, position + 2) << 8) | u8(jpeg, position + 3);
+            if ((length < 2) || (position + 2 + length > jpeg.length)) {
+                return NOT_FOUND;
+            }
+            if ((marker == MARKER_APP1) && isExifHeader(jpeg, position + 4, length - 2)) {
+                return pack(position, length + 2);
+            }
+            position += 2 + length;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Method which provide the getting of the TIFF header offset of the Exif data
+     *
+     * @param app1 packed location of the APP1 segment
+     * @return {@link Integer} value of the TIFF header offset
+     */
+    public static int getTiffOffset(long app1) {
+        return offsetOf(app1) + 4 + EXIF_HEADER_SIZE;
+    }
+
+    /**
+     * Method which provide the getting of the orientation from the Exif data
+     *
+     * @param jpeg array of the JPEG data
+     * @return {@link Integer} value of the clockwise rotation (0, 90, 180, 270)
+     */
+    public static int getOrientation(@NonNull byte[] jpeg) {
+        final long app1 = findApp1(jpeg);
+        if (app1 == NOT_FOUND) {
+            return 0;
+        }
+        final int tiff = getTiffOffset(app1);
+        final int end = offsetOf(app1) + lengthOf(app1);
+        final boolean isLittleEndian = isLittleEndian(jpeg, tiff, end);
+        final int ifd0 = firstIfd(jpeg, tiff, end, isLittleEndian);
+        if (ifd0 < 0) {
+            return 0;
+        }
+        final int entry = findEntry(jpeg, end, ifd0, TAG_ORIENTATION, isLittleEndian);
+        if (entry < 0) {
+            return 0;
+        }
+        switch (u16(jpeg, entry + 8, isLittleEndian)) {
+            case 6:
+                return 90;
+            case 3:
+                return 180;
+            case 8:
+                return 270;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Method which provide the finding of the embedded JPEG thumbnail (IFD1)
+     *
+     * @param jpeg array of the JPEG data
+     * @return packed location of the thumbnail or {@link #NOT_FOUND}
+     */
+    public static long findThumbnail(@NonNull byte[] jpeg) {
+        final long app1 = findApp1(jpeg);
+        if (app1 == NOT_FOUND) {
+            return NOT_FOUND;
+        }
+        final int tiff = getTiffOffset(app1);
+        final int end = offsetOf(app1) + lengthOf(app1);
+        final boolean isLittleEndian = isLittleEndian(jpeg, tiff, end);
+        final int ifd0 = firstIfd(jpeg, tiff, end, isLittleEndian);
+        if (ifd0 < 0) {
+            return NOT_FOUND;
+        }
+        final int ifd1 = nextIfd(jpeg, tiff, end, ifd0, isLittleEndian);
+        if (ifd1 < 0) {
+            return NOT_FOUND;
+        }
+        final int offsetEntry = findEntry(jpeg, end, ifd1, TAG_THUMBNAIL_OFFSET,
+                isLittleEndian);
+        final int lengthEntry = findEntry(jpeg, end, ifd1, TAG_THUMBNAIL_LENGTH,
+                isLittleEndian);
+        if ((offsetEntry < 0) || (lengthEntry < 0)) {
+            return NOT_FOUND;
+        }
+        final long offset = tiff + u32(jpeg, offsetEntry + 8, isLittleEndian);
+        final long length = u32(jpeg, lengthEntry + 8, isLittleEndian);
+        if ((length < 4) || (offset + length > end) || (u8(jpeg, (int) offset) != MARKER)
+                || (u8(jpeg, (int) offset + 1) != MARKER_SOI)) {
+            return NOT_FOUND;
+        }
+        return pack((int) offset, (int) length);
+    }
+
+    /**
+     * Method which provide the packing of the location
+     *
+     * @param offset {@link Integer} value of the offset
+     * @param length {@link Integer} value of the length
+     * @return packed location
+     */
+    public static long pack(int offset, int length) {
+        return ((long) offset << 32) | (length & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Method which provide the getting of the offset of the packed location
+     *
+     * @param location packed location
+     * @return {@link Integer} value of the offset
+     */
+    public static int offsetOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    /**
+     * Method which provide the getting of the length of the packed location
+     *
+     * @param location packed location
+     * @return {@link Integer} value of the length
+     */
+    public static int lengthOf(long location) {
+        return (int) location;
+    }
+
+    /**
+     * Method which provide the checking of the Exif header
+     *
+     * @param jpeg     array of the JPEG data
+     * @param position {@link Integer} value of the position
+     * @param length   {@link Integer} value of the available length
+     * @return {@link Boolean} value if it is the Exif header
+     */
+    private static boolean isExifHeader(@NonNull byte[] jpeg, int position, int length) {
+        return (length >= EXIF_HEADER_SIZE + 8)
+                && (jpeg[position] == 'E') && (jpeg[position + 1] == 'x')
+                && (jpeg[position + 2] == 'i') && (jpeg[position + 3] == 'f')
+                && (jpeg[position + 4] == 0) && (jpeg[position + 5] == 0);
+    }
+
+    /**
+     * Method which provide the checking of the TIFF byte order
+     *
+     * @param jpeg array of the JPEG data
+     * @param tiff {@link Integer} value of the TIFF header offset
+     * @param end  {@link Integer} value of the Exif data end
+     * @return {@link Boolean} value if the byte order is little endian ("II")
+     */
+    static boolean isLittleEndian(@NonNull byte[] jpeg, int tiff, int end) {
+        return (tiff + 2 <= end) && (jpeg[tiff] == 'I') && (jpeg[tiff + 1] == 'I');
+    }
+
+    /**
+     * Method which provide the getting of the IFD0 offset
+     *
+     * @param jpeg           array of the JPEG data
+     * @param tiff           {@link Integer} value of the TIFF header offset
+     * @param end            {@link Integer} value of the Exif data end
+     * @param isLittleEndian {@link Boolean} value of the byte order
+     * @return {@link Integer} value of the IFD0 offset (absolute) or -1
+     */
+    static int firstIfd(@NonNull byte[] jpeg, int tiff, int end, boolean isLittleEndian) {
+        if ((tiff + 8 > end) || (u16(jpeg, tiff + 2, isLittleEndian) != 0x2A)) {
+            return -1;
+        }
+        return checkIfd(jpeg, tiff, end, u32(jpeg, tiff + 4, isLittleEndian), isLittleEndian);
+    }
+
+    /**
+     * Method which provide the getting of the next IFD offset
+     *
+     * @param jpeg           array of the JPEG data
+     * @param tiff           {@link Integer} value of the TIFF header offset
+     * @param end            {@link Integer} value of the Exif data end
+     * @param ifd            {@link Integer} value of the IFD offset (absolute)
+     * @param isLittleEndian {@link Boolean} value of the byte order
+     * @return {@link Integer} value of the next IFD offset (absolute) or -1
+     */
+    static int nextIfd(@NonNull byte[] jpeg, int tiff, int end, int ifd,
+                       boolean isLittleEndian) {
+        final int count = u16(jpeg, ifd, isLittleEndian);
+        final int link = ifd + 2 + count * ENTRY_SIZE;
+        if (link + 4 > end) {
+            return -1;
+        }
+        final long next = u32(jpeg, link, isLittleEndian);
+        return (next == 0) ? -1 : checkIfd(jpeg, tiff, end, next, isLittleEndian);
+    }
+
+    /**
+     * Method which provide the finding of the IFD entry
+     *
+     * @param jpeg           array of the JPEG data
+     * @param end            {@link Integer} value of the Exif data end
+     * @param ifd            {@link Integer} value of the IFD offset (absolute)
+     * @param tag            {@link Integer} value of the tag
+     * @param isLittleEndian {@link Boolean} value of the byte order
+     * @return {@link Integer} value of the entry offset (absolute) or -1
+     */
+    static int findEntry(@NonNull byte[] jpeg, int end, int ifd, int tag,
+                         boolean isLittleEndian) {
+        final int count = u16(jpeg, ifd, isLittleEndian);
+        for (int i = 0; i < count; i++) {
+            final int entry = ifd + 2 + i * ENTRY_SIZE;
+            if (entry + ENTRY_SIZE > end) {
+                return -1;
+            }
+            if (u16(jpeg, entry, isLittleEndian) == tag) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method which provide the validation of the IFD offset
+     *
+     * @param jpeg           array of the JPEG data
+     * @param tiff           {@link Integer} value of the TIFF header offset
+     * @param end            {@link Integer} value of the Exif data end
+     * @param offset         {@link Long} value of the IFD offset (relative to the TIFF header)
+     * @param isLittleEndian {@link Boolean} value of the byte order
+     * @return {@link Integer} value of the IFD offset (absolute) or -1
+     */
+    private static int checkIfd(@NonNull byte[] jpeg, int tiff, int end, long offset,
+                                boolean isLittleEndian) {
+        final long ifd = tiff + offset;
+        if ((offset < 8) || (ifd + 2 > end)) {
+            return -1;
+        }
+        final int count = u16(jpeg, (int) ifd, isLittleEndian);
+        return (ifd + 2 + (long) count * ENTRY_SIZE > end) ? -1 : (int) ifd;
+    }
+
+    /**
+     * Method which provide the reading of the unsigned byte
+     *
+     * @param data     array of the data
+     * @param position {@link Integer} value of the position
+     * @return {@link Integer} value of the byte
+     */
+    static int u8(@NonNull byte[] data, int position) {
+        return data[position] & 0xFF;
+    }
+
+    /**
+     * Method which provide the reading of the unsigned short
+     *
+     * @param data           array of the data
+     * @param position       {@link Integer} value of the position
+     * @param isLittleEndian {@link Boolean} value of the byte order
+     * @return {@link Integer} value of the short
+     */
+    static int u16(@NonNull byte[] data, int position, boolean isLittleEndian) {
+        return isLittleEndian
+                ? u8(data, position) | (u8(data, position + 1) << 8)
+                : (u8(data, position) << 8) | u8(data, position + 1);
+    }
+
+    /**
+     * Method which provide the reading of the unsigned integer
+     *
+     * @param data           array of the data
+     * @param position       {@link Integer} value of the position
+     * @param isLittleEndian {@link Boolean} value of the byte order
+     * @return {@link Long} value of the integer
+     */
+    static long u32(@NonNull byte[] data, int position, boolean isLittleEndian) {
+        final long first = u16(data, position, isLittleEndian);
+        final long second = u16(data, position + 2, isLittleEndian);
+        return isLittleEndian ? first | (second << 16) : (first << 16) | second;
+    }
+
+}
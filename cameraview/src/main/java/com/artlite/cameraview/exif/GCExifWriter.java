@@ -0,0 +1,553 @@
+package com.artlite.cameraview.exif;
+
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.artlite.cameraview.constants.GCConstants;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Class which provide the writing of the Exif metadata to the JPEG without the re-encoding
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * Only the APP1 segment is built (or copied and patched, when the JPEG already has the Exif),
+ * the image data is written from the source array with the gathering write, so it is never
+ * decoded nor copied. The existing Exif keeps all its IFDs and the thumbnail, only the
+ * orientation of the IFD0 is written.
+ */
+public final class GCExifWriter {
+
+    /**
+     * {@link String} constants of the TAG
+     */
+    private static final String TAG = GCExifWriter.class.getSimpleName();
+
+    /**
+     * {@link Integer} constant of the marker prefix
+     */
+    private static final int MARKER = 0xFF;
+
+    /**
+     * {@link Integer} constant of the APP0 marker
+     */
+    private static final int MARKER_APP0 = 0xE0;
+
+    /**
+     * {@link Integer} constant of the APP1 marker
+     */
+    private static final int MARKER_APP1 = 0xE1;
+
+    /**
+     * {@link Integer} constant of the make tag
+     */
+    private static final int TAG_MAKE = 0x010F;
+
+    /**
+     * {@link Integer} constant of the model tag
+     */
+    private static final int TAG_MODEL = 0x0110;
+
+    /**
+     * {@link Integer} constant of the orientation tag
+     */
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    /**
+     * {@link Integer} constant of the date time tag
+     */
+    private static final int TAG_DATE_TIME = 0x0132;
+
+    /**
+     * {@link Integer} constant of the Exif IFD pointer tag
+     */
+    private static final int TAG_EXIF_IFD = 0x8769;
+
+    /**
+     * {@link Integer} constant of the original date time tag
+     */
+    private static final int TAG_DATE_TIME_ORIGINAL = 0x9003;
+
+    /**
+     * {@link Integer} constant of the flash tag
+     */
+    private static final int TAG_FLASH = 0x9209;
+
+    /**
+     * {@link Integer} constant of the pixel width tag
+     */
+    private static final int TAG_PIXEL_WIDTH = 0xA002;
+
+    /**
+     * {@link Integer} constant of the pixel height tag
+     */
+    private static final int TAG_PIXEL_HEIGHT = 0xA003;
+
+    /**
+     * {@link Integer} constant of the ASCII type
+     */
+    private static final short TYPE_ASCII = 2;
+
+    /**
+     * {@link Integer} constant of the SHORT type
+     */
+    private static final short TYPE_SHORT = 3;
+
+    /**
+     * {@link Integer} constant of the LONG type
+     */
+    private static final short TYPE_LONG = 4;
+
+    /**
+     * {@link Integer} constant of the TIFF header offset inside of the APP1 segment
+     */
+    private static final int TIFF_OFFSET = 10;
+
+    /**
+     * {@link Integer} constant of the IFD entry size
+     */
+    private static final int ENTRY_SIZE = 12;
+
+    /**
+     * {@link Integer} constant of the maximal segment length
+     */
+    private static final int MAX_SEGMENT_LENGTH = 0xFFFF;
+
+    /**
+     * {@link Integer} constant of the IFD0 entries count
+     */
+    private static final int IFD0_ENTRIES = 5;
+
+    /**
+     * {@link Integer} constant of the Exif IFD entries count
+     */
+    private static final int EXIF_IFD_ENTRIES = 4;
+
+    /**
+     * {@link String} constant of the Exif date format
+     */
+    private static final String DATE_FORMAT = "yyyy:MM:dd HH:mm:ss";
+
+    /**
+     * Instance of the {@link Charset} of the ASCII values
+     */
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    /**
+     * {@link String} value of the make
+     */
+    private final String make;
+
+    /**
+     * {@link String} value of the model
+     */
+    private final String model;
+
+    /**
+     * Constructor which provide the create of the {@link GCExifWriter} for the current device
+     */
+    public GCExifWriter() {
+        this(Build.MANUFACTURER, Build.MODEL);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCExifWriter} with parameters
+     *
+     * @param make  {@link String} value of the make
+     * @param model {@link String} value of the model
+     */
+    public GCExifWriter(@Nullable String make, @Nullable String model) {
+        this.make = (make == null) ? "" : make;
+        this.model = (model == null) ? "" : model;
+    }
+
+    /**
+     * Method which provide the splicing of the Exif to the JPEG
+     *
+     * @param jpeg     array of the JPEG data (is not modified)
+     * @param metadata instance of the {@link GCCaptureMetadata}
+     * @return array of the {@link ByteBuffer} to be written sequentially (the image data is
+     * wrapped, not copied)
+     */
+    @NonNull
+    public ByteBuffer[] splice(@NonNull byte[] jpeg, @NonNull GCCaptureMetadata metadata) {
+        final long app1 = GCExifParser.findApp1(jpeg);
+        if ((app1 != GCExifParser.NOT_FOUND) && metadata.isRotated()) {
+            // The HAL wrote its Exif with the orientation of the image data
+            return new ByteBuffer[]{ByteBuffer.wrap(jpeg)};
+        }
+        if (app1 != GCExifParser.NOT_FOUND) {
+            final int offset = GCExifParser.offsetOf(app1);
+            final int end = offset + GCExifParser.lengthOf(app1);
+            final ByteBuffer segment = patch(jpeg, app1, metadata.getOrientation());
+            if (segment == null) {
+                // The HAL metadata isn't discarded for the orientation
+                Log.w(TAG, "splice: Exif can't be patched, it is kept as is");
+                return new ByteBuffer[]{ByteBuffer.wrap(jpeg)};
+            }
+            return new ByteBuffer[]{ByteBuffer.wrap(jpeg, 0, offset), segment,
+                    ByteBuffer.wrap(jpeg, end, jpeg.length - end)};
+        }
+        final int position = getInsertPosition(jpeg);
+        return new ByteBuffer[]{ByteBuffer.wrap(jpeg, 0, position), build(metadata),
+                ByteBuffer.wrap(jpeg, position, jpeg.length - position)};
+    }
+
+    /**
+     * Method which provide the writing of the JPEG with the Exif to the channel
+     *
+     * @param jpeg     array of the JPEG data
+     * @param metadata instance of the {@link GCCaptureMetadata}
+     * @param channel  instance of the {@link GatheringByteChannel}
+     * @return {@link Long} value of the written bytes
+     * @throws IOException when the data can't be written
+     */
+    public long write(@NonNull byte[] jpeg,
+                      @NonNull GCCaptureMetadata metadata,
+                      @NonNull GatheringByteChannel channel) throws IOException {
+        final ByteBuffer[] buffers = splice(jpeg, metadata);
+        final long total = remaining(buffers);
+        long written = 0;
+        while (written < total) {
+            written += channel.write(buffers);
+        }
+        return written;
+    }
+
+    /**
+     * Method which provide the creating of the JPEG with the Exif (the single copy of the data,
+     * for the consumers which need the array)
+     *
+     * @param jpeg     array of the JPEG data
+     * @param metadata instance of the {@link GCCaptureMetadata}
+     * @return array of the JPEG data with the Exif
+     */
+    @NonNull
+    public byte[] apply(@NonNull byte[] jpeg, @NonNull GCCaptureMetadata metadata) {
+        final ByteBuffer[] buffers = splice(jpeg, metadata);
+        final byte[] result = new byte[(int) remaining(buffers)];
+        final ByteBuffer output = ByteBuffer.wrap(result);
+        for (ByteBuffer buffer : buffers) {
+            output.put(buffer);
+        }
+        return result;
+    }
+
+    /**
+     * Method which provide the patching of the orientation of the existing Exif
+     *
+     * @param jpeg        array of the JPEG data
+     * @param app1        packed location of the APP1 segment
+     * @param orientation {@link Integer} value of the clockwise rotation
+     * @return instance of the {@link ByteBuffer} with the patched copy of the segment or null
+     * if it is malformed
+     */
+    @Nullable
+    private static ByteBuffer patch(@NonNull byte[] jpeg, long app1, int orientation) {
+        final int offset = GCExifParser.offsetOf(app1);
+        final int end = offset + GCExifParser.lengthOf(app1);
+        final int tiff = GCExifParser.getTiffOffset(app1);
+        final boolean isLittleEndian = GCExifParser.isLittleEndian(jpeg, tiff, end);
+        final int ifd0 = GCExifParser.firstIfd(jpeg, tiff, end, isLittleEndian);
+        if (ifd0 < 0) {
+            return null;
+        }
+        final int entry = GCExifParser.findEntry(jpeg, end, ifd0, TAG_ORIENTATION,
+                isLittleEndian);
+        if (entry < 0) {
+            return insert(jpeg, offset, end, tiff, ifd0, isLittleEndian, orientation);
+        }
+        final byte[] segment = new byte[end - offset];
+        System.arraycopy(jpeg, offset, segment, 0, segment.length);
+        final ByteBuffer buffer = ByteBuffer.wrap(segment)
+                .order(isLittleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        // The entry of the other type is rewritten to the single SHORT value
+        putShort(buffer, entry - offset, TAG_ORIENTATION, toExifOrientation(orientation));
+        return buffer;
+    }
+
+    /**
+     * Method which provide the inserting of the orientation entry to the IFD0. The IFD0 with the
+     * entry is appended to the end of the segment and the TIFF header points to it, so the
+     * other IFDs, the values, the maker note and the thumbnail keep their offsets.
+     *
+     * @param jpeg           array of the JPEG data
+     * @param offset         {@link Integer} value of the segment offset
+     * @param end            {@link Integer} value of the segment end
+     * @param tiff           {@link Integer} value of the TIFF header offset
+     * @param ifd0           {@link Integer} value of the IFD0 offset (absolute)
+     * @param isLittleEndian {@link Boolean} value of the byte order
+     * @param orientation    {@link Integer} value of the clockwise rotation
+     * @return instance of the {@link ByteBuffer} with the segment or null if it can't grow
+     */
+    @Nullable
+    private static ByteBuffer insert(@NonNull byte[] jpeg,
+                                     int offset,
+                                     int end,
+                                     int tiff,
+                                     int ifd0,
+                                     boolean isLittleEndian,
+                                     int orientation) {
+        final int count = GCExifParser.u16(jpeg, ifd0, isLittleEndian);
+        final int link = ifd0 + 2 + count * ENTRY_SIZE;
+        // The IFD starts on the word boundary
+        final int relocated = (end - tiff + 1) & ~1;
+        final int length = tiff - offset + relocated + 2 + (count + 1) * ENTRY_SIZE + 4;
+        if ((link + 4 > end) || (length - 2 > MAX_SEGMENT_LENGTH)) {
+            return null;
+        }
+        final byte[] segment = new byte[length];
+        System.arraycopy(jpeg, offset, segment, 0, end - offset);
+        final ByteBuffer buffer = ByteBuffer.wrap(segment)
+                .order(isLittleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        // The segment length is big endian as every JPEG marker
+        segment[2] = (byte) ((length - 2) >> 8);
+        segment[3] = (byte) (length - 2);
+        buffer.putInt(tiff - offset + 4, relocated);
+        int position = tiff - offset + relocated;
+        buffer.putShort(position, (short) (count + 1));
+        position += 2;
+        boolean isInserted = false;
+        for (int i = 0; i < count; i++) {
+            final int entry = ifd0 + 2 + i * ENTRY_SIZE;
+            // The entries are sorted by the tag
+            if (!isInserted && (GCExifParser.u16(jpeg, entry, isLittleEndian) > TAG_ORIENTATION)) {
+                putShort(buffer, position, TAG_ORIENTATION, toExifOrientation(orientation));
+                position += ENTRY_SIZE;
+                isInserted = true;
+            }
+            System.arraycopy(jpeg, entry, segment, position, ENTRY_SIZE);
+            position += ENTRY_SIZE;
+        }
+        if (!isInserted) {
+            putShort(buffer, position, TAG_ORIENTATION, toExifOrientation(orientation));
+            position += ENTRY_SIZE;
+        }
+        // The link to the IFD1 (thumbnail) is kept
+        System.arraycopy(jpeg, link, segment, position, 4);
+        return buffer;
+    }
+
+    /**
+     * Method which provide the building of the new APP1 segment
+     *
+     * @param metadata instance of the {@link GCCaptureMetadata}
+     * @return instance of the {@link ByteBuffer} with the segment
+     */
+    @NonNull
+    private ByteBuffer build(@NonNull GCCaptureMetadata metadata) {
+        final SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT, Locale.US);
+        final byte[] date = ascii(format.format(new Date(metadata.getTimestamp())));
+        final byte[] make = ascii(this.make);
+        final byte[] model = ascii(this.model);
+        // TIFF layout: header, IFD0, Exif IFD, values
+        final int ifd0 = 8;
+        final int exifIfd = ifd0 + 2 + IFD0_ENTRIES * 12 + 4;
+        final int values = exifIfd + 2 + EXIF_IFD_ENTRIES * 12 + 4;
+        final int tiffSize = values + outside(make) + outside(model) + outside(date) * 2;
+        final ByteBuffer buffer = ByteBuffer.allocate(TIFF_OFFSET + tiffSize)
+                .order(ByteOrder.BIG_ENDIAN);
+        buffer.put((byte) MARKER).put((byte) MARKER_APP1);
+        buffer.putShort((short) (TIFF_OFFSET - 2 + tiffSize));
+        buffer.put(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        buffer.put(new byte[]{'M', 'M'}).putShort((short) 0x2A).putInt(ifd0);
+        int valueOffset = values;
+        // IFD0 (tags are sorted)
+        buffer.putShort((short) IFD0_ENTRIES);
+        valueOffset = putAscii(buffer, TAG_MAKE, make, valueOffset);
+        valueOffset = putAscii(buffer, TAG_MODEL, model, valueOffset);
+        putShort(buffer, TAG_ORIENTATION,
+                toExifOrientation(metadata.isRotated() ? 0 : metadata.getOrientation()));
+        valueOffset = putAscii(buffer, TAG_DATE_TIME, date, valueOffset);
+        putLong(buffer, TAG_EXIF_IFD, exifIfd);
+        buffer.putInt(0);
+        // Exif IFD
+        buffer.putShort((short) EXIF_IFD_ENTRIES);
+        valueOffset = putAscii(buffer, TAG_DATE_TIME_ORIGINAL, date, valueOffset);
+        putShort(buffer, TAG_FLASH, toExifFlash(metadata.getFlash()));
+        putLong(buffer, TAG_PIXEL_WIDTH, metadata.getWidth());
+        putLong(buffer, TAG_PIXEL_HEIGHT, metadata.getHeight());
+        buffer.putInt(0);
+        // Values which don't fit to the entries
+        for (byte[] value : new byte[][]{make, model, date, date}) {
+            if (value.length > 4) {
+                buffer.put(value);
+            }
+        }
+        if (valueOffset != tiffSize) {
+            throw new IllegalStateException("Invalid Exif layout");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Method which provide the putting of the ASCII entry
+     *
+     * @param buffer      instance of the {@link ByteBuffer}
+     * @param tag         {@link Integer} value of the tag
+     * @param value       array of the value (null terminated)
+     * @param valueOffset {@link Integer} value of the next value offset
+     * @return {@link Integer} value of the next value offset
+     */
+    private static int putAscii(@NonNull ByteBuffer buffer, int tag, @NonNull byte[] value,
+                                int valueOffset) {
+        buffer.putShort((short) tag).putShort(TYPE_ASCII).putInt(value.length);
+        if (value.length <= 4) {
+            buffer.put(value);
+            buffer.put(new byte[4 - value.length]);
+            return valueOffset;
+        }
+        buffer.putInt(valueOffset);
+        return valueOffset + value.length;
+    }
+
+    /**
+     * Method which provide the putting of the SHORT entry
+     *
+     * @param buffer instance of the {@link ByteBuffer}
+     * @param tag    {@link Integer} value of the tag
+     * @param value  {@link Integer} value
+     */
+    private static void putShort(@NonNull ByteBuffer buffer, int tag, int value) {
+        buffer.putShort((short) tag).putShort(TYPE_SHORT).putInt(1)
+                .putShort((short) value).putShort((short) 0);
+    }
+
+    /**
+     * Method which provide the putting of the SHORT entry at the position
+     *
+     * @param buffer   instance of the {@link ByteBuffer}
+     * @param position {@link Integer} value of the entry position
+     * @param tag      {@link Integer} value of the tag
+     * @param value    {@link Integer} value
+     */
+    private static void putShort(@NonNull ByteBuffer buffer, int position, int tag, int value) {
+        buffer.putShort(position, (short) tag);
+        buffer.putShort(position + 2, TYPE_SHORT);
+        buffer.putInt(position + 4, 1);
+        buffer.putShort(position + 8, (short) value);
+        buffer.putShort(position + 10, (short) 0);
+    }
+
+    /**
+     * Method which provide the putting of the LONG entry
+     *
+     * @param buffer instance of the {@link ByteBuffer}
+     * @param tag    {@link Integer} value of the tag
+     * @param value  {@link Integer} value
+     */
+    private static void putLong(@NonNull ByteBuffer buffer, int tag, int value) {
+        buffer.putShort((short) tag).putShort(TYPE_LONG).putInt(1).putInt(value);
+    }
+
+    /**
+     * Method which provide the getting of the null terminated ASCII value
+     *
+     * @param value instance of the {@link String}
+     * @return array of the value
+     */
+    @NonNull
+    private static byte[] ascii(@NonNull String value) {
+        final byte[] bytes = value.getBytes(ASCII);
+        final byte[] result = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, result, 0, bytes.length);
+        return result;
+    }
+
+    /**
+     * Method which provide the getting of the size of the value outside of the entry
+     *
+     * @param value array of the value
+     * @return {@link Integer} value of the size
+     */
+    private static int outside(@NonNull byte[] value) {
+        return (value.length > 4) ? value.length : 0;
+    }
+
+    /**
+     * Method which provide the getting of the insert position of the new APP1 segment (after
+     * the SOI and the JFIF APP0 segment)
+     *
+     * @param jpeg array of the JPEG data
+     * @return {@link Integer} value of the position
+     */
+    private static int getInsertPosition(@NonNull byte[] jpeg) {
+        if ((jpeg.length < 2) || (GCExifParser.u8(jpeg, 0) != MARKER)) {
+            throw new IllegalArgumentException("Not a JPEG data");
+        }
+        if ((jpeg.length >= 6) && (GCExifParser.u8(jpeg, 2) == MARKER)
+                && (GCExifParser.u8(jpeg, 3) == MARKER_APP0)) {
+            final int length = GCExifParser.u16(jpeg, 4, false);
+            if (4 + length <= jpeg.length) {
+                return 4 + length;
+            }
+        }
+        return 2;
+    }
+
+    /**
+     * Method which provide the getting of the remaining bytes of the buffers
+     *
+     * @param buffers array of the {@link ByteBuffer}
+     * @return {@link Long} value of the remaining bytes
+     */
+    private static long remaining(@NonNull ByteBuffer[] buffers) {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        return remaining;
+    }
+
+    /**
+     * Method which provide the converting of the rotation to the Exif orientation
+     *
+     * @param orientation {@link Integer} value of the clockwise rotation
+     * @return {@link Integer} value of the Exif orientation
+     */
+    static int toExifOrientation(int orientation) {
+        switch (orientation) {
+            case 90:
+                return 6;
+            case 180:
+                return 3;
+            case 270:
+                return 8;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Method which provide the converting of the flash to the Exif flash (the mode bits, the
+     * firing is unknown for the Camera1)
+     *
+     * @param flash {@link Integer} value of the flash
+     * @return {@link Integer} value of the Exif flash
+     */
+    static int toExifFlash(int flash) {
+        switch (flash) {
+            case GCConstants.FLASH_ON:
+            case GCConstants.FLASH_TORCH:
+                return 0x08;
+            case GCConstants.FLASH_AUTO:
+                return 0x18;
+            case GCConstants.FLASH_RED_EYE:
+                return 0x58;
+            default:
+                return 0x10;
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.artlite.cameraview.frames;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class which provide the reference counted preview frame (NV21) from the {@link GCFrameBufferPool}
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * Instances are preallocated by the pool (one per buffer) and reused for every frame, so a
+ * consumer must not use the frame after the last {@link #release()}.
+ */
+public final class GCFrame {
+
+    /**
+     * {@link Integer} value of the NV21 format (same as {@code ImageFormat.NV21})
+     */
+    public static final int FORMAT_NV21 = 0x11;
+
+    /**
+     * Instance of the {@link GCFrameBufferPool}
+     */
+    private final GCFrameBufferPool pool;
+
+    /**
+     * Array of the {@link Byte} with the frame data
+     */
+    private final byte[] data;
+
+    /**
+     * {@link Integer} value of the width
+     */
+    private final int width;
+
+    /**
+     * {@link Integer} value of the height
+     */
+    private final int height;
+
+    /**
+     * Instance of the {@link AtomicInteger} with reference count
+     */
+    private final AtomicInteger references = new AtomicInteger();
+
+    /**
+     * {@link Long} value of the timestamp in nanoseconds ({@link System#nanoTime()})
+     */
+    private volatile long timestamp;
+
+    /**
+     * {@link Long} value of the sequence number
+     */
+    private volatile long sequence;
+
+    /**
+     * Constructor which provide the create of the {@link GCFrame} with parameters
+     *
+     * @param pool   instance of the {@link GCFrameBufferPool}
+     * @param data   array of the {@link Byte}
+     * @param width  {@link Integer} value of the width
+     * @param height {@link Integer} value of the height
+     */
+    GCFrame(@NonNull GCFrameBufferPool pool, @NonNull byte[] data, int width, int height) {
+        this.pool = pool;
+        this.data = data;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Method which provide the binding of the frame for the new delivering
+     *
+     * @param timestamp {@link Long} value of the timestamp
+     * @param sequence  {@link Long} value of the sequence
+     */
+    void bind(long timestamp, long sequence) {
+        this.timestamp = timestamp;
+        this.sequence = sequence;
+        references.set(1);
+    }
+
+    /**
+     * Method which provide the getting of the frame data (NV21)
+     *
+     * @return array of the {@link Byte}
+     */
+    @NonNull
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the width
+     *
+     * @return {@link Integer} value of the width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the height
+     *
+     * @return {@link Integer} value of the height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the format
+     *
+     * @return {@link Integer} value of the format
+     */
+    public int getFormat() {
+        return FORMAT_NV21;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the timestamp
+     *
+     * @return {@link Long} value of the timestamp in nanoseconds ({@link System#nanoTime()})
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the sequence number
+     *
+     * @return {@link Long} value of the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Method which provide the retaining of the frame
+     *
+     * @return instance of the {@link GCFrame}
+     */
+    @NonNull
+    public GCFrame retain() {
+        for (; ; ) {
+            final int count = references.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Frame was already released");
+            }
+            if (references.compareAndSet(count, count + 1)) {
+                return this;
+            }
+        }
+    }
+
+    /**
+     * Method which provide the releasing of the frame. When the last reference is released
+     * the buffer is returned to the {@link GCFrameBufferPool}.
+     */
+    public void release() {
+        final int count = references.decrementAndGet();
+        if (count == 0) {
+            pool.recycle(this);
+        } else if (count < 0) {
+            references.set(0);
+            throw new IllegalStateException("Frame was already released");
+        }
+    }
+
+}
@@ -0,0 +1,308 @@
+package com.artlite.cameraview.frames;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.constants.GCSize;
+
+/**
+ * Class which provide the fixed pool of the preallocated NV21 buffers
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * All buffers (and their {@link GCFrame} wrappers) are allocated in the constructor, so the
+ * steady state streaming doesn't allocate anything per frame. A buffer is either free (owned by
+ * the pool or by the {@link Recycler}, e.g. queued in the camera) or in flight (wrapped into a
+ * {@link GCFrame} which is held by the consumers).
+ */
+public final class GCFrameBufferPool {
+
+    /**
+     * {@link Integer} constant of the default buffers count
+     */
+    public static final int DEFAULT_BUFFER_COUNT = 3;
+
+    /**
+     * Interface which provide the returning of the free buffers to the producer. It is called
+     * under the pool lock on the releasing thread, so {@link #close()} waits for the running
+     * call and no buffer is handed to the producer after the pool was closed.
+     */
+    public interface Recycler {
+
+        /**
+         * Method which provide the action when the buffer is free again
+         *
+         * @param buffer array of the {@link Byte}
+         */
+        void onRecycle(@NonNull byte[] buffer);
+
+    }
+
+    /**
+     * {@link Integer} value of the width
+     */
+    private final int width;
+
+    /**
+     * {@link Integer} value of the height
+     */
+    private final int height;
+
+    /**
+     * {@link Integer} value of the buffer size
+     */
+    private final int bufferSize;
+
+    /**
+     * Array of the {@link GCFrame}
+     */
+    private final GCFrame[] frames;
+
+    /**
+     * Stack of the free {@link GCFrame} indexes
+     */
+    private final int[] free;
+
+    /**
+     * {@link Integer} value of the free count
+     */
+    private int freeCount;
+
+    /**
+     * Instance of the {@link Recycler}
+     */
+    private Recycler recycler;
+
+    /**
+     * {@link Boolean} value if the pool is closed
+     */
+    private boolean isClosed;
+
+    /**
+     * {@link Long} value of the sequence
+     */
+    private long sequence;
+
+    /**
+     * {@link Long} value of the recycled count
+     */
+    private long recycledCount;
+
+    /**
+     * Constructor which provide the create of the {@link GCFrameBufferPool} with parameters
+     *
+     * @param size        instance of the {@link GCSize}
+     * @param bufferCount {@link Integer} value of the buffer count
+     */
+    public GCFrameBufferPool(@NonNull GCSize size, int bufferCount) {
+        this(size.getWidth(), size.getHeight(), bufferCount);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCFrameBufferPool} with parameters
+     *
+     * @param width       {@link Integer} value of the width
+     * @param height      {@link Integer} value of the height
+     * @param bufferCount {@link Integer} value of the buffer count
+     */
+    public GCFrameBufferPool(int width, int height, int bufferCount) {
+        if ((width <= 0) || (height <= 0) || (bufferCount <= 0)) {
+            throw new IllegalArgumentException("Invalid pool: " + width + "x" + height
+                    + " x" + bufferCount);
+        }
+        this.width = width;
+        this.height = height;
+        this.bufferSize = getBufferSize(width, height);
+        this.frames = new GCFrame[bufferCount];
+        this.free = new int[bufferCount];
+        for (int i = 0; i < bufferCount; i++) {
+            frames[i] = new GCFrame(this, new byte[bufferSize], width, height);
+            free[i] = i;
+        }
+        this.freeCount = bufferCount;
+    }
+
+    /**
+     * Method which provide the calculating of the NV21 buffer size
+     *
+     * @param width  {@link Integer} value of the width
+     * @param height {@link Integer} value of the height
+     * @return {@link Integer} value of the buffer size
+     */
+    public static int getBufferSize(int width, int height) {
+        final int chromaWidth = (width + 1) / 2;
+        final int chromaHeight = (height + 1) / 2;
+        return width * height + chromaWidth * chromaHeight * 2;
+    }
+
+    /**
+     * Method which provide the setting of the {@link Recycler}. All free buffers are handed
+     * to the {@link Recycler} immediately, the released ones will be handed later.
+     *
+     * @param recycler instance of the {@link Recycler}
+     */
+    public synchronized void setRecycler(@Nullable Recycler recycler) {
+        this.recycler = recycler;
+        if ((recycler == null) || isClosed) {
+            return;
+        }
+        while (freeCount > 0) {
+            recycler.onRecycle(frames[free[--freeCount]].getData());
+        }
+    }
+
+    /**
+     * Method which provide the acquiring of the free buffer (when the pool has no
+     * {@link Recycler}, for producers which fill buffers themselves)
+     *
+     * @return array of the {@link Byte} or {@code null} if pool is exhausted
+     */
+    @Nullable
+    public synchronized byte[] acquire() {
+        if (isClosed || (freeCount == 0)) {
+            return null;
+        }
+        return frames[free[--freeCount]].getData();
+    }
+
+    /**
+     * Method which provide the wrapping of the filled buffer to the {@link GCFrame}
+     *
+     * @param buffer    array of the {@link Byte} from this pool
+     * @param timestamp {@link Long} value of the timestamp
+     * @return instance of the {@link GCFrame} or {@code null} if buffer isn't from this pool
+     */
+    @Nullable
+    public GCFrame wrap(@NonNull byte[] buffer, long timestamp) {
+        for (GCFrame frame : frames) {
+            if (frame.getData() == buffer) {
+                final long sequence;
+                synchronized (this) {
+                    if (isClosed) {
+                        return null;
+                    }
+                    sequence = this.sequence++;
+                }
+                frame.bind(timestamp, sequence);
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method which provide the recycling of the released {@link GCFrame}
+     *
+     * @param frame instance of the {@link GCFrame}
+     */
+    synchronized void recycle(@NonNull GCFrame frame) {
+        if (isClosed) {
+            return;
+        }
+        recycledCount++;
+        if (recycler != null) {
+            recycler.onRecycle(frame.getData());
+            return;
+        }
+        for (int i = 0; i < frames.length; i++) {
+            if (frames[i] == frame) {
+                free[freeCount++] = i;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Method which provide the closing of the pool (the released buffers will be dropped), it
+     * waits for the running {@link Recycler} call, so the producer could be released after it
+     */
+    public synchronized void close() {
+        isClosed = true;
+        recycler = null;
+    }
+
+    /**
+     * Method which provide the checking if the pool is closed
+     *
+     * @return {@link Boolean} value if the pool is closed
+     */
+    public synchronized boolean isClosed() {
+        return isClosed;
+    }
+
+    /**
+     * Method which provide the checking if the pool matches to the frame size
+     *
+     * @param width  {@link Integer} value of the width
+     * @param height {@link Integer} value of the height
+     * @return {@link Boolean} value if it matches
+     */
+    public boolean matches(int width, int height) {
+        return (this.width == width) && (this.height == height);
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the width
+     *
+     * @return {@link Integer} value of the width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the height
+     *
+     * @return {@link Integer} value of the height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the buffer size
+     *
+     * @return {@link Integer} value of the buffer size
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the buffer count
+     *
+     * @return {@link Integer} value of the buffer count
+     */
+    public int getBufferCount() {
+        return frames.length;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the allocated bytes
+     * (constant for the pool lifetime)
+     *
+     * @return {@link Long} value of the allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return (long) bufferSize * frames.length;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the free buffers
+     * (owned by the pool, not by the {@link Recycler})
+     *
+     * @return {@link Integer} value of the free buffers
+     */
+    public synchronized int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the recycled frames
+     *
+     * @return {@link Long} value of the recycled frames
+     */
+    public synchronized long getRecycledCount() {
+        return recycledCount;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.artlite.cameraview.frames;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Interface which provide the listening of the preview frames
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public interface GCFrameListener {
+
+    /**
+     * Method which provide the action when the preview frame is available.
+     * The {@link GCFrame} is only valid during this call, use {@link GCFrame#retain()} to keep
+     * it longer and {@link GCFrame#release()} when it's not needed anymore.
+     *
+     * @param frame instance of the {@link GCFrame}
+     */
+    void onFrame(@NonNull GCFrame frame);
+
+}
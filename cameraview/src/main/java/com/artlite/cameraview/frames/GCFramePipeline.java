@@ -0,0 +1,329 @@
+package com.artlite.cameraview.frames;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class which provide the pipeline of the {@link GCFrameProcessor}s on the bounded worker pool
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * Every processor has own bounded queue and {@link GCOverflowPolicy}, so slow processors never
+ * stall the camera callback thread (except {@link GCOverflowPolicy#BLOCK_WITH_TIMEOUT}, which
+ * waits at most the configured timeout). Queued frames hold the camera buffers, so the total
+ * queue capacity should stay below {@link GCFrameBufferPool#DEFAULT_BUFFER_COUNT}.
+ */
+public final class GCFramePipeline implements GCFrameListener {
+
+    /**
+     * {@link String} constants of the TAG
+     */
+    private static final String TAG = GCFramePipeline.class.getSimpleName();
+
+    /**
+     * {@link Integer} constant of the default queue capacity
+     */
+    public static final int DEFAULT_CAPACITY = 1;
+
+    /**
+     * {@link Long} constant of the default block timeout (in milliseconds)
+     */
+    public static final long DEFAULT_TIMEOUT = 10;
+
+    /**
+     * Empty array of the {@link Slot}
+     */
+    private static final Slot[] NO_SLOTS = new Slot[0];
+
+    /**
+     * Instance of the {@link ExecutorService}
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Array of the {@link Slot} (copy on write)
+     */
+    private volatile Slot[] slots = NO_SLOTS;
+
+    /**
+     * Constructor which provide the create of the {@link GCFramePipeline} with parameters
+     *
+     * @param threads {@link Integer} value of the worker threads
+     */
+    public GCFramePipeline(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Invalid threads count: " + threads);
+        }
+        final AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                final Thread thread = new Thread(runnable,
+                        TAG + "-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Method which provide the adding of the {@link GCFrameProcessor} with the default settings
+     *
+     * @param processor instance of the {@link GCFrameProcessor}
+     * @param policy    instance of the {@link GCOverflowPolicy}
+     * @return instance of the {@link GCProcessorStats}
+     */
+    @NonNull
+    public GCProcessorStats addProcessor(@NonNull GCFrameProcessor processor,
+                                         @NonNull GCOverflowPolicy policy) {
+        return addProcessor(processor, policy, DEFAULT_CAPACITY, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Method which provide the adding of the {@link GCFrameProcessor}
+     *
+     * @param processor instance of the {@link GCFrameProcessor}
+     * @param policy    instance of the {@link GCOverflowPolicy}
+     * @param capacity  {@link Integer} value of the queue capacity
+     *                  (ignored for {@link GCOverflowPolicy#KEEP_LATEST})
+     * @param timeout   {@link Long} value of the timeout in milliseconds
+     *                  (for {@link GCOverflowPolicy#BLOCK_WITH_TIMEOUT})
+     * @return instance of the {@link GCProcessorStats}
+     */
+    @NonNull
+    public GCProcessorStats addProcessor(@NonNull GCFrameProcessor processor,
+                                         @NonNull GCOverflowPolicy policy,
+                                         int capacity,
+                                         long timeout) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        if (policy == GCOverflowPolicy.KEEP_LATEST) {
+            capacity = 1;
+        }
+        final Slot slot = new Slot(processor, policy, capacity, timeout);
+        synchronized (this) {
+            final Slot[] current = slots;
+            final Slot[] updated = new Slot[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = slot;
+            slots = updated;
+        }
+        return slot.stats;
+    }
+
+    /**
+     * Method which provide the removing of the {@link GCFrameProcessor}
+     *
+     * @param processor instance of the {@link GCFrameProcessor}
+     * @return {@link Boolean} value if it removed
+     */
+    public boolean removeProcessor(@NonNull GCFrameProcessor processor) {
+        Slot removed = null;
+        synchronized (this) {
+            final List<Slot> updated = new ArrayList<>();
+            for (Slot slot : slots) {
+                if ((removed == null) && (slot.stats.getProcessor() == processor)) {
+                    removed = slot;
+                } else {
+                    updated.add(slot);
+                }
+            }
+            slots = updated.isEmpty() ? NO_SLOTS : updated.toArray(new Slot[updated.size()]);
+        }
+        if (removed != null) {
+            removed.clear();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCProcessorStats} of all processors
+     *
+     * @return {@link List} of the {@link GCProcessorStats}
+     */
+    @NonNull
+    public List<GCProcessorStats> getStats() {
+        final List<GCProcessorStats> stats = new ArrayList<>();
+        for (Slot slot : slots) {
+            stats.add(slot.stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Method which provide the action when the preview frame is available (camera thread)
+     *
+     * @param frame instance of the {@link GCFrame}
+     */
+    @Override
+    public void onFrame(@NonNull GCFrame frame) {
+        for (Slot slot : slots) {
+            slot.offer(frame);
+        }
+    }
+
+    /**
+     * Method which provide the shutdown of the pipeline (queued frames are released)
+     */
+    public void shutdown() {
+        final Slot[] current;
+        synchronized (this) {
+            current = slots;
+            slots = NO_SLOTS;
+        }
+        for (Slot slot : current) {
+            slot.clear();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Class which provide the processor queue of the pipeline
+     */
+    private final class Slot implements Runnable {
+
+        /**
+         * Instance of the {@link GCProcessorStats}
+         */
+        final GCProcessorStats stats;
+
+        /**
+         * Instance of the {@link GCOverflowPolicy}
+         */
+        final GCOverflowPolicy policy;
+
+        /**
+         * Instance of the {@link ArrayBlockingQueue}
+         */
+        final ArrayBlockingQueue<GCFrame> queue;
+
+        /**
+         * {@link Long} value of the timeout
+         */
+        final long timeout;
+
+        /**
+         * Instance of the {@link AtomicBoolean} if the drain is scheduled
+         */
+        final AtomicBoolean isScheduled = new AtomicBoolean();
+
+        /**
+         * Constructor which provide the create of the {@link Slot}
+         *
+         * @param processor instance of the {@link GCFrameProcessor}
+         * @param policy    instance of the {@link GCOverflowPolicy}
+         * @param capacity  {@link Integer} value of the capacity
+         * @param timeout   {@link Long} value of the timeout
+         */
+        Slot(@NonNull GCFrameProcessor processor,
+             @NonNull GCOverflowPolicy policy,
+             int capacity,
+             long timeout) {
+            this.stats = new GCProcessorStats(processor);
+            this.policy = policy;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.timeout = timeout;
+        }
+
+        /**
+         * Method which provide the offering of the {@link GCFrame} (camera thread)
+         *
+         * @param frame instance of the {@link GCFrame}
+         */
+        void offer(@NonNull GCFrame frame) {
+            frame.retain();
+            if (policy == GCOverflowPolicy.BLOCK_WITH_TIMEOUT) {
+                boolean isOffered;
+                try {
+                    isOffered = queue.offer(frame, timeout, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    isOffered = false;
+                }
+                if (!isOffered) {
+                    stats.dropped.incrementAndGet();
+                    frame.release();
+                    return;
+                }
+            } else {
+                while (!queue.offer(frame)) {
+                    final GCFrame oldest = queue.poll();
+                    if (oldest != null) {
+                        stats.dropped.incrementAndGet();
+                        oldest.release();
+                    }
+                }
+            }
+            stats.accepted.incrementAndGet();
+            schedule();
+        }
+
+        /**
+         * Method which provide the scheduling of the queue draining
+         */
+        void schedule() {
+            if (isScheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    isScheduled.set(false);
+                    clear();
+                }
+            }
+        }
+
+        /**
+         * Method which provide the draining of the queue (worker thread). At most one queue
+         * capacity of frames is processed per pass, then the slot is rescheduled behind the
+         * other processors, so a busy processor can't monopolize the worker.
+         */
+        @Override
+        public void run() {
+            final int batch = queue.size() + queue.remainingCapacity();
+            GCFrame frame;
+            for (int i = 0; (i < batch) && ((frame = queue.poll()) != null); i++) {
+                try {
+                    stats.getProcessor().process(frame);
+                    stats.processed.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    stats.failed.incrementAndGet();
+                    Log.e(TAG, "process: ", ex);
+                } finally {
+                    frame.release();
+                }
+            }
+            isScheduled.set(false);
+            // Frame could be offered between the last poll and the flag reset
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        /**
+         * Method which provide the releasing of the queued frames
+         */
+        void clear() {
+            GCFrame frame;
+            while ((frame = queue.poll()) != null) {
+                stats.dropped.incrementAndGet();
+                frame.release();
+            }
+        }
+
+    }
+
+}
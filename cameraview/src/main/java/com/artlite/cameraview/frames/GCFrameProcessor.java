@@ -0,0 +1,20 @@
+package com.artlite.cameraview.frames;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Interface which provide the analyzing of the preview frames in the {@link GCFramePipeline}
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public interface GCFrameProcessor {
+
+    /**
+     * Method which provide the processing of the {@link GCFrame} on the pipeline worker.
+     * The frame is released by the pipeline after this call (use {@link GCFrame#retain()}
+     * to keep it longer). Calls for the same processor are never concurrent.
+     *
+     * @param frame instance of the {@link GCFrame}
+     */
+    void process(@NonNull GCFrame frame);
+
+}
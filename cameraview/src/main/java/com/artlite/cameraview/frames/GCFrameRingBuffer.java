@@ -0,0 +1,133 @@
+package com.artlite.cameraview.frames;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Class which provide the ring of the last preview frames for the zero shutter lag capture
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The frames are not copied, the ring retains the last {@link #getCapacity()} frames of the
+ * {@link GCFrameBufferPool} (which is preallocated with the additional buffers for them) and
+ * releases the oldest one when the new frame is received.
+ */
+public final class GCFrameRingBuffer implements GCFrameListener {
+
+    /**
+     * {@link Integer} constant of the maximal capacity
+     */
+    public static final int MAX_CAPACITY = 16;
+
+    /**
+     * Array of the retained {@link GCFrame}
+     */
+    private final GCFrame[] frames;
+
+    /**
+     * {@link Integer} value of the index of the oldest frame
+     */
+    private int head;
+
+    /**
+     * {@link Integer} value of the retained frames count
+     */
+    private int count;
+
+    /**
+     * Constructor which provide the create of the {@link GCFrameRingBuffer} with parameters
+     *
+     * @param capacity {@link Integer} value of the capacity
+     */
+    public GCFrameRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.frames = new GCFrame[capacity];
+    }
+
+    /**
+     * Method which provide the action when the preview frame was received
+     *
+     * @param frame instance of the {@link GCFrame}
+     */
+    @Override
+    public void onFrame(@NonNull GCFrame frame) {
+        final GCFrame evicted;
+        synchronized (this) {
+            final int capacity = frames.length;
+            if (count == capacity) {
+                evicted = frames[head];
+                frames[head] = frame.retain();
+                head = (head + 1) % capacity;
+            } else {
+                evicted = null;
+                frames[(head + count) % capacity] = frame.retain();
+                count++;
+            }
+        }
+        if (evicted != null) {
+            evicted.release();
+        }
+    }
+
+    /**
+     * Method which provide the acquiring of the frame nearest to the time. The returned frame
+     * is retained and should be released by the caller.
+     *
+     * @param timestamp {@link Long} value of the time in nanoseconds ({@link System#nanoTime()})
+     * @return instance of the {@link GCFrame} or null if the ring is empty
+     */
+    @Nullable
+    public synchronized GCFrame acquireNearest(long timestamp) {
+        GCFrame result = null;
+        long distance = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            final GCFrame frame = frames[(head + i) % frames.length];
+            final long current = Math.abs(frame.getTimestamp() - timestamp);
+            if (current < distance) {
+                distance = current;
+                result = frame;
+            }
+        }
+        return (result == null) ? null : result.retain();
+    }
+
+    /**
+     * Method which provide the releasing of the all retained frames
+     */
+    public void clear() {
+        final GCFrame[] released;
+        synchronized (this) {
+            released = new GCFrame[count];
+            for (int i = 0; i < count; i++) {
+                final int index = (head + i) % frames.length;
+                released[i] = frames[index];
+                frames[index] = null;
+            }
+            head = 0;
+            count = 0;
+        }
+        for (GCFrame frame : released) {
+            frame.release();
+        }
+    }
+
+    /**
+     * Method which provide the getting of the capacity
+     *
+     * @return {@link Integer} value of the capacity
+     */
+    public int getCapacity() {
+        return frames.length;
+    }
+
+    /**
+     * Method which provide the getting of the retained frames count
+     *
+     * @return {@link Integer} value of the retained frames count
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.artlite.cameraview.frames;
+
+/**
+ * Enum which provide the behaviour of the {@link GCFramePipeline} when processor queue is full
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public enum GCOverflowPolicy {
+
+    /**
+     * The oldest queued frame is dropped in favour of the new one
+     */
+    DROP_OLDEST,
+
+    /**
+     * Only the latest frame is kept (queue with single slot which is replaced)
+     */
+    KEEP_LATEST,
+
+    /**
+     * The camera thread waits for the free slot up to the timeout, then the new frame is dropped
+     */
+    BLOCK_WITH_TIMEOUT
+
+}
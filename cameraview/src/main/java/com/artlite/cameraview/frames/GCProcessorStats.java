@@ -0,0 +1,104 @@
+package com.artlite.cameraview.frames;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class which provide the live counters of the processor inside of the {@link GCFramePipeline}
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCProcessorStats {
+
+    /**
+     * Instance of the {@link GCFrameProcessor}
+     */
+    private final GCFrameProcessor processor;
+
+    /**
+     * Instance of the {@link AtomicLong} with accepted frames count
+     */
+    final AtomicLong accepted = new AtomicLong();
+
+    /**
+     * Instance of the {@link AtomicLong} with dropped frames count
+     */
+    final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Instance of the {@link AtomicLong} with processed frames count
+     */
+    final AtomicLong processed = new AtomicLong();
+
+    /**
+     * Instance of the {@link AtomicLong} with failed frames count
+     */
+    final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Constructor which provide the create of the {@link GCProcessorStats}
+     *
+     * @param processor instance of the {@link GCFrameProcessor}
+     */
+    GCProcessorStats(@NonNull GCFrameProcessor processor) {
+        this.processor = processor;
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCFrameProcessor}
+     *
+     * @return instance of the {@link GCFrameProcessor}
+     */
+    @NonNull
+    public GCFrameProcessor getProcessor() {
+        return processor;
+    }
+
+    /**
+     * Method which provide the getting of the frames which were accepted to the queue
+     *
+     * @return {@link Long} value of the accepted frames
+     */
+    public long getAcceptedCount() {
+        return accepted.get();
+    }
+
+    /**
+     * Method which provide the getting of the frames which were dropped by overflow policy
+     *
+     * @return {@link Long} value of the dropped frames
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Method which provide the getting of the frames which were processed
+     *
+     * @return {@link Long} value of the processed frames
+     */
+    public long getProcessedCount() {
+        return processed.get();
+    }
+
+    /**
+     * Method which provide the getting of the frames which processing was failed
+     *
+     * @return {@link Long} value of the failed frames
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Method which provide the converting the {@link GCProcessorStats} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    public String toString() {
+        return processor + " accepted=" + getAcceptedCount() + " dropped=" + getDroppedCount()
+                + " processed=" + getProcessedCount() + " failed=" + getFailedCount();
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.artlite.cameraview.metrics;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Class which provide the timeline of the single capture (the monotonic timestamps of the
+ * capture stages)
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * Every stage is marked once by the thread which performs it with the {@link System#nanoTime()},
+ * the stages which were not reached (the skipped auto focus, the failed write) stay unmarked.
+ */
+public final class GCCaptureTimeline {
+
+    /**
+     * {@link Integer} constant of the tap stage (the picture was requested)
+     */
+    public static final int STAGE_TAP = 0;
+
+    /**
+     * {@link Integer} constant of the auto focus start stage
+     */
+    public static final int STAGE_FOCUS_START = 1;
+
+    /**
+     * {@link Integer} constant of the auto focus finish stage
+     */
+    public static final int STAGE_FOCUS_END = 2;
+
+    /**
+     * {@link Integer} constant of the capture request stage
+     */
+    public static final int STAGE_CAPTURE = 3;
+
+    /**
+     * {@link Integer} constant of the shutter stage (the frame time for the zero shutter lag)
+     */
+    public static final int STAGE_SHUTTER = 4;
+
+    /**
+     * {@link Integer} constant of the JPEG received stage
+     */
+    public static final int STAGE_JPEG = 5;
+
+    /**
+     * {@link Integer} constant of the callbacks fan-out stage (camera thread)
+     */
+    public static final int STAGE_DISPATCH = 6;
+
+    /**
+     * {@link Integer} constant of the file write start stage
+     */
+    public static final int STAGE_WRITE_START = 7;
+
+    /**
+     * {@link Integer} constant of the file written stage
+     */
+    public static final int STAGE_WRITE_END = 8;
+
+    /**
+     * {@link Integer} constant of the picture delivered stage
+     * ({@link com.artlite.cameraview.common.GCCameraView.OnCameraCallback#cameraViewPictureTaken})
+     */
+    public static final int STAGE_DELIVERED = 9;
+
+    /**
+     * {@link Integer} constant of the stages count
+     */
+    public static final int STAGE_COUNT = 10;
+
+    /**
+     * {@link Long} constant of the unmarked stage time
+     */
+    public static final long NOT_MARKED = Long.MIN_VALUE;
+
+    /**
+     * Array of the stage names
+     */
+    private static final String[] NAMES = {"tap", "focusStart", "focusEnd", "capture",
+            "shutter", "jpeg", "dispatch", "writeStart", "writeEnd", "delivered"};
+
+    /**
+     * Instance of the {@link AtomicLongArray} with the stage times
+     */
+    private final AtomicLongArray times = new AtomicLongArray(STAGE_COUNT);
+
+    /**
+     * Constructor which provide the create of the {@link GCCaptureTimeline} with parameters
+     *
+     * @param tapTime {@link Long} value of the tap time ({@link System#nanoTime()})
+     */
+    public GCCaptureTimeline(long tapTime) {
+        for (int i = 0; i < STAGE_COUNT; i++) {
+            times.set(i, NOT_MARKED);
+        }
+        times.set(STAGE_TAP, tapTime);
+    }
+
+    /**
+     * Method which provide the marking of the stage with the current time
+     *
+     * @param stage {@link Integer} value of the stage
+     */
+    public void mark(int stage) {
+        mark(stage, System.nanoTime());
+    }
+
+    /**
+     * Method which provide the marking of the stage with the time
+     *
+     * @param stage {@link Integer} value of the stage
+     * @param time  {@link Long} value of the time ({@link System#nanoTime()})
+     */
+    public void mark(int stage, long time) {
+        times.set(stage, time);
+    }
+
+    /**
+     * Method which provide the checking if the stage was marked
+     *
+     * @param stage {@link Integer} value of the stage
+     * @return {@link Boolean} value if the stage was marked
+     */
+    public boolean isMarked(int stage) {
+        return times.get(stage) != NOT_MARKED;
+    }
+
+    /**
+     * Method which provide the getting of the stage time
+     *
+     * @param stage {@link Integer} value of the stage
+     * @return {@link Long} value of the time ({@link System#nanoTime()}) or {@link #NOT_MARKED}
+     */
+    public long getTime(int stage) {
+        return times.get(stage);
+    }
+
+    /**
+     * Method which provide the getting of the duration between the stages
+     *
+     * @param from {@link Integer} value of the start stage
+     * @param to   {@link Integer} value of the end stage
+     * @return {@link Long} value of the duration in nanoseconds or -1 if any stage is unmarked
+     */
+    public long getDuration(int from, int to) {
+        final long start = times.get(from);
+        final long end = times.get(to);
+        if ((start == NOT_MARKED) || (end == NOT_MARKED)) {
+            return -1;
+        }
+        return end - start;
+    }
+
+    /**
+     * Method which provide the getting of the time from the tap to the stage
+     *
+     * @param stage {@link Integer} value of the stage
+     * @return {@link Long} value of the duration in nanoseconds or -1 if the stage is unmarked
+     */
+    public long getElapsed(int stage) {
+        return getDuration(STAGE_TAP, stage);
+    }
+
+    /**
+     * Method which provide the getting of the stage name
+     *
+     * @param stage {@link Integer} value of the stage
+     * @return {@link String} value of the stage name
+     */
+    @NonNull
+    public static String getStageName(int stage) {
+        return NAMES[stage];
+    }
+
+    /**
+     * Method which provide the converting the {@link GCCaptureTimeline} to the {@link String}
+     * (milliseconds from the tap)
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("GCCaptureTimeline{");
+        boolean isFirst = true;
+        for (int i = STAGE_TAP + 1; i < STAGE_COUNT; i++) {
+            if (!isMarked(i)) {
+                continue;
+            }
+            if (!isFirst) {
+                builder.append(", ");
+            }
+            isFirst = false;
+            builder.append(NAMES[i]).append('=').append(getElapsed(i) / 1000000f).append("ms");
+        }
+        return builder.append('}').toString();
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.artlite.cameraview.metrics;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.models.GCLatencyPercentiles;
+
+import java.util.Arrays;
+
+/**
+ * Class which provide the rolling percentiles of the capture latencies (from the tap to every
+ * stage of the {@link GCCaptureTimeline})
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The recording only stores the samples to the preallocated windows, the sorting is done when
+ * the percentiles are requested.
+ */
+public final class GCLatencyRecorder {
+
+    /**
+     * {@link Integer} constant of the default window size (captures)
+     */
+    public static final int DEFAULT_WINDOW = 128;
+
+    /**
+     * Array of the latency windows (per stage)
+     */
+    private final long[][] samples;
+
+    /**
+     * Array of the samples count (per stage)
+     */
+    private final int[] counts;
+
+    /**
+     * Array of the next sample index (per stage)
+     */
+    private final int[] indexes;
+
+    /**
+     * Constructor which provide the create of the {@link GCLatencyRecorder} with parameters
+     *
+     * @param window {@link Integer} value of the window size (captures)
+     */
+    public GCLatencyRecorder(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Invalid window: " + window);
+        }
+        this.samples = new long[GCCaptureTimeline.STAGE_COUNT][window];
+        this.counts = new int[GCCaptureTimeline.STAGE_COUNT];
+        this.indexes = new int[GCCaptureTimeline.STAGE_COUNT];
+    }
+
+    /**
+     * Method which provide the recording of the capture timeline (the unmarked stages are
+     * skipped)
+     *
+     * @param timeline instance of the {@link GCCaptureTimeline}
+     */
+    public synchronized void record(@NonNull GCCaptureTimeline timeline) {
+        for (int stage = GCCaptureTimeline.STAGE_TAP + 1;
+             stage < GCCaptureTimeline.STAGE_COUNT; stage++) {
+            final long elapsed = timeline.getElapsed(stage);
+            if (elapsed < 0) {
+                continue;
+            }
+            final long[] window = samples[stage];
+            window[indexes[stage]] = elapsed;
+            indexes[stage] = (indexes[stage] + 1) % window.length;
+            counts[stage] = Math.min(counts[stage] + 1, window.length);
+        }
+    }
+
+    /**
+     * Method which provide the getting of the percentiles of the latency from the tap to the
+     * stage
+     *
+     * @param stage {@link Integer} value of the {@link GCCaptureTimeline} stage
+     * @return instance of the {@link GCLatencyPercentiles} or null if there are no samples
+     */
+    @Nullable
+    public GCLatencyPercentiles getPercentiles(int stage) {
+        final long[] sorted;
+        synchronized (this) {
+            if (counts[stage] == 0) {
+                return null;
+            }
+            sorted = Arrays.copyOf(samples[stage], counts[stage]);
+        }
+        Arrays.sort(sorted);
+        return new GCLatencyPercentiles(sorted.length, percentile(sorted, 50),
+                percentile(sorted, 95), percentile(sorted, 99));
+    }
+
+    /**
+     * Method which provide the clearing of the samples
+     */
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(indexes, 0);
+    }
+
+    /**
+     * Method which provide the getting of the percentile (the nearest rank)
+     *
+     * @param sorted     array of the sorted samples
+     * @param percentile {@link Integer} value of the percentile
+     * @return {@link Long} value of the percentile
+     */
+    static long percentile(@NonNull long[] sorted, int percentile) {
+        final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+}
@@ -19,10 +19,12 @@ package com.artlite.cameraview.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
-import android.support.v4.util.SparseArrayCompat;
 
 import com.artlite.cameraview.constants.GCSize;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * Immutable class for describing proportional relationship between width and height.
  * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
@@ -30,10 +32,29 @@ import com.artlite.cameraview.constants.GCSize;
 public class GCAspectRatio implements Comparable<GCAspectRatio>, Parcelable {
 
     /**
-     * Instance of the {@link SparseArrayCompat}
+     * {@link Integer} constant of the interning table capacity (power of two)
+     */
+    private static final int CACHE_CAPACITY = 256;
+
+    /**
+     * {@link Integer} constant of the maximal probes count before the overflow map is used
+     */
+    private static final int CACHE_MAX_PROBES = 16;
+
+    /**
+     * Instance of the {@link AtomicReferenceArray} which provide the lock-free interning table
+     * (open addressing by the reduced pair, entries are inserted with CAS and never removed,
+     * so the hit does not allocate and does not lock)
+     */
+    private static final AtomicReferenceArray<GCAspectRatio> sCache =
+            new AtomicReferenceArray<>(CACHE_CAPACITY);
+
+    /**
+     * Instance of the {@link ConcurrentHashMap} which provide the interning of the ratios which
+     * are not fit to the table
      */
-    private final static SparseArrayCompat<SparseArrayCompat<GCAspectRatio>> sCache
-            = new SparseArrayCompat<>(16);
+    private static final ConcurrentHashMap<Long, GCAspectRatio> sOverflowCache =
+            new ConcurrentHashMap<>();
 
     /**
      * {@link Integer} value of the x
@@ -57,21 +78,37 @@ public class GCAspectRatio implements Comparable<GCAspectRatio>, Parcelable {
         int gcd = gcd(x, y);
         x /= gcd;
         y /= gcd;
-        SparseArrayCompat<GCAspectRatio> arrayX = sCache.get(x);
-        if (arrayX == null) {
-            GCAspectRatio ratio = new GCAspectRatio(x, y);
-            arrayX = new SparseArrayCompat<>();
-            arrayX.put(y, ratio);
-            sCache.put(x, arrayX);
-            return ratio;
-        } else {
-            GCAspectRatio ratio = arrayX.get(y);
+        final int mask = CACHE_CAPACITY - 1;
+        int index = hash(x, y) & mask;
+        GCAspectRatio created = null;
+        for (int probe = 0; probe < CACHE_MAX_PROBES; probe++) {
+            GCAspectRatio ratio = sCache.get(index);
             if (ratio == null) {
-                ratio = new GCAspectRatio(x, y);
-                arrayX.put(y, ratio);
+                if (created == null) {
+                    created = new GCAspectRatio(x, y);
+                }
+                if (sCache.compareAndSet(index, null, created)) {
+                    return created;
+                }
+                // Lost the race, the slot is occupied now
+                ratio = sCache.get(index);
+            }
+            if (ratio.x == x && ratio.y == y) {
+                return ratio;
             }
+            index = (index + 1) & mask;
+        }
+        // Table region is full, use the overflow map
+        final Long key = ((long) x << 32) | (y & 0xFFFFFFFFL);
+        final GCAspectRatio ratio = sOverflowCache.get(key);
+        if (ratio != null) {
             return ratio;
         }
+        if (created == null) {
+            created = new GCAspectRatio(x, y);
+        }
+        final GCAspectRatio previous = sOverflowCache.putIfAbsent(key, created);
+        return (previous == null) ? created : previous;
     }
 
     /**
@@ -131,10 +168,8 @@ public class GCAspectRatio implements Comparable<GCAspectRatio>, Parcelable {
      * @return {@link Boolean} value if it match
      */
     public boolean matches(GCSize size) {
-        int gcd = gcd(size.getWidth(), size.getHeight());
-        int x = size.getWidth() / gcd;
-        int y = size.getHeight() / gcd;
-        return this.x == x && this.y == y;
+        // Ratio is reduced, so the cross multiplication is equal to the comparing of reduced pairs
+        return (long) x * size.getHeight() == (long) y * size.getWidth();
     }
 
     /**
@@ -219,6 +254,18 @@ public class GCAspectRatio implements Comparable<GCAspectRatio>, Parcelable {
         return GCAspectRatio.of(y, x);
     }
 
+    /**
+     * Method which provide the hashing of the reduced pair
+     *
+     * @param x {@link Integer} value of the x
+     * @param y {@link Integer} value of the y
+     * @return {@link Integer} value of the hash
+     */
+    private static int hash(int x, int y) {
+        final int hash = (x * 31 + y) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
     /**
      * Method which provide the gcd action
      *
@@ -0,0 +1,135 @@
+package com.artlite.cameraview.models;
+
+import android.annotation.SuppressLint;
+
+/**
+ * Immutable class which provide the throughput statistics of the finished burst
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCBurstStats {
+
+    /**
+     * {@link Integer} value of the requested shots
+     */
+    private final int requestedCount;
+
+    /**
+     * {@link Integer} value of the captured shots
+     */
+    private final int capturedCount;
+
+    /**
+     * {@link Long} value of the burst duration in nanoseconds
+     */
+    private final long duration;
+
+    /**
+     * {@link Long} value of the minimal shot-to-shot time in nanoseconds
+     */
+    private final long minShotInterval;
+
+    /**
+     * {@link Long} value of the maximal shot-to-shot time in nanoseconds
+     */
+    private final long maxShotInterval;
+
+    /**
+     * Constructor which provide the create of the {@link GCBurstStats} with parameters
+     *
+     * @param requestedCount  {@link Integer} value of the requested shots
+     * @param capturedCount   {@link Integer} value of the captured shots
+     * @param duration        {@link Long} value of the duration (first shot to last JPEG)
+     * @param minShotInterval {@link Long} value of the minimal shot-to-shot time
+     * @param maxShotInterval {@link Long} value of the maximal shot-to-shot time
+     */
+    public GCBurstStats(int requestedCount,
+                        int capturedCount,
+                        long duration,
+                        long minShotInterval,
+                        long maxShotInterval) {
+        this.requestedCount = requestedCount;
+        this.capturedCount = capturedCount;
+        this.duration = duration;
+        this.minShotInterval = minShotInterval;
+        this.maxShotInterval = maxShotInterval;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the requested shots
+     *
+     * @return {@link Integer} value of the requested shots
+     */
+    public int getRequestedCount() {
+        return requestedCount;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the captured shots
+     *
+     * @return {@link Integer} value of the captured shots
+     */
+    public int getCapturedCount() {
+        return capturedCount;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the duration
+     *
+     * @return {@link Long} value of the duration in nanoseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Method which provide the getting of the minimal shot-to-shot time
+     *
+     * @return {@link Long} value of the minimal shot-to-shot time in nanoseconds
+     */
+    public long getMinShotInterval() {
+        return minShotInterval;
+    }
+
+    /**
+     * Method which provide the getting of the maximal shot-to-shot time
+     *
+     * @return {@link Long} value of the maximal shot-to-shot time in nanoseconds
+     */
+    public long getMaxShotInterval() {
+        return maxShotInterval;
+    }
+
+    /**
+     * Method which provide the getting of the average shot-to-shot time
+     *
+     * @return {@link Long} value of the average shot-to-shot time in nanoseconds
+     */
+    public long getAverageShotInterval() {
+        return (capturedCount > 0) ? duration / capturedCount : 0;
+    }
+
+    /**
+     * Method which provide the getting of the throughput
+     *
+     * @return {@link Double} value of the shots per second
+     */
+    public double getShotsPerSecond() {
+        return (duration > 0) ? capturedCount * 1e9 / duration : 0;
+    }
+
+    /**
+     * Method which provide the converting the {@link GCBurstStats} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    @SuppressLint("DefaultLocale")
+    public String toString() {
+        return "burst " + capturedCount + "/" + requestedCount
+                + " in " + (duration / 1000000) + "ms"
+                + " (" + String.format("%.2f", getShotsPerSecond())
+                + " shots/s, shot-to-shot " + (minShotInterval / 1000000)
+                + ".." + (maxShotInterval / 1000000) + "ms)";
+    }
+
+}
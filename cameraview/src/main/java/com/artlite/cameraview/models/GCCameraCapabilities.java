@@ -0,0 +1,272 @@
+package com.artlite.cameraview.models;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.constants.GCSizeMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Immutable class which provide the snapshot of the capabilities of the single camera
+ * (sizes, aspect ratios, focus and flash modes, FPS ranges and sensor orientation).
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCCameraCapabilities {
+
+    /**
+     * {@link Integer} value of the camera ID
+     */
+    private final int cameraId;
+
+    /**
+     * {@link Integer} value of the camera facing
+     */
+    private final int facing;
+
+    /**
+     * {@link Integer} value of the sensor orientation
+     */
+    private final int orientation;
+
+    /**
+     * Instance of the {@link GCSizeMap} of the preview sizes (never mutated after creation)
+     */
+    private final GCSizeMap previewSizes;
+
+    /**
+     * Instance of the {@link GCSizeMap} of the picture sizes (never mutated after creation)
+     */
+    private final GCSizeMap pictureSizes;
+
+    /**
+     * {@link Set} of the {@link GCAspectRatio} supported by preview and picture
+     */
+    private final Set<GCAspectRatio> aspectRatios;
+
+    /**
+     * {@link List} of the supported focus modes
+     */
+    private final List<String> focusModes;
+
+    /**
+     * {@link List} of the supported flash modes
+     */
+    private final List<String> flashModes;
+
+    /**
+     * {@link List} of the supported FPS ranges (min, max scaled by 1000)
+     */
+    private final List<int[]> fpsRanges;
+
+    /**
+     * Constructor which provide the create of the {@link GCCameraCapabilities} with parameters
+     *
+     * @param cameraId     {@link Integer} value of the camera ID
+     * @param facing       {@link Integer} value of the camera facing
+     * @param orientation  {@link Integer} value of the sensor orientation
+     * @param previewSizes {@link List} of the preview {@link GCSize}
+     * @param pictureSizes {@link List} of the picture {@link GCSize}
+     * @param focusModes   {@link List} of the focus modes
+     * @param flashModes   {@link List} of the flash modes
+     * @param fpsRanges    {@link List} of the FPS ranges
+     */
+    public GCCameraCapabilities(int cameraId,
+                                int facing,
+                                int orientation,
+                                @NonNull List<GCSize> previewSizes,
+                                @NonNull List<GCSize> pictureSizes,
+                                @Nullable List<String> focusModes,
+                                @Nullable List<String> flashModes,
+                                @Nullable List<int[]> fpsRanges) {
+        this.cameraId = cameraId;
+        this.facing = facing;
+        this.orientation = orientation;
+        this.previewSizes = new GCSizeMap();
+        for (GCSize size : previewSizes) {
+            this.previewSizes.add(size);
+        }
+        this.pictureSizes = new GCSizeMap();
+        for (GCSize size : pictureSizes) {
+            this.pictureSizes.add(size);
+        }
+        final Set<GCAspectRatio> ratios = new LinkedHashSet<>();
+        for (GCAspectRatio ratio : this.previewSizes.getRatios()) {
+            if (this.pictureSizes.sizes(ratio) != null) {
+                ratios.add(ratio);
+            }
+        }
+        this.aspectRatios = Collections.unmodifiableSet(ratios);
+        this.focusModes = copyOf(focusModes);
+        this.flashModes = copyOf(flashModes);
+        final List<int[]> ranges = new ArrayList<>();
+        if (fpsRanges != null) {
+            for (int[] range : fpsRanges) {
+                ranges.add(range.clone());
+            }
+        }
+        this.fpsRanges = Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the camera ID
+     *
+     * @return {@link Integer} value of the camera ID
+     */
+    public int getCameraId() {
+        return cameraId;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the camera facing
+     *
+     * @return {@link Integer} value of the camera facing
+     */
+    public int getFacing() {
+        return facing;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the sensor orientation
+     *
+     * @return {@link Integer} value of the sensor orientation
+     */
+    public int getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Set} of the supported {@link GCAspectRatio}
+     * (ratios available for both preview and picture)
+     *
+     * @return {@link Set} of the supported {@link GCAspectRatio}
+     */
+    @NonNull
+    public Set<GCAspectRatio> getAspectRatios() {
+        return aspectRatios;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Set} of all preview {@link GCAspectRatio}
+     *
+     * @return {@link Set} of the preview {@link GCAspectRatio}
+     */
+    @NonNull
+    public Set<GCAspectRatio> getPreviewAspectRatios() {
+        return Collections.unmodifiableSet(previewSizes.getRatios());
+    }
+
+    /**
+     * Method which provide the getting of the {@link Set} of all picture {@link GCAspectRatio}
+     *
+     * @return {@link Set} of the picture {@link GCAspectRatio}
+     */
+    @NonNull
+    public Set<GCAspectRatio> getPictureAspectRatios() {
+        return Collections.unmodifiableSet(pictureSizes.getRatios());
+    }
+
+    /**
+     * Method which provide the getting of the preview sizes for the {@link GCAspectRatio}
+     *
+     * @param ratio instance of the {@link GCAspectRatio}
+     * @return {@link SortedSet} of the {@link GCSize} or null if not supported
+     */
+    @Nullable
+    public SortedSet<GCSize> getPreviewSizes(@NonNull GCAspectRatio ratio) {
+        return unmodifiable(previewSizes.sizes(ratio));
+    }
+
+    /**
+     * Method which provide the getting of the picture sizes for the {@link GCAspectRatio}
+     *
+     * @param ratio instance of the {@link GCAspectRatio}
+     * @return {@link SortedSet} of the {@link GCSize} or null if not supported
+     */
+    @Nullable
+    public SortedSet<GCSize> getPictureSizes(@NonNull GCAspectRatio ratio) {
+        return unmodifiable(pictureSizes.sizes(ratio));
+    }
+
+    /**
+     * Method which provide the getting of the {@link List} of the supported focus modes
+     *
+     * @return {@link List} of the supported focus modes
+     */
+    @NonNull
+    public List<String> getFocusModes() {
+        return focusModes;
+    }
+
+    /**
+     * Method which provide the getting of the {@link List} of the supported flash modes
+     *
+     * @return {@link List} of the supported flash modes
+     */
+    @NonNull
+    public List<String> getFlashModes() {
+        return flashModes;
+    }
+
+    /**
+     * Method which provide the getting of the {@link List} of the supported FPS ranges
+     *
+     * @return {@link List} of the supported FPS ranges (the arrays should not be modified)
+     */
+    @NonNull
+    public List<int[]> getFpsRanges() {
+        return fpsRanges;
+    }
+
+    /**
+     * Method which provide the checking if the focus mode is supported
+     *
+     * @param mode {@link String} value of the focus mode
+     * @return {@link Boolean} value if it supported
+     */
+    public boolean isFocusModeSupported(@Nullable String mode) {
+        return focusModes.contains(mode);
+    }
+
+    /**
+     * Method which provide the checking if the flash mode is supported
+     *
+     * @param mode {@link String} value of the flash mode
+     * @return {@link Boolean} value if it supported
+     */
+    public boolean isFlashModeSupported(@Nullable String mode) {
+        return flashModes.contains(mode);
+    }
+
+    /**
+     * Method which provide the unmodifiable copy of the {@link List}
+     *
+     * @param values {@link List} of the values
+     * @return unmodifiable {@link List} of the values
+     */
+    @NonNull
+    private static List<String> copyOf(@Nullable List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    /**
+     * Method which provide the unmodifiable view of the {@link SortedSet}
+     *
+     * @param sizes {@link SortedSet} of the {@link GCSize}
+     * @return unmodifiable {@link SortedSet} or null
+     */
+    @Nullable
+    private static SortedSet<GCSize> unmodifiable(@Nullable SortedSet<GCSize> sizes) {
+        return (sizes == null) ? null : Collections.unmodifiableSortedSet(sizes);
+    }
+
+}
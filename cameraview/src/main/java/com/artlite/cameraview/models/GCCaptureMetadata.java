@@ -0,0 +1,235 @@
+package com.artlite.cameraview.models;
+
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.metrics.GCCaptureTimeline;
+
+/**
+ * Immutable class which provide the metadata of the captured picture (written to the Exif)
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCCaptureMetadata {
+
+    /**
+     * {@link Integer} value of the clockwise rotation to display the picture
+     */
+    private final int orientation;
+
+    /**
+     * {@link Long} value of the capture time (milliseconds since the epoch)
+     */
+    private final long timestamp;
+
+    /**
+     * {@link Integer} value of the picture width
+     */
+    private final int width;
+
+    /**
+     * {@link Integer} value of the picture height
+     */
+    private final int height;
+
+    /**
+     * {@link Integer} value of the facing
+     */
+    private final int facing;
+
+    /**
+     * {@link Integer} value of the flash
+     */
+    private final int flash;
+
+    /**
+     * {@link Boolean} value if the picture was taken from the preview frame (zero shutter lag)
+     */
+    private final boolean isZeroShutterLag;
+
+    /**
+     * {@link Boolean} value if the rotation was applied by the camera HAL (to the image data or
+     * to its own Exif), so the orientation isn't written to the Exif again
+     */
+    private final boolean isRotated;
+
+    /**
+     * Instance of the {@link GCCaptureTimeline} of the capture
+     */
+    private final GCCaptureTimeline timeline;
+
+    /**
+     * Constructor which provide the create of the {@link GCCaptureMetadata} with parameters
+     *
+     * @param orientation      {@link Integer} value of the clockwise rotation (0, 90, 180, 270)
+     * @param timestamp        {@link Long} value of the capture time (milliseconds)
+     * @param width            {@link Integer} value of the picture width
+     * @param height           {@link Integer} value of the picture height
+     * @param facing           {@link Integer} value of the facing
+     * @param flash            {@link Integer} value of the flash
+     * @param isZeroShutterLag {@link Boolean} value if the picture is the preview frame
+     */
+    public GCCaptureMetadata(int orientation,
+                             long timestamp,
+                             int width,
+                             int height,
+                             int facing,
+                             int flash,
+                             boolean isZeroShutterLag) {
+        this(orientation, timestamp, width, height, facing, flash, isZeroShutterLag, null);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCCaptureMetadata} with parameters
+     *
+     * @param orientation      {@link Integer} value of the clockwise rotation (0, 90, 180, 270)
+     * @param timestamp        {@link Long} value of the capture time (milliseconds)
+     * @param width            {@link Integer} value of the picture width
+     * @param height           {@link Integer} value of the picture height
+     * @param facing           {@link Integer} value of the facing
+     * @param flash            {@link Integer} value of the flash
+     * @param isZeroShutterLag {@link Boolean} value if the picture is the preview frame
+     * @param timeline         instance of the {@link GCCaptureTimeline}
+     */
+    public GCCaptureMetadata(int orientation,
+                             long timestamp,
+                             int width,
+                             int height,
+                             int facing,
+                             int flash,
+                             boolean isZeroShutterLag,
+                             @Nullable GCCaptureTimeline timeline) {
+        this(orientation, timestamp, width, height, facing, flash, isZeroShutterLag, false,
+                timeline);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCCaptureMetadata} with parameters
+     *
+     * @param orientation      {@link Integer} value of the clockwise rotation (0, 90, 180, 270)
+     * @param timestamp        {@link Long} value of the capture time (milliseconds)
+     * @param width            {@link Integer} value of the picture width
+     * @param height           {@link Integer} value of the picture height
+     * @param facing           {@link Integer} value of the facing
+     * @param flash            {@link Integer} value of the flash
+     * @param isZeroShutterLag {@link Boolean} value if the picture is the preview frame
+     * @param isRotated        {@link Boolean} value if the rotation was applied by the HAL
+     * @param timeline         instance of the {@link GCCaptureTimeline}
+     */
+    public GCCaptureMetadata(int orientation,
+                             long timestamp,
+                             int width,
+                             int height,
+                             int facing,
+                             int flash,
+                             boolean isZeroShutterLag,
+                             boolean isRotated,
+                             @Nullable GCCaptureTimeline timeline) {
+        if ((orientation % 90 != 0) || (orientation < 0) || (orientation >= 360)) {
+            throw new IllegalArgumentException("Invalid orientation: " + orientation);
+        }
+        this.orientation = orientation;
+        this.timestamp = timestamp;
+        this.width = width;
+        this.height = height;
+        this.facing = facing;
+        this.flash = flash;
+        this.isZeroShutterLag = isZeroShutterLag;
+        this.isRotated = isRotated;
+        this.timeline = timeline;
+    }
+
+    /**
+     * Method which provide the getting of the clockwise rotation to display the picture
+     *
+     * @return {@link Integer} value of the rotation (0, 90, 180, 270)
+     */
+    public int getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * Method which provide the getting of the capture time
+     *
+     * @return {@link Long} value of the capture time (milliseconds since the epoch)
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the picture width
+     *
+     * @return {@link Integer} value of the picture width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the picture height
+     *
+     * @return {@link Integer} value of the picture height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the facing
+     *
+     * @return {@link Integer} value of the facing
+     */
+    public int getFacing() {
+        return facing;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the flash
+     *
+     * @return {@link Integer} value of the flash
+     */
+    public int getFlash() {
+        return flash;
+    }
+
+    /**
+     * Method which provide the checking if the picture was taken from the preview frame
+     *
+     * @return {@link Boolean} value if the picture is the zero shutter lag one
+     */
+    public boolean isZeroShutterLag() {
+        return isZeroShutterLag;
+    }
+
+    /**
+     * Method which provide the checking if the rotation was applied by the camera HAL (the JPEG
+     * is already displayed upright or has the orientation in its own Exif)
+     *
+     * @return {@link Boolean} value if the picture is rotated by the HAL
+     */
+    public boolean isRotated() {
+        return isRotated;
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCCaptureTimeline} of the capture
+     *
+     * @return instance of the {@link GCCaptureTimeline} or null
+     */
+    @Nullable
+    public GCCaptureTimeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Method which provide the converting the {@link GCCaptureMetadata} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    public String toString() {
+        return "GCCaptureMetadata{" + width + "x" + height + ", orientation=" + orientation
+                + ", timestamp=" + timestamp + ", facing=" + facing + ", flash=" + flash
+                + (isZeroShutterLag ? ", zsl" : "") + (isRotated ? ", rotated" : "") + "}";
+    }
+
+}
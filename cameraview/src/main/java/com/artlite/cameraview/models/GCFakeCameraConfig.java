@@ -0,0 +1,256 @@
+package com.artlite.cameraview.models;
+
+import android.support.annotation.NonNull;
+
+import com.artlite.cameraview.constants.GCSize;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Immutable class which provide the configuration of the fake camera backend
+ * ({@link com.artlite.cameraview.apis.GCFakeCameraAPI})
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCFakeCameraConfig {
+
+    /**
+     * Instance of the default {@link GCFakeCameraConfig} (the typical mid-range device)
+     */
+    public static final GCFakeCameraConfig DEFAULT = new GCFakeCameraConfig(
+            new GCCameraCapabilities(0, 0, 90,
+                    Arrays.asList(new GCSize(1920, 1080), new GCSize(1440, 1080),
+                            new GCSize(1280, 720), new GCSize(960, 720),
+                            new GCSize(640, 480), new GCSize(640, 360)),
+                    Arrays.asList(new GCSize(4000, 3000), new GCSize(4000, 2250),
+                            new GCSize(1920, 1080), new GCSize(640, 480)),
+                    Arrays.asList("auto", "continuous-picture"),
+                    Arrays.asList("off", "on", "auto", "torch", "red-eye"),
+                    Collections.singletonList(new int[]{15000, 30000})),
+            30, 2 * 1024 * 1024, 300, 200, 100);
+
+    /**
+     * Instance of the {@link GCCameraCapabilities} of the fake camera
+     */
+    private final GCCameraCapabilities capabilities;
+
+    /**
+     * {@link Integer} value of the preview frames per second
+     */
+    private final int previewFps;
+
+    /**
+     * {@link Integer} value of the synthetic JPEG size (bytes)
+     */
+    private final int jpegSize;
+
+    /**
+     * {@link Long} value of the camera open delay (milliseconds)
+     */
+    private final long openDelay;
+
+    /**
+     * {@link Long} value of the auto focus cycle delay (milliseconds)
+     */
+    private final long focusDelay;
+
+    /**
+     * {@link Long} value of the delay from the capture request to the shutter (milliseconds)
+     */
+    private final long shutterDelay;
+
+    /**
+     * {@link Integer} value of the opens which fail before the camera is opened
+     */
+    private final int openFailures;
+
+    /**
+     * Constructor which provide the create of the {@link GCFakeCameraConfig} with parameters
+     *
+     * @param capabilities instance of the {@link GCCameraCapabilities}
+     * @param previewFps   {@link Integer} value of the preview frames per second
+     * @param jpegSize     {@link Integer} value of the synthetic JPEG size (bytes)
+     * @param openDelay    {@link Long} value of the open delay (milliseconds)
+     * @param focusDelay   {@link Long} value of the auto focus delay (milliseconds)
+     * @param shutterDelay {@link Long} value of the shutter delay (milliseconds)
+     */
+    public GCFakeCameraConfig(@NonNull GCCameraCapabilities capabilities,
+                              int previewFps,
+                              int jpegSize,
+                              long openDelay,
+                              long focusDelay,
+                              long shutterDelay) {
+        this(capabilities, previewFps, jpegSize, openDelay, focusDelay, shutterDelay, 0);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCFakeCameraConfig} with parameters
+     *
+     * @param capabilities instance of the {@link GCCameraCapabilities}
+     * @param previewFps   {@link Integer} value of the preview frames per second
+     * @param jpegSize     {@link Integer} value of the synthetic JPEG size (bytes)
+     * @param openDelay    {@link Long} value of the open delay (milliseconds)
+     * @param focusDelay   {@link Long} value of the auto focus delay (milliseconds)
+     * @param shutterDelay {@link Long} value of the shutter delay (milliseconds)
+     * @param openFailures {@link Integer} value of the opens which fail (camera is busy)
+     */
+    public GCFakeCameraConfig(@NonNull GCCameraCapabilities capabilities,
+                              int previewFps,
+                              int jpegSize,
+                              long openDelay,
+                              long focusDelay,
+                              long shutterDelay,
+                              int openFailures) {
+        if ((previewFps <= 0) || (jpegSize < 64) || (openFailures < 0)
+                || (openDelay < 0) || (focusDelay < 0) || (shutterDelay < 0)) {
+            throw new IllegalArgumentException("Invalid fake camera: " + previewFps + " fps, "
+                    + jpegSize + " bytes, delays " + openDelay + "/" + focusDelay + "/"
+                    + shutterDelay + " ms, " + openFailures + " open failures");
+        }
+        this.capabilities = capabilities;
+        this.previewFps = previewFps;
+        this.jpegSize = jpegSize;
+        this.openDelay = openDelay;
+        this.focusDelay = focusDelay;
+        this.shutterDelay = shutterDelay;
+        this.openFailures = openFailures;
+    }
+
+    /**
+     * Method which provide the creating of the copy with the {@link GCCameraCapabilities}
+     *
+     * @param capabilities instance of the {@link GCCameraCapabilities}
+     * @return instance of the {@link GCFakeCameraConfig}
+     */
+    @NonNull
+    public GCFakeCameraConfig withCapabilities(@NonNull GCCameraCapabilities capabilities) {
+        return new GCFakeCameraConfig(capabilities, previewFps, jpegSize, openDelay, focusDelay,
+                shutterDelay, openFailures);
+    }
+
+    /**
+     * Method which provide the creating of the copy with the preview frames per second
+     *
+     * @param previewFps {@link Integer} value of the preview frames per second
+     * @return instance of the {@link GCFakeCameraConfig}
+     */
+    @NonNull
+    public GCFakeCameraConfig withPreviewFps(int previewFps) {
+        return new GCFakeCameraConfig(capabilities, previewFps, jpegSize, openDelay, focusDelay,
+                shutterDelay, openFailures);
+    }
+
+    /**
+     * Method which provide the creating of the copy with the synthetic JPEG size
+     *
+     * @param jpegSize {@link Integer} value of the synthetic JPEG size (bytes)
+     * @return instance of the {@link GCFakeCameraConfig}
+     */
+    @NonNull
+    public GCFakeCameraConfig withJpegSize(int jpegSize) {
+        return new GCFakeCameraConfig(capabilities, previewFps, jpegSize, openDelay, focusDelay,
+                shutterDelay, openFailures);
+    }
+
+    /**
+     * Method which provide the creating of the copy with the delays
+     *
+     * @param openDelay    {@link Long} value of the open delay (milliseconds)
+     * @param focusDelay   {@link Long} value of the auto focus delay (milliseconds)
+     * @param shutterDelay {@link Long} value of the shutter delay (milliseconds)
+     * @return instance of the {@link GCFakeCameraConfig}
+     */
+    @NonNull
+    public GCFakeCameraConfig withDelays(long openDelay, long focusDelay, long shutterDelay) {
+        return new GCFakeCameraConfig(capabilities, previewFps, jpegSize, openDelay, focusDelay,
+                shutterDelay, openFailures);
+    }
+
+    /**
+     * Method which provide the creating of the copy with the failing opens
+     *
+     * @param openFailures {@link Integer} value of the opens which fail (camera is busy)
+     * @return instance of the {@link GCFakeCameraConfig}
+     */
+    @NonNull
+    public GCFakeCameraConfig withOpenFailures(int openFailures) {
+        return new GCFakeCameraConfig(capabilities, previewFps, jpegSize, openDelay, focusDelay,
+                shutterDelay, openFailures);
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCCameraCapabilities}
+     *
+     * @return instance of the {@link GCCameraCapabilities}
+     */
+    @NonNull
+    public GCCameraCapabilities getCapabilities() {
+        return capabilities;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the preview fps
+     *
+     * @return {@link Integer} value of the preview frames per second
+     */
+    public int getPreviewFps() {
+        return previewFps;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the JPEG size
+     *
+     * @return {@link Integer} value of the synthetic JPEG size (bytes)
+     */
+    public int getJpegSize() {
+        return jpegSize;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the open delay
+     *
+     * @return {@link Long} value of the open delay (milliseconds)
+     */
+    public long getOpenDelay() {
+        return openDelay;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the auto focus delay
+     *
+     * @return {@link Long} value of the auto focus delay (milliseconds)
+     */
+    public long getFocusDelay() {
+        return focusDelay;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the shutter delay
+     *
+     * @return {@link Long} value of the shutter delay (milliseconds)
+     */
+    public long getShutterDelay() {
+        return shutterDelay;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the failing opens
+     *
+     * @return {@link Integer} value of the opens which fail before the camera is opened
+     */
+    public int getOpenFailures() {
+        return openFailures;
+    }
+
+    /**
+     * Method which provide the converting the {@link GCFakeCameraConfig} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    public String toString() {
+        return "GCFakeCameraConfig{" + previewFps + "fps, jpeg=" + jpegSize + ", open="
+                + openDelay + "ms, focus=" + focusDelay + "ms, shutter=" + shutterDelay + "ms, openFailures=" + openFailures + "}";
+    }
+
+}
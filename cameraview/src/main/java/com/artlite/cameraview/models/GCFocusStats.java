@@ -0,0 +1,139 @@
+package com.artlite.cameraview.models;
+
+/**
+ * Immutable class which provide the auto focus statistics of the captured shots
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCFocusStats {
+
+    /**
+     * {@link Integer} value of the shots which were captured with the auto focus
+     */
+    private final int shotCount;
+
+    /**
+     * {@link Integer} value of the shots which skipped the auto focus cycle (focus was stable)
+     */
+    private final int skippedCount;
+
+    /**
+     * {@link Integer} value of the auto focus cycles which were timed out
+     */
+    private final int timeoutCount;
+
+    /**
+     * {@link Long} value of the auto focus wait of the last shot in nanoseconds
+     */
+    private final long lastWait;
+
+    /**
+     * {@link Long} value of the maximal auto focus wait in nanoseconds
+     */
+    private final long maxWait;
+
+    /**
+     * {@link Long} value of the total auto focus wait in nanoseconds
+     */
+    private final long totalWait;
+
+    /**
+     * Constructor which provide the create of the {@link GCFocusStats} with parameters
+     *
+     * @param shotCount    {@link Integer} value of the shots with the auto focus
+     * @param skippedCount {@link Integer} value of the shots which skipped the cycle
+     * @param timeoutCount {@link Integer} value of the timed out cycles
+     * @param lastWait     {@link Long} value of the wait of the last shot
+     * @param maxWait      {@link Long} value of the maximal wait
+     * @param totalWait    {@link Long} value of the total wait
+     */
+    public GCFocusStats(int shotCount,
+                        int skippedCount,
+                        int timeoutCount,
+                        long lastWait,
+                        long maxWait,
+                        long totalWait) {
+        this.shotCount = shotCount;
+        this.skippedCount = skippedCount;
+        this.timeoutCount = timeoutCount;
+        this.lastWait = lastWait;
+        this.maxWait = maxWait;
+        this.totalWait = totalWait;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the shots
+     *
+     * @return {@link Integer} value of the shots which were captured with the auto focus
+     */
+    public int getShotCount() {
+        return shotCount;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the skipped cycles
+     *
+     * @return {@link Integer} value of the shots which skipped the auto focus cycle
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the timed out cycles
+     *
+     * @return {@link Integer} value of the timed out cycles
+     */
+    public int getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * Method which provide the getting of the auto focus wait of the last shot
+     *
+     * @return {@link Long} value of the wait in nanoseconds
+     */
+    public long getLastWait() {
+        return lastWait;
+    }
+
+    /**
+     * Method which provide the getting of the maximal auto focus wait
+     *
+     * @return {@link Long} value of the maximal wait in nanoseconds
+     */
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Method which provide the getting of the total auto focus wait
+     *
+     * @return {@link Long} value of the total wait in nanoseconds
+     */
+    public long getTotalWait() {
+        return totalWait;
+    }
+
+    /**
+     * Method which provide the getting of the average auto focus wait
+     *
+     * @return {@link Long} value of the average wait in nanoseconds
+     */
+    public long getAverageWait() {
+        return (shotCount > 0) ? totalWait / shotCount : 0;
+    }
+
+    /**
+     * Method which provide the converting the {@link GCFocusStats} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    public String toString() {
+        return "focus " + shotCount + " shots (" + skippedCount + " skipped, "
+                + timeoutCount + " timed out), wait last " + (lastWait / 1000000)
+                + "ms, avg " + (getAverageWait() / 1000000)
+                + "ms, max " + (maxWait / 1000000) + "ms";
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.artlite.cameraview.models;
+
+/**
+ * Immutable class which provide the latency percentiles of the recent captures
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCLatencyPercentiles {
+
+    /**
+     * {@link Integer} value of the samples count
+     */
+    private final int count;
+
+    /**
+     * {@link Long} value of the median latency in nanoseconds
+     */
+    private final long p50;
+
+    /**
+     * {@link Long} value of the 95th percentile latency in nanoseconds
+     */
+    private final long p95;
+
+    /**
+     * {@link Long} value of the 99th percentile latency in nanoseconds
+     */
+    private final long p99;
+
+    /**
+     * Constructor which provide the create of the {@link GCLatencyPercentiles} with parameters
+     *
+     * @param count {@link Integer} value of the samples count
+     * @param p50   {@link Long} value of the median latency
+     * @param p95   {@link Long} value of the 95th percentile latency
+     * @param p99   {@link Long} value of the 99th percentile latency
+     */
+    public GCLatencyPercentiles(int count, long p50, long p95, long p99) {
+        this.count = count;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the samples count
+     *
+     * @return {@link Integer} value of the samples count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Method which provide the getting of the median latency
+     *
+     * @return {@link Long} value of the median latency in nanoseconds
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Method which provide the getting of the 95th percentile latency
+     *
+     * @return {@link Long} value of the 95th percentile latency in nanoseconds
+     */
+    public long getP95() {
+        return p95;
+    }
+
+    /**
+     * Method which provide the getting of the 99th percentile latency
+     *
+     * @return {@link Long} value of the 99th percentile latency in nanoseconds
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Method which provide the converting the {@link GCLatencyPercentiles} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    public String toString() {
+        return "GCLatencyPercentiles{count=" + count + ", p50=" + p50 / 1000000f
+                + "ms, p95=" + p95 / 1000000f + "ms, p99=" + p99 / 1000000f + "ms}";
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.artlite.cameraview.models;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Immutable class which provide the result and the latency of the camera open attempt
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCOpenAttempt {
+
+    /**
+     * {@link Integer} constant of the opened camera
+     */
+    public static final int RESULT_OPENED = 0;
+
+    /**
+     * {@link Integer} constant of the failed open
+     */
+    public static final int RESULT_FAILED = 1;
+
+    /**
+     * {@link Integer} constant of the open which returned after the timeout (the camera is
+     * released and the open is retried)
+     */
+    public static final int RESULT_TIMEOUT = 2;
+
+    /**
+     * {@link Integer} value of the camera ID
+     */
+    private final int cameraId;
+
+    /**
+     * {@link Integer} value of the attempt number (from 1)
+     */
+    private final int attempt;
+
+    /**
+     * {@link Long} value of the open latency in nanoseconds
+     */
+    private final long latency;
+
+    /**
+     * {@link Integer} value of the result
+     */
+    private final int result;
+
+    /**
+     * Instance of the {@link Exception} of the failed open
+     */
+    private final Exception error;
+
+    /**
+     * Constructor which provide the create of the {@link GCOpenAttempt} with parameters
+     *
+     * @param cameraId {@link Integer} value of the camera ID
+     * @param attempt  {@link Integer} value of the attempt number (from 1)
+     * @param latency  {@link Long} value of the open latency in nanoseconds
+     * @param result   {@link Integer} value of the result
+     * @param error    instance of the {@link Exception} of the failed open
+     */
+    public GCOpenAttempt(int cameraId,
+                         int attempt,
+                         long latency,
+                         int result,
+                         @Nullable Exception error) {
+        this.cameraId = cameraId;
+        this.attempt = attempt;
+        this.latency = latency;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the camera ID
+     *
+     * @return {@link Integer} value of the camera ID
+     */
+    public int getCameraId() {
+        return cameraId;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the attempt number
+     *
+     * @return {@link Integer} value of the attempt number (from 1)
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the open latency
+     *
+     * @return {@link Long} value of the open latency in nanoseconds
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the result
+     *
+     * @return {@link Integer} value of the result
+     */
+    public int getResult() {
+        return result;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Exception} of the failed open
+     *
+     * @return instance of the {@link Exception} or null
+     */
+    @Nullable
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Method which provide the converting the {@link GCOpenAttempt} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    public String toString() {
+        final String[] results = {"opened", "failed", "timeout"};
+        return "camera " + cameraId + " open #" + attempt + " " + results[result]
+                + " in " + (latency / 1000000) + "ms"
+                + ((error != null) ? " (" + error.getMessage() + ")" : "");
+    }
+
+}
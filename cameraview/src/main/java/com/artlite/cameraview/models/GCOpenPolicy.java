@@ -0,0 +1,99 @@
+package com.artlite.cameraview.models;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Immutable class which provide the policy of the supervised camera open (the attempt timeout
+ * and the bounded retries with the exponential backoff)
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCOpenPolicy {
+
+    /**
+     * Instance of the default {@link GCOpenPolicy}
+     */
+    public static final GCOpenPolicy DEFAULT = new GCOpenPolicy(3000, 3, 250);
+
+    /**
+     * {@link Long} value of the attempt timeout (milliseconds)
+     */
+    private final long timeout;
+
+    /**
+     * {@link Integer} value of the maximal attempts count
+     */
+    private final int maxAttempts;
+
+    /**
+     * {@link Long} value of the backoff before the first retry (milliseconds, it is doubled
+     * for every next retry)
+     */
+    private final long initialBackoff;
+
+    /**
+     * Constructor which provide the create of the {@link GCOpenPolicy} with parameters
+     *
+     * @param timeout        {@link Long} value of the attempt timeout (milliseconds)
+     * @param maxAttempts    {@link Integer} value of the maximal attempts count
+     * @param initialBackoff {@link Long} value of the first retry backoff (milliseconds)
+     */
+    public GCOpenPolicy(long timeout, int maxAttempts, long initialBackoff) {
+        if ((timeout <= 0) || (maxAttempts <= 0) || (initialBackoff < 0)) {
+            throw new IllegalArgumentException("Invalid open policy: " + timeout + " ms, "
+                    + maxAttempts + " attempts, backoff " + initialBackoff + " ms");
+        }
+        this.timeout = timeout;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the attempt timeout
+     *
+     * @return {@link Long} value of the attempt timeout (milliseconds)
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the maximal attempts
+     *
+     * @return {@link Integer} value of the maximal attempts count
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Long} value of the first retry backoff
+     *
+     * @return {@link Long} value of the first retry backoff (milliseconds)
+     */
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    /**
+     * Method which provide the getting of the backoff before the retry
+     *
+     * @param attempt {@link Integer} value of the failed attempt (from 1)
+     * @return {@link Long} value of the backoff (milliseconds)
+     */
+    public long getBackoff(int attempt) {
+        return initialBackoff << Math.min(attempt - 1, 16);
+    }
+
+    /**
+     * Method which provide the converting the {@link GCOpenPolicy} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return "GCOpenPolicy{timeout=" + timeout + "ms, attempts=" + maxAttempts
+                + ", backoff=" + initialBackoff + "ms}";
+    }
+
+}
@@ -0,0 +1,407 @@
+package com.artlite.cameraview.persistence;
+
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCCameraCapabilities;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Class which provide the persistent on-disk store of the {@link GCCameraCapabilities}
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The file is the compact versioned binary: magic, version, build fingerprint and the list of
+ * the cameras (ID, facing, orientation, sizes, focus and flash modes, FPS ranges). It is read
+ * with the memory-mapped {@link FileChannel} and written to the temporary file which is renamed
+ * over the previous one. The file written with the other build fingerprint is discarded.
+ */
+public class GCCapabilitiesStore {
+
+    /**
+     * {@link String} constants of the TAG
+     */
+    private static final String TAG = GCCapabilitiesStore.class.getSimpleName();
+
+    /**
+     * {@link Integer} constant of the file magic ("GCCC")
+     */
+    private static final int MAGIC = 0x47434343;
+
+    /**
+     * {@link Integer} constant of the file format version
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * {@link Integer} constant of the maximal sane count of the file entries
+     */
+    private static final int MAX_ENTRIES = 4096;
+
+    /**
+     * {@link String} constant of the temporary file extension
+     */
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    /**
+     * Instance of the {@link Charset}
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Instance of the {@link File}
+     */
+    private final File file;
+
+    /**
+     * {@link String} value of the build fingerprint
+     */
+    private final String fingerprint;
+
+    /**
+     * Constructor which provide the create of the {@link GCCapabilitiesStore} for current build
+     *
+     * @param file instance of the {@link File}
+     */
+    public GCCapabilitiesStore(@NonNull File file) {
+        this(file, Build.FINGERPRINT);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCCapabilitiesStore} with parameters
+     *
+     * @param file        instance of the {@link File}
+     * @param fingerprint {@link String} value of the build fingerprint
+     */
+    public GCCapabilitiesStore(@NonNull File file, @Nullable String fingerprint) {
+        this.file = file;
+        this.fingerprint = (fingerprint == null) ? "" : fingerprint;
+    }
+
+    /**
+     * Method which provide the getting of the {@link File}
+     *
+     * @return instance of the {@link File}
+     */
+    @NonNull
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Method which provide the loading of the {@link GCCameraCapabilities}. The missing, corrupted
+     * or written with the other build fingerprint file is deleted.
+     *
+     * @return {@link List} of the {@link GCCameraCapabilities} (empty if nothing was stored)
+     */
+    @NonNull
+    public List<GCCameraCapabilities> load() {
+        if (!file.isFile()) {
+            return Collections.emptyList();
+        }
+        FileInputStream stream = null;
+        try {
+            stream = new FileInputStream(file);
+            final FileChannel channel = stream.getChannel();
+            final MappedByteBuffer buffer =
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final List<GCCameraCapabilities> result = read(buffer);
+            if (result != null) {
+                return result;
+            }
+        } catch (IOException | RuntimeException exception) {
+            Log.w(TAG, "load: ", exception);
+        } finally {
+            close(stream);
+        }
+        invalidate();
+        return Collections.emptyList();
+    }
+
+    /**
+     * Method which provide the saving of the {@link GCCameraCapabilities}
+     *
+     * @param capabilities {@link Collection} of the {@link GCCameraCapabilities}
+     * @return {@link Boolean} value if it saved
+     */
+    public boolean save(@NonNull Collection<GCCameraCapabilities> capabilities) {
+        final ByteBuffer buffer = write(capabilities);
+        final File directory = file.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            return false;
+        }
+        final File temp = new File(file.getPath() + TEMP_EXTENSION);
+        FileOutputStream stream = null;
+        try {
+            stream = new FileOutputStream(temp);
+            final FileChannel channel = stream.getChannel();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException exception) {
+            Log.w(TAG, "save: ", exception);
+            close(stream);
+            temp.delete();
+            return false;
+        }
+        close(stream);
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method which provide the deleting of the stored file
+     */
+    public void invalidate() {
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "invalidate: unable to delete " + file);
+        }
+    }
+
+    /**
+     * Method which provide the reading of the {@link GCCameraCapabilities} from the buffer
+     *
+     * @param buffer instance of the {@link ByteBuffer}
+     * @return {@link List} of the {@link GCCameraCapabilities} or null if the file is stale
+     */
+    @Nullable
+    private List<GCCameraCapabilities> read(@NonNull ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            if (!fingerprint.equals(readString(buffer))) {
+                return null;
+            }
+            final int count = readCount(buffer);
+            final List<GCCameraCapabilities> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final int cameraId = buffer.getInt();
+                final int facing = buffer.getInt();
+                final int orientation = buffer.getInt();
+                final List<GCSize> previewSizes = readSizes(buffer);
+                final List<GCSize> pictureSizes = readSizes(buffer);
+                final List<String> focusModes = readStrings(buffer);
+                final List<String> flashModes = readStrings(buffer);
+                final int rangeCount = readCount(buffer);
+                final List<int[]> fpsRanges = new ArrayList<>(rangeCount);
+                for (int j = 0; j < rangeCount; j++) {
+                    fpsRanges.add(new int[]{buffer.getInt(), buffer.getInt()});
+                }
+                result.add(new GCCameraCapabilities(cameraId, facing, orientation,
+                        previewSizes, pictureSizes, focusModes, flashModes, fpsRanges));
+            }
+            return result;
+        } catch (BufferUnderflowException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Method which provide the writing of the {@link GCCameraCapabilities} to the buffer
+     *
+     * @param capabilities {@link Collection} of the {@link GCCameraCapabilities}
+     * @return instance of the {@link ByteBuffer} ready for the reading
+     */
+    @NonNull
+    private ByteBuffer write(@NonNull Collection<GCCameraCapabilities> capabilities) {
+        final List<GCCameraCapabilities> values = new ArrayList<>(capabilities);
+        final List<List<GCSize>> previewSizes = new ArrayList<>(values.size());
+        final List<List<GCSize>> pictureSizes = new ArrayList<>(values.size());
+        final byte[] fingerprintBytes = fingerprint.getBytes(UTF_8);
+        int size = 4 + 4 + 2 + fingerprintBytes.length + 4;
+        for (GCCameraCapabilities value : values) {
+            final List<GCSize> preview = new ArrayList<>();
+            for (GCAspectRatio ratio : value.getPreviewAspectRatios()) {
+                preview.addAll(sizesOf(value.getPreviewSizes(ratio)));
+            }
+            final List<GCSize> picture = new ArrayList<>();
+            for (GCAspectRatio ratio : value.getPictureAspectRatios()) {
+                picture.addAll(sizesOf(value.getPictureSizes(ratio)));
+            }
+            previewSizes.add(preview);
+            pictureSizes.add(picture);
+            size += 4 * 3;
+            size += 4 + preview.size() * 8;
+            size += 4 + picture.size() * 8;
+            size += sizeOf(value.getFocusModes());
+            size += sizeOf(value.getFlashModes());
+            size += 4 + value.getFpsRanges().size() * 8;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putShort((short) fingerprintBytes.length);
+        buffer.put(fingerprintBytes);
+        buffer.putInt(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            final GCCameraCapabilities value = values.get(i);
+            buffer.putInt(value.getCameraId());
+            buffer.putInt(value.getFacing());
+            buffer.putInt(value.getOrientation());
+            writeSizes(buffer, previewSizes.get(i));
+            writeSizes(buffer, pictureSizes.get(i));
+            writeStrings(buffer, value.getFocusModes());
+            writeStrings(buffer, value.getFlashModes());
+            buffer.putInt(value.getFpsRanges().size());
+            for (int[] range : value.getFpsRanges()) {
+                buffer.putInt(range[0]);
+                buffer.putInt(range[1]);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Method which provide the reading of the entries count
+     *
+     * @param buffer instance of the {@link ByteBuffer}
+     * @return {@link Integer} value of the count
+     */
+    private static int readCount(@NonNull ByteBuffer buffer) {
+        final int count = buffer.getInt();
+        if (count < 0 || count > MAX_ENTRIES) {
+            throw new BufferUnderflowException();
+        }
+        return count;
+    }
+
+    /**
+     * Method which provide the reading of the {@link List} of the {@link GCSize}
+     *
+     * @param buffer instance of the {@link ByteBuffer}
+     * @return {@link List} of the {@link GCSize}
+     */
+    @NonNull
+    private static List<GCSize> readSizes(@NonNull ByteBuffer buffer) {
+        final int count = readCount(buffer);
+        final List<GCSize> sizes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sizes.add(new GCSize(buffer.getInt(), buffer.getInt()));
+        }
+        return sizes;
+    }
+
+    /**
+     * Method which provide the writing of the {@link List} of the {@link GCSize}
+     *
+     * @param buffer instance of the {@link ByteBuffer}
+     * @param sizes  {@link List} of the {@link GCSize}
+     */
+    private static void writeSizes(@NonNull ByteBuffer buffer, @NonNull List<GCSize> sizes) {
+        buffer.putInt(sizes.size());
+        for (GCSize size : sizes) {
+            buffer.putInt(size.getWidth());
+            buffer.putInt(size.getHeight());
+        }
+    }
+
+    /**
+     * Method which provide the reading of the {@link List} of the {@link String}
+     *
+     * @param buffer instance of the {@link ByteBuffer}
+     * @return {@link List} of the {@link String}
+     */
+    @NonNull
+    private static List<String> readStrings(@NonNull ByteBuffer buffer) {
+        final int count = readCount(buffer);
+        final List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+
+    /**
+     * Method which provide the writing of the {@link List} of the {@link String}
+     *
+     * @param buffer instance of the {@link ByteBuffer}
+     * @param values {@link List} of the {@link String}
+     */
+    private static void writeStrings(@NonNull ByteBuffer buffer, @NonNull List<String> values) {
+        buffer.putInt(values.size());
+        for (String value : values) {
+            final byte[] bytes = value.getBytes(UTF_8);
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Method which provide the reading of the {@link String}
+     *
+     * @param buffer instance of the {@link ByteBuffer}
+     * @return {@link String} value
+     */
+    @NonNull
+    private static String readString(@NonNull ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Method which provide the getting of the size of the {@link List} of the {@link String}
+     *
+     * @param values {@link List} of the {@link String}
+     * @return {@link Integer} value of the size in bytes
+     */
+    private static int sizeOf(@NonNull List<String> values) {
+        int size = 4;
+        for (String value : values) {
+            size += 2 + value.getBytes(UTF_8).length;
+        }
+        return size;
+    }
+
+    /**
+     * Method which provide the getting of the {@link List} of the {@link GCSize}
+     *
+     * @param sizes {@link SortedSet} of the {@link GCSize}
+     * @return {@link List} of the {@link GCSize}
+     */
+    @NonNull
+    private static List<GCSize> sizesOf(@Nullable SortedSet<GCSize> sizes) {
+        return (sizes == null) ? Collections.<GCSize>emptyList() : new ArrayList<>(sizes);
+    }
+
+    /**
+     * Method which provide the closing of the {@link Closeable}
+     *
+     * @param closeable instance of the {@link Closeable}
+     */
+    private static void close(@Nullable Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException exception) {
+            Log.w(TAG, "close: ", exception);
+        }
+    }
+
+}
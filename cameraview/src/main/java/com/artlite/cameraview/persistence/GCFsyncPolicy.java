@@ -0,0 +1,24 @@
+package com.artlite.cameraview.persistence;
+
+/**
+ * Enum which provide the fsync policy of the {@link GCPersistenceEngine}
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public enum GCFsyncPolicy {
+
+    /**
+     * The file isn't synced, the OS flushes it later (fastest, photo could be lost on power loss)
+     */
+    NONE,
+
+    /**
+     * The file content is synced before the rename ({@code FileChannel.force(false)})
+     */
+    DATA,
+
+    /**
+     * The file content and metadata are synced before the rename ({@code FileChannel.force(true)})
+     */
+    DATA_AND_METADATA
+
+}
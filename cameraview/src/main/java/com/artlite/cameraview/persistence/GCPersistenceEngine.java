@@ -0,0 +1,481 @@
+package com.artlite.cameraview.persistence;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.exif.GCExifWriter;
+import com.artlite.cameraview.metrics.GCCaptureTimeline;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class which provide the bounded and pipelined persistence of the captured photos
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * Every photo is written with the {@link FileChannel} to the temporary file in the target
+ * directory, synced according to the {@link GCFsyncPolicy} and atomically renamed to the final
+ * name. When the {@link GCCaptureMetadata} is provided the Exif segment is spliced with the
+ * gathering write, so the image data is written from the captured array without the copying.
+ * The amount of the pending photos is bounded, {@link #save} returns {@code false} and the
+ * {@link OnBackPressureListener} is notified when the engine is saturated.
+ */
+public class GCPersistenceEngine {
+
+    /**
+     * {@link Integer} constant of the default parallelism
+     */
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    /**
+     * {@link Integer} constant of the default pending photos limit
+     */
+    public static final int DEFAULT_MAX_PENDING = 4;
+
+    /**
+     * {@link String} constant of the file prefix
+     */
+    private static final String FILE_PREFIX = "photo_";
+
+    /**
+     * {@link String} constant of the file extension
+     */
+    private static final String FILE_EXTENSION = ".jpg";
+
+    /**
+     * {@link String} constant of the temporary file extension
+     */
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    /**
+     * Callback which provide the result of the photo saving
+     */
+    public interface Callback {
+
+        /**
+         * Method which provide the action when the photo was saved
+         *
+         * @param file instance of the {@link File}
+         */
+        void onPhotoSaved(@NonNull File file);
+
+        /**
+         * Method which provide the action when the photo saving was failed
+         *
+         * @param exception instance of the {@link Exception}
+         */
+        void onPhotoFailed(@NonNull Exception exception);
+
+    }
+
+    /**
+     * Listener which provide the back-pressure signalling to the capture side (it is called
+     * on the saving or the writer thread under the engine lock, so it shouldn't block)
+     */
+    public interface OnBackPressureListener {
+
+        /**
+         * Method which provide the action when the saturation was changed
+         *
+         * @param isSaturated {@link Boolean} value if the engine is saturated
+         */
+        void onBackPressureChanged(boolean isSaturated);
+
+    }
+
+    /**
+     * Instance of the {@link File} of the target directory
+     */
+    private final File directory;
+
+    /**
+     * {@link Integer} value of the pending photos limit (queued and writing)
+     */
+    private final int maxPending;
+
+    /**
+     * Instance of the {@link GCFsyncPolicy}
+     */
+    private final GCFsyncPolicy fsyncPolicy;
+
+    /**
+     * Instance of the {@link ExecutorService}
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Instance of the {@link AtomicInteger} with pending photos count
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Instance of the {@link AtomicLong} with the file sequence
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * {@link Boolean} value if the target directory was resolved
+     */
+    private volatile boolean isDirectoryReady;
+
+    /**
+     * {@link Boolean} value if the engine is saturated
+     */
+    private boolean isSaturated;
+
+    /**
+     * Array of the {@link OnBackPressureListener} (guarded by the engine lock)
+     */
+    private OnBackPressureListener[] backPressureListeners = new OnBackPressureListener[0];
+
+    /**
+     * Instance of the {@link GCExifWriter} (created on the first use)
+     */
+    private volatile GCExifWriter exifWriter;
+
+    /**
+     * Constructor which provide the create of the {@link GCPersistenceEngine} with default values
+     *
+     * @param directory instance of the {@link File} of the target directory
+     */
+    public GCPersistenceEngine(@NonNull File directory) {
+        this(directory, DEFAULT_PARALLELISM, DEFAULT_MAX_PENDING, GCFsyncPolicy.DATA);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCPersistenceEngine} with parameters
+     *
+     * @param directory   instance of the {@link File} of the target directory
+     * @param parallelism {@link Integer} value of the parallel writes
+     * @param maxPending  {@link Integer} value of the pending photos limit
+     * @param fsyncPolicy instance of the {@link GCFsyncPolicy}
+     */
+    public GCPersistenceEngine(@NonNull File directory,
+                               int parallelism,
+                               int maxPending,
+                               @NonNull GCFsyncPolicy fsyncPolicy) {
+        if ((parallelism <= 0) || (maxPending < parallelism)) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism
+                    + " or pending limit: " + maxPending);
+        }
+        this.directory = directory;
+        this.maxPending = maxPending;
+        this.fsyncPolicy = fsyncPolicy;
+        final AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                final Thread thread = new Thread(runnable,
+                        "GCPersistenceEngine-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Method which provide the adding of the {@link OnBackPressureListener}
+     *
+     * @param listener instance of the {@link OnBackPressureListener}
+     */
+    public synchronized void addOnBackPressureListener(@NonNull OnBackPressureListener listener) {
+        for (OnBackPressureListener item : backPressureListeners) {
+            if (item == listener) {
+                return;
+            }
+        }
+        final OnBackPressureListener[] listeners =
+                new OnBackPressureListener[backPressureListeners.length + 1];
+        System.arraycopy(backPressureListeners, 0, listeners, 0, backPressureListeners.length);
+        listeners[backPressureListeners.length] = listener;
+        backPressureListeners = listeners;
+    }
+
+    /**
+     * Method which provide the removing of the {@link OnBackPressureListener}
+     *
+     * @param listener instance of the {@link OnBackPressureListener}
+     */
+    public synchronized void removeOnBackPressureListener(
+            @NonNull OnBackPressureListener listener) {
+        final OnBackPressureListener[] current = backPressureListeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                final OnBackPressureListener[] listeners =
+                        new OnBackPressureListener[current.length - 1];
+                System.arraycopy(current, 0, listeners, 0, i);
+                System.arraycopy(current, i + 1, listeners, i, current.length - i - 1);
+                backPressureListeners = listeners;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method which provide the checking if the engine is saturated (new photos are rejected)
+     *
+     * @return {@link Boolean} value if the engine is saturated
+     */
+    public boolean isSaturated() {
+        return pending.get() >= maxPending;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Integer} value of the pending photos
+     *
+     * @return {@link Integer} value of the pending photos
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Method which provide the getting of the target directory
+     *
+     * @return instance of the {@link File}
+     */
+    @NonNull
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Method which provide the saving of the photo
+     *
+     * @param data     array of the {@link Byte} with JPEG data
+     * @param executor instance of the {@link Executor} for the callback delivering
+     * @param callback instance of the {@link Callback}
+     * @return {@link Boolean} value if the photo was accepted ({@code false} if saturated)
+     */
+    public boolean save(@NonNull final byte[] data,
+                        @NonNull final Executor executor,
+                        @NonNull final Callback callback) {
+        return save(data, null, executor, callback);
+    }
+
+    /**
+     * Method which provide the saving of the photo with the Exif metadata
+     *
+     * @param data     array of the {@link Byte} with JPEG data
+     * @param metadata instance of the {@link GCCaptureMetadata} (null to write the data as is)
+     * @param executor instance of the {@link Executor} for the callback delivering
+     * @param callback instance of the {@link Callback}
+     * @return {@link Boolean} value if the photo was accepted ({@code false} if saturated)
+     */
+    public boolean save(@NonNull final byte[] data,
+                        @Nullable final GCCaptureMetadata metadata,
+                        @NonNull final Executor executor,
+                        @NonNull final Callback callback) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            return false;
+        }
+        updateBackPressure();
+        try {
+            this.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    File file = null;
+                    Exception error = null;
+                    try {
+                        file = (metadata != null) ? write(data, metadata) : write(data);
+                    } catch (Exception ex) {
+                        error = ex;
+                    } finally {
+                        pending.decrementAndGet();
+                        updateBackPressure();
+                    }
+                    deliver(executor, callback, file, error);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.decrementAndGet();
+            updateBackPressure();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method which provide the writing of the photo (worker thread)
+     *
+     * @param data array of the {@link Byte} with JPEG data
+     * @return instance of the {@link File}
+     * @throws IOException when the photo can't be written
+     */
+    @NonNull
+    protected File write(@NonNull byte[] data) throws IOException {
+        return write(data, null);
+    }
+
+    /**
+     * Method which provide the writing of the photo with the Exif metadata (worker thread)
+     *
+     * @param data     array of the {@link Byte} with JPEG data
+     * @param metadata instance of the {@link GCCaptureMetadata} (null to write the data as is)
+     * @return instance of the {@link File}
+     * @throws IOException when the photo can't be written
+     */
+    @NonNull
+    protected File write(@NonNull byte[] data,
+                         @Nullable GCCaptureMetadata metadata) throws IOException {
+        final GCCaptureTimeline timeline = (metadata != null) ? metadata.getTimeline() : null;
+        if (timeline != null) {
+            timeline.mark(GCCaptureTimeline.STAGE_WRITE_START);
+        }
+        final File directory = resolveDirectory();
+        final long time = System.currentTimeMillis();
+        final File temp = new File(directory, "." + FILE_PREFIX + time + "_"
+                + sequence.incrementAndGet() + TEMP_EXTENSION);
+        FileOutputStream stream;
+        try {
+            stream = new FileOutputStream(temp);
+        } catch (IOException ex) {
+            // Directory could be removed after resolving
+            isDirectoryReady = false;
+            resolveDirectory();
+            stream = new FileOutputStream(temp);
+        }
+        boolean isWritten = false;
+        try {
+            final FileChannel channel = stream.getChannel();
+            if (metadata != null) {
+                getExifWriter().write(data, metadata, channel);
+            } else {
+                final ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            if (fsyncPolicy != GCFsyncPolicy.NONE) {
+                channel.force(fsyncPolicy == GCFsyncPolicy.DATA_AND_METADATA);
+            }
+            isWritten = true;
+        } finally {
+            stream.close();
+            if (!isWritten) {
+                temp.delete();
+            }
+        }
+        // Name selection and rename are atomic between the parallel writers
+        synchronized (directory) {
+            final File file = createTarget(directory, time);
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                throw new IOException("Can't rename " + temp + " to " + file);
+            }
+            if (timeline != null) {
+                timeline.mark(GCCaptureTimeline.STAGE_WRITE_END);
+            }
+            return file;
+        }
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCExifWriter}
+     *
+     * @return instance of the {@link GCExifWriter}
+     */
+    @NonNull
+    private GCExifWriter getExifWriter() {
+        if (exifWriter == null) {
+            exifWriter = new GCExifWriter();
+        }
+        return exifWriter;
+    }
+
+    /**
+     * Method which provide the resolving of the target directory (cached after first success)
+     *
+     * @return instance of the {@link File}
+     * @throws IOException when directory can't be created
+     */
+    @NonNull
+    private File resolveDirectory() throws IOException {
+        if (!isDirectoryReady) {
+            synchronized (directory) {
+                if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+                    throw new IOException("Can't create directory " + directory);
+                }
+                isDirectoryReady = true;
+            }
+        }
+        return directory;
+    }
+
+    /**
+     * Method which provide the creating of the unique target {@link File}
+     *
+     * @param directory instance of the {@link File}
+     * @param time      {@link Long} value of the time
+     * @return instance of the {@link File}
+     */
+    @NonNull
+    private static File createTarget(@NonNull File directory, long time) {
+        File file = new File(directory, FILE_PREFIX + time + FILE_EXTENSION);
+        for (int index = 1; file.exists(); index++) {
+            file = new File(directory, FILE_PREFIX + time + "_" + index + FILE_EXTENSION);
+        }
+        return file;
+    }
+
+    /**
+     * Method which provide the delivering of the result to the {@link Callback}
+     */
+    private static void deliver(@NonNull Executor executor,
+                                @NonNull final Callback callback,
+                                @Nullable final File file,
+                                @Nullable final Exception error) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (file != null) {
+                    callback.onPhotoSaved(file);
+                } else {
+                    callback.onPhotoFailed((error != null) ? error
+                            : new IOException("Photo wasn't saved"));
+                }
+            }
+        });
+    }
+
+    /**
+     * Method which provide the notifying of the {@link OnBackPressureListener} about changes
+     * (the saturation is read, compared and delivered under the same lock, so the racing
+     * completions deliver the transitions in order and the last one matches the state)
+     */
+    private void updateBackPressure() {
+        synchronized (this) {
+            final boolean isSaturated = isSaturated();
+            if (this.isSaturated == isSaturated) {
+                return;
+            }
+            this.isSaturated = isSaturated;
+            for (OnBackPressureListener listener : backPressureListeners) {
+                listener.onBackPressureChanged(isSaturated);
+            }
+        }
+    }
+
+    /**
+     * Method which provide the shutdown of the engine (pending photos are still written)
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.artlite.cameraview.selectors;
+
+import android.annotation.SuppressLint;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCCameraCapabilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Class which provide the size negotiation with the cost model. Every candidate is scored and
+ * the cheapest one wins, the score terms are kept in the {@link GCSizeSelection} explanation.
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * Preview cost: memory bandwidth per NV21 frame (MB), the wasted pixels of the downscale to the
+ * surface and the heavy penalty of the upscale (surface or analysis resolution is not covered).
+ * For the {@link GCSizeRequest#isHighResolutionPreview()} the bandwidth is replaced with the
+ * shortfall to the largest preview (or to the requested megapixels).
+ * <p>
+ * Picture cost: estimated JPEG bytes (MB), the shortfall to the requested megapixels and the
+ * heavy penalty of the exceeding of them. Without the megapixels limit the largest picture wins.
+ */
+@SuppressLint("DefaultLocale")
+public class GCCostModelSizeSelector implements GCSizeSelector {
+
+    /**
+     * {@link Float} constant of the NV21 bytes per pixel
+     */
+    private static final float FRAME_BYTES_PER_PIXEL = 1.5f;
+
+    /**
+     * {@link Float} constant of the estimated JPEG bytes per pixel (quality ~90)
+     */
+    private static final float JPEG_BYTES_PER_PIXEL = 0.3f;
+
+    /**
+     * {@link Float} constant of the bytes in megabyte (and pixels in megapixel)
+     */
+    private static final float MEGA = 1000000f;
+
+    /**
+     * {@link Float} constant of the penalty weight (the not covered requirement)
+     */
+    private static final float PENALTY_WEIGHT = 100f;
+
+    /**
+     * {@link Float} value of the weight of the preview memory bandwidth (per MB of frame)
+     */
+    private final float bandwidthWeight;
+
+    /**
+     * {@link Float} value of the weight of the preview downscale to the surface
+     */
+    private final float scaleWeight;
+
+    /**
+     * {@link Float} value of the weight of the JPEG size (per MB)
+     */
+    private final float jpegWeight;
+
+    /**
+     * {@link Float} value of the weight of the resolution shortfall
+     */
+    private final float resolutionWeight;
+
+    /**
+     * Constructor which provide the create of the {@link GCCostModelSizeSelector} with the
+     * default weights
+     */
+    public GCCostModelSizeSelector() {
+        this(1f, 0.5f, 1f, 10f);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCCostModelSizeSelector} with parameters
+     *
+     * @param bandwidthWeight  {@link Float} value of the weight of the preview bandwidth
+     * @param scaleWeight      {@link Float} value of the weight of the preview downscale
+     * @param jpegWeight       {@link Float} value of the weight of the JPEG size
+     * @param resolutionWeight {@link Float} value of the weight of the resolution shortfall
+     */
+    public GCCostModelSizeSelector(float bandwidthWeight,
+                                   float scaleWeight,
+                                   float jpegWeight,
+                                   float resolutionWeight) {
+        this.bandwidthWeight = bandwidthWeight;
+        this.scaleWeight = scaleWeight;
+        this.jpegWeight = jpegWeight;
+        this.resolutionWeight = resolutionWeight;
+    }
+
+    /**
+     * Method which provide the selecting of the preview and picture sizes
+     *
+     * @param capabilities  instance of the {@link GCCameraCapabilities}
+     * @param ratio         instance of the {@link GCAspectRatio} (supported by the camera)
+     * @param surfaceWidth  {@link Integer} value of the surface width (sensor oriented)
+     * @param surfaceHeight {@link Integer} value of the surface height (sensor oriented)
+     * @param request       instance of the {@link GCSizeRequest}
+     * @return instance of the {@link GCSizeSelection} or null if the ratio has no sizes
+     */
+    @Nullable
+    @Override
+    public GCSizeSelection select(@NonNull GCCameraCapabilities capabilities,
+                                  @NonNull GCAspectRatio ratio,
+                                  int surfaceWidth,
+                                  int surfaceHeight,
+                                  @NonNull GCSizeRequest request) {
+        final SortedSet<GCSize> previewSizes = capabilities.getPreviewSizes(ratio);
+        final SortedSet<GCSize> pictureSizes = capabilities.getPictureSizes(ratio);
+        if (previewSizes == null || previewSizes.isEmpty()
+                || pictureSizes == null || pictureSizes.isEmpty()) {
+            return null;
+        }
+        final List<String> explanation = new ArrayList<>();
+        explanation.add(String.format("surface=%dx%d %s", surfaceWidth, surfaceHeight, request));
+        // Preview
+        final long largestPreview = area(previewSizes.last());
+        GCSize preview = null;
+        float previewCost = Float.MAX_VALUE;
+        for (GCSize size : previewSizes) {
+            final float cost = scorePreview(size, largestPreview, surfaceWidth, surfaceHeight,
+                    request, explanation);
+            if (cost < previewCost) {
+                previewCost = cost;
+                preview = size;
+            }
+        }
+        // Picture
+        final long largest = area(pictureSizes.last());
+        GCSize picture = null;
+        float pictureCost = Float.MAX_VALUE;
+        for (GCSize size : pictureSizes) {
+            final float cost = scorePicture(size, largest, request, explanation);
+            if (cost <= pictureCost) {
+                pictureCost = cost;
+                picture = size;
+            }
+        }
+        return new GCSizeSelection(preview, previewCost, picture, pictureCost, explanation);
+    }
+
+    /**
+     * Method which provide the scoring of the preview candidate
+     *
+     * @param size          instance of the {@link GCSize}
+     * @param largest       {@link Long} value of the largest preview area
+     * @param surfaceWidth  {@link Integer} value of the surface width
+     * @param surfaceHeight {@link Integer} value of the surface height
+     * @param request       instance of the {@link GCSizeRequest}
+     * @param explanation   {@link List} of the explanation lines
+     * @return {@link Float} value of the cost
+     */
+    protected float scorePreview(@NonNull GCSize size,
+                                 long largest,
+                                 int surfaceWidth,
+                                 int surfaceHeight,
+                                 @NonNull GCSizeRequest request,
+                                 @NonNull List<String> explanation) {
+        final float bandwidth = request.isHighResolutionPreview()
+                ? resolutionCost(area(size), largest, request)
+                : bandwidthWeight * area(size) * FRAME_BYTES_PER_PIXEL / MEGA;
+        float scale = 0f;
+        if (surfaceWidth > 0 && surfaceHeight > 0) {
+            final float upscale = upscale(size, surfaceWidth, surfaceHeight);
+            scale = (upscale > 1f)
+                    ? PENALTY_WEIGHT * (upscale - 1f)
+                    : scaleWeight * (1f / upscale - 1f);
+        }
+        float analysis = 0f;
+        if (request.getAnalysisWidth() > 0 || request.getAnalysisHeight() > 0) {
+            final float upscale = upscale(size, request.getAnalysisWidth(),
+                    request.getAnalysisHeight());
+            if (upscale > 1f) {
+                analysis = PENALTY_WEIGHT * (upscale - 1f);
+            }
+        }
+        final float cost = bandwidth + scale + analysis;
+        explanation.add(String.format("preview %s cost=%.2f [bandwidth=%.2f scale=%.2f " +
+                "analysis=%.2f]", size, cost, bandwidth, scale, analysis));
+        return cost;
+    }
+
+    /**
+     * Method which provide the scoring of the picture candidate
+     *
+     * @param size        instance of the {@link GCSize}
+     * @param largest     {@link Long} value of the largest picture area
+     * @param request     instance of the {@link GCSizeRequest}
+     * @param explanation {@link List} of the explanation lines
+     * @return {@link Float} value of the cost
+     */
+    protected float scorePicture(@NonNull GCSize size,
+                                 long largest,
+                                 @NonNull GCSizeRequest request,
+                                 @NonNull List<String> explanation) {
+        final long area = area(size);
+        final float jpeg = (request.getMaxPictureMegapixels() > 0f)
+                ? jpegWeight * area * JPEG_BYTES_PER_PIXEL / MEGA
+                : 0f;
+        final float resolution = resolutionCost(area, largest, request);
+        final float cost = jpeg + resolution;
+        explanation.add(String.format("picture %s cost=%.2f [jpeg=%.2f resolution=%.2f]",
+                size, cost, jpeg, resolution));
+        return cost;
+    }
+
+    /**
+     * Method which provide the getting of the resolution cost (the shortfall to the requested
+     * megapixels and the penalty of the exceeding of them, or the shortfall to the largest size)
+     *
+     * @param area    {@link Long} value of the area
+     * @param largest {@link Long} value of the largest area
+     * @param request instance of the {@link GCSizeRequest}
+     * @return {@link Float} value of the cost
+     */
+    private float resolutionCost(long area, long largest, @NonNull GCSizeRequest request) {
+        final float limit = request.getMaxPictureMegapixels() * MEGA;
+        if (limit > 0f) {
+            return (area > limit)
+                    ? PENALTY_WEIGHT * (area / limit - 1f)
+                    : resolutionWeight * (1f - area / limit);
+        }
+        // Unlimited, the largest size is preferred
+        return resolutionWeight * (1f - (float) area / largest);
+    }
+
+    /**
+     * Method which provide the getting of the upscale factor of the size to the target
+     *
+     * @param size   instance of the {@link GCSize}
+     * @param width  {@link Integer} value of the target width
+     * @param height {@link Integer} value of the target height
+     * @return {@link Float} value of the upscale factor (less than 1 for the downscale)
+     */
+    private static float upscale(@NonNull GCSize size, int width, int height) {
+        return Math.max((float) width / size.getWidth(), (float) height / size.getHeight());
+    }
+
+    /**
+     * Method which provide the getting of the area of the {@link GCSize}
+     *
+     * @param size instance of the {@link GCSize}
+     * @return {@link Long} value of the area
+     */
+    private static long area(@NonNull GCSize size) {
+        return (long) size.getWidth() * size.getHeight();
+    }
+
+}
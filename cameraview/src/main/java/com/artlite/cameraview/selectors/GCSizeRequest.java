@@ -0,0 +1,147 @@
+package com.artlite.cameraview.selectors;
+
+import android.annotation.SuppressLint;
+
+/**
+ * Immutable class which provide the requirements of the preview and picture size negotiation
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCSizeRequest {
+
+    /**
+     * Instance of the default {@link GCSizeRequest} (largest picture, preview covers the surface)
+     */
+    public static final GCSizeRequest DEFAULT = new GCSizeRequest(0f, 0, 0, false);
+
+    /**
+     * {@link Float} value of the maximal picture megapixels (0 if unlimited)
+     */
+    private final float maxPictureMegapixels;
+
+    /**
+     * {@link Integer} value of the minimal analysis width of the preview frames (sensor oriented)
+     */
+    private final int analysisWidth;
+
+    /**
+     * {@link Integer} value of the minimal analysis height of the preview frames (sensor oriented)
+     */
+    private final int analysisHeight;
+
+    /**
+     * {@link Boolean} value if the largest preview is preferred (zero shutter lag capture)
+     */
+    private final boolean isHighResolutionPreview;
+
+    /**
+     * Constructor which provide the create of the {@link GCSizeRequest} with parameters
+     *
+     * @param maxPictureMegapixels {@link Float} value of the maximal picture megapixels
+     *                             (0 if unlimited)
+     * @param analysisWidth        {@link Integer} value of the minimal analysis width (0 if none)
+     * @param analysisHeight       {@link Integer} value of the minimal analysis height (0 if none)
+     */
+    public GCSizeRequest(float maxPictureMegapixels, int analysisWidth, int analysisHeight) {
+        this(maxPictureMegapixels, analysisWidth, analysisHeight, false);
+    }
+
+    /**
+     * Constructor which provide the create of the {@link GCSizeRequest} with parameters
+     *
+     * @param maxPictureMegapixels    {@link Float} value of the maximal picture megapixels
+     *                                (0 if unlimited)
+     * @param analysisWidth           {@link Integer} value of the minimal analysis width
+     *                                (0 if none)
+     * @param analysisHeight          {@link Integer} value of the minimal analysis height
+     *                                (0 if none)
+     * @param isHighResolutionPreview {@link Boolean} value if the largest preview is preferred
+     *                                (limited by the maximal picture megapixels)
+     */
+    public GCSizeRequest(float maxPictureMegapixels,
+                         int analysisWidth,
+                         int analysisHeight,
+                         boolean isHighResolutionPreview) {
+        if (maxPictureMegapixels < 0f || analysisWidth < 0 || analysisHeight < 0) {
+            throw new IllegalArgumentException("Invalid size request");
+        }
+        this.maxPictureMegapixels = maxPictureMegapixels;
+        this.analysisWidth = analysisWidth;
+        this.analysisHeight = analysisHeight;
+        this.isHighResolutionPreview = isHighResolutionPreview;
+    }
+
+    /**
+     * Method which provide the create of the {@link GCSizeRequest} with the picture limit
+     *
+     * @param maxPictureMegapixels {@link Float} value of the maximal picture megapixels
+     * @return instance of the {@link GCSizeRequest}
+     */
+    public static GCSizeRequest ofMaxPictureMegapixels(float maxPictureMegapixels) {
+        return new GCSizeRequest(maxPictureMegapixels, 0, 0);
+    }
+
+    /**
+     * Method which provide the create of the copy of the {@link GCSizeRequest} with the
+     * high resolution preview flag
+     *
+     * @param isHighResolutionPreview {@link Boolean} value if the largest preview is preferred
+     * @return instance of the {@link GCSizeRequest}
+     */
+    public GCSizeRequest withHighResolutionPreview(boolean isHighResolutionPreview) {
+        if (this.isHighResolutionPreview == isHighResolutionPreview) {
+            return this;
+        }
+        return new GCSizeRequest(maxPictureMegapixels, analysisWidth, analysisHeight,
+                isHighResolutionPreview);
+    }
+
+    /**
+     * Method which provide the getting of the maximal picture megapixels
+     *
+     * @return {@link Float} value of the maximal picture megapixels (0 if unlimited)
+     */
+    public float getMaxPictureMegapixels() {
+        return maxPictureMegapixels;
+    }
+
+    /**
+     * Method which provide the getting of the minimal analysis width
+     *
+     * @return {@link Integer} value of the minimal analysis width
+     */
+    public int getAnalysisWidth() {
+        return analysisWidth;
+    }
+
+    /**
+     * Method which provide the getting of the minimal analysis height
+     *
+     * @return {@link Integer} value of the minimal analysis height
+     */
+    public int getAnalysisHeight() {
+        return analysisHeight;
+    }
+
+    /**
+     * Method which provide the checking if the largest preview is preferred
+     *
+     * @return {@link Boolean} value if the largest preview is preferred
+     */
+    public boolean isHighResolutionPreview() {
+        return isHighResolutionPreview;
+    }
+
+    /**
+     * Method which provide the converting the {@link GCSizeRequest} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    @SuppressLint("DefaultLocale")
+    public String toString() {
+        return String.format("GCSizeRequest{maxPicture=%.1fMP, analysis=%dx%d, " +
+                        "highResolutionPreview=%b}", maxPictureMegapixels, analysisWidth,
+                analysisHeight, isHighResolutionPreview);
+    }
+
+}
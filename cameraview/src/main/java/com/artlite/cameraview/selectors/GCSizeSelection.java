@@ -0,0 +1,127 @@
+package com.artlite.cameraview.selectors;
+
+import android.support.annotation.NonNull;
+
+import com.artlite.cameraview.constants.GCSize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable class which provide the result of the size negotiation with the explanation of the
+ * candidate scores (for the debugging)
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCSizeSelection {
+
+    /**
+     * Instance of the preview {@link GCSize}
+     */
+    private final GCSize previewSize;
+
+    /**
+     * Instance of the picture {@link GCSize}
+     */
+    private final GCSize pictureSize;
+
+    /**
+     * {@link Float} value of the preview cost
+     */
+    private final float previewCost;
+
+    /**
+     * {@link Float} value of the picture cost
+     */
+    private final float pictureCost;
+
+    /**
+     * {@link List} of the {@link String} which provide the explanation of the scores
+     */
+    private final List<String> explanation;
+
+    /**
+     * Constructor which provide the create of the {@link GCSizeSelection} with parameters
+     *
+     * @param previewSize instance of the preview {@link GCSize}
+     * @param previewCost {@link Float} value of the preview cost
+     * @param pictureSize instance of the picture {@link GCSize}
+     * @param pictureCost {@link Float} value of the picture cost
+     * @param explanation {@link List} of the explanation lines
+     */
+    public GCSizeSelection(@NonNull GCSize previewSize,
+                           float previewCost,
+                           @NonNull GCSize pictureSize,
+                           float pictureCost,
+                           @NonNull List<String> explanation) {
+        this.previewSize = previewSize;
+        this.previewCost = previewCost;
+        this.pictureSize = pictureSize;
+        this.pictureCost = pictureCost;
+        this.explanation = Collections.unmodifiableList(explanation);
+    }
+
+    /**
+     * Method which provide the getting of the preview {@link GCSize}
+     *
+     * @return instance of the preview {@link GCSize}
+     */
+    @NonNull
+    public GCSize getPreviewSize() {
+        return previewSize;
+    }
+
+    /**
+     * Method which provide the getting of the picture {@link GCSize}
+     *
+     * @return instance of the picture {@link GCSize}
+     */
+    @NonNull
+    public GCSize getPictureSize() {
+        return pictureSize;
+    }
+
+    /**
+     * Method which provide the getting of the preview cost
+     *
+     * @return {@link Float} value of the preview cost
+     */
+    public float getPreviewCost() {
+        return previewCost;
+    }
+
+    /**
+     * Method which provide the getting of the picture cost
+     *
+     * @return {@link Float} value of the picture cost
+     */
+    public float getPictureCost() {
+        return pictureCost;
+    }
+
+    /**
+     * Method which provide the getting of the explanation of the every scored candidate
+     *
+     * @return {@link List} of the explanation lines
+     */
+    @NonNull
+    public List<String> getExplanation() {
+        return explanation;
+    }
+
+    /**
+     * Method which provide the converting the {@link GCSizeSelection} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder()
+                .append("GCSizeSelection{preview=").append(previewSize)
+                .append(", picture=").append(pictureSize).append('}');
+        for (String line : explanation) {
+            builder.append('\n').append(line);
+        }
+        return builder.toString();
+    }
+
+}
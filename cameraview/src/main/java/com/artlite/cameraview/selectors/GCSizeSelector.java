@@ -0,0 +1,33 @@
+package com.artlite.cameraview.selectors;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCCameraCapabilities;
+
+/**
+ * Interface which provide the negotiation of the preview and picture sizes
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public interface GCSizeSelector {
+
+    /**
+     * Method which provide the selecting of the preview and picture sizes
+     *
+     * @param capabilities  instance of the {@link GCCameraCapabilities}
+     * @param ratio         instance of the {@link GCAspectRatio} (supported by the camera)
+     * @param surfaceWidth  {@link Integer} value of the surface width (sensor oriented, 0 if
+     *                      the surface is not laid out yet)
+     * @param surfaceHeight {@link Integer} value of the surface height (sensor oriented)
+     * @param request       instance of the {@link GCSizeRequest}
+     * @return instance of the {@link GCSizeSelection} or null if the ratio has no sizes
+     */
+    @Nullable
+    GCSizeSelection select(@NonNull GCCameraCapabilities capabilities,
+                           @NonNull GCAspectRatio ratio,
+                           int surfaceWidth,
+                           int surfaceHeight,
+                           @NonNull GCSizeRequest request);
+
+}
@@ -46,6 +46,11 @@ public class GCTextureViewPreview extends GCBaseAPI {
      */
     private int displayOrientation;
 
+    /**
+     * {@link Boolean} value if the {@link SurfaceTexture} is retained
+     */
+    private boolean isSurfaceTextureRetained;
+
     /**
      * Constructor which provide to create {@link GCTextureViewPreview} with parameters
      *
@@ -75,7 +80,7 @@ public class GCTextureViewPreview extends GCBaseAPI {
             @Override
             public boolean onSurfaceTextureDestroyed(SurfaceTexture surface) {
                 setSize(0, 0);
-                return true;
+                return !isSurfaceTextureRetained;
             }
 
             @Override
@@ -116,6 +121,34 @@ public class GCTextureViewPreview extends GCBaseAPI {
         return textureView.getSurfaceTexture();
     }
 
+    /**
+     * Method which provide the retaining of the {@link SurfaceTexture}
+     *
+     * @return instance of the {@link SurfaceTexture} or null if it isn't available
+     */
+    @Override
+    public SurfaceTexture retainSurfaceTexture() {
+        final SurfaceTexture texture = textureView.getSurfaceTexture();
+        isSurfaceTextureRetained = (texture != null);
+        return texture;
+    }
+
+    /**
+     * Method which provide the attaching of the retained {@link SurfaceTexture}
+     *
+     * @param texture instance of the {@link SurfaceTexture}
+     * @return {@link Boolean} value if it attached
+     */
+    @TargetApi(16)
+    @Override
+    public boolean attachSurfaceTexture(Object texture) {
+        if (!(texture instanceof SurfaceTexture) || textureView.isAvailable()) {
+            return false;
+        }
+        textureView.setSurfaceTexture((SurfaceTexture) texture);
+        return true;
+    }
+
     /**
      * Method which provide the getting of the {@link View}
      *
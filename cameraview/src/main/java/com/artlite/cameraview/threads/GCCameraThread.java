@@ -0,0 +1,139 @@
+package com.artlite.cameraview.threads;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Class which provide the library owned worker looper for the camera I/O
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * All calls into {@link android.hardware.Camera} (open, parameters, preview, capture) are
+ * serialized on this thread, so the UI thread never blocks on the camera HAL. Because the
+ * camera is opened on this looper, the camera callbacks are delivered on it as well.
+ */
+public final class GCCameraThread {
+
+    /**
+     * {@link String} constant of the thread name
+     */
+    private static final String THREAD_NAME = "GCCameraThread";
+
+    /**
+     * Instance of the {@link HandlerThread}
+     */
+    private static HandlerThread thread;
+
+    /**
+     * Instance of the {@link Handler}
+     */
+    private static Handler handler;
+
+    /**
+     * Instance of the {@link Executor} which posts to the camera thread
+     */
+    private static final Executor EXECUTOR = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            GCCameraThread.execute(command);
+        }
+    };
+
+    /**
+     * Private constructor (static helper)
+     */
+    private GCCameraThread() {
+    }
+
+    /**
+     * Method which provide the getting of the {@link Handler} of the camera thread
+     * (the thread is started lazily)
+     *
+     * @return instance of the {@link Handler}
+     */
+    @NonNull
+    public static synchronized Handler getHandler() {
+        if (handler == null) {
+            thread = new HandlerThread(THREAD_NAME, Process.THREAD_PRIORITY_DISPLAY);
+            thread.start();
+            handler = new Handler(thread.getLooper());
+        }
+        return handler;
+    }
+
+    /**
+     * Method which provide the getting of the {@link Looper} of the camera thread
+     *
+     * @return instance of the {@link Looper}
+     */
+    @NonNull
+    public static Looper getLooper() {
+        return getHandler().getLooper();
+    }
+
+    /**
+     * Method which provide the getting of the {@link Executor} of the camera thread
+     *
+     * @return instance of the {@link Executor}
+     */
+    @NonNull
+    public static Executor getExecutor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Method which provide the checking if the current thread is the camera thread
+     *
+     * @return {@link Boolean} value if the current thread is the camera thread
+     */
+    public static boolean isCurrentThread() {
+        return Looper.myLooper() == getLooper();
+    }
+
+    /**
+     * Method which provide the executing of the {@link Runnable} on the camera thread.
+     * When it called from the camera thread the {@link Runnable} will be executed inline.
+     *
+     * @param runnable instance of the {@link Runnable}
+     */
+    public static void execute(@NonNull Runnable runnable) {
+        if (isCurrentThread()) {
+            runnable.run();
+        } else {
+            getHandler().post(runnable);
+        }
+    }
+
+    /**
+     * Method which provide the posting of the {@link Runnable} to the camera thread
+     *
+     * @param runnable instance of the {@link Runnable}
+     */
+    public static void post(@NonNull Runnable runnable) {
+        getHandler().post(runnable);
+    }
+
+    /**
+     * Method which provide the posting of the {@link Runnable} to the camera thread with delay
+     *
+     * @param runnable instance of the {@link Runnable}
+     * @param delay    {@link Long} value of the delay in milliseconds
+     */
+    public static void postDelayed(@NonNull Runnable runnable, long delay) {
+        getHandler().postDelayed(runnable, delay);
+    }
+
+    /**
+     * Method which provide the removing of the pending {@link Runnable} from the camera thread
+     *
+     * @param runnable instance of the {@link Runnable}
+     */
+    public static void remove(@NonNull Runnable runnable) {
+        getHandler().removeCallbacks(runnable);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.artlite.cameraview.threads;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class which provide the coalescing queue of the session commands on the {@link GCCameraThread}
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * Every command is registered once and applies the latest requested state when it runs. While
+ * the command is pending, the next submits of it are coalesced, so the rapid changes (facing,
+ * flash, ratio) result in the single transition to the latest state.
+ */
+public final class GCCommandQueue {
+
+    /**
+     * Array of the {@link Runnable} of the commands (wrapped)
+     */
+    private final Runnable[] commands;
+
+    /**
+     * Array of the {@link AtomicBoolean} which provide the pending flags of the commands
+     */
+    private final AtomicBoolean[] pending;
+
+    /**
+     * Instance of the {@link AtomicLong} which provide the coalesced commands count
+     */
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * Constructor which provide the create of the {@link GCCommandQueue} with parameters
+     *
+     * @param commandCount {@link Integer} value of the commands count
+     */
+    public GCCommandQueue(int commandCount) {
+        this.commands = new Runnable[commandCount];
+        this.pending = new AtomicBoolean[commandCount];
+        for (int i = 0; i < commandCount; i++) {
+            this.pending[i] = new AtomicBoolean();
+        }
+    }
+
+    /**
+     * Method which provide the registering of the command
+     *
+     * @param command  {@link Integer} value of the command
+     * @param runnable instance of the {@link Runnable} which applies the latest state
+     */
+    public void register(final int command, @NonNull final Runnable runnable) {
+        commands[command] = new Runnable() {
+            @Override
+            public void run() {
+                // Cleared before running, so the state changed during the run is applied again
+                pending[command].set(false);
+                runnable.run();
+            }
+        };
+    }
+
+    /**
+     * Method which provide the submitting of the command
+     *
+     * @param command {@link Integer} value of the command
+     * @return {@link Boolean} value if the command was scheduled ({@code false} if coalesced)
+     */
+    public boolean submit(int command) {
+        final Runnable runnable = commands[command];
+        if (runnable == null) {
+            throw new IllegalStateException("Command is not registered: " + command);
+        }
+        if (!pending[command].compareAndSet(false, true)) {
+            coalescedCount.incrementAndGet();
+            return false;
+        }
+        GCCameraThread.post(runnable);
+        return true;
+    }
+
+    /**
+     * Method which provide the checking if the command is pending
+     *
+     * @param command {@link Integer} value of the command
+     * @return {@link Boolean} value if the command is pending
+     */
+    public boolean isPending(int command) {
+        return pending[command].get();
+    }
+
+    /**
+     * Method which provide the getting of the coalesced commands count
+     *
+     * @return {@link Long} value of the coalesced commands count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+}
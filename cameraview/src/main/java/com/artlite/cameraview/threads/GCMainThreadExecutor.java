@@ -0,0 +1,65 @@
+package com.artlite.cameraview.threads;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Class which provide the {@link Executor} for the main (UI) thread
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCMainThreadExecutor implements Executor {
+
+    /**
+     * Instance of the {@link GCMainThreadExecutor}
+     */
+    private static final GCMainThreadExecutor INSTANCE = new GCMainThreadExecutor();
+
+    /**
+     * Instance of the {@link Handler}
+     */
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Method which provide the getting of the instance of the {@link GCMainThreadExecutor}
+     *
+     * @return instance of the {@link GCMainThreadExecutor}
+     */
+    @NonNull
+    public static GCMainThreadExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Private constructor
+     */
+    private GCMainThreadExecutor() {
+    }
+
+    /**
+     * Method which provide the executing of the {@link Runnable} on the main thread.
+     * When it called from the main thread the {@link Runnable} will be executed inline.
+     *
+     * @param runnable instance of the {@link Runnable}
+     */
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            runnable.run();
+        } else {
+            handler.post(runnable);
+        }
+    }
+
+    /**
+     * Method which provide the posting of the {@link Runnable} to the main thread
+     *
+     * @param runnable instance of the {@link Runnable}
+     */
+    public void post(@NonNull Runnable runnable) {
+        handler.post(runnable);
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.artlite.cameraview.thumbnails;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.graphics.BitmapCompat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class which provide the small pool of the reusable mutable {@link Bitmap}
+ * (for the {@link android.graphics.BitmapFactory.Options#inBitmap} decoding)
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * Since KitKat the bitmap with the enough allocation is reused for any size, before it the
+ * size should be the same. The bitmaps over the pool size are recycled.
+ */
+public final class GCBitmapPool {
+
+    /**
+     * {@link Integer} constant of the default pool size
+     */
+    public static final int DEFAULT_SIZE = 3;
+
+    /**
+     * {@link Integer} value of the maximal pool size
+     */
+    private final int maxSize;
+
+    /**
+     * {@link List} of the pooled {@link Bitmap}
+     */
+    private final List<Bitmap> bitmaps;
+
+    /**
+     * Constructor which provide the create of the {@link GCBitmapPool} with parameters
+     *
+     * @param maxSize {@link Integer} value of the maximal pool size
+     */
+    public GCBitmapPool(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid pool size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.bitmaps = new ArrayList<>(maxSize);
+    }
+
+    /**
+     * Method which provide the getting of the reusable {@link Bitmap} (removed from the pool)
+     *
+     * @param width  {@link Integer} value of the width
+     * @param height {@link Integer} value of the height
+     * @param config instance of the {@link Bitmap.Config}
+     * @return instance of the {@link Bitmap} or null
+     */
+    @Nullable
+    public synchronized Bitmap get(int width, int height, @NonNull Bitmap.Config config) {
+        final long required = (long) width * height * getBytesPerPixel(config);
+        for (int i = 0; i < bitmaps.size(); i++) {
+            final Bitmap bitmap = bitmaps.get(i);
+            final boolean isReusable;
+            if (Build.VERSION.SDK_INT >= 19) {
+                isReusable = BitmapCompat.getAllocationByteCount(bitmap) >= required;
+            } else {
+                isReusable = (bitmap.getWidth() == width) && (bitmap.getHeight() == height)
+                        && (bitmap.getConfig() == config);
+            }
+            if (isReusable) {
+                return bitmaps.remove(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method which provide the returning of the {@link Bitmap} to the pool (the caller must
+     * not use it anymore)
+     *
+     * @param bitmap instance of the {@link Bitmap}
+     */
+    public void put(@Nullable Bitmap bitmap) {
+        if ((bitmap == null) || bitmap.isRecycled()) {
+            return;
+        }
+        synchronized (this) {
+            if (bitmaps.contains(bitmap)) {
+                return;
+            }
+            if (bitmap.isMutable() && (bitmaps.size() < maxSize)) {
+                bitmaps.add(bitmap);
+                return;
+            }
+        }
+        bitmap.recycle();
+    }
+
+    /**
+     * Method which provide the recycling of the all pooled bitmaps
+     */
+    public void clear() {
+        final Bitmap[] recycled;
+        synchronized (this) {
+            recycled = bitmaps.toArray(new Bitmap[bitmaps.size()]);
+            bitmaps.clear();
+        }
+        for (Bitmap bitmap : recycled) {
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * Method which provide the getting of the pooled bitmaps count
+     *
+     * @return {@link Integer} value of the pooled bitmaps count
+     */
+    public synchronized int getSize() {
+        return bitmaps.size();
+    }
+
+    /**
+     * Method which provide the getting of the bytes per pixel of the {@link Bitmap.Config}
+     *
+     * @param config instance of the {@link Bitmap.Config}
+     * @return {@link Integer} value of the bytes per pixel
+     */
+    private static int getBytesPerPixel(@NonNull Bitmap.Config config) {
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+            default:
+                return 4;
+        }
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.artlite.cameraview.thumbnails;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.artlite.cameraview.exif.GCExifParser;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class which provide the fast thumbnail extraction from the captured JPEG
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ * <p>
+ * The embedded Exif thumbnail is decoded when present, otherwise the JPEG is decoded with the
+ * sampling to the target size. The bitmaps are decoded into the {@link GCBitmapPool} ones, so
+ * return the replaced thumbnail with {@link #recycle(Bitmap)}. When the captures are faster than
+ * the extraction only the latest thumbnail is delivered.
+ */
+public final class GCThumbnailService {
+
+    /**
+     * {@link String} constant of the tag
+     */
+    private static final String TAG = GCThumbnailService.class.getSimpleName();
+
+    /**
+     * {@link Long} constant of the idle time of the worker thread (in milliseconds)
+     */
+    private static final long KEEP_ALIVE = 5000;
+
+    /**
+     * Instance of the {@link Bitmap.Config} of the thumbnails
+     */
+    private static final Bitmap.Config CONFIG = Bitmap.Config.RGB_565;
+
+    /**
+     * Interface which provide the receiving of the thumbnail
+     */
+    public interface Callback {
+
+        /**
+         * Method which provide the action when the thumbnail was extracted
+         *
+         * @param thumbnail instance of the {@link Bitmap}
+         * @param rotation  {@link Integer} value of the clockwise rotation to display it
+         *                  (0, 90, 180, 270)
+         */
+        void onThumbnail(@NonNull Bitmap thumbnail, int rotation);
+
+    }
+
+    /**
+     * {@link Integer} value of the target width
+     */
+    private final int targetWidth;
+
+    /**
+     * {@link Integer} value of the target height
+     */
+    private final int targetHeight;
+
+    /**
+     * Instance of the {@link GCBitmapPool}
+     */
+    private final GCBitmapPool pool;
+
+    /**
+     * Instance of the {@link ExecutorService}
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Instance of the {@link AtomicLong} with the latest request generation
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor which provide the create of the {@link GCThumbnailService} with parameters
+     *
+     * @param targetWidth  {@link Integer} value of the target width
+     * @param targetHeight {@link Integer} value of the target height
+     */
+    public GCThumbnailService(int targetWidth, int targetHeight) {
+        if ((targetWidth <= 0) || (targetHeight <= 0)) {
+            throw new IllegalArgumentException("Invalid target: " + targetWidth + "x"
+                    + targetHeight);
+        }
+        this.targetWidth = targetWidth;
+        this.targetHeight = targetHeight;
+        this.pool = new GCBitmapPool(GCBitmapPool.DEFAULT_SIZE);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                KEEP_ALIVE, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(@NonNull Runnable runnable) {
+                        final Thread thread = new Thread(runnable, TAG);
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Method which provide the extraction of the thumbnail of the JPEG
+     *
+     * @param jpeg             array of the JPEG data (must not be modified until delivered)
+     * @param callbackExecutor instance of the {@link Executor} of the callback
+     * @param callback         instance of the {@link Callback}
+     */
+    public void extract(@NonNull final byte[] jpeg,
+                        @NonNull final Executor callbackExecutor,
+                        @NonNull final Callback callback) {
+        final long request = generation.incrementAndGet();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (generation.get() != request) {
+                    // Newer capture is pending
+                    return;
+                }
+                final Bitmap thumbnail;
+                try {
+                    thumbnail = decode(jpeg);
+                } catch (RuntimeException ex) {
+                    Log.e(TAG, "Thumbnail extraction is failed", ex);
+                    return;
+                }
+                if (thumbnail == null) {
+                    return;
+                }
+                final int rotation = GCExifParser.getOrientation(jpeg);
+                callbackExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onThumbnail(thumbnail, rotation);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Method which provide the decoding of the thumbnail (worker thread)
+     *
+     * @param jpeg array of the JPEG data
+     * @return instance of the {@link Bitmap} or null
+     */
+    @Nullable
+    private Bitmap decode(@NonNull byte[] jpeg) {
+        final long thumbnail = GCExifParser.findThumbnail(jpeg);
+        if (thumbnail != GCExifParser.NOT_FOUND) {
+            final Bitmap bitmap = decode(jpeg, GCExifParser.offsetOf(thumbnail),
+                    GCExifParser.lengthOf(thumbnail));
+            if (bitmap != null) {
+                return bitmap;
+            }
+        }
+        return decode(jpeg, 0, jpeg.length);
+    }
+
+    /**
+     * Method which provide the sampled decoding of the JPEG into the pooled {@link Bitmap}
+     * (worker thread)
+     *
+     * @param data   array of the data
+     * @param offset {@link Integer} value of the JPEG offset
+     * @param length {@link Integer} value of the JPEG length
+     * @return instance of the {@link Bitmap} or null
+     */
+    @Nullable
+    private Bitmap decode(@NonNull byte[] data, int offset, int length) {
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(data, offset, length, options);
+        if ((options.outWidth <= 0) || (options.outHeight <= 0)) {
+            return null;
+        }
+        final int sampleSize = getSampleSize(options.outWidth, options.outHeight,
+                targetWidth, targetHeight);
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        options.inPreferredConfig = CONFIG;
+        options.inMutable = true;
+        // Sampled decoding into the bitmap of the other size is supported since KitKat
+        if (Build.VERSION.SDK_INT >= 19) {
+            options.inBitmap = pool.get((options.outWidth + sampleSize - 1) / sampleSize,
+                    (options.outHeight + sampleSize - 1) / sampleSize, CONFIG);
+        }
+        try {
+            return BitmapFactory.decodeByteArray(data, offset, length, options);
+        } catch (IllegalArgumentException ex) {
+            // Pooled bitmap can't be reused for this image
+            pool.put(options.inBitmap);
+            options.inBitmap = null;
+            return BitmapFactory.decodeByteArray(data, offset, length, options);
+        }
+    }
+
+    /**
+     * Method which provide the returning of the delivered thumbnail to the pool (when it is
+     * replaced, the caller must not use it anymore)
+     *
+     * @param thumbnail instance of the {@link Bitmap}
+     */
+    public void recycle(@Nullable Bitmap thumbnail) {
+        pool.put(thumbnail);
+    }
+
+    /**
+     * Method which provide the shutdown of the service (the pooled bitmaps are recycled)
+     */
+    public void shutdown() {
+        executor.shutdown();
+        pool.clear();
+    }
+
+    /**
+     * Method which provide the calculating of the sample size (the largest power of two which
+     * keeps the image not smaller than the target)
+     *
+     * @param width        {@link Integer} value of the image width
+     * @param height       {@link Integer} value of the image height
+     * @param targetWidth  {@link Integer} value of the target width
+     * @param targetHeight {@link Integer} value of the target height
+     * @return {@link Integer} value of the sample size
+     */
+    static int getSampleSize(int width, int height, int targetWidth, int targetHeight) {
+        // Target is matched in any orientation of the image
+        final int shortTarget = Math.min(targetWidth, targetHeight);
+        final int longTarget = Math.max(targetWidth, targetHeight);
+        final int shortSide = Math.min(width, height);
+        final int longSide = Math.max(width, height);
+        int sampleSize = 1;
+        while ((shortSide / (sampleSize * 2) >= shortTarget)
+                && (longSide / (sampleSize * 2) >= longTarget)) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+}
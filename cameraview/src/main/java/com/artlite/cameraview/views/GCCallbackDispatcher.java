@@ -0,0 +1,147 @@
+package com.artlite.cameraview.views;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Class which provide the fan-out of the camera events to the registered
+ * {@link GCCameraImplementation.Callback}s, every callback is invoked on its own {@link Executor}
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+final class GCCallbackDispatcher {
+
+    /**
+     * {@link String} constants of the TAG
+     */
+    private static final String TAG = GCCallbackDispatcher.class.getSimpleName();
+
+    /**
+     * Empty array of the {@link GCCallbackStats}
+     */
+    private static final GCCallbackStats[] EMPTY = new GCCallbackStats[0];
+
+    /**
+     * Registered callbacks, copied on write so events are dispatched without a lock from
+     * any thread
+     */
+    private volatile GCCallbackStats[] registrations = EMPTY;
+
+    /**
+     * Method which provide the adding of the {@link GCCameraImplementation.Callback}
+     *
+     * @param callback instance of the {@link GCCameraImplementation.Callback}
+     * @param executor instance of the {@link Executor}
+     * @return instance of the {@link GCCallbackStats} (the existing one for the added callback)
+     */
+    @NonNull
+    synchronized GCCallbackStats add(@NonNull GCCameraImplementation.Callback callback,
+                                     @NonNull Executor executor) {
+        for (GCCallbackStats registration : registrations) {
+            if (registration.getCallback() == callback) {
+                return registration;
+            }
+        }
+        final GCCallbackStats registration = new GCCallbackStats(callback, executor);
+        final GCCallbackStats[] values =
+                Arrays.copyOf(registrations, registrations.length + 1);
+        values[registrations.length] = registration;
+        registrations = values;
+        return registration;
+    }
+
+    /**
+     * Method which provide the removing of the {@link GCCameraImplementation.Callback}, the
+     * events which are already queued to its executor are not delivered
+     *
+     * @param callback instance of the {@link GCCameraImplementation.Callback}
+     */
+    synchronized void remove(@NonNull GCCameraImplementation.Callback callback) {
+        final GCCallbackStats[] current = registrations;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getCallback() == callback) {
+                current[i].isRemoved = true;
+                final GCCallbackStats[] values = new GCCallbackStats[current.length - 1];
+                System.arraycopy(current, 0, values, 0, i);
+                System.arraycopy(current, i + 1, values, i, current.length - i - 1);
+                registrations = (values.length == 0) ? EMPTY : values;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCCallbackStats} of the callbacks
+     *
+     * @return {@link List} of the {@link GCCallbackStats}
+     */
+    @NonNull
+    List<GCCallbackStats> getStats() {
+        return Collections.unmodifiableList(Arrays.asList(registrations));
+    }
+
+    /**
+     * Method which provide the handing of the event to every callback on its own executor, so
+     * the calling thread is only blocked for the fan-out itself. The executor which rejects the
+     * event (e.g. it is shut down) is skipped and counted, the other callbacks still receive it.
+     *
+     * @param event instance of the {@link Event}
+     */
+    void dispatch(@NonNull Event event) {
+        final long time = System.nanoTime();
+        for (final GCCallbackStats registration : registrations) {
+            try {
+                dispatch(event, registration, time);
+            } catch (RejectedExecutionException ex) {
+                registration.onRejected();
+                Log.w(TAG, "dispatch: event is rejected by the executor of "
+                        + registration.getCallback(), ex);
+            }
+        }
+    }
+
+    /**
+     * Method which provide the handing of the event to the callback on its executor
+     *
+     * @param event        instance of the {@link Event}
+     * @param registration instance of the {@link GCCallbackStats}
+     * @param time         {@link Long} value of the event time (nanoseconds)
+     */
+    private static void dispatch(@NonNull final Event event,
+                                 @NonNull final GCCallbackStats registration,
+                                 final long time) {
+        registration.getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (registration.isRemoved) {
+                    return;
+                }
+                final long start = System.nanoTime();
+                try {
+                    event.deliver(registration.getCallback());
+                } finally {
+                    registration.record(start - time, System.nanoTime() - start);
+                }
+            }
+        });
+    }
+
+    /**
+     * Camera event delivered by the {@link GCCallbackDispatcher}
+     */
+    interface Event {
+
+        /**
+         * Method which provide the delivering of the event to the callback
+         *
+         * @param callback instance of the {@link GCCameraImplementation.Callback}
+         */
+        void deliver(@NonNull GCCameraImplementation.Callback callback);
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.artlite.cameraview.views;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class which provide the live dispatch counters of the {@link GCCameraImplementation.Callback}
+ * (the latency from the camera event to the callback invocation on its {@link Executor})
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCCallbackStats {
+
+    /**
+     * Instance of the {@link GCCameraImplementation.Callback}
+     */
+    private final GCCameraImplementation.Callback callback;
+
+    /**
+     * Instance of the target {@link Executor}
+     */
+    private final Executor executor;
+
+    /**
+     * Instance of the {@link AtomicLong} with dispatched events count
+     */
+    private final AtomicLong dispatched = new AtomicLong();
+
+    /**
+     * Instance of the {@link AtomicLong} with the total dispatch latency (nanoseconds)
+     */
+    private final AtomicLong totalLatency = new AtomicLong();
+
+    /**
+     * Instance of the {@link AtomicLong} with the max dispatch latency (nanoseconds)
+     */
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * Instance of the {@link AtomicLong} with the total callback duration (nanoseconds)
+     */
+    private final AtomicLong totalDuration = new AtomicLong();
+
+    /**
+     * Instance of the {@link AtomicLong} with events rejected by the {@link Executor}
+     */
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * {@link Boolean} value if the callback was removed
+     */
+    volatile boolean isRemoved;
+
+    /**
+     * Constructor which provide the create of the {@link GCCallbackStats}
+     *
+     * @param callback instance of the {@link GCCameraImplementation.Callback}
+     * @param executor instance of the target {@link Executor}
+     */
+    GCCallbackStats(@NonNull GCCameraImplementation.Callback callback,
+                    @NonNull Executor executor) {
+        this.callback = callback;
+        this.executor = executor;
+    }
+
+    /**
+     * Method which provide the recording of the dispatched event
+     *
+     * @param latency  {@link Long} value of the dispatch latency (nanoseconds)
+     * @param duration {@link Long} value of the callback duration (nanoseconds)
+     */
+    void record(long latency, long duration) {
+        dispatched.incrementAndGet();
+        totalLatency.addAndGet(latency);
+        totalDuration.addAndGet(duration);
+        long max = maxLatency.get();
+        while ((latency > max) && !maxLatency.compareAndSet(max, latency)) {
+            max = maxLatency.get();
+        }
+    }
+
+    /**
+     * Method which provide the recording of the event which was rejected by the executor
+     */
+    void onRejected() {
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCCameraImplementation.Callback}
+     *
+     * @return instance of the {@link GCCameraImplementation.Callback}
+     */
+    @NonNull
+    public GCCameraImplementation.Callback getCallback() {
+        return callback;
+    }
+
+    /**
+     * Method which provide the getting of the target {@link Executor}
+     *
+     * @return instance of the {@link Executor}
+     */
+    @NonNull
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Method which provide the getting of the dispatched events count
+     *
+     * @return {@link Long} value of the dispatched events
+     */
+    public long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    /**
+     * Method which provide the getting of the events count rejected by the {@link Executor}
+     * (the events weren't delivered to the callback)
+     *
+     * @return {@link Long} value of the rejected events
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Method which provide the getting of the average dispatch latency
+     *
+     * @return {@link Long} value of the average latency (microseconds)
+     */
+    public long getAverageLatency() {
+        final long count = dispatched.get();
+        return (count == 0) ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatency.get() / count);
+    }
+
+    /**
+     * Method which provide the getting of the max dispatch latency
+     *
+     * @return {@link Long} value of the max latency (microseconds)
+     */
+    public long getMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMicros(maxLatency.get());
+    }
+
+    /**
+     * Method which provide the getting of the average callback duration
+     *
+     * @return {@link Long} value of the average duration (microseconds)
+     */
+    public long getAverageDuration() {
+        final long count = dispatched.get();
+        return (count == 0) ? 0 : TimeUnit.NANOSECONDS.toMicros(totalDuration.get() / count);
+    }
+
+    /**
+     * Method which provide the converting the {@link GCCallbackStats} to the {@link String}
+     *
+     * @return instance of the {@link String}
+     */
+    @Override
+    public String toString() {
+        return callback + " dispatched=" + getDispatchedCount() + " rejected="
+                + getRejectedCount() + " latency="
+                + getAverageLatency() + "us max=" + getMaxLatency() + "us duration="
+                + getAverageDuration() + "us";
+    }
+
+}
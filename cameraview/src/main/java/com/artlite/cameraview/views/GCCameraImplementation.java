@@ -17,8 +17,12 @@
 package com.artlite.cameraview.views;
 
 import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
+import android.graphics.SurfaceTexture;
 import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -29,25 +33,52 @@ import android.support.v4.os.ParcelableCompat;
 import android.support.v4.os.ParcelableCompatCreatorCallbacks;
 import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
+import android.util.Log;
 import android.widget.FrameLayout;
 
 import com.artlite.cameraview.apis.GCCameraAPI;
+import com.artlite.cameraview.apis.GCCapabilitiesCache;
 import com.artlite.cameraview.apis.abs.GCBaseAPI;
 import com.artlite.cameraview.constants.GCConstants;
 import com.artlite.cameraview.detectors.GCOrientationDetector;
+import com.artlite.cameraview.exif.GCExifWriter;
+import com.artlite.cameraview.frames.GCFrameListener;
+import com.artlite.cameraview.metrics.GCCaptureTimeline;
 import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCBurstStats;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+import com.artlite.cameraview.models.GCFocusStats;
+import com.artlite.cameraview.models.GCOpenAttempt;
+import com.artlite.cameraview.models.GCOpenPolicy;
+import com.artlite.cameraview.persistence.GCCapabilitiesStore;
+import com.artlite.cameraview.selectors.GCSizeRequest;
+import com.artlite.cameraview.selectors.GCSizeSelection;
+import com.artlite.cameraview.selectors.GCSizeSelector;
 import com.artlite.cameraview.surface.GCSurfaceViewPreview;
 import com.artlite.cameraview.surface.GCTextureViewPreview;
+import com.artlite.cameraview.threads.GCMainThreadExecutor;
 import com.artlite.cameraview.views.abs.GCBaseCameraView;
 import com.google.android.cameraview.R;
 
+import java.io.File;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 public class GCCameraImplementation extends FrameLayout {
 
+    /**
+     * {@link String} constants of the TAG
+     */
+    private static final String TAG = GCCameraImplementation.class.getSimpleName();
+
+    /**
+     * {@link String} constants of the capabilities cache file name
+     */
+    static final String CAPABILITIES_FILE_NAME = "gc_camera_capabilities.bin";
+
     /**
      * The camera device faces the opposite direction as the device's screen.
      */
@@ -98,6 +129,25 @@ public class GCCameraImplementation extends FrameLayout {
     public @interface Flash {
     }
 
+    /**
+     * The default backend (the {@link GCCameraAPI} of the device camera).
+     */
+    public static final BackendFactory DEFAULT_BACKEND_FACTORY = new BackendFactory() {
+        @NonNull
+        @Override
+        public GCBaseCameraView create(@NonNull GCBaseCameraView.Callback callback,
+                                       @Nullable GCBaseAPI preview) {
+            return new GCCameraAPI(callback, preview);
+        }
+    };
+
+    private static volatile BackendFactory sBackendFactory = DEFAULT_BACKEND_FACTORY;
+
+    /**
+     * Picture which is delivered on the current thread by the {@link CallbackBridge}.
+     */
+    private static final ThreadLocal<ExifPicture> sDeliveredPicture = new ThreadLocal<>();
+
     GCBaseCameraView mImpl;
 
     private final CallbackBridge mCallbacks;
@@ -106,6 +156,28 @@ public class GCCameraImplementation extends FrameLayout {
 
     private final GCOrientationDetector mDisplayOrientationDetector;
 
+    /**
+     * Releases the camera kept in standby when the system is low on memory.
+     */
+    private final ComponentCallbacks2 mTrimCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            // Going to the background alone is the case the standby is for
+            if (level >= TRIM_MEMORY_RUNNING_LOW && level != TRIM_MEMORY_UI_HIDDEN) {
+                mImpl.releaseStandby();
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+            mImpl.releaseStandby();
+        }
+    };
+
     public GCCameraImplementation(Context context) {
         this(context, null);
     }
@@ -123,13 +195,41 @@ public class GCCameraImplementation extends FrameLayout {
             return;
         }
         // Internal setup
+        GCCapabilitiesCache.attachStore(new GCCapabilitiesStore(
+                new File(context.getCacheDir(), CAPABILITIES_FILE_NAME)));
         final GCBaseAPI preview = createPreviewImpl(context);
         mCallbacks = new CallbackBridge();
-        mImpl = new GCCameraAPI(mCallbacks, preview);
+        // Session retained by the previous instance (configuration change)
+        final GCSessionHolder.Session session = (getId() != NO_ID)
+                ? GCSessionHolder.take(getId()) : null;
+        // Session opened by the warm up
+        final GCBaseCameraView warm = (session == null) ? GCCameraWarmup.claim() : null;
+        if (session != null) {
+            preview.attachSurfaceTexture(session.texture);
+            mImpl = session.backend;
+            mImpl.rebind(mCallbacks, preview);
+        } else if (warm != null) {
+            mImpl = warm;
+            mImpl.rebind(mCallbacks, preview);
+        } else {
+            mImpl = getBackendFactory().create(mCallbacks, preview);
+        }
+        // Display orientation detector
+        mDisplayOrientationDetector = new GCOrientationDetector(context) {
+            @Override
+            public void onOrientationChanged(int orientation) {
+                mImpl.setDisplayOrientation(orientation);
+            }
+        };
         // Attributes
         TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.CameraView, defStyleAttr,
                 R.style.Widget_CameraView);
         mAdjustViewBounds = a.getBoolean(R.styleable.CameraView_android_adjustViewBounds, false);
+        if (session != null) {
+            // The session keeps its state, the saved one is applied by the restore
+            a.recycle();
+            return;
+        }
         setFacing(a.getInt(R.styleable.CameraView_facing, FACING_BACK));
         String aspectRatio = a.getString(R.styleable.CameraView_aspectRatio);
         if (aspectRatio != null) {
@@ -140,13 +240,24 @@ public class GCCameraImplementation extends FrameLayout {
         setAutoFocus(a.getBoolean(R.styleable.CameraView_autoFocus, true));
         setFlash(a.getInt(R.styleable.CameraView_flash, GCConstants.FLASH_AUTO));
         a.recycle();
-        // Display orientation detector
-        mDisplayOrientationDetector = new GCOrientationDetector(context) {
-            @Override
-            public void onOrientationChanged(int orientation) {
-                mImpl.setDisplayOrientation(orientation);
-            }
-        };
+    }
+
+    /**
+     * Set the backend of the views created after this call (e.g. the
+     * {@link com.artlite.cameraview.apis.GCFakeCameraAPI} for the testing without the camera).
+     *
+     * @param factory The backend factory, or {@code null} to restore the default one.
+     */
+    public static void setBackendFactory(@Nullable BackendFactory factory) {
+        sBackendFactory = (factory != null) ? factory : DEFAULT_BACKEND_FACTORY;
+    }
+
+    /**
+     * @return The backend factory of the new views.
+     */
+    @NonNull
+    public static BackendFactory getBackendFactory() {
+        return sBackendFactory;
     }
 
     @NonNull
@@ -165,6 +276,7 @@ public class GCCameraImplementation extends FrameLayout {
         super.onAttachedToWindow();
         if (!isInEditMode()) {
             mDisplayOrientationDetector.enable(ViewCompat.getDisplay(this));
+            getContext().getApplicationContext().registerComponentCallbacks(mTrimCallbacks);
         }
     }
 
@@ -172,6 +284,8 @@ public class GCCameraImplementation extends FrameLayout {
     protected void onDetachedFromWindow() {
         if (!isInEditMode()) {
             mDisplayOrientationDetector.disable();
+            getContext().getApplicationContext().unregisterComponentCallbacks(mTrimCallbacks);
+            mImpl.releaseStandby();
         }
         super.onDetachedFromWindow();
     }
@@ -255,32 +369,66 @@ public class GCCameraImplementation extends FrameLayout {
         SavedState ss = (SavedState) state;
         super.onRestoreInstanceState(ss.getSuperState());
         setFacing(ss.facing);
-        setAspectRatio(ss.ratio);
-        setAutoFocus(ss.autoFocus);
-        setFlash(ss.flash);
+        // Single parameters update (none for the unchanged retained session)
+        final GCBaseCameraView.Editor editor = edit().focus(ss.autoFocus).flash(ss.flash);
+        if (ss.ratio != null) {
+            editor.ratio(ss.ratio);
+        }
+        editor.apply();
     }
 
     /**
      * Open a camera device and start showing camera preview. This is typically called from
-     * {@link Activity#onResume()}.
+     * {@link Activity#onResume()}. The device is opened on the camera thread, so this method
+     * returns immediately.
      */
     public void start() {
-        if (!mImpl.start()) {
-            //store the state ,and restore this state after fall back o GCCameraAPI
-            Parcelable state = onSaveInstanceState();
-            // Camera2 uses legacy hardware layer; fall back to GCCameraAPI
-            mImpl = new GCCameraAPI(mCallbacks, createPreviewImpl(getContext()));
-            onRestoreInstanceState(state);
-            mImpl.start();
-        }
+        mImpl.startAsync(GCMainThreadExecutor.getInstance(), new GCBaseCameraView.OnSessionCallback() {
+            @Override
+            public void onSessionStarted(boolean isStarted) {
+                // The open is retried by the backend, the failure is delivered to
+                // Callback#onCameraOpenFailed
+            }
+
+            @Override
+            public void onSessionStopped() {
+            }
+
+            @Override
+            public void onSessionFailed(@NonNull Exception exception) {
+                Log.e(TAG, "start: ", exception);
+            }
+        });
     }
 
     /**
      * Stop camera preview and close the device. This is typically called from
-     * {@link Activity#onPause()}.
+     * {@link Activity#onPause()}. The device is closed on the camera thread. When the activity
+     * is recreated for the configuration change (and the view has an id), the session is kept
+     * opened for the recreated view instead.
      */
     public void stop() {
-        mImpl.stop();
+        final Activity activity = getActivity();
+        if ((getId() != NO_ID) && (activity != null) && activity.isChangingConfigurations()
+                && mImpl.isCameraOpened()) {
+            final GCBaseAPI preview = mImpl.getPreview();
+            GCSessionHolder.retain(getId(), mImpl, (preview != null)
+                    ? (SurfaceTexture) preview.retainSurfaceTexture() : null);
+            return;
+        }
+        mImpl.stopAsync(GCMainThreadExecutor.getInstance(), null);
+    }
+
+    @Nullable
+    private Activity getActivity() {
+        Context context = getContext();
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
     }
 
     /**
@@ -297,7 +445,21 @@ public class GCCameraImplementation extends FrameLayout {
      * @see #removeCallback(Callback)
      */
     public void addCallback(@NonNull Callback callback) {
-        mCallbacks.add(callback);
+        addCallback(callback, GCMainThreadExecutor.getInstance());
+    }
+
+    /**
+     * Add a new callback which is invoked on the executor. Use a background executor for
+     * callbacks which do heavy work with the picture data, so they don't delay the camera.
+     *
+     * @param callback The {@link Callback} to add.
+     * @param executor The {@link Executor} the callback is invoked on.
+     * @return The live dispatch counters of the callback.
+     * @see #removeCallback(Callback)
+     */
+    @NonNull
+    public GCCallbackStats addCallback(@NonNull Callback callback, @NonNull Executor executor) {
+        return mCallbacks.add(callback, executor);
     }
 
     /**
@@ -310,6 +472,34 @@ public class GCCameraImplementation extends FrameLayout {
         mCallbacks.remove(callback);
     }
 
+    /**
+     * @return The live dispatch counters of the registered callbacks.
+     */
+    @NonNull
+    public List<GCCallbackStats> getCallbackStats() {
+        return mCallbacks.getStats();
+    }
+
+    /**
+     * Add a preview frame listener. Frames are delivered on the camera thread.
+     *
+     * @param listener The {@link GCFrameListener} to add.
+     * @see #removeFrameListener(GCFrameListener)
+     */
+    public void addFrameListener(@NonNull GCFrameListener listener) {
+        mImpl.addFrameListener(listener);
+    }
+
+    /**
+     * Remove a preview frame listener.
+     *
+     * @param listener The {@link GCFrameListener} to remove.
+     * @see #addFrameListener(GCFrameListener)
+     */
+    public void removeFrameListener(@NonNull GCFrameListener listener) {
+        mImpl.removeFrameListener(listener);
+    }
+
     /**
      * @param adjustViewBounds {@code true} if you want the CameraView to adjust its bounds to
      *                         preserve the aspect ratio of camera.
@@ -380,6 +570,157 @@ public class GCCameraImplementation extends FrameLayout {
         return mImpl.getAspectRatio();
     }
 
+    /**
+     * Gets the count of the state changes (facing, flash, ratio...) which were coalesced with the
+     * newer pending change and so were never applied to the camera.
+     *
+     * @return The coalesced commands count.
+     */
+    public long getCoalescedCommandCount() {
+        return mImpl.getCoalescedCommandCount();
+    }
+
+    /**
+     * Enables the zero shutter lag capture. The last preview frames are kept in the ring and
+     * {@link #takePicture()} encodes the frame nearest to the call instead of the still capture.
+     * The preview size is negotiated with the high resolution in this mode.
+     *
+     * @param depth     The preview frames ring depth, or {@link GCConstants#ZSL_DISABLED}.
+     * @param maxMemory The ring memory limit in bytes (the depth is reduced to fit it).
+     */
+    public void setZeroShutterLag(int depth, long maxMemory) {
+        mImpl.setZeroShutterLag(depth, maxMemory);
+    }
+
+    /**
+     * Gets the memory which is retained by the zero shutter lag ring.
+     *
+     * @return The ring memory in bytes, 0 if the zero shutter lag capture is disabled.
+     */
+    public long getZeroShutterLagMemory() {
+        return mImpl.getZeroShutterLagMemory();
+    }
+
+    /**
+     * Gets the auto focus statistics. The capture skips the auto focus cycle when the continuous
+     * focus is stable, the wait of every shot is accumulated here.
+     *
+     * @return The auto focus statistics.
+     */
+    @NonNull
+    public GCFocusStats getFocusStats() {
+        return mImpl.getFocusStats();
+    }
+
+    /**
+     * Enables the standby. {@link #stop()} pauses the preview but keeps the camera opened for
+     * the grace period, so {@link #start()} within it only restarts the preview. The camera is
+     * released when the period expires, the memory is trimmed or the view is detached.
+     *
+     * @param timeout The grace period in milliseconds, or {@link GCConstants#STANDBY_DISABLED}.
+     */
+    public void setStandbyTimeout(long timeout) {
+        mImpl.setStandbyTimeout(timeout);
+    }
+
+    /**
+     * Sets the policy of the camera open: the attempt timeout and the retries with the
+     * exponential backoff. The results are delivered to {@link Callback#onCameraOpenAttempt}
+     * and {@link Callback#onCameraOpenFailed}.
+     *
+     * @param policy The {@link GCOpenPolicy}, applied by the next open.
+     */
+    public void setOpenPolicy(@NonNull GCOpenPolicy policy) {
+        mImpl.setOpenPolicy(policy);
+    }
+
+    /**
+     * Sets whether the picture orientation is written only to the Exif. By default the HAL
+     * rotates the picture, enable it to skip the rotation in the HAL and let
+     * {@link com.artlite.cameraview.persistence.GCPersistenceEngine} write the orientation.
+     *
+     * @param exifRotation {@code true} to write the orientation only to the Exif.
+     */
+    public void setExifRotation(boolean exifRotation) {
+        mImpl.setExifRotation(exifRotation);
+    }
+
+    /**
+     * @return {@code true} if the picture orientation is written only to the Exif.
+     */
+    public boolean isExifRotation() {
+        return mImpl.isExifRotation();
+    }
+
+    /**
+     * Gets the standby grace period.
+     *
+     * @return The grace period in milliseconds.
+     */
+    public long getStandbyTimeout() {
+        return mImpl.getStandbyTimeout();
+    }
+
+    /**
+     * Starts the transaction of the camera parameters. The flash, focus, aspect ratio, display
+     * orientation and size request changes are applied with the single parameters update, the
+     * preview is restarted only when the preview size or format is changed.
+     *
+     * @return The {@link GCBaseCameraView.Editor}.
+     */
+    @NonNull
+    public GCBaseCameraView.Editor edit() {
+        return new GCBaseCameraView.Editor(mImpl) {
+            @Override
+            public boolean apply() {
+                final boolean isRatioChanged = super.apply();
+                if (isRatioChanged) {
+                    requestLayout();
+                }
+                return isRatioChanged;
+            }
+        };
+    }
+
+    /**
+     * Sets the engine which negotiates the preview and picture sizes.
+     *
+     * @param selector The {@link GCSizeSelector} to be used.
+     */
+    public void setSizeSelector(@NonNull GCSizeSelector selector) {
+        mImpl.setSizeSelector(selector);
+    }
+
+    /**
+     * Sets the requirements of the preview and picture sizes (for example the maximal picture
+     * megapixels). The opened camera is reconfigured.
+     *
+     * @param request The {@link GCSizeRequest} to be used.
+     */
+    public void setSizeRequest(@NonNull GCSizeRequest request) {
+        mImpl.setSizeRequest(request);
+    }
+
+    /**
+     * Gets the requirements of the preview and picture sizes.
+     *
+     * @return The current {@link GCSizeRequest}.
+     */
+    @NonNull
+    public GCSizeRequest getSizeRequest() {
+        return mImpl.getSizeRequest();
+    }
+
+    /**
+     * Gets the last negotiated preview and picture sizes with the explanation of the scores.
+     *
+     * @return The {@link GCSizeSelection}. Can be {@code null} if no camera is opened yet.
+     */
+    @Nullable
+    public GCSizeSelection getSizeSelection() {
+        return mImpl.getSizeSelection();
+    }
+
     /**
      * Enables or disables the continuous auto-focus mode. When the current camera doesn't support
      * auto-focus, calling this method will be ignored.
@@ -429,46 +770,140 @@ public class GCCameraImplementation extends FrameLayout {
         mImpl.takePicture();
     }
 
+    /**
+     * Take a burst of pictures. Every picture will be returned to
+     * {@link Callback#onPictureTaken(GCCameraImplementation, byte[])} and the statistics to
+     * {@link Callback#onBurstCompleted(GCCameraImplementation, GCBurstStats)}.
+     *
+     * @param count    The shots count, or {@link GCConstants#BURST_UNLIMITED} to shoot until
+     *                 {@link #stopBurst()} (hold-to-burst).
+     * @param interval The minimal interval between shots in milliseconds.
+     */
+    public void takePictures(int count, long interval) {
+        mImpl.takePictures(count, interval);
+    }
+
+    /**
+     * Stop the active burst.
+     */
+    public void stopBurst() {
+        mImpl.stopBurst();
+    }
+
+    /**
+     * Pause or resume the active burst (and the bursts started while it is paused). The shot in
+     * progress is still delivered, the next one is taken when the burst is resumed.
+     *
+     * @param isPaused {@code true} to pause the burst, e.g. while the saving is saturated.
+     */
+    public void setBurstPaused(boolean isPaused) {
+        mImpl.setBurstPaused(isPaused);
+    }
+
+    /**
+     * Bridge between the camera session (camera thread) and the {@link Callback}s (main thread)
+     */
     private class CallbackBridge implements GCBaseCameraView.Callback {
 
-        private final ArrayList<Callback> mCallbacks = new ArrayList<>();
+        private final GCCallbackDispatcher mDispatcher = new GCCallbackDispatcher();
 
-        private boolean mRequestLayoutOnOpen;
+        private volatile boolean mRequestLayoutOnOpen;
 
         CallbackBridge() {
         }
 
-        public void add(Callback callback) {
-            mCallbacks.add(callback);
+        public GCCallbackStats add(Callback callback, Executor executor) {
+            return mDispatcher.add(callback, executor);
         }
 
         public void remove(Callback callback) {
-            mCallbacks.remove(callback);
+            mDispatcher.remove(callback);
+        }
+
+        public List<GCCallbackStats> getStats() {
+            return mDispatcher.getStats();
         }
 
         @Override
         public void onCameraOpened() {
             if (mRequestLayoutOnOpen) {
-                mRequestLayoutOnOpen = false;
-                requestLayout();
-            }
-            for (Callback callback : mCallbacks) {
-                callback.onCameraOpened(GCCameraImplementation.this);
+                GCMainThreadExecutor.getInstance().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mRequestLayoutOnOpen) {
+                            mRequestLayoutOnOpen = false;
+                            requestLayout();
+                        }
+                    }
+                });
             }
+            mDispatcher.dispatch(new GCCallbackDispatcher.Event() {
+                @Override
+                public void deliver(@NonNull Callback callback) {
+                    callback.onCameraOpened(GCCameraImplementation.this);
+                }
+            });
         }
 
         @Override
         public void onCameraClosed() {
-            for (Callback callback : mCallbacks) {
-                callback.onCameraClosed(GCCameraImplementation.this);
-            }
+            mDispatcher.dispatch(new GCCallbackDispatcher.Event() {
+                @Override
+                public void deliver(@NonNull Callback callback) {
+                    callback.onCameraClosed(GCCameraImplementation.this);
+                }
+            });
         }
 
         @Override
-        public void onPictureTaken(byte[] data) {
-            for (Callback callback : mCallbacks) {
-                callback.onPictureTaken(GCCameraImplementation.this, data);
+        public void onPictureTaken(final byte[] data, @NonNull final GCCaptureMetadata metadata) {
+            final GCCaptureTimeline timeline = metadata.getTimeline();
+            if (timeline != null) {
+                timeline.mark(GCCaptureTimeline.STAGE_DISPATCH);
             }
+            // The Exif is spliced once for all the callbacks which need the spliced copy
+            final ExifPicture picture = new ExifPicture(data, metadata);
+            mDispatcher.dispatch(new GCCallbackDispatcher.Event() {
+                @Override
+                public void deliver(@NonNull Callback callback) {
+                    sDeliveredPicture.set(picture);
+                    try {
+                        callback.onPictureTaken(GCCameraImplementation.this, data, metadata);
+                    } finally {
+                        sDeliveredPicture.remove();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onBurstCompleted(@NonNull final GCBurstStats stats) {
+            mDispatcher.dispatch(new GCCallbackDispatcher.Event() {
+                @Override
+                public void deliver(@NonNull Callback callback) {
+                    callback.onBurstCompleted(GCCameraImplementation.this, stats);
+                }
+            });
+        }
+
+        @Override
+        public void onCameraOpenAttempt(@NonNull final GCOpenAttempt attempt) {
+            mDispatcher.dispatch(new GCCallbackDispatcher.Event() {
+                @Override
+                public void deliver(@NonNull Callback callback) {
+                    callback.onCameraOpenAttempt(GCCameraImplementation.this, attempt);
+                }
+            });
+        }
+
+        @Override
+        public void onCameraOpenFailed(@NonNull final Exception exception) {
+            mDispatcher.dispatch(new GCCallbackDispatcher.Event() {
+                @Override
+                public void deliver(@NonNull Callback callback) {
+                    callback.onCameraOpenFailed(GCCameraImplementation.this, exception);
+                }
+            });
         }
 
         public void reserveRequestLayoutOnOpen() {
@@ -476,6 +911,48 @@ public class GCCameraImplementation extends FrameLayout {
         }
     }
 
+    /**
+     * Picture shared by the callbacks of the capture, the Exif is spliced on the first request.
+     */
+    private static final class ExifPicture {
+
+        final byte[] data;
+
+        final GCCaptureMetadata metadata;
+
+        private byte[] mSpliced;
+
+        ExifPicture(byte[] data, GCCaptureMetadata metadata) {
+            this.data = data;
+            this.metadata = metadata;
+        }
+
+        /**
+         * @return The JPEG data with the orientation (the HAL rotated data is returned as is).
+         */
+        synchronized byte[] get() {
+            if (metadata.isRotated()) {
+                return data;
+            }
+            if (mSpliced == null) {
+                mSpliced = new GCExifWriter().apply(data, metadata);
+            }
+            return mSpliced;
+        }
+    }
+
+    /**
+     * @return The JPEG data with the orientation, spliced once per capture when it is delivered
+     * by the {@link CallbackBridge}.
+     */
+    static byte[] getPicture(byte[] data, GCCaptureMetadata metadata) {
+        final ExifPicture picture = sDeliveredPicture.get();
+        if ((picture != null) && (picture.data == data) && (picture.metadata == metadata)) {
+            return picture.get();
+        }
+        return new ExifPicture(data, metadata).get();
+    }
+
     protected static class SavedState extends BaseSavedState {
 
         @Facing
@@ -527,6 +1004,23 @@ public class GCCameraImplementation extends FrameLayout {
 
     }
 
+    /**
+     * Factory of the camera backend which drives the {@link GCCameraImplementation}.
+     */
+    public interface BackendFactory {
+
+        /**
+         * Create the backend.
+         *
+         * @param callback The callback of the camera events.
+         * @param preview  The preview surface, or {@code null} for the warm up session.
+         * @return The backend.
+         */
+        @NonNull
+        GCBaseCameraView create(@NonNull GCBaseCameraView.Callback callback,
+                                @Nullable GCBaseAPI preview);
+    }
+
     /**
      * Callback for monitoring events about {@link GCCameraImplementation}.
      */
@@ -557,6 +1051,52 @@ public class GCCameraImplementation extends FrameLayout {
          */
         public void onPictureTaken(GCCameraImplementation cameraView, byte[] data) {
         }
+
+        /**
+         * Called when a picture is taken. By default the data is delivered to
+         * {@link #onPictureTaken(GCCameraImplementation, byte[])}: as is when the HAL rotated
+         * it, or with the orientation spliced to the Exif (once for all the callbacks) when
+         * {@link #setExifRotation(boolean)} is enabled. Override to avoid the copy and write
+         * the Exif with {@link com.artlite.cameraview.persistence.GCPersistenceEngine}.
+         *
+         * @param cameraView The associated {@link GCCameraImplementation}.
+         * @param data       JPEG data.
+         * @param metadata   The capture metadata (orientation, time, size, flash).
+         */
+        public void onPictureTaken(GCCameraImplementation cameraView, byte[] data,
+                                   GCCaptureMetadata metadata) {
+            onPictureTaken(cameraView, getPicture(data, metadata));
+        }
+
+        /**
+         * Called when a burst is completed.
+         *
+         * @param cameraView The associated {@link GCCameraImplementation}.
+         * @param stats      The burst throughput statistics.
+         */
+        public void onBurstCompleted(GCCameraImplementation cameraView, GCBurstStats stats) {
+        }
+
+        /**
+         * Called when a camera open attempt is finished (for the open latency metrics).
+         *
+         * @param cameraView The associated {@link GCCameraImplementation}.
+         * @param attempt    The attempt result and latency.
+         */
+        public void onCameraOpenAttempt(GCCameraImplementation cameraView,
+                                        GCOpenAttempt attempt) {
+        }
+
+        /**
+         * Called when the camera can't be opened: every attempt of the {@link GCOpenPolicy}
+         * failed or exceeded its timeout.
+         *
+         * @param cameraView The associated {@link GCCameraImplementation}.
+         * @param exception  The last open failure ({@link java.util.concurrent.TimeoutException}
+         *                   for the timeout).
+         */
+        public void onCameraOpenFailed(GCCameraImplementation cameraView, Exception exception) {
+        }
     }
 
 }
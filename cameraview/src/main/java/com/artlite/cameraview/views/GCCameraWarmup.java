@@ -0,0 +1,221 @@
+package com.artlite.cameraview.views;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.artlite.cameraview.apis.GCCapabilitiesCache;
+import com.artlite.cameraview.constants.GCConstants;
+import com.artlite.cameraview.models.GCBurstStats;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+import com.artlite.cameraview.models.GCOpenAttempt;
+import com.artlite.cameraview.persistence.GCCapabilitiesStore;
+import com.artlite.cameraview.threads.GCCameraThread;
+import com.artlite.cameraview.threads.GCMainThreadExecutor;
+import com.artlite.cameraview.views.abs.GCBaseCameraView;
+
+import java.io.File;
+
+/**
+ * Class which provide the prewarming of the camera before the {@link GCCameraImplementation}
+ * is created (the camera is chosen, opened and configured on the camera thread, the created
+ * view takes the opened session and only starts the preview)
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+public final class GCCameraWarmup {
+
+    /**
+     * {@link String} constants of the TAG
+     */
+    private static final String TAG = GCCameraWarmup.class.getSimpleName();
+
+    /**
+     * {@link Long} value of the default time which the warm session waits for the view
+     * (milliseconds), it is released after it
+     */
+    public static final long DEFAULT_TIMEOUT = 10000;
+
+    /**
+     * Instance of the {@link GCBaseCameraView.Callback} of the session which isn't claimed
+     */
+    private static final GCBaseCameraView.Callback NO_CALLBACK = new GCBaseCameraView.Callback() {
+        @Override
+        public void onCameraOpened() {
+        }
+
+        @Override
+        public void onCameraClosed() {
+        }
+
+        @Override
+        public void onPictureTaken(byte[] data, @NonNull GCCaptureMetadata metadata) {
+        }
+
+        @Override
+        public void onBurstCompleted(@NonNull GCBurstStats stats) {
+        }
+
+        @Override
+        public void onCameraOpenAttempt(@NonNull GCOpenAttempt attempt) {
+        }
+
+        @Override
+        public void onCameraOpenFailed(@NonNull Exception exception) {
+            Log.w(TAG, "warmUp: ", exception);
+        }
+    };
+
+    /**
+     * Instance of the lock {@link Object}
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * Instance of the warm {@link GCBaseCameraView}
+     */
+    private static GCBaseCameraView session;
+
+    /**
+     * Instance of the {@link Runnable} which provide the releasing of the expired session
+     */
+    private static Runnable expiry;
+
+    /**
+     * Private constructor
+     */
+    private GCCameraWarmup() {
+    }
+
+    /**
+     * Method which provide the warming up of the back camera with the default timeout
+     *
+     * @param context instance of the {@link Context}
+     */
+    public static void warmUp(@NonNull Context context) {
+        warmUp(context, GCConstants.FACING_BACK, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Method which provide the warming up of the camera (it does nothing when the camera is
+     * already warm). The camera permission should be granted, otherwise the warm up fails.
+     *
+     * @param context instance of the {@link Context}
+     * @param facing  {@link Integer} value of the facing
+     * @param timeout {@link Long} value of the time which the session waits for the view
+     *                (milliseconds)
+     */
+    public static void warmUp(@NonNull Context context, int facing, long timeout) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Invalid warm up timeout: " + timeout);
+        }
+        final GCBaseCameraView backend;
+        final Runnable release;
+        synchronized (LOCK) {
+            if (session != null) {
+                return;
+            }
+            GCCapabilitiesCache.attachStore(new GCCapabilitiesStore(new File(
+                    context.getApplicationContext().getCacheDir(),
+                    GCCameraImplementation.CAPABILITIES_FILE_NAME)));
+            backend = GCCameraImplementation.getBackendFactory().create(NO_CALLBACK, null);
+            backend.setFacing(facing);
+            release = new Runnable() {
+                @Override
+                public void run() {
+                    if (drop(backend)) {
+                        backend.stop();
+                        backend.releaseStandby();
+                    }
+                }
+            };
+            session = backend;
+            expiry = release;
+        }
+        backend.startAsync(GCMainThreadExecutor.getInstance(),
+                new GCBaseCameraView.OnSessionCallback() {
+                    @Override
+                    public void onSessionStarted(boolean isStarted) {
+                        if (!isStarted) {
+                            Log.w(TAG, "warmUp: camera is not available");
+                            drop(backend);
+                        }
+                    }
+
+                    @Override
+                    public void onSessionStopped() {
+                    }
+
+                    @Override
+                    public void onSessionFailed(@NonNull Exception exception) {
+                        Log.e(TAG, "warmUp: ", exception);
+                        drop(backend);
+                    }
+                });
+        GCCameraThread.postDelayed(release, timeout);
+    }
+
+    /**
+     * Method which provide the checking if there is the warm session
+     *
+     * @return {@link Boolean} value if the camera is warm
+     */
+    public static boolean isWarm() {
+        synchronized (LOCK) {
+            return session != null;
+        }
+    }
+
+    /**
+     * Method which provide the releasing of the warm session which wasn't claimed
+     */
+    public static void cancel() {
+        final Runnable release;
+        synchronized (LOCK) {
+            release = expiry;
+        }
+        if (release != null) {
+            GCCameraThread.remove(release);
+            GCCameraThread.execute(release);
+        }
+    }
+
+    /**
+     * Method which provide the claiming of the warm session by the created view
+     *
+     * @return instance of the {@link GCBaseCameraView} or null if the camera isn't warm
+     */
+    @Nullable
+    static GCBaseCameraView claim() {
+        final GCBaseCameraView backend;
+        final Runnable release;
+        synchronized (LOCK) {
+            backend = session;
+            release = expiry;
+            session = null;
+            expiry = null;
+        }
+        if (release != null) {
+            GCCameraThread.remove(release);
+        }
+        return backend;
+    }
+
+    /**
+     * Method which provide the dropping of the session if it is still warm
+     *
+     * @param backend instance of the {@link GCBaseCameraView}
+     * @return {@link Boolean} value if it dropped (it wasn't claimed)
+     */
+    private static boolean drop(@NonNull GCBaseCameraView backend) {
+        synchronized (LOCK) {
+            if (session != backend) {
+                return false;
+            }
+            session = null;
+            expiry = null;
+            return true;
+        }
+    }
+
+}
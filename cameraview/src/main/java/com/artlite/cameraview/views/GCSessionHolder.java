@@ -0,0 +1,132 @@
+package com.artlite.cameraview.views;
+
+import android.graphics.SurfaceTexture;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.SparseArray;
+
+import com.artlite.cameraview.threads.GCCameraThread;
+import com.artlite.cameraview.views.abs.GCBaseCameraView;
+
+/**
+ * Class which provide the holding of the opened camera sessions across the configuration
+ * change of the host activity (the recreated {@link GCCameraImplementation} with the same id
+ * rebinds to the session and its preview {@link SurfaceTexture} instead of opening the camera)
+ * IMPLEMENTATION NON USE OF THIS CLASS USE THE {@link com.artlite.cameraview.common.GCCameraView}
+ */
+final class GCSessionHolder {
+
+    /**
+     * {@link Long} value of the time which the session waits for the recreated view
+     * (milliseconds), it is released after it
+     */
+    static final long RETAIN_TIMEOUT = 3000;
+
+    /**
+     * {@link SparseArray} of the retained {@link Session} by the view id
+     */
+    private static final SparseArray<Session> SESSIONS = new SparseArray<>();
+
+    /**
+     * Private constructor
+     */
+    private GCSessionHolder() {
+    }
+
+    /**
+     * Method which provide the retaining of the opened session
+     *
+     * @param id      {@link Integer} value of the view id
+     * @param backend instance of the {@link GCBaseCameraView}
+     * @param texture instance of the preview {@link SurfaceTexture} (null if it isn't available)
+     */
+    static void retain(int id,
+                       @NonNull GCBaseCameraView backend,
+                       @Nullable SurfaceTexture texture) {
+        final Session session = new Session(id, backend, texture);
+        final Session previous;
+        synchronized (SESSIONS) {
+            previous = SESSIONS.get(id);
+            SESSIONS.put(id, session);
+        }
+        if (previous != null) {
+            GCCameraThread.remove(previous);
+            GCCameraThread.execute(previous);
+        }
+        GCCameraThread.postDelayed(session, RETAIN_TIMEOUT);
+    }
+
+    /**
+     * Method which provide the taking of the retained session
+     *
+     * @param id {@link Integer} value of the view id
+     * @return instance of the {@link Session} or null if there is no one
+     */
+    @Nullable
+    static Session take(int id) {
+        final Session session;
+        synchronized (SESSIONS) {
+            session = SESSIONS.get(id);
+            SESSIONS.remove(id);
+        }
+        if (session != null) {
+            GCCameraThread.remove(session);
+        }
+        return session;
+    }
+
+    /**
+     * Class which provide the retained session, it is run on the camera thread when the
+     * session wasn't taken in time
+     */
+    static final class Session implements Runnable {
+
+        /**
+         * {@link Integer} value of the view id
+         */
+        private final int id;
+
+        /**
+         * Instance of the {@link GCBaseCameraView}
+         */
+        final GCBaseCameraView backend;
+
+        /**
+         * Instance of the preview {@link SurfaceTexture}
+         */
+        final SurfaceTexture texture;
+
+        /**
+         * Constructor which provide the create of the {@link Session} with parameters
+         *
+         * @param id      {@link Integer} value of the view id
+         * @param backend instance of the {@link GCBaseCameraView}
+         * @param texture instance of the preview {@link SurfaceTexture}
+         */
+        private Session(int id,
+                        @NonNull GCBaseCameraView backend,
+                        @Nullable SurfaceTexture texture) {
+            this.id = id;
+            this.backend = backend;
+            this.texture = texture;
+        }
+
+        /**
+         * Method which provide the releasing of the expired session (camera thread)
+         */
+        @Override
+        public void run() {
+            synchronized (SESSIONS) {
+                if (SESSIONS.get(id) == this) {
+                    SESSIONS.remove(id);
+                }
+            }
+            backend.stop();
+            backend.releaseStandby();
+            if (texture != null) {
+                texture.release();
+            }
+        }
+    }
+
+}
@@ -20,10 +20,27 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.view.View;
 
+import com.artlite.cameraview.apis.GCOpenWatchdog;
 import com.artlite.cameraview.apis.abs.GCBaseAPI;
+import com.artlite.cameraview.constants.GCConstants;
+import com.artlite.cameraview.frames.GCFrameListener;
 import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCBurstStats;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+import com.artlite.cameraview.models.GCFocusStats;
+import com.artlite.cameraview.models.GCOpenAttempt;
+import com.artlite.cameraview.models.GCOpenPolicy;
+import com.artlite.cameraview.selectors.GCSizeRequest;
+import com.artlite.cameraview.selectors.GCSizeSelection;
+import com.artlite.cameraview.selectors.GCSizeSelector;
+import com.artlite.cameraview.threads.GCCameraThread;
 
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * Class which provide the camera view  implementation
@@ -33,28 +50,142 @@ import java.util.Set;
  */
 public abstract class GCBaseCameraView {
 
+    /**
+     * Instance of the {@link Executor} which runs the command on the calling thread
+     */
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+    };
+
+    /**
+     * Instance of the {@link Callable} of the session task which is completed by the
+     * {@link OnStartListener}
+     */
+    private static final Callable<Boolean> NO_ACTION = new Callable<Boolean>() {
+        @Override
+        public Boolean call() {
+            return false;
+        }
+    };
+
     /**
      * Instance of the {@link Callback}
      */
-    protected final Callback callback;
+    protected volatile Callback callback;
 
     /**
      * Instance of the {@link GCBaseAPI}
      */
-    protected final GCBaseAPI preview;
+    protected volatile GCBaseAPI preview;
+
+    /**
+     * Instance of the {@link GCOpenPolicy}
+     */
+    protected volatile GCOpenPolicy openPolicy = GCOpenPolicy.DEFAULT;
+
+    /**
+     * {@link Boolean} value if the orientation is written only to the Exif (the HAL doesn't
+     * rotate the picture)
+     */
+    protected volatile boolean isExifRotation;
 
     /**
      * Constructor which provide to create of the {@link GCBaseCameraView} with parameters
      *
      * @param callback instance of the {@link Callback}
-     * @param preview  instance of the {@link GCBaseAPI}
+     * @param preview  instance of the {@link GCBaseAPI} (null for the headless backends)
      */
     public GCBaseCameraView(@NonNull Callback callback,
-                            @NonNull GCBaseAPI preview) {
+                            @Nullable GCBaseAPI preview) {
         this.callback = callback;
         this.preview = preview;
     }
 
+    /**
+     * Method which provide the rebinding of the opened session to the recreated view (the
+     * {@link Callback} and the preview are replaced, the camera stays opened)
+     *
+     * @param callback instance of the {@link Callback}
+     * @param preview  instance of the {@link GCBaseAPI}
+     */
+    public void rebind(@NonNull Callback callback, @Nullable GCBaseAPI preview) {
+        this.callback = callback;
+        this.preview = preview;
+    }
+
+    /**
+     * Method which provide the setting of the {@link GCOpenPolicy} (applied by the next open)
+     *
+     * @param policy instance of the {@link GCOpenPolicy}
+     */
+    public void setOpenPolicy(@NonNull GCOpenPolicy policy) {
+        this.openPolicy = policy;
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCOpenPolicy}
+     *
+     * @return instance of the {@link GCOpenPolicy}
+     */
+    @NonNull
+    public GCOpenPolicy getOpenPolicy() {
+        return openPolicy;
+    }
+
+    /**
+     * Method which provide the setting if the orientation is written only to the Exif. It is
+     * disabled by default, so the HAL applies the rotation and the
+     * {@link Callback#onPictureTaken(byte[], GCCaptureMetadata)} data is upright.
+     *
+     * @param isExifRotation {@link Boolean} value if the HAL doesn't rotate the picture
+     */
+    public void setExifRotation(boolean isExifRotation) {
+        this.isExifRotation = isExifRotation;
+    }
+
+    /**
+     * Method which provide the checking if the orientation is written only to the Exif
+     *
+     * @return {@link Boolean} value if the HAL doesn't rotate the picture
+     */
+    public boolean isExifRotation() {
+        return isExifRotation;
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCOpenWatchdog.Listener} which forwards
+     * the open results to the {@link Callback}
+     *
+     * @return instance of the {@link GCOpenWatchdog.Listener}
+     */
+    @NonNull
+    protected GCOpenWatchdog.Listener getOpenListener() {
+        return new GCOpenWatchdog.Listener() {
+            @Override
+            public void onOpenAttempt(@NonNull GCOpenAttempt attempt) {
+                callback.onCameraOpenAttempt(attempt);
+            }
+
+            @Override
+            public void onOpenFailed(@NonNull Exception exception) {
+                callback.onCameraOpenFailed(exception);
+            }
+        };
+    }
+
+    /**
+     * Method which provide the getting of the {@link GCBaseAPI}
+     *
+     * @return instance of the {@link GCBaseAPI} (null for the headless backends)
+     */
+    @Nullable
+    public GCBaseAPI getPreview() {
+        return preview;
+    }
+
     /**
      * Method which provide the getting of the {@link View}
      *
@@ -70,16 +201,110 @@ public abstract class GCBaseCameraView {
 
     /**
      * Method which provide the start session
+     * (waits for the start on the camera thread, so it can't be called from it, use
+     * {@link #startAsync(Executor, OnSessionCallback)} from the UI thread)
      *
      * @return {@link Boolean} value if the session is started
      */
-    public abstract boolean start();
+    public boolean start() {
+        if (isSessionThread()) {
+            throw new IllegalStateException("start() waits for the camera thread, "
+                    + "use startAsync() instead");
+        }
+        try {
+            return startAsync(DIRECT_EXECUTOR, null).get();
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            throw (cause instanceof RuntimeException) ? (RuntimeException) cause
+                    : new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Method which provide the start session (camera thread). The result is delivered to the
+     * {@link OnStartListener} when the camera is opened or all the open attempts were failed,
+     * the retries are scheduled on the camera thread, so it isn't blocked by the backoff.
+     *
+     * @param listener instance of the {@link OnStartListener}
+     */
+    protected abstract void startSession(@NonNull OnStartListener listener);
 
     /**
      * Method which provide the stop session
+     * (performs the camera I/O on the calling thread, use {@link #stopAsync(Executor,
+     * OnSessionCallback)} from the UI thread)
      */
     public abstract void stop();
 
+    /**
+     * Method which provide the start session on the camera thread
+     *
+     * @param executor instance of the {@link Executor} for the callback delivering
+     * @param callback instance of the {@link OnSessionCallback}
+     * @return instance of the {@link Future} with {@link Boolean} value if session is started
+     */
+    @NonNull
+    public Future<Boolean> startAsync(@NonNull Executor executor,
+                                      @Nullable OnSessionCallback callback) {
+        final SessionTask task = new SessionTask(NO_ACTION, executor, callback, true);
+        executeSession(new Runnable() {
+            @Override
+            public void run() {
+                if (task.isDone()) {
+                    return;
+                }
+                try {
+                    startSession(task);
+                } catch (Exception ex) {
+                    task.onFailed(ex);
+                }
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Method which provide the stop session on the camera thread
+     *
+     * @param executor instance of the {@link Executor} for the callback delivering
+     * @param callback instance of the {@link OnSessionCallback}
+     * @return instance of the {@link Future} which completes when session is stopped
+     */
+    @NonNull
+    public Future<Boolean> stopAsync(@NonNull Executor executor,
+                                     @Nullable OnSessionCallback callback) {
+        final SessionTask task = new SessionTask(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                stop();
+                return true;
+            }
+        }, executor, callback, false);
+        executeSession(task);
+        return task;
+    }
+
+    /**
+     * Method which provide the executing of the session action on the camera thread
+     *
+     * @param task instance of the {@link Runnable}
+     */
+    protected void executeSession(@NonNull Runnable task) {
+        GCCameraThread.post(task);
+    }
+
+    /**
+     * Method which provide the checking if the current thread is the camera thread
+     *
+     * @return {@link Boolean} value if the current thread executes the session actions
+     */
+    protected boolean isSessionThread() {
+        return GCCameraThread.isCurrentThread();
+    }
+
     /**
      * Method which provide the checking if the session is opened
      *
@@ -156,6 +381,27 @@ public abstract class GCBaseCameraView {
      */
     public abstract void takePicture();
 
+    /**
+     * Method which provide the taking of the burst of pictures
+     *
+     * @param count    {@link Integer} value of the shots count
+     * @param interval {@link Long} value of the minimal interval between shots (milliseconds)
+     */
+    public abstract void takePictures(int count, long interval);
+
+    /**
+     * Method which provide the stopping of the burst
+     */
+    public abstract void stopBurst();
+
+    /**
+     * Method which provide the pausing of the burst (e.g. while the saving is saturated), the
+     * shot in progress is still delivered and the next one waits for the resuming
+     *
+     * @param isPaused {@link Boolean} value if the burst is paused
+     */
+    public abstract void setBurstPaused(boolean isPaused);
+
     /**
      * Method which provide the setting of the display orientation
      *
@@ -163,6 +409,426 @@ public abstract class GCBaseCameraView {
      */
     public abstract void setDisplayOrientation(int orientation);
 
+    /**
+     * Method which provide the setting of the {@link GCSizeSelector}
+     *
+     * @param selector instance of the {@link GCSizeSelector}
+     */
+    public abstract void setSizeSelector(@NonNull GCSizeSelector selector);
+
+    /**
+     * Method which provide the setting of the {@link GCSizeRequest}
+     *
+     * @param request instance of the {@link GCSizeRequest}
+     */
+    public abstract void setSizeRequest(@NonNull GCSizeRequest request);
+
+    /**
+     * Method which provide the getting of the {@link GCSizeRequest}
+     *
+     * @return instance of the {@link GCSizeRequest}
+     */
+    @NonNull
+    public abstract GCSizeRequest getSizeRequest();
+
+    /**
+     * Method which provide the getting of the last {@link GCSizeSelection}
+     *
+     * @return instance of the {@link GCSizeSelection}
+     */
+    @Nullable
+    public abstract GCSizeSelection getSizeSelection();
+
+    /**
+     * Method which provide the adding of the preview {@link GCFrameListener}
+     *
+     * @param listener instance of the {@link GCFrameListener}
+     */
+    public abstract void addFrameListener(@NonNull GCFrameListener listener);
+
+    /**
+     * Method which provide the removing of the preview {@link GCFrameListener}
+     *
+     * @param listener instance of the {@link GCFrameListener}
+     */
+    public abstract void removeFrameListener(@NonNull GCFrameListener listener);
+
+    /**
+     * Method which provide the getting of the count of the coalesced commands
+     *
+     * @return {@link Long} value of the coalesced commands count
+     */
+    public abstract long getCoalescedCommandCount();
+
+    /**
+     * Method which provide the setting of the zero shutter lag capture
+     *
+     * @param depth     {@link Integer} value of the preview frames ring depth (0 if disabled)
+     * @param maxMemory {@link Long} value of the ring memory limit (bytes)
+     */
+    public abstract void setZeroShutterLag(int depth, long maxMemory);
+
+    /**
+     * Method which provide the getting of the zero shutter lag ring memory
+     *
+     * @return {@link Long} value of the ring memory (bytes, 0 if disabled)
+     */
+    public abstract long getZeroShutterLagMemory();
+
+    /**
+     * Method which provide the getting of the auto focus statistics of the captured shots
+     *
+     * @return instance of the {@link GCFocusStats}
+     */
+    @NonNull
+    public abstract GCFocusStats getFocusStats();
+
+    /**
+     * Method which provide the setting of the standby grace period. When it is enabled the
+     * {@link #stop()} pauses the preview but keeps the camera opened for the period, so the
+     * {@link #start()} within it only restarts the preview.
+     *
+     * @param timeout {@link Long} value of the grace period (milliseconds, or
+     *                {@link GCConstants#STANDBY_DISABLED})
+     */
+    public abstract void setStandbyTimeout(long timeout);
+
+    /**
+     * Method which provide the getting of the standby grace period
+     *
+     * @return {@link Long} value of the grace period (milliseconds)
+     */
+    public abstract long getStandbyTimeout();
+
+    /**
+     * Method which provide the releasing of the camera which is kept in standby (for example
+     * when the memory is trimmed), the started session is not affected
+     */
+    public abstract void releaseStandby();
+
+    /**
+     * Method which provide the starting of the parameters transaction. The changes are applied
+     * together with the single {@link Editor#apply()} (one parameters update, the preview is
+     * restarted only when the preview size or format was changed).
+     *
+     * @return instance of the {@link Editor}
+     */
+    @NonNull
+    public Editor edit() {
+        return new Editor(this);
+    }
+
+    /**
+     * Method which provide the applying of the {@link Editor} changes
+     *
+     * @param editor instance of the {@link Editor}
+     * @return {@link Boolean} value if the aspect ratio was changed
+     */
+    protected abstract boolean applyEdit(@NonNull Editor editor);
+
+    /**
+     * Class which provide the transaction of the camera parameters changes
+     */
+    public static class Editor {
+
+        /**
+         * Instance of the {@link GCBaseCameraView}
+         */
+        private final GCBaseCameraView view;
+
+        /**
+         * {@link Integer} value of the flash (null if not changed)
+         */
+        private Integer flash;
+
+        /**
+         * {@link Boolean} value of the auto focus (null if not changed)
+         */
+        private Boolean autoFocus;
+
+        /**
+         * Instance of the {@link GCAspectRatio} (null if not changed)
+         */
+        private GCAspectRatio aspectRatio;
+
+        /**
+         * {@link Integer} value of the display orientation (null if not changed)
+         */
+        private Integer displayOrientation;
+
+        /**
+         * Instance of the {@link GCSizeRequest} (null if not changed)
+         */
+        private GCSizeRequest sizeRequest;
+
+        /**
+         * Constructor which provide the create of the {@link Editor} with parameters
+         *
+         * @param view instance of the {@link GCBaseCameraView}
+         */
+        public Editor(@NonNull GCBaseCameraView view) {
+            this.view = view;
+        }
+
+        /**
+         * Method which provide the setting of the flash
+         *
+         * @param flash {@link Integer} value of the flash
+         * @return instance of the {@link Editor}
+         */
+        @NonNull
+        public Editor flash(int flash) {
+            this.flash = flash;
+            return this;
+        }
+
+        /**
+         * Method which provide the setting of the auto focus
+         *
+         * @param autoFocus {@link Boolean} value of the auto focus
+         * @return instance of the {@link Editor}
+         */
+        @NonNull
+        public Editor focus(boolean autoFocus) {
+            this.autoFocus = autoFocus;
+            return this;
+        }
+
+        /**
+         * Method which provide the setting of the {@link GCAspectRatio}
+         *
+         * @param ratio instance of the {@link GCAspectRatio}
+         * @return instance of the {@link Editor}
+         */
+        @NonNull
+        public Editor ratio(@NonNull GCAspectRatio ratio) {
+            this.aspectRatio = ratio;
+            return this;
+        }
+
+        /**
+         * Method which provide the setting of the display orientation
+         *
+         * @param orientation {@link Integer} value of the display orientation
+         * @return instance of the {@link Editor}
+         */
+        @NonNull
+        public Editor displayOrientation(int orientation) {
+            this.displayOrientation = orientation;
+            return this;
+        }
+
+        /**
+         * Method which provide the setting of the {@link GCSizeRequest}
+         *
+         * @param request instance of the {@link GCSizeRequest}
+         * @return instance of the {@link Editor}
+         */
+        @NonNull
+        public Editor sizeRequest(@NonNull GCSizeRequest request) {
+            this.sizeRequest = request;
+            return this;
+        }
+
+        /**
+         * Method which provide the getting of the flash
+         *
+         * @return {@link Integer} value of the flash or null if not changed
+         */
+        @Nullable
+        public Integer getFlash() {
+            return flash;
+        }
+
+        /**
+         * Method which provide the getting of the auto focus
+         *
+         * @return {@link Boolean} value of the auto focus or null if not changed
+         */
+        @Nullable
+        public Boolean getAutoFocus() {
+            return autoFocus;
+        }
+
+        /**
+         * Method which provide the getting of the {@link GCAspectRatio}
+         *
+         * @return instance of the {@link GCAspectRatio} or null if not changed
+         */
+        @Nullable
+        public GCAspectRatio getAspectRatio() {
+            return aspectRatio;
+        }
+
+        /**
+         * Method which provide the getting of the display orientation
+         *
+         * @return {@link Integer} value of the display orientation or null if not changed
+         */
+        @Nullable
+        public Integer getDisplayOrientation() {
+            return displayOrientation;
+        }
+
+        /**
+         * Method which provide the getting of the {@link GCSizeRequest}
+         *
+         * @return instance of the {@link GCSizeRequest} or null if not changed
+         */
+        @Nullable
+        public GCSizeRequest getSizeRequest() {
+            return sizeRequest;
+        }
+
+        /**
+         * Method which provide the applying of the changes
+         *
+         * @return {@link Boolean} value if the aspect ratio was changed
+         */
+        public boolean apply() {
+            return view.applyEdit(this);
+        }
+
+    }
+
+    /**
+     * Class which provide the session action {@link Future}, the result is delivered to the
+     * {@link OnSessionCallback} on its {@link Executor}
+     */
+    private static final class SessionTask extends FutureTask<Boolean>
+            implements OnStartListener {
+
+        /**
+         * Instance of the {@link Executor} for the callback delivering
+         */
+        private final Executor executor;
+
+        /**
+         * Instance of the {@link OnSessionCallback}
+         */
+        private final OnSessionCallback callback;
+
+        /**
+         * {@link Boolean} value if it start action
+         */
+        private final boolean isStarted;
+
+        /**
+         * Constructor which provide the create of the {@link SessionTask} with parameters
+         *
+         * @param callable  instance of the {@link Callable}
+         * @param executor  instance of the {@link Executor} for the callback delivering
+         * @param callback  instance of the {@link OnSessionCallback}
+         * @param isStarted {@link Boolean} value if it start action
+         */
+        SessionTask(@NonNull Callable<Boolean> callable,
+                    @NonNull Executor executor,
+                    @Nullable OnSessionCallback callback,
+                    boolean isStarted) {
+            super(callable);
+            this.executor = executor;
+            this.callback = callback;
+            this.isStarted = isStarted;
+        }
+
+        /**
+         * Method which provide the action when the session start was finished
+         *
+         * @param isStarted {@link Boolean} value if the session is started
+         */
+        @Override
+        public void onStarted(boolean isStarted) {
+            set(isStarted);
+        }
+
+        /**
+         * Method which provide the action when the session start was failed
+         *
+         * @param exception instance of the {@link Exception}
+         */
+        @Override
+        public void onFailed(@NonNull Exception exception) {
+            setException(exception);
+        }
+
+        /**
+         * Method which provide the delivering of the result to the {@link OnSessionCallback}
+         */
+        @Override
+        protected void done() {
+            if ((callback == null) || isCancelled()) {
+                return;
+            }
+            Boolean result = null;
+            Exception error = null;
+            try {
+                result = get();
+            } catch (Exception ex) {
+                error = (ex.getCause() instanceof Exception) ? (Exception) ex.getCause() : ex;
+            }
+            final Boolean finalResult = result;
+            final Exception finalError = error;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (finalError != null) {
+                        callback.onSessionFailed(finalError);
+                    } else if (isStarted) {
+                        callback.onSessionStarted(finalResult);
+                    } else {
+                        callback.onSessionStopped();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Listener of the session start result (camera thread)
+     */
+    protected interface OnStartListener {
+
+        /**
+         * Method which provide the action when the session start was finished
+         *
+         * @param isStarted {@link Boolean} value if the session is started
+         */
+        void onStarted(boolean isStarted);
+
+        /**
+         * Method which provide the action when the session start was failed
+         *
+         * @param exception instance of the {@link Exception}
+         */
+        void onFailed(@NonNull Exception exception);
+    }
+
+    /**
+     * Callback which provide the asynchronous session action listening
+     */
+    public interface OnSessionCallback {
+
+        /**
+         * Method which provide the action when the session start was finished
+         *
+         * @param isStarted {@link Boolean} value if the session is started
+         */
+        void onSessionStarted(boolean isStarted);
+
+        /**
+         * Method which provide the action when the session was stopped
+         */
+        void onSessionStopped();
+
+        /**
+         * Method which provide the action when the session action was failed
+         *
+         * @param exception instance of the {@link Exception}
+         */
+        void onSessionFailed(@NonNull Exception exception);
+
+    }
+
     /**
      * Callback which provide the camera action listening
      */
@@ -181,9 +847,32 @@ public abstract class GCBaseCameraView {
         /**
          * Method which provide the picture taken
          *
-         * @param data {@link Byte} array of the picture data
+         * @param data     {@link Byte} array of the picture data (without the orientation applied)
+         * @param metadata instance of the {@link GCCaptureMetadata} to be written to the Exif
+         */
+        void onPictureTaken(byte[] data, @NonNull GCCaptureMetadata metadata);
+
+        /**
+         * Method which provide the action when the burst was completed
+         *
+         * @param stats instance of the {@link GCBurstStats}
+         */
+        void onBurstCompleted(@NonNull GCBurstStats stats);
+
+        /**
+         * Method which provide the action when the camera open attempt was finished
+         *
+         * @param attempt instance of the {@link GCOpenAttempt} with the open latency
+         */
+        void onCameraOpenAttempt(@NonNull GCOpenAttempt attempt);
+
+        /**
+         * Method which provide the action when the camera can't be opened (all the attempts
+         * were failed or timed out)
+         *
+         * @param exception instance of the {@link Exception}
          */
-        void onPictureTaken(byte[] data);
+        void onCameraOpenFailed(@NonNull Exception exception);
 
     }
 
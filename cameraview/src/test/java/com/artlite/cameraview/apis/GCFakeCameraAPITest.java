@@ -0,0 +1,274 @@
+package com.artlite.cameraview.apis;
+
+import android.support.annotation.NonNull;
+
+import com.artlite.cameraview.frames.GCFrame;
+import com.artlite.cameraview.frames.GCFrameListener;
+import com.artlite.cameraview.metrics.GCCaptureTimeline;
+import com.artlite.cameraview.models.GCBurstStats;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+import com.artlite.cameraview.models.GCFakeCameraConfig;
+import com.artlite.cameraview.models.GCOpenAttempt;
+import com.artlite.cameraview.models.GCOpenPolicy;
+import com.artlite.cameraview.views.abs.GCBaseCameraView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test for the {@link GCFakeCameraAPI}
+ */
+public class GCFakeCameraAPITest {
+
+    private final LinkedBlockingQueue<GCCaptureMetadata> pictures = new LinkedBlockingQueue<>();
+
+    private final LinkedBlockingQueue<GCBurstStats> bursts = new LinkedBlockingQueue<>();
+
+    private final LinkedBlockingQueue<GCOpenAttempt> attempts = new LinkedBlockingQueue<>();
+
+    private final LinkedBlockingQueue<Exception> openFailures = new LinkedBlockingQueue<>();
+
+    private GCFakeCameraAPI camera;
+
+    @Before
+    public void setUp() {
+        camera = create(GCFakeCameraConfig.DEFAULT.withPreviewFps(200).withJpegSize(1024)
+                .withDelays(0, 20, 10));
+    }
+
+    private GCFakeCameraAPI create(GCFakeCameraConfig config) {
+        return new GCFakeCameraAPI(new GCBaseCameraView.Callback() {
+            @Override
+            public void onCameraOpened() {
+            }
+
+            @Override
+            public void onCameraClosed() {
+            }
+
+            @Override
+            public void onPictureTaken(byte[] data, @NonNull GCCaptureMetadata metadata) {
+                assertEquals((byte) 0xD8, data[1]);
+                assertEquals((byte) 0xD9, data[data.length - 1]);
+                pictures.add(metadata);
+            }
+
+            @Override
+            public void onBurstCompleted(@NonNull GCBurstStats stats) {
+                bursts.add(stats);
+            }
+
+            @Override
+            public void onCameraOpenAttempt(@NonNull GCOpenAttempt attempt) {
+                attempts.add(attempt);
+            }
+
+            @Override
+            public void onCameraOpenFailed(@NonNull Exception exception) {
+                openFailures.add(exception);
+            }
+        }, config);
+    }
+
+    @After
+    public void tearDown() {
+        camera.shutdown();
+    }
+
+    @Test
+    public void takePicture_marksFocusAndShutterStages() throws InterruptedException {
+        assertTrue(camera.start());
+        assertTrue(camera.isCameraOpened());
+        camera.setAutoFocus(true);
+        camera.takePicture();
+        camera.takePicture();
+        final GCCaptureMetadata first = pictures.poll(2, TimeUnit.SECONDS);
+        final GCCaptureMetadata second = pictures.poll(2, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        final GCCaptureTimeline timeline = first.getTimeline();
+        assertTrue(timeline.getDuration(GCCaptureTimeline.STAGE_FOCUS_START,
+                GCCaptureTimeline.STAGE_FOCUS_END) >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(timeline.getElapsed(GCCaptureTimeline.STAGE_JPEG)
+                >= TimeUnit.MILLISECONDS.toNanos(30));
+        // The queued shot waited for the first one
+        assertTrue(second.getTimeline().getElapsed(GCCaptureTimeline.STAGE_JPEG)
+                > timeline.getElapsed(GCCaptureTimeline.STAGE_JPEG));
+        assertEquals(2, camera.getFocusStats().getShotCount());
+    }
+
+    @Test
+    public void takePictures_reportsBurstStats() throws InterruptedException {
+        assertTrue(camera.start());
+        camera.takePictures(3, 5);
+        final GCBurstStats stats = bursts.poll(2, TimeUnit.SECONDS);
+        assertNotNull(stats);
+        assertEquals(3, stats.getCapturedCount());
+        assertEquals(3, pictures.size());
+    }
+
+    @Test
+    public void takePictures_doesNotCountShotInProgress() throws InterruptedException {
+        assertTrue(camera.start());
+        camera.takePicture();
+        camera.takePictures(2, 0);
+        final GCBurstStats stats = bursts.poll(2, TimeUnit.SECONDS);
+        assertNotNull(stats);
+        assertEquals(2, stats.getRequestedCount());
+        assertEquals(2, stats.getCapturedCount());
+        assertEquals(3, pictures.size());
+    }
+
+    @Test
+    public void setBurstPaused_holdsShotsUntilResumed() throws InterruptedException {
+        assertTrue(camera.start());
+        camera.setBurstPaused(true);
+        camera.takePictures(2, 0);
+        // The burst waits while the saving is saturated
+        assertNull(pictures.poll(100, TimeUnit.MILLISECONDS));
+        camera.setBurstPaused(false);
+        final GCBurstStats stats = bursts.poll(2, TimeUnit.SECONDS);
+        assertNotNull(stats);
+        assertEquals(2, stats.getCapturedCount());
+        assertEquals(2, pictures.size());
+    }
+
+    @Test
+    public void takePicture_duringBurstKeepsItsTapTime() throws InterruptedException {
+        assertTrue(camera.start());
+        camera.takePictures(3, 10);
+        final long before = System.nanoTime();
+        camera.takePicture();
+        final long after = System.nanoTime();
+        assertNotNull(bursts.poll(2, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            final GCCaptureMetadata shot = pictures.poll(2, TimeUnit.SECONDS);
+            assertNotNull(shot);
+            final long time = shot.getTimeline().getTime(GCCaptureTimeline.STAGE_TAP);
+            assertTrue((time < before) || (time > after));
+        }
+        // The queued tap is shot after the burst and its timeline starts at the tap
+        final GCCaptureMetadata tap = pictures.poll(2, TimeUnit.SECONDS);
+        assertNotNull(tap);
+        final long time = tap.getTimeline().getTime(GCCaptureTimeline.STAGE_TAP);
+        assertTrue((time >= before) && (time <= after));
+    }
+
+    @Test
+    public void standby_keepsCameraOpenedForGracePeriod() throws InterruptedException {
+        camera.setStandbyTimeout(100);
+        assertTrue(camera.start());
+        camera.stop();
+        assertFalse(camera.isCameraOpened());
+        assertTrue(camera.isStandby());
+        // Resume within the grace period doesn't open the camera again
+        assertTrue(camera.start());
+        assertFalse(camera.isStandby());
+        assertEquals(1, camera.getOpenCount());
+        camera.stop();
+        Thread.sleep(300);
+        assertFalse(camera.isStandby());
+        assertTrue(camera.start());
+        assertEquals(2, camera.getOpenCount());
+        camera.stop();
+        camera.releaseStandby();
+        camera.start();
+        assertEquals(3, camera.getOpenCount());
+    }
+
+    @Test
+    public void start_retriesBusyCameraWithBackoff() {
+        camera.shutdown();
+        camera = create(GCFakeCameraConfig.DEFAULT.withOpenFailures(2));
+        camera.setOpenPolicy(new GCOpenPolicy(1000, 3, 20));
+        final long start = System.nanoTime();
+        assertTrue(camera.start());
+        // Backoff of 20 and 40 ms between the attempts
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(60));
+        assertEquals(3, attempts.size());
+        assertEquals(GCOpenAttempt.RESULT_FAILED, attempts.poll().getResult());
+        assertEquals(GCOpenAttempt.RESULT_FAILED, attempts.poll().getResult());
+        assertEquals(GCOpenAttempt.RESULT_OPENED, attempts.poll().getResult());
+        assertTrue(openFailures.isEmpty());
+    }
+
+    @Test
+    public void start_reportsExhaustedAttempts() {
+        camera.shutdown();
+        camera = create(GCFakeCameraConfig.DEFAULT.withOpenFailures(5));
+        camera.setOpenPolicy(new GCOpenPolicy(1000, 2, 0));
+        assertFalse(camera.start());
+        assertEquals(2, attempts.size());
+        assertTrue(openFailures.poll() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void start_retriesTimedOutOpen() {
+        camera.shutdown();
+        camera = create(GCFakeCameraConfig.DEFAULT.withDelays(100, 0, 0));
+        camera.setOpenPolicy(new GCOpenPolicy(50, 2, 0));
+        assertFalse(camera.start());
+        // The late opens are closed and retried until the attempts are exhausted
+        assertEquals(2, attempts.size());
+        for (GCOpenAttempt attempt : attempts) {
+            assertEquals(GCOpenAttempt.RESULT_TIMEOUT, attempt.getResult());
+            assertTrue(attempt.getLatency() >= TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertTrue(openFailures.poll() instanceof TimeoutException);
+        assertFalse(camera.isCameraOpened());
+        assertEquals(0, camera.getOpenCount());
+    }
+
+    @Test
+    public void start_backoffDoesNotBlockCameraThread() throws Exception {
+        camera.shutdown();
+        camera = create(GCFakeCameraConfig.DEFAULT.withOpenFailures(1));
+        camera.setOpenPolicy(new GCOpenPolicy(1000, 2, 5000));
+        final Future<Boolean> started = camera.startAsync(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                command.run();
+            }
+        }, null);
+        assertEquals(GCOpenAttempt.RESULT_FAILED, attempts.poll(2, TimeUnit.SECONDS).getResult());
+        // The stop is executed during the backoff and cancels the pending attempt
+        final long start = System.nanoTime();
+        camera.stop();
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+        assertFalse(started.get(1, TimeUnit.SECONDS));
+        assertTrue(attempts.isEmpty());
+        assertTrue(openFailures.isEmpty());
+    }
+
+    @Test
+    public void frameListener_receivesSyntheticFrames() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(5);
+        camera.addFrameListener(new GCFrameListener() {
+            @Override
+            public void onFrame(@NonNull GCFrame frame) {
+                assertEquals(frame.getWidth() * frame.getHeight() * 3 / 2,
+                        frame.getData().length);
+                latch.countDown();
+            }
+        });
+        assertTrue(camera.start());
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        camera.stop();
+        assertFalse(camera.isCameraOpened());
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.artlite.cameraview.apis;
+
+import com.artlite.cameraview.models.GCFocusStats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test for the {@link GCFocusStateMachine}
+ */
+public class GCFocusStateMachineTest {
+
+    @Test
+    public void capture_isReadyOnlyWhenLensIsStable() {
+        final GCFocusStateMachine machine = new GCFocusStateMachine();
+        assertFalse(machine.isCaptureReady());
+        machine.onMoving(true);
+        assertEquals(GCFocusStateMachine.State.SCANNING, machine.getState());
+        assertFalse(machine.isCaptureReady());
+        machine.onMoving(false);
+        assertTrue(machine.isCaptureReady());
+        machine.onCycleStarted();
+        assertFalse(machine.isCaptureReady());
+        machine.onCycleFinished(false);
+        assertEquals(GCFocusStateMachine.State.UNFOCUSED, machine.getState());
+        assertFalse(machine.isCaptureReady());
+        machine.onCycleStarted();
+        machine.onCycleFinished(true);
+        assertTrue(machine.isCaptureReady());
+        machine.reset();
+        assertFalse(machine.isCaptureReady());
+    }
+
+    @Test
+    public void stats_accumulateShotWait() {
+        final GCFocusStateMachine machine = new GCFocusStateMachine();
+        machine.onShot(0L, true, false);
+        machine.onShot(300L, false, false);
+        machine.onShot(900L, false, true);
+        final GCFocusStats stats = machine.getStats();
+        assertEquals(3, stats.getShotCount());
+        assertEquals(1, stats.getSkippedCount());
+        assertEquals(1, stats.getTimeoutCount());
+        assertEquals(900L, stats.getLastWait());
+        assertEquals(900L, stats.getMaxWait());
+        assertEquals(400L, stats.getAverageWait());
+    }
+
+}
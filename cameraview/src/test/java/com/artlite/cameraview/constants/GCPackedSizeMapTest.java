@@ -0,0 +1,82 @@
+package com.artlite.cameraview.constants;
+
+import com.artlite.cameraview.models.GCAspectRatio;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.SortedSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test for the {@link GCPackedSizeMap}
+ */
+public class GCPackedSizeMapTest {
+
+    @Test
+    public void add_groupsByRatioLikeSizeMap() {
+        final Random random = new Random(42);
+        final GCSizeMap expected = new GCSizeMap();
+        final GCPackedSizeMap actual = new GCPackedSizeMap();
+        final int[][] ratios = {{4, 3}, {16, 9}, {3, 2}, {1, 1}, {11, 9}};
+        for (int i = 0; i < 500; i++) {
+            final int[] ratio = ratios[random.nextInt(ratios.length)];
+            final int scale = 8 + random.nextInt(400);
+            final GCSize size = new GCSize(ratio[0] * scale, ratio[1] * scale);
+            assertEquals(expected.add(size), actual.add(size));
+        }
+        assertEquals(expected.getRatios(), actual.getRatios());
+        for (GCAspectRatio ratio : expected.getRatios()) {
+            assertEquals(expected.sizes(ratio), actual.sizes(ratio));
+        }
+        actual.remove(GCAspectRatio.of(16, 9));
+        assertNull(actual.sizes(GCAspectRatio.of(16, 9)));
+        assertEquals(expected.sizes(GCAspectRatio.of(4, 3)), actual.sizes(GCAspectRatio.of(4, 3)));
+    }
+
+    @Test
+    public void ceiling_returnsSmallestCoveringSize() {
+        final GCPackedSizeMap map = new GCPackedSizeMap();
+        map.add(640, 480);
+        map.add(1280, 960);
+        map.add(1600, 1200);
+        map.add(4000, 3000);
+        final GCAspectRatio ratio = GCAspectRatio.of(4, 3);
+        assertEquals(GCPackedSizeMap.pack(1280, 960), map.ceiling(ratio, 1000, 700));
+        assertEquals(GCPackedSizeMap.pack(640, 480), map.ceiling(ratio, 0, 0));
+        assertEquals(GCPackedSizeMap.pack(1600, 1200), map.ceiling(ratio, 1281, 1));
+        assertEquals(GCPackedSizeMap.NO_SIZE, map.ceiling(ratio, 5000, 10));
+        assertEquals(GCPackedSizeMap.NO_SIZE, map.ceiling(GCAspectRatio.of(16, 9), 1, 1));
+        assertEquals(new GCSize(4000, 3000), map.ceilingSize(ratio, 3000, 2000));
+    }
+
+    @Test
+    public void tolerance_groupsNearRatios() {
+        final GCPackedSizeMap map = new GCPackedSizeMap(0.01f);
+        assertTrue(map.add(1080, 1920));
+        assertTrue(map.add(1088, 1920));
+        assertFalse(map.add(1088, 1920));
+        assertEquals(1, map.getRatios().size());
+        final SortedSet<GCSize> sizes = map.sizes(GCAspectRatio.of(9, 16));
+        assertEquals(2, sizes.size());
+        // The near ratio is interned to the same bucket
+        assertEquals(2, map.count(GCAspectRatio.of(1088, 1920)));
+        final GCPackedSizeMap exact = new GCPackedSizeMap();
+        exact.add(1080, 1920);
+        exact.add(1088, 1920);
+        assertEquals(2, exact.getRatios().size());
+    }
+
+    @Test
+    public void compareTo_doesNotOverflow() {
+        final GCSize large = new GCSize(65535, 65535);
+        final GCSize small = new GCSize(1, 1);
+        assertTrue(large.compareTo(small) > 0);
+        assertTrue(small.compareTo(large) < 0);
+    }
+
+}
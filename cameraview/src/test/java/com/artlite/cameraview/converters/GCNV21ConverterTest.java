@@ -0,0 +1,110 @@
+package com.artlite.cameraview.converters;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Local unit test for the {@link GCNV21Converter}
+ */
+public class GCNV21ConverterTest {
+
+    private static byte[] frame(int width, int height, int luma, int chroma) {
+        final byte[] data = new byte[width * height * 3 / 2];
+        Arrays.fill(data, 0, width * height, (byte) luma);
+        Arrays.fill(data, width * height, data.length, (byte) chroma);
+        return data;
+    }
+
+    @Test
+    public void neutralChroma_isGray() {
+        final GCNV21Converter converter = new GCNV21Converter(1);
+        final int[] out = new int[16 * 16];
+        converter.toArgb(frame(16, 16, 16, 128), 16, 16, out);
+        assertEquals(0xff000000, out[0]);
+        converter.toArgb(frame(16, 16, 235, 128), 16, 16, out);
+        assertEquals(0xffffffff, out[255]);
+        converter.toArgb(frame(16, 16, 128, 128), 16, 16, out);
+        assertEquals(0xff828282, out[17]);
+    }
+
+    @Test
+    public void parallel_matchesSerial() {
+        final int width = 320;
+        final int height = 240;
+        final byte[] data = new byte[width * height * 3 / 2];
+        new Random(42).nextBytes(data);
+        final int[] serial = new int[width * height];
+        final int[] parallel = new int[width * height];
+        new GCNV21Converter(1).toArgb(data, width, height, serial);
+        final GCNV21Converter converter = new GCNV21Converter(4);
+        try {
+            converter.toArgb(data, width, height, parallel);
+        } finally {
+            converter.shutdown();
+        }
+        assertArrayEquals(serial, parallel);
+    }
+
+    @Test
+    public void crop_matchesRegionOfFullFrame() {
+        final int width = 64;
+        final int height = 48;
+        final byte[] data = new byte[width * height * 3 / 2];
+        new Random(7).nextBytes(data);
+        final GCNV21Converter converter = new GCNV21Converter(1);
+        final int[] full = new int[width * height];
+        converter.toArgb(data, width, height, full);
+        final int[] crop = new int[15 * 9];
+        converter.toArgb(data, width, height, 5, 3, 15, 9, crop);
+        for (int row = 0; row < 9; row++) {
+            for (int column = 0; column < 15; column++) {
+                assertEquals(full[(row + 3) * width + column + 5], crop[row * 15 + column]);
+            }
+        }
+        final ByteBuffer rgb565 = ByteBuffer.allocate(15 * 9 * 2);
+        converter.toRgb565(data, width, height, 5, 3, 15, 9, rgb565);
+        final int argb = crop[14];
+        final int expected = (((argb >> 19) & 0x1f) << 11) | (((argb >> 10) & 0x3f) << 5)
+                | ((argb >> 3) & 0x1f);
+        assertEquals(expected, rgb565.getShort(14 * 2) & 0xffff);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cropOutsideOfFrame_isRejected() {
+        new GCNV21Converter(1).toArgb(frame(16, 16, 0, 0), 16, 16, 8, 8, 10, 10, new int[100]);
+    }
+
+    @Test
+    public void rotate_composesToFullTurn() {
+        final int width = 8;
+        final int height = 6;
+        final byte[] data = new byte[width * height * 3 / 2];
+        new Random(3).nextBytes(data);
+        final byte[] once = new byte[data.length];
+        final byte[] twice = new byte[data.length];
+        final byte[] thrice = new byte[data.length];
+        final byte[] full = new byte[data.length];
+        GCNV21Converter.rotate(data, width, height, 90, once);
+        GCNV21Converter.rotate(once, height, width, 90, twice);
+        GCNV21Converter.rotate(twice, width, height, 90, thrice);
+        GCNV21Converter.rotate(thrice, height, width, 90, full);
+        assertArrayEquals(data, full);
+        final byte[] expected = new byte[data.length];
+        GCNV21Converter.rotate(data, width, height, 180, expected);
+        assertArrayEquals(expected, twice);
+        GCNV21Converter.rotate(data, width, height, 270, expected);
+        assertArrayEquals(expected, thrice);
+        // Top left luma goes to the top right corner
+        assertEquals(data[0], once[height - 1]);
+        // Top left chroma pair goes to the top right pair
+        assertEquals(data[width * height], once[width * height + height - 2]);
+        assertEquals(data[width * height + 1], once[width * height + height - 1]);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.artlite.cameraview.exif;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Local unit test for the {@link GCExifParser}
+ */
+public class GCExifParserTest {
+
+    private static final byte[] THUMBNAIL = {
+            (byte) 0xFF, (byte) 0xD8, 1, 2, (byte) 0xFF, (byte) 0xD9
+    };
+
+    private static byte[] jpeg(ByteOrder order, int orientation, boolean hasThumbnail) {
+        final ByteBuffer tiff = ByteBuffer.allocate(56 + THUMBNAIL.length).order(order);
+        tiff.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        tiff.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        tiff.putShort((short) 0x2A).putInt(8);
+        // IFD0 (orientation)
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1)
+                .putShort((short) orientation).putShort((short) 0);
+        tiff.putInt(hasThumbnail ? 26 : 0);
+        // IFD1 (thumbnail)
+        tiff.putShort((short) 2);
+        tiff.putShort((short) 0x0201).putShort((short) 4).putInt(1).putInt(56);
+        tiff.putShort((short) 0x0202).putShort((short) 4).putInt(1).putInt(THUMBNAIL.length);
+        tiff.putInt(0);
+        tiff.put(THUMBNAIL);
+        final ByteBuffer jpeg = ByteBuffer.allocate(4 + 4 + 6 + tiff.capacity() + 4);
+        jpeg.put((byte) 0xFF).put((byte) 0xD8);
+        // APP0 before the Exif
+        jpeg.put((byte) 0xFF).put((byte) 0xE0).putShort((short) 2);
+        jpeg.put((byte) 0xFF).put((byte) 0xE1).putShort((short) (2 + 6 + tiff.capacity()));
+        jpeg.put(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        jpeg.put(tiff.array());
+        jpeg.put((byte) 0xFF).put((byte) 0xDA);
+        return jpeg.array();
+    }
+
+    @Test
+    public void thumbnail_isFoundInBothByteOrders() {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            final byte[] jpeg = jpeg(order, 6, true);
+            final long location = GCExifParser.findThumbnail(jpeg);
+            assertEquals(2 + 4 + 4 + 6 + 56, GCExifParser.offsetOf(location));
+            assertEquals(THUMBNAIL.length, GCExifParser.lengthOf(location));
+            assertEquals(90, GCExifParser.getOrientation(jpeg));
+            assertEquals(GCExifParser.pack(6, 4 + 6 + 56 + THUMBNAIL.length),
+                    GCExifParser.findApp1(jpeg));
+        }
+    }
+
+    @Test
+    public void missingOrBrokenExif_isNotFound() {
+        final byte[] jpeg = jpeg(ByteOrder.BIG_ENDIAN, 3, false);
+        assertEquals(GCExifParser.NOT_FOUND, GCExifParser.findThumbnail(jpeg));
+        assertEquals(180, GCExifParser.getOrientation(jpeg));
+        final byte[] plain = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xDA, 0, 0};
+        assertEquals(GCExifParser.NOT_FOUND, GCExifParser.findApp1(plain));
+        assertEquals(0, GCExifParser.getOrientation(plain));
+        // Truncated data
+        final byte[] truncated = new byte[40];
+        System.arraycopy(jpeg(ByteOrder.LITTLE_ENDIAN, 8, true), 0, truncated, 0, 40);
+        assertEquals(GCExifParser.NOT_FOUND, GCExifParser.findThumbnail(truncated));
+    }
+
+}
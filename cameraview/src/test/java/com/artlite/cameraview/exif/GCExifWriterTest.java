@@ -0,0 +1,136 @@
+package com.artlite.cameraview.exif;
+
+import com.artlite.cameraview.constants.GCConstants;
+import com.artlite.cameraview.models.GCCaptureMetadata;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test for the {@link GCExifWriter}
+ */
+public class GCExifWriterTest {
+
+    private static final GCExifWriter WRITER = new GCExifWriter("LGE", "Nexus 5");
+
+    private static GCCaptureMetadata metadata(int orientation) {
+        return new GCCaptureMetadata(orientation, 0L, 640, 480,
+                GCConstants.FACING_BACK, GCConstants.FLASH_AUTO, false);
+    }
+
+    @Test
+    public void exif_isInsertedAfterJfifWithoutTouchingImage() {
+        final byte[] jpeg = new byte[2 + 18 + 8];
+        ByteBuffer.wrap(jpeg).put((byte) 0xFF).put((byte) 0xD8)
+                .put((byte) 0xFF).put((byte) 0xE0).putShort((short) 16);
+        ByteBuffer.wrap(jpeg, 20, 8).put(new byte[]{(byte) 0xFF, (byte) 0xDA, 1, 2, 3, 4,
+                (byte) 0xFF, (byte) 0xD9});
+        final ByteBuffer[] buffers = WRITER.splice(jpeg, metadata(270));
+        // Image data is wrapped, not copied
+        assertTrue(buffers[0].array() == jpeg && buffers[2].array() == jpeg);
+        final byte[] result = WRITER.apply(jpeg, metadata(270));
+        assertEquals(270, GCExifParser.getOrientation(result));
+        final long app1 = GCExifParser.findApp1(result);
+        assertEquals(20, GCExifParser.offsetOf(app1));
+        assertEquals(result.length, jpeg.length + GCExifParser.lengthOf(app1));
+        assertArrayEquals(Arrays.copyOfRange(jpeg, 20, jpeg.length),
+                Arrays.copyOfRange(result, result.length - 8, result.length));
+    }
+
+    @Test
+    public void existingOrientation_isPatchedInPlace() {
+        final byte[] source = WRITER.apply(new byte[]{(byte) 0xFF, (byte) 0xD8,
+                (byte) 0xFF, (byte) 0xDA, (byte) 0xFF, (byte) 0xD9}, metadata(0));
+        assertEquals(0, GCExifParser.getOrientation(source));
+        final byte[] result = WRITER.apply(source, metadata(90));
+        assertEquals(source.length, result.length);
+        assertEquals(90, GCExifParser.getOrientation(result));
+        assertEquals(0, GCExifParser.getOrientation(source));
+    }
+
+    @Test
+    public void halRotation_keepsOrientationOfHal() {
+        final GCCaptureMetadata rotated = new GCCaptureMetadata(90, 0L, 640, 480,
+                GCConstants.FACING_BACK, GCConstants.FLASH_AUTO, false, true, null);
+        // The Exif of the HAL is kept as is
+        final byte[] source = WRITER.apply(new byte[]{(byte) 0xFF, (byte) 0xD8,
+                (byte) 0xFF, (byte) 0xDA, (byte) 0xFF, (byte) 0xD9}, metadata(180));
+        final ByteBuffer[] buffers = WRITER.splice(source, rotated);
+        assertEquals(1, buffers.length);
+        assertTrue(buffers[0].array() == source);
+        // The rotated image data without the Exif is upright
+        final byte[] result = WRITER.apply(new byte[]{(byte) 0xFF, (byte) 0xD8,
+                (byte) 0xFF, (byte) 0xDA, (byte) 0xFF, (byte) 0xD9}, rotated);
+        assertEquals(0, GCExifParser.getOrientation(result));
+    }
+
+    @Test
+    public void missingOrientation_isInsertedKeepingHalMetadata() {
+        final byte[] thumbnail = {(byte) 0xFF, (byte) 0xD8, 1, 2, (byte) 0xFF, (byte) 0xD9};
+        final byte[] image = {(byte) 0xFF, (byte) 0xDA, 5, 6, (byte) 0xFF, (byte) 0xD9};
+        final byte[] source = halJpeg(thumbnail, image);
+        assertEquals(0, GCExifParser.getOrientation(source));
+        final byte[] result = WRITER.apply(source, metadata(90));
+        assertEquals(90, GCExifParser.getOrientation(result));
+        // The thumbnail, the other IFD0 entries and the Exif IFD are kept
+        final long location = GCExifParser.findThumbnail(result);
+        assertTrue(location != GCExifParser.NOT_FOUND);
+        assertArrayEquals(thumbnail, Arrays.copyOfRange(result,
+                GCExifParser.offsetOf(location),
+                GCExifParser.offsetOf(location) + GCExifParser.lengthOf(location)));
+        final long app1 = GCExifParser.findApp1(result);
+        final int tiff = GCExifParser.getTiffOffset(app1);
+        final int end = GCExifParser.offsetOf(app1) + GCExifParser.lengthOf(app1);
+        final int ifd0 = GCExifParser.firstIfd(result, tiff, end, true);
+        assertEquals(3, GCExifParser.u16(result, ifd0, true));
+        assertEquals(0x010F, GCExifParser.u16(result, ifd0 + 2, true));
+        assertEquals(0x0112, GCExifParser.u16(result, ifd0 + 14, true));
+        assertEquals(0x8769, GCExifParser.u16(result, ifd0 + 26, true));
+        final int exifIfd = tiff + (int) GCExifParser.u32(result, ifd0 + 26 + 8, true);
+        final int width = GCExifParser.findEntry(result, end, exifIfd, 0xA002, true);
+        assertEquals(640, GCExifParser.u32(result, width + 8, true));
+        // The image data is untouched
+        assertArrayEquals(image, Arrays.copyOfRange(result, result.length - image.length,
+                result.length));
+    }
+
+    /**
+     * Creates the JPEG with the little endian HAL Exif: IFD0 (make, Exif IFD pointer) without
+     * the orientation, Exif IFD (pixel width) and IFD1 with the thumbnail.
+     */
+    private static byte[] halJpeg(byte[] thumbnail, byte[] image) {
+        final int tiffSize = 8 + 30 + 18 + 30 + thumbnail.length;
+        final ByteBuffer buffer = ByteBuffer.allocate(2 + 10 + tiffSize + image.length);
+        buffer.put((byte) 0xFF).put((byte) 0xD8).put((byte) 0xFF).put((byte) 0xE1)
+                .putShort((short) (8 + tiffSize)).put(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(new byte[]{'I', 'I'}).putShort((short) 0x2A).putInt(8);
+        // IFD0
+        buffer.putShort((short) 2);
+        buffer.putShort((short) 0x010F).putShort((short) 2).putInt(4)
+                .put(new byte[]{'L', 'G', 'E', 0});
+        buffer.putShort((short) 0x8769).putShort((short) 4).putInt(1).putInt(38);
+        buffer.putInt(56);
+        // Exif IFD
+        buffer.putShort((short) 1);
+        buffer.putShort((short) 0xA002).putShort((short) 4).putInt(1).putInt(640);
+        buffer.putInt(0);
+        // IFD1
+        buffer.putShort((short) 2);
+        buffer.putShort((short) 0x0201).putShort((short) 4).putInt(1).putInt(86);
+        buffer.putShort((short) 0x0202).putShort((short) 4).putInt(1)
+                .putInt(thumbnail.length);
+        buffer.putInt(0);
+        buffer.put(thumbnail);
+        buffer.put(image);
+        return buffer.array();
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.artlite.cameraview.frames;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test for the {@link GCFrameBufferPool}
+ */
+public class GCFrameBufferPoolTest {
+
+    @Test
+    public void bufferSize_isNV21() {
+        assertEquals(640 * 480 * 3 / 2, GCFrameBufferPool.getBufferSize(640, 480));
+        // Odd sizes round the chroma planes up
+        assertEquals(3 * 3 + 2 * 2 * 2, GCFrameBufferPool.getBufferSize(3, 3));
+        final GCFrameBufferPool pool = new GCFrameBufferPool(1920, 1080, 4);
+        assertEquals(4L * 1920 * 1080 * 3 / 2, pool.getAllocatedBytes());
+    }
+
+    @Test
+    public void recycler_receivesEveryBufferBack() {
+        final GCFrameBufferPool pool = new GCFrameBufferPool(64, 48, 3);
+        final ArrayDeque<byte[]> camera = new ArrayDeque<>();
+        pool.setRecycler(new GCFrameBufferPool.Recycler() {
+            @Override
+            public void onRecycle(@NonNull byte[] buffer) {
+                camera.addLast(buffer);
+            }
+        });
+        assertEquals(3, camera.size());
+        assertEquals(0, pool.getFreeCount());
+        final Set<byte[]> buffers = Collections.newSetFromMap(new IdentityHashMap<byte[], Boolean>());
+        buffers.addAll(camera);
+        // Steady state streaming reuses the same buffers
+        for (int i = 0; i < 1000; i++) {
+            final byte[] data = camera.removeFirst();
+            final GCFrame frame = pool.wrap(data, i);
+            assertNotNull(frame);
+            assertEquals(i, frame.getSequence());
+            assertSame(data, frame.getData());
+            frame.release();
+        }
+        assertEquals(3, camera.size());
+        assertTrue(buffers.containsAll(camera));
+        assertEquals(1000, pool.getRecycledCount());
+    }
+
+    @Test
+    public void retainedFrame_isReturnedOnLastRelease() {
+        final GCFrameBufferPool pool = new GCFrameBufferPool(8, 8, 2);
+        final byte[] data = pool.acquire();
+        assertNotNull(data);
+        assertEquals(1, pool.getFreeCount());
+        final GCFrame frame = pool.wrap(data, 0);
+        assertNotNull(frame);
+        frame.retain();
+        frame.release();
+        assertEquals(1, pool.getFreeCount());
+        frame.release();
+        assertEquals(2, pool.getFreeCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void doubleRelease_isRejected() {
+        final GCFrameBufferPool pool = new GCFrameBufferPool(8, 8, 1);
+        final GCFrame frame = pool.wrap(pool.acquire(), 0);
+        assertNotNull(frame);
+        frame.release();
+        frame.release();
+    }
+
+    @Test
+    public void exhaustedAndClosedPool_dropsBuffers() {
+        final GCFrameBufferPool pool = new GCFrameBufferPool(8, 8, 1);
+        final byte[] data = pool.acquire();
+        assertNotNull(data);
+        assertNull(pool.acquire());
+        assertNull(pool.wrap(new byte[data.length], 0));
+        final GCFrame frame = pool.wrap(data, 0);
+        assertNotNull(frame);
+        pool.close();
+        frame.release();
+        assertTrue(pool.isClosed());
+        assertEquals(0, pool.getFreeCount());
+        assertFalse(pool.matches(16, 8));
+    }
+
+    @Test
+    public void close_waitsForRecyclerOfConcurrentRelease() throws InterruptedException {
+        final GCFrameBufferPool pool = new GCFrameBufferPool(8, 8, 2);
+        final ArrayDeque<byte[]> camera = new ArrayDeque<>();
+        final AtomicBoolean isStreaming = new AtomicBoolean();
+        final AtomicBoolean isReleased = new AtomicBoolean();
+        final AtomicInteger lateCount = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        pool.setRecycler(new GCFrameBufferPool.Recycler() {
+            @Override
+            public void onRecycle(@NonNull byte[] buffer) {
+                if (!isStreaming.get()) {
+                    camera.addLast(buffer);
+                    return;
+                }
+                entered.countDown();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                // The camera is released right after the pool is closed
+                if (isReleased.get()) {
+                    lateCount.incrementAndGet();
+                }
+            }
+        });
+        final GCFrame first = pool.wrap(camera.removeFirst(), 0);
+        final GCFrame second = pool.wrap(camera.removeFirst(), 1);
+        assertNotNull(first);
+        assertNotNull(second);
+        isStreaming.set(true);
+        // The consumer releases the frame while the camera thread closes the pool
+        final Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                first.release();
+            }
+        });
+        consumer.start();
+        assertTrue(entered.await(2, TimeUnit.SECONDS));
+        pool.close();
+        isReleased.set(true);
+        consumer.join(2000);
+        // The buffer released after the close isn't handed to the released camera
+        second.release();
+        assertEquals(0, lateCount.get());
+        assertEquals(1, pool.getRecycledCount());
+    }
+
+}
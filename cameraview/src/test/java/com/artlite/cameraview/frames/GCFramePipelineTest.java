@@ -0,0 +1,185 @@
+package com.artlite.cameraview.frames;
+
+import android.support.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Local unit test for the {@link GCFramePipeline}
+ */
+public class GCFramePipelineTest {
+
+    private static final int BUFFER_COUNT = 8;
+
+    private final GCFrameBufferPool pool = new GCFrameBufferPool(8, 8, BUFFER_COUNT);
+
+    private final GCFramePipeline pipeline = new GCFramePipeline(1);
+
+    private final SlowProcessor processor = new SlowProcessor();
+
+    @Before
+    public void setUp() {
+        assertEquals(BUFFER_COUNT, pool.getFreeCount());
+    }
+
+    @After
+    public void tearDown() {
+        processor.gate.countDown();
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void dropOldest_keepsNewestFramesOfQueue() throws InterruptedException {
+        final GCProcessorStats stats = pipeline.addProcessor(processor,
+                GCOverflowPolicy.DROP_OLDEST, 2, 0);
+        offerWhileBusy(6);
+        // Frames 1, 2 and 3 were replaced by the newer ones
+        assertEquals(6, stats.getAcceptedCount());
+        assertEquals(3, stats.getDroppedCount());
+        processor.gate.countDown();
+        awaitProcessed(stats, 3);
+        assertEquals(Arrays.asList(0L, 4L, 5L), processor.timestamps);
+        assertEquals(0, stats.getFailedCount());
+        awaitReleased();
+    }
+
+    @Test
+    public void keepLatest_processesOnlyLatestFrame() throws InterruptedException {
+        // The capacity is ignored, the single slot is replaced
+        final GCProcessorStats stats = pipeline.addProcessor(processor,
+                GCOverflowPolicy.KEEP_LATEST, 4, 0);
+        offerWhileBusy(6);
+        assertEquals(6, stats.getAcceptedCount());
+        assertEquals(4, stats.getDroppedCount());
+        processor.gate.countDown();
+        awaitProcessed(stats, 2);
+        assertEquals(Arrays.asList(0L, 5L), processor.timestamps);
+        awaitReleased();
+    }
+
+    @Test
+    public void blockWithTimeout_dropsNewFrameAfterTimeout() throws InterruptedException {
+        final GCProcessorStats stats = pipeline.addProcessor(processor,
+                GCOverflowPolicy.BLOCK_WITH_TIMEOUT, 1, 50);
+        offerWhileBusy(2);
+        // The queue is full, the camera thread waits for the timeout only
+        final long start = System.nanoTime();
+        offer(2);
+        final long elapsed = System.nanoTime() - start;
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(2, stats.getAcceptedCount());
+        assertEquals(1, stats.getDroppedCount());
+        processor.gate.countDown();
+        awaitProcessed(stats, 2);
+        assertEquals(Arrays.asList(0L, 1L), processor.timestamps);
+        awaitReleased();
+    }
+
+    @Test
+    public void failedProcessor_isCountedAndFrameReleased() throws InterruptedException {
+        final GCProcessorStats stats = pipeline.addProcessor(new GCFrameProcessor() {
+            @Override
+            public void process(@NonNull GCFrame frame) {
+                throw new IllegalStateException("Analyzer failure");
+            }
+        }, GCOverflowPolicy.DROP_OLDEST);
+        offer(0);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while ((stats.getFailedCount() < 1) && (System.nanoTime() < deadline)) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, stats.getFailedCount());
+        assertEquals(0, stats.getProcessedCount());
+        awaitReleased();
+    }
+
+    @Test
+    public void shutdown_releasesQueuedFrames() throws InterruptedException {
+        final GCProcessorStats stats = pipeline.addProcessor(processor,
+                GCOverflowPolicy.DROP_OLDEST, 2, 0);
+        offerWhileBusy(3);
+        pipeline.shutdown();
+        assertEquals(2, stats.getDroppedCount());
+        processor.gate.countDown();
+        awaitProcessed(stats, 1);
+        awaitReleased();
+    }
+
+    /**
+     * Offers the first frame, waits until the processor is blocked on it and offers the rest.
+     */
+    private void offerWhileBusy(int count) throws InterruptedException {
+        offer(0);
+        assertTrue(processor.started.await(2, TimeUnit.SECONDS));
+        for (int i = 1; i < count; i++) {
+            offer(i);
+        }
+    }
+
+    /**
+     * Offers the frame like the camera thread does (the frame is released after the dispatch).
+     */
+    private void offer(long timestamp) {
+        final byte[] buffer = pool.acquire();
+        if (buffer == null) {
+            fail("Frame is leaked");
+        }
+        final GCFrame frame = pool.wrap(buffer, timestamp);
+        pipeline.onFrame(frame);
+        frame.release();
+    }
+
+    private static void awaitProcessed(GCProcessorStats stats, int count)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while ((stats.getProcessedCount() < count) && (System.nanoTime() < deadline)) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, stats.getProcessedCount());
+    }
+
+    private void awaitReleased() throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while ((pool.getFreeCount() < BUFFER_COUNT) && (System.nanoTime() < deadline)) {
+            Thread.sleep(5);
+        }
+        assertEquals(BUFFER_COUNT, pool.getFreeCount());
+    }
+
+    /**
+     * Processor which is blocked on the first frame until the gate is opened.
+     */
+    private static final class SlowProcessor implements GCFrameProcessor {
+
+        final CountDownLatch started = new CountDownLatch(1);
+
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        final List<Long> timestamps = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void process(@NonNull GCFrame frame) {
+            timestamps.add(frame.getTimestamp());
+            started.countDown();
+            try {
+                gate.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
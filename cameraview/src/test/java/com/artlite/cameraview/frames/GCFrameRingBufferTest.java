@@ -0,0 +1,62 @@
+package com.artlite.cameraview.frames;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Local unit test for the {@link GCFrameRingBuffer}
+ */
+public class GCFrameRingBufferTest {
+
+    private static GCFrame deliver(GCFrameBufferPool pool, GCFrameRingBuffer ring,
+                                   long timestamp) {
+        final GCFrame frame = pool.wrap(pool.acquire(), timestamp);
+        assertNotNull(frame);
+        ring.onFrame(frame);
+        frame.release();
+        return frame;
+    }
+
+    @Test
+    public void ring_keepsLastFramesAndReleasesOldest() {
+        final GCFrameBufferPool pool = new GCFrameBufferPool(16, 16, 4);
+        final GCFrameRingBuffer ring = new GCFrameRingBuffer(3);
+        for (int i = 1; i <= 3; i++) {
+            deliver(pool, ring, i * 100L);
+        }
+        assertEquals(3, ring.getCount());
+        assertEquals(1, pool.getFreeCount());
+        // The oldest frame (100) is evicted and its buffer is free again
+        deliver(pool, ring, 400L);
+        assertEquals(3, ring.getCount());
+        assertEquals(1, pool.getFreeCount());
+        ring.clear();
+        assertEquals(0, ring.getCount());
+        assertEquals(4, pool.getFreeCount());
+    }
+
+    @Test
+    public void acquireNearest_returnsRetainedFrame() {
+        final GCFrameBufferPool pool = new GCFrameBufferPool(16, 16, 4);
+        final GCFrameRingBuffer ring = new GCFrameRingBuffer(2);
+        assertNull(ring.acquireNearest(0L));
+        deliver(pool, ring, 100L);
+        deliver(pool, ring, 200L);
+        final GCFrame frame = ring.acquireNearest(160L);
+        assertNotNull(frame);
+        assertEquals(200L, frame.getTimestamp());
+        final GCFrame oldest = ring.acquireNearest(0L);
+        assertNotNull(oldest);
+        assertEquals(100L, oldest.getTimestamp());
+        ring.clear();
+        // The acquired frames are still held by the caller
+        assertEquals(2, pool.getFreeCount());
+        frame.release();
+        oldest.release();
+        assertEquals(4, pool.getFreeCount());
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.artlite.cameraview.metrics;
+
+import com.artlite.cameraview.models.GCLatencyPercentiles;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Local unit test for the {@link GCLatencyRecorder}
+ */
+public class GCLatencyRecorderTest {
+
+    @Test
+    public void percentiles_areNearestRankOfRollingWindow() {
+        final GCLatencyRecorder recorder = new GCLatencyRecorder(100);
+        assertNull(recorder.getPercentiles(GCCaptureTimeline.STAGE_JPEG));
+        // Old samples are evicted by the window
+        for (int i = 0; i < 50; i++) {
+            recorder.record(timeline(1000000));
+        }
+        for (int i = 100; i >= 1; i--) {
+            recorder.record(timeline(i));
+        }
+        final GCLatencyPercentiles percentiles =
+                recorder.getPercentiles(GCCaptureTimeline.STAGE_JPEG);
+        assertEquals(100, percentiles.getCount());
+        assertEquals(50, percentiles.getP50());
+        assertEquals(95, percentiles.getP95());
+        assertEquals(99, percentiles.getP99());
+        // Unmarked stages are not recorded
+        assertNull(recorder.getPercentiles(GCCaptureTimeline.STAGE_FOCUS_END));
+    }
+
+    private static GCCaptureTimeline timeline(long latency) {
+        final GCCaptureTimeline timeline = new GCCaptureTimeline(-5);
+        timeline.mark(GCCaptureTimeline.STAGE_JPEG, latency - 5);
+        return timeline;
+    }
+
+}
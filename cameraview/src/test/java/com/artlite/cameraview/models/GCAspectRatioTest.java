@@ -0,0 +1,71 @@
+package com.artlite.cameraview.models;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Local unit test for the {@link GCAspectRatio} interning
+ */
+public class GCAspectRatioTest {
+
+    @Test
+    public void of_reducesAndInterns() {
+        final GCAspectRatio ratio = GCAspectRatio.of(1920, 1080);
+        assertEquals(16, ratio.getX());
+        assertEquals(9, ratio.getY());
+        assertSame(ratio, GCAspectRatio.of(16, 9));
+        assertSame(ratio, GCAspectRatio.parse("32:18"));
+    }
+
+    @Test
+    public void of_isThreadSafeUnderContention() throws Exception {
+        // More distinct ratios than the interning table holds, so the overflow map is used too
+        // (prime count, so every thread order below is a permutation)
+        final int ratios = 2011;
+        final int threads = 8;
+        final GCAspectRatio[][] results = new GCAspectRatio[threads][ratios];
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        barrier.await();
+                        // Every thread walks the ratios in its own order and scale
+                        for (int i = 0; i < ratios; i++) {
+                            final int index = (i * (2 * thread + 1)) % ratios;
+                            final int scale = thread + 1;
+                            results[thread][index] =
+                                    GCAspectRatio.of((index + 1) * scale, (index + 2) * scale);
+                        }
+                    } catch (Throwable throwable) {
+                        failure.compareAndSet(null, throwable);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        done.await();
+        assertNull(failure.get());
+        for (int i = 0; i < ratios; i++) {
+            assertEquals(i + 1, results[0][i].getX());
+            assertEquals(i + 2, results[0][i].getY());
+            for (int t = 1; t < threads; t++) {
+                assertSame(results[0][i], results[t][i]);
+            }
+            assertSame(results[0][i], GCAspectRatio.of(i + 1, i + 2));
+        }
+    }
+
+}
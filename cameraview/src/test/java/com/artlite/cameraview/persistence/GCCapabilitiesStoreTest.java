@@ -0,0 +1,173 @@
+package com.artlite.cameraview.persistence;
+
+import android.support.annotation.NonNull;
+
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCCameraCapabilities;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test for the {@link GCCapabilitiesStore}
+ */
+public class GCCapabilitiesStoreTest {
+
+    private static final String FINGERPRINT = "vendor/device/device:7.0/NRD90M/1:user/release-keys";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    private List<GCCameraCapabilities> capabilities;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "cache/capabilities.bin");
+        capabilities = Arrays.asList(
+                new GCCameraCapabilities(0, 0, 90,
+                        Arrays.asList(new GCSize(1920, 1080), new GCSize(1280, 720),
+                                new GCSize(640, 480)),
+                        Arrays.asList(new GCSize(4000, 3000), new GCSize(3840, 2160)),
+                        Arrays.asList("auto", "continuous-picture"),
+                        Arrays.asList("off", "on", "torch"),
+                        Arrays.asList(new int[]{15000, 30000}, new int[]{30000, 30000})),
+                new GCCameraCapabilities(1, 1, 270,
+                        Collections.singletonList(new GCSize(1280, 720)),
+                        Collections.singletonList(new GCSize(2560, 1440)),
+                        Collections.singletonList("fixed"),
+                        Collections.<String>emptyList(),
+                        Collections.singletonList(new int[]{7500, 30000})));
+    }
+
+    @Test
+    public void save_loadsSameCapabilities() {
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).save(capabilities));
+        assertEquals(Collections.singletonList(file.getName()),
+                Arrays.asList(file.getParentFile().list()));
+        // The fresh store reads the file only through the mapped buffer
+        final List<GCCameraCapabilities> loaded =
+                new GCCapabilitiesStore(file, FINGERPRINT).load();
+        assertEquals(capabilities.size(), loaded.size());
+        for (int i = 0; i < capabilities.size(); i++) {
+            assertCapabilities(capabilities.get(i), loaded.get(i));
+        }
+        assertTrue(file.isFile());
+    }
+
+    @Test
+    public void load_otherFingerprintDeletesFile() {
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).save(capabilities));
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT + ".1").load().isEmpty());
+        assertFalse(file.exists());
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).load().isEmpty());
+    }
+
+    @Test
+    public void load_badMagicDeletesFile() throws IOException {
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).save(capabilities));
+        overwriteInt(0, 0x4A504547);
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).load().isEmpty());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void load_badVersionDeletesFile() throws IOException {
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).save(capabilities));
+        overwriteInt(4, 2);
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).load().isEmpty());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void load_truncatedFileDeletesFile() throws IOException {
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).save(capabilities));
+        final RandomAccessFile stream = new RandomAccessFile(file, "rw");
+        try {
+            stream.setLength(stream.length() / 2);
+        } finally {
+            stream.close();
+        }
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).load().isEmpty());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void load_corruptCountDeletesFile() throws IOException {
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).save(capabilities));
+        // The cameras count follows magic, version and the length prefixed fingerprint
+        overwriteInt(4 + 4 + 2 + FINGERPRINT.length(), Integer.MAX_VALUE);
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).load().isEmpty());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void load_emptyFileDeletesFile() throws IOException {
+        assertTrue(file.getParentFile().mkdirs());
+        assertTrue(file.createNewFile());
+        assertTrue(new GCCapabilitiesStore(file, FINGERPRINT).load().isEmpty());
+        assertFalse(file.exists());
+    }
+
+    private void overwriteInt(long position, int value) throws IOException {
+        final RandomAccessFile stream = new RandomAccessFile(file, "rw");
+        try {
+            stream.seek(position);
+            stream.writeInt(value);
+        } finally {
+            stream.close();
+        }
+    }
+
+    private static void assertCapabilities(@NonNull GCCameraCapabilities expected,
+                                           @NonNull GCCameraCapabilities actual) {
+        assertEquals(expected.getCameraId(), actual.getCameraId());
+        assertEquals(expected.getFacing(), actual.getFacing());
+        assertEquals(expected.getOrientation(), actual.getOrientation());
+        assertEquals(previewSizesOf(expected), previewSizesOf(actual));
+        assertEquals(pictureSizesOf(expected), pictureSizesOf(actual));
+        assertEquals(expected.getAspectRatios(), actual.getAspectRatios());
+        assertEquals(expected.getFocusModes(), actual.getFocusModes());
+        assertEquals(expected.getFlashModes(), actual.getFlashModes());
+        assertEquals(expected.getFpsRanges().size(), actual.getFpsRanges().size());
+        for (int i = 0; i < expected.getFpsRanges().size(); i++) {
+            assertArrayEquals(expected.getFpsRanges().get(i), actual.getFpsRanges().get(i));
+        }
+    }
+
+    @NonNull
+    private static List<GCSize> previewSizesOf(@NonNull GCCameraCapabilities capabilities) {
+        final List<GCSize> sizes = new ArrayList<>();
+        for (GCAspectRatio ratio : capabilities.getPreviewAspectRatios()) {
+            sizes.addAll(capabilities.getPreviewSizes(ratio));
+        }
+        return sizes;
+    }
+
+    @NonNull
+    private static List<GCSize> pictureSizesOf(@NonNull GCCameraCapabilities capabilities) {
+        final List<GCSize> sizes = new ArrayList<>();
+        for (GCAspectRatio ratio : capabilities.getPictureAspectRatios()) {
+            sizes.addAll(capabilities.getPictureSizes(ratio));
+        }
+        return sizes;
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.artlite.cameraview.persistence;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.artlite.cameraview.models.GCCaptureMetadata;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test for the {@link GCPersistenceEngine}
+ */
+public class GCPersistenceEngineTest {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+    };
+
+    private static final byte[] DATA = {(byte) 0xFF, (byte) 0xD8, 1, 2, 3, 4, (byte) 0xFF,
+            (byte) 0xD9};
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final ResultCallback callback = new ResultCallback();
+
+    private GCPersistenceEngine engine;
+
+    @After
+    public void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    public void save_writesPhotoWithEveryFsyncPolicy() throws Exception {
+        for (GCFsyncPolicy policy : GCFsyncPolicy.values()) {
+            final File directory = new File(folder.getRoot(), policy.name());
+            engine = new GCPersistenceEngine(directory, 1, 1, policy);
+            assertTrue(engine.save(DATA, DIRECT_EXECUTOR, callback));
+            final File file = callback.awaitFile();
+            assertEquals(directory, file.getParentFile());
+            assertTrue(file.getName().endsWith(".jpg"));
+            assertArrayEquals(policy.name(), DATA, read(file));
+            assertEquals(Arrays.asList(file.getName()), Arrays.asList(directory.list()));
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    public void save_signalsBackPressureAndRejectsOverPendingLimit() throws Exception {
+        final File directory = new File(folder.getRoot(), "photos");
+        final BlockingEngine engine = new BlockingEngine(directory, 1, 2);
+        this.engine = engine;
+        final List<Boolean> transitions = new CopyOnWriteArrayList<>();
+        engine.addOnBackPressureListener(new RecordingListener(transitions));
+        assertTrue(engine.save(DATA, DIRECT_EXECUTOR, callback));
+        assertTrue(engine.started.await(2, TimeUnit.SECONDS));
+        assertFalse(engine.isSaturated());
+        // The writer is blocked, the second photo fills the limit
+        assertTrue(engine.save(DATA, DIRECT_EXECUTOR, callback));
+        assertTrue(engine.isSaturated());
+        assertEquals(Arrays.asList(true), transitions);
+        assertFalse(engine.save(DATA, DIRECT_EXECUTOR, callback));
+        assertEquals(2, engine.getPendingCount());
+        assertFalse(directory.exists());
+        engine.gate.countDown();
+        callback.awaitFile();
+        callback.awaitFile();
+        assertEquals(0, engine.getPendingCount());
+        assertFalse(engine.isSaturated());
+        assertEquals(Arrays.asList(true, false), transitions);
+        // The photos are renamed, no partial temporary files are left
+        final String[] names = directory.list();
+        assertEquals(2, names.length);
+        for (String name : names) {
+            assertFalse(name, name.endsWith(".tmp"));
+            assertArrayEquals(DATA, read(new File(directory, name)));
+        }
+    }
+
+    @Test
+    public void removedListener_isNotNotified() throws Exception {
+        final BlockingEngine engine = new BlockingEngine(new File(folder.getRoot(), "photos"),
+                1, 1);
+        this.engine = engine;
+        final List<Boolean> kept = new CopyOnWriteArrayList<>();
+        final List<Boolean> removed = new CopyOnWriteArrayList<>();
+        engine.addOnBackPressureListener(new RecordingListener(kept));
+        final RecordingListener listener = new RecordingListener(removed);
+        engine.addOnBackPressureListener(listener);
+        engine.addOnBackPressureListener(listener);
+        assertTrue(engine.save(DATA, DIRECT_EXECUTOR, callback));
+        assertEquals(Arrays.asList(true), removed);
+        engine.removeOnBackPressureListener(listener);
+        engine.gate.countDown();
+        callback.awaitFile();
+        assertEquals(Arrays.asList(true, false), kept);
+        assertEquals(Arrays.asList(true), removed);
+    }
+
+    @Test
+    public void save_reportsFailureWithoutTemporaryFile() throws Exception {
+        // The directory can't be created because the file has its name
+        final File directory = folder.newFile("photos");
+        engine = new GCPersistenceEngine(directory);
+        assertTrue(engine.save(DATA, DIRECT_EXECUTOR, callback));
+        assertTrue(callback.awaitResult() instanceof IOException);
+        assertEquals(0, engine.getPendingCount());
+        assertEquals(Arrays.asList("photos"), Arrays.asList(folder.getRoot().list()));
+    }
+
+    private static byte[] read(@NonNull File file) throws IOException {
+        final RandomAccessFile stream = new RandomAccessFile(file, "r");
+        try {
+            final byte[] data = new byte[(int) stream.length()];
+            stream.readFully(data);
+            return data;
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Listener which records the saturation transitions.
+     */
+    private static final class RecordingListener
+            implements GCPersistenceEngine.OnBackPressureListener {
+
+        final List<Boolean> transitions;
+
+        RecordingListener(@NonNull List<Boolean> transitions) {
+            this.transitions = transitions;
+        }
+
+        @Override
+        public void onBackPressureChanged(boolean isSaturated) {
+            transitions.add(isSaturated);
+        }
+    }
+
+    /**
+     * Engine which writers are blocked until the gate is opened.
+     */
+    private static final class BlockingEngine extends GCPersistenceEngine {
+
+        final CountDownLatch started = new CountDownLatch(1);
+
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        BlockingEngine(@NonNull File directory, int parallelism, int maxPending) {
+            super(directory, parallelism, maxPending, GCFsyncPolicy.DATA);
+        }
+
+        @NonNull
+        @Override
+        protected File write(@NonNull byte[] data,
+                             @Nullable GCCaptureMetadata metadata) throws IOException {
+            started.countDown();
+            try {
+                gate.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return super.write(data, metadata);
+        }
+    }
+
+    /**
+     * Callback which collects the saved files and the failures.
+     */
+    private static final class ResultCallback implements GCPersistenceEngine.Callback {
+
+        final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onPhotoSaved(@NonNull File file) {
+            results.add(file);
+        }
+
+        @Override
+        public void onPhotoFailed(@NonNull Exception exception) {
+            results.add(exception);
+        }
+
+        @NonNull
+        Object awaitResult() throws InterruptedException {
+            final Object result = results.poll(2, TimeUnit.SECONDS);
+            assertNotNull(result);
+            return result;
+        }
+
+        @NonNull
+        File awaitFile() throws InterruptedException {
+            final Object result = awaitResult();
+            if (result instanceof Exception) {
+                throw new AssertionError(result);
+            }
+            return (File) result;
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.artlite.cameraview.selectors;
+
+import android.support.annotation.NonNull;
+
+import com.artlite.cameraview.constants.GCSize;
+import com.artlite.cameraview.models.GCAspectRatio;
+import com.artlite.cameraview.models.GCCameraCapabilities;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test for the {@link GCCostModelSizeSelector}
+ */
+public class GCCostModelSizeSelectorTest {
+
+    private static final GCAspectRatio RATIO = GCAspectRatio.of(4, 3);
+
+    private static final Pattern LINE =
+            Pattern.compile("^(preview|picture) (\\d+x\\d+) cost=(\\S+) \\[(.*)]$");
+
+    private static final Pattern TERM = Pattern.compile("\\w+=(\\S+)");
+
+    private final GCCameraCapabilities capabilities = new GCCameraCapabilities(0, 0, 90,
+            Arrays.asList(new GCSize(640, 480), new GCSize(1024, 768), new GCSize(1280, 960),
+                    new GCSize(1920, 1440)),
+            Arrays.asList(new GCSize(2592, 1944), new GCSize(3264, 2448),
+                    new GCSize(4000, 3000)),
+            null, null, null);
+
+    private final GCCostModelSizeSelector selector = new GCCostModelSizeSelector();
+
+    @Test
+    public void select_withoutLimitPicksLargestPicture() {
+        final GCSizeSelection selection = select(1000, 750, GCSizeRequest.DEFAULT);
+        assertEquals(new GCSize(4000, 3000), selection.getPictureSize());
+    }
+
+    @Test
+    public void select_maxMegapixelsPicksLargestPictureWithinLimit() {
+        // 3264x2448 is 7.99 MP, 4000x3000 exceeds the limit
+        final GCSizeSelection selection =
+                select(1000, 750, GCSizeRequest.ofMaxPictureMegapixels(8f));
+        assertEquals(new GCSize(3264, 2448), selection.getPictureSize());
+        // 2592x1944 is the only size within 5 MP
+        assertEquals(new GCSize(2592, 1944),
+                select(1000, 750, GCSizeRequest.ofMaxPictureMegapixels(5.1f)).getPictureSize());
+    }
+
+    @Test
+    public void select_previewCoversSurfaceWithLeastBandwidth() {
+        // 640x480 would be upscaled, the larger sizes cost more bandwidth
+        assertEquals(new GCSize(1024, 768),
+                select(1000, 750, GCSizeRequest.DEFAULT).getPreviewSize());
+        assertEquals(new GCSize(1280, 960),
+                select(1100, 825, GCSizeRequest.DEFAULT).getPreviewSize());
+        assertEquals(new GCSize(640, 480),
+                select(320, 240, GCSizeRequest.DEFAULT).getPreviewSize());
+    }
+
+    @Test
+    public void select_previewCoversAnalysisResolution() {
+        final GCSizeSelection selection =
+                select(320, 240, new GCSizeRequest(0f, 1200, 900));
+        assertEquals(new GCSize(1280, 960), selection.getPreviewSize());
+    }
+
+    @Test
+    public void select_highResolutionPreviewPicksLargestPreview() {
+        final GCSizeSelection selection = select(1000, 750,
+                GCSizeRequest.DEFAULT.withHighResolutionPreview(true));
+        assertEquals(new GCSize(1920, 1440), selection.getPreviewSize());
+    }
+
+    @Test
+    public void select_explanationMatchesChosenPair() {
+        final GCSizeSelection selection =
+                select(1000, 750, GCSizeRequest.ofMaxPictureMegapixels(8f));
+        final List<String> explanation = selection.getExplanation();
+        // The request line and a line per candidate
+        assertEquals(1 + 4 + 3, explanation.size());
+        assertTrue(explanation.get(0), explanation.get(0).startsWith("surface=1000x750"));
+        assertChosen(explanation, "preview", selection.getPreviewSize(),
+                selection.getPreviewCost());
+        assertChosen(explanation, "picture", selection.getPictureSize(),
+                selection.getPictureCost());
+    }
+
+    @Test
+    public void select_unsupportedRatioReturnsNull() {
+        assertNull(selector.select(capabilities, GCAspectRatio.of(16, 9), 1000, 750,
+                GCSizeRequest.DEFAULT));
+    }
+
+    @NonNull
+    private GCSizeSelection select(int surfaceWidth, int surfaceHeight,
+                                   @NonNull GCSizeRequest request) {
+        final GCSizeSelection selection =
+                selector.select(capabilities, RATIO, surfaceWidth, surfaceHeight, request);
+        assertNotNull(selection);
+        return selection;
+    }
+
+    /**
+     * Method which checks that the chosen size has the reported cost, its terms add up to it and
+     * no other candidate of the kind is cheaper
+     */
+    private static void assertChosen(@NonNull List<String> explanation,
+                                     @NonNull String kind,
+                                     @NonNull GCSize chosen,
+                                     float cost) {
+        int found = 0;
+        for (String line : explanation.subList(1, explanation.size())) {
+            final Matcher matcher = LINE.matcher(line);
+            assertTrue(line, matcher.matches());
+            if (!kind.equals(matcher.group(1))) {
+                continue;
+            }
+            final float lineCost = parse(matcher.group(3));
+            if (chosen.toString().equals(matcher.group(2))) {
+                found++;
+                assertEquals(line, cost, lineCost, 0.01f);
+                float sum = 0f;
+                final Matcher term = TERM.matcher(matcher.group(4));
+                while (term.find()) {
+                    sum += parse(term.group(1));
+                }
+                assertEquals(line, lineCost, sum, 0.03f);
+            } else {
+                assertTrue(line, lineCost >= cost - 0.01f);
+            }
+        }
+        assertEquals(kind, 1, found);
+    }
+
+    private static float parse(@NonNull String value) {
+        // The explanation is formatted with the default locale
+        return Float.parseFloat(value.replace(',', '.'));
+    }
+
+}
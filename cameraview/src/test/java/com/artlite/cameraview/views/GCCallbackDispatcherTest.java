@@ -0,0 +1,141 @@
+package com.artlite.cameraview.views;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Local unit test for the {@link GCCallbackDispatcher}
+ */
+public class GCCallbackDispatcherTest {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+    };
+
+    private static final Executor REJECTING_EXECUTOR = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            throw new RejectedExecutionException("shut down");
+        }
+    };
+
+    private final GCCallbackDispatcher dispatcher = new GCCallbackDispatcher();
+
+    private final List<GCCameraImplementation.Callback> delivered = new ArrayList<>();
+
+    private final GCCallbackDispatcher.Event event = new GCCallbackDispatcher.Event() {
+        @Override
+        public void deliver(@NonNull GCCameraImplementation.Callback callback) {
+            delivered.add(callback);
+        }
+    };
+
+    @Test
+    public void dispatch_rejectingExecutorDoesNotStopOtherCallbacks() {
+        final GCCameraImplementation.Callback first = new GCCameraImplementation.Callback() {
+        };
+        final GCCameraImplementation.Callback rejected = new GCCameraImplementation.Callback() {
+        };
+        final GCCameraImplementation.Callback last = new GCCameraImplementation.Callback() {
+        };
+        final GCCallbackStats firstStats = dispatcher.add(first, DIRECT_EXECUTOR);
+        final GCCallbackStats rejectedStats = dispatcher.add(rejected, REJECTING_EXECUTOR);
+        final GCCallbackStats lastStats = dispatcher.add(last, DIRECT_EXECUTOR);
+        dispatcher.dispatch(event);
+        dispatcher.dispatch(event);
+        assertEquals(Arrays.asList(first, last, first, last), delivered);
+        assertEquals(2, rejectedStats.getRejectedCount());
+        assertEquals(0, rejectedStats.getDispatchedCount());
+        assertEquals(0, firstStats.getRejectedCount());
+        assertEquals(2, firstStats.getDispatchedCount());
+        assertEquals(2, lastStats.getDispatchedCount());
+    }
+
+    @Test
+    public void dispatch_recordsLatencyAndDuration() throws Exception {
+        final QueueExecutor executor = new QueueExecutor();
+        final GCCameraImplementation.Callback callback = new GCCameraImplementation.Callback() {
+        };
+        final GCCallbackStats stats = dispatcher.add(callback, executor);
+        dispatcher.dispatch(new GCCallbackDispatcher.Event() {
+            @Override
+            public void deliver(@NonNull GCCameraImplementation.Callback callback) {
+                sleep(5);
+            }
+        });
+        assertEquals(0, stats.getDispatchedCount());
+        assertEquals(0, stats.getMaxLatency());
+        // The event waits in the executor queue before it is delivered
+        sleep(10);
+        executor.runAll();
+        assertEquals(1, stats.getDispatchedCount());
+        assertTrue(stats.toString(), stats.getMaxLatency() >= 9000);
+        assertEquals(stats.getMaxLatency(), stats.getAverageLatency());
+        assertTrue(stats.toString(), stats.getAverageDuration() >= 4000);
+        // The shorter wait keeps the max and lowers the average
+        dispatcher.dispatch(event);
+        executor.runAll();
+        assertEquals(2, stats.getDispatchedCount());
+        assertTrue(stats.toString(), stats.getAverageLatency() < stats.getMaxLatency());
+    }
+
+    @Test
+    public void remove_skipsQueuedEvents() {
+        final QueueExecutor executor = new QueueExecutor();
+        final GCCameraImplementation.Callback callback = new GCCameraImplementation.Callback() {
+        };
+        final GCCallbackStats stats = dispatcher.add(callback, executor);
+        assertSame(stats, dispatcher.add(callback, DIRECT_EXECUTOR));
+        assertEquals(Collections.singletonList(stats), dispatcher.getStats());
+        dispatcher.dispatch(event);
+        dispatcher.remove(callback);
+        executor.runAll();
+        assertTrue(delivered.isEmpty());
+        assertEquals(0, stats.getDispatchedCount());
+        assertTrue(dispatcher.getStats().isEmpty());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Executor which runs the queued commands on request.
+     */
+    private static final class QueueExecutor implements Executor {
+
+        final List<Runnable> commands = new ArrayList<>();
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            commands.add(command);
+        }
+
+        void runAll() {
+            for (Runnable command : commands) {
+                command.run();
+            }
+            commands.clear();
+        }
+    }
+
+}